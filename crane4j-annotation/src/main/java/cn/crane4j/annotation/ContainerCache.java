@@ -54,4 +54,58 @@ public @interface ContainerCache {
      * @since 2.4.0
      */
     TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * <p>The time to live of the keys which are not found in the container,
+     * the time unit is same as {@link #timeUnit()}.<br />
+     * Default to 0L, which means the missing keys will not be cached,
+     * and a negative value means the missing keys will never proactive evict.
+     *
+     * @return time to live of missing keys
+     * @since 2.7.0
+     */
+    long missingKeyExpirationTime() default 0L;
+
+    /**
+     * <p>The max number of entries in the cache.<br />
+     * Default to -1L, which means the number of entries is unbounded.
+     * It only works when the cache manager supports bounded cache.
+     *
+     * @return max number of entries
+     * @since 2.7.0
+     */
+    long maximumSize() default -1L;
+
+    /**
+     * <p>The max total weight of entries in the cache.<br />
+     * Default to -1L, which means the total weight is unbounded.
+     * It only works when the cache manager supports bounded cache.
+     *
+     * @return max total weight of entries
+     * @since 2.7.0
+     */
+    long maximumWeight() default -1L;
+
+    /**
+     * <p>The time after which an entry should be refreshed since it was written,
+     * the time unit is same as {@link #timeUnit()}.<br />
+     * Default to -1L, which means the entries will not be refreshed.
+     * It only works when the cache manager supports refreshing.
+     *
+     * @return refresh time
+     * @since 2.7.0
+     */
+    long refreshAfterWriteTime() default -1L;
+
+    /**
+     * <p>The soft expire time of the cached values,
+     * the time unit is same as {@link #timeUnit()}.<br />
+     * Default to -1L, which means the soft expire is disabled.
+     * When it is positive, the stale values are still returned until {@link #expirationTime()} is reached,
+     * and they will be reloaded from the container in background.
+     *
+     * @return soft expire time
+     * @since 2.7.0
+     */
+    long softExpirationTime() default -1L;
 }
@@ -0,0 +1,78 @@
+package cn.crane4j.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>An annotation to limit the time of obtaining data from a container.<br />
+ * It can be used on a class which implements {@link cn.crane4j.core.container.Container} interface,
+ * or a method annotated by {@link ContainerMethod},
+ * when the container is created, it will be wrapped with {@link cn.crane4j.core.container.TimeoutContainer},
+ * if the container cannot return data in time, the fields will be left unassembled,
+ * or filled with the last data obtained from the container if {@link #fallbackCacheManager()} is specified.
+ *
+ * @author huangchengxing
+ * @see cn.crane4j.core.container.TimeoutContainer
+ * @see cn.crane4j.core.container.TimeoutContainerProcessor
+ * @see cn.crane4j.core.support.container.DefaultMethodContainerFactory
+ * @since 2.7.0
+ */
+@Documented
+@Target({ElementType.ANNOTATION_TYPE, ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ContainerTimeout {
+
+    /**
+     * The max time to wait for the container to return data.
+     *
+     * @return timeout
+     */
+    long timeout();
+
+    /**
+     * The time unit of the timeout,
+     * default to {@link TimeUnit#MILLISECONDS}.
+     *
+     * @return time unit
+     */
+    TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * The name of the cache manager used to store the last data obtained from the container,
+     * which will be returned when timeout. default to empty string, which means no fallback.
+     *
+     * @return cache manager name
+     * @see cn.crane4j.core.cache.CacheManager
+     */
+    String fallbackCacheManager() default "";
+
+    /**
+     * The expiry time of the data in fallback cache,
+     * default to 1 hour, if the value is not positive, the data will never proactive evict.
+     *
+     * @return expire time
+     * @see #fallbackTimeUnit()
+     */
+    long fallbackExpirationTime() default 1L;
+
+    /**
+     * The time unit of {@link #fallbackExpirationTime()},
+     * default to {@link TimeUnit#HOURS}.
+     *
+     * @return time unit
+     */
+    TimeUnit fallbackTimeUnit() default TimeUnit.HOURS;
+
+    /**
+     * The max number of entries in fallback cache, default to 10000,
+     * if the value is not positive, the number of entries is unbounded.
+     * It only works when the cache manager supports bounded cache.
+     *
+     * @return max number of entries
+     */
+    long fallbackMaximumSize() default 10000L;
+}
@@ -0,0 +1,92 @@
+package cn.crane4j.benchmark;
+
+import cn.crane4j.core.container.Container;
+import cn.crane4j.core.executor.AssembleExecution;
+import cn.crane4j.core.executor.handler.ArrayBasedOneToOneAssembleOperationHandler;
+import cn.crane4j.core.executor.handler.AssembleOperationHandler;
+import cn.crane4j.core.executor.handler.ManyToManyAssembleOperationHandler;
+import cn.crane4j.core.executor.handler.OneToManyAssembleOperationHandler;
+import cn.crane4j.core.executor.handler.OneToOneAssembleOperationHandler;
+import cn.crane4j.core.parser.BeanOperationParser;
+import cn.crane4j.core.parser.BeanOperations;
+import cn.crane4j.core.parser.operation.AssembleOperation;
+import cn.crane4j.core.support.SimpleCrane4jGlobalConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link AssembleOperationHandler} implementations, which process the targets directly.
+ *
+ * @author huangchengxing
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssembleOperationHandlerBenchmark {
+
+    @Param({"OneToOne", "ArrayBasedOneToOne", "OneToMany", "ManyToMany"})
+    private String handler;
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private AssembleOperationHandler operationHandler;
+    private Container<?> container;
+    private Collection<AssembleExecution> executions;
+
+    @Setup
+    public void setup() {
+        SimpleCrane4jGlobalConfiguration configuration = SimpleCrane4jGlobalConfiguration.create();
+        BeanOperationParser parser = configuration.getBeanOperationsParser(BeanOperationParser.class);
+        BeanOperations operations = parser.parse(BenchmarkData.Target.class);
+        Class<?> handlerType = getHandlerType();
+        AssembleOperation operation = operations.getAssembleOperations().stream()
+            .filter(op -> op.getAssembleOperationHandler().getClass() == handlerType)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("no operation found for handler " + handler));
+        // the array based handler is compared with the default one-to-one handler on the same operation
+        operationHandler = "ArrayBasedOneToOne".equals(handler) ?
+            configuration.getAssembleOperationHandler(ArrayBasedOneToOneAssembleOperationHandler.class) :
+            operation.getAssembleOperationHandler();
+        container = OneToManyAssembleOperationHandler.class == handlerType ?
+            BenchmarkData.oneToManyContainer() : BenchmarkData.oneToOneContainer();
+        executions = Collections.singletonList(AssembleExecution.create(
+            operations, operation, container, new ArrayList<>(BenchmarkData.targets(size))
+        ));
+    }
+
+    @Benchmark
+    public Collection<AssembleExecution> process() {
+        operationHandler.process(container, executions);
+        return executions;
+    }
+
+    private Class<?> getHandlerType() {
+        switch (handler) {
+            case "OneToMany":
+                return OneToManyAssembleOperationHandler.class;
+            case "ManyToMany":
+                return ManyToManyAssembleOperationHandler.class;
+            default:
+                return OneToOneAssembleOperationHandler.class;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package cn.crane4j.benchmark;
+
+import cn.crane4j.core.executor.AbstractBeanOperationExecutor;
+import cn.crane4j.core.executor.AsyncBeanOperationExecutor;
+import cn.crane4j.core.executor.BeanOperationExecutor;
+import cn.crane4j.core.executor.DisorderedBeanOperationExecutor;
+import cn.crane4j.core.executor.OrderedBeanOperationExecutor;
+import cn.crane4j.core.parser.BeanOperationParser;
+import cn.crane4j.core.parser.BeanOperations;
+import cn.crane4j.core.support.Crane4jGlobalSorter;
+import cn.crane4j.core.support.SimpleCrane4jGlobalConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link BeanOperationExecutor} implementations, which process the targets with nested objects.
+ *
+ * @author huangchengxing
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanOperationExecutorBenchmark {
+
+    @Param({"disordered", "ordered", "async"})
+    private String executor;
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean enableExecutionPlanCache;
+
+    private ExecutorService threadPool;
+    private AbstractBeanOperationExecutor operationExecutor;
+    private BeanOperations operations;
+    private List<BenchmarkData.Target> targets;
+
+    @Setup
+    public void setup() {
+        SimpleCrane4jGlobalConfiguration configuration = SimpleCrane4jGlobalConfiguration.create();
+        configuration.registerContainer(BenchmarkData.oneToOneContainer());
+        configuration.registerContainer(BenchmarkData.oneToManyContainer());
+        threadPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        switch (executor) {
+            case "ordered":
+                operationExecutor = new OrderedBeanOperationExecutor(configuration, Crane4jGlobalSorter.comparator());
+                break;
+            case "async":
+                operationExecutor = new AsyncBeanOperationExecutor(configuration, threadPool);
+                break;
+            default:
+                operationExecutor = new DisorderedBeanOperationExecutor(configuration);
+        }
+        operationExecutor.setEnableExecutionPlanCache(enableExecutionPlanCache);
+        operations = configuration.getBeanOperationsParser(BeanOperationParser.class).parse(BenchmarkData.Target.class);
+        targets = BenchmarkData.targets(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        threadPool.shutdown();
+    }
+
+    @Benchmark
+    public List<BenchmarkData.Target> execute() {
+        operationExecutor.execute(targets, operations);
+        return targets;
+    }
+}
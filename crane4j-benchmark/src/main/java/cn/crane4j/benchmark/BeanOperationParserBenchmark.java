@@ -0,0 +1,61 @@
+package cn.crane4j.benchmark;
+
+import cn.crane4j.core.parser.BeanOperations;
+import cn.crane4j.core.parser.TypeHierarchyBeanOperationParser;
+import cn.crane4j.core.support.SimpleCrane4jGlobalConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark of {@link TypeHierarchyBeanOperationParser#parse}.<br />
+ * The cold benchmark parses the type with a new parser each time,
+ * and the warm benchmark parses the type which has been cached by the parser.
+ *
+ * @author huangchengxing
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanOperationParserBenchmark {
+
+    private TypeHierarchyBeanOperationParser template;
+    private TypeHierarchyBeanOperationParser warmParser;
+
+    @Setup
+    public void setup() {
+        SimpleCrane4jGlobalConfiguration configuration = SimpleCrane4jGlobalConfiguration.create();
+        template = (TypeHierarchyBeanOperationParser)configuration.getBeanOperationsParser(TypeHierarchyBeanOperationParser.class);
+        warmParser = newParser();
+        warmParser.parse(BenchmarkData.Target.class);
+    }
+
+    @Benchmark
+    public BeanOperations parseCold() {
+        return newParser().parse(BenchmarkData.Target.class);
+    }
+
+    @Benchmark
+    public BeanOperations parseWarm() {
+        return warmParser.parse(BenchmarkData.Target.class);
+    }
+
+    private TypeHierarchyBeanOperationParser newParser() {
+        TypeHierarchyBeanOperationParser parser = new TypeHierarchyBeanOperationParser();
+        template.getOperationAnnotationHandlers().forEach(parser::addOperationAnnotationHandler);
+        return parser;
+    }
+}
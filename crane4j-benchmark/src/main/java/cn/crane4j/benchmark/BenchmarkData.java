@@ -0,0 +1,157 @@
+package cn.crane4j.benchmark;
+
+import cn.crane4j.annotation.Assemble;
+import cn.crane4j.annotation.Disassemble;
+import cn.crane4j.annotation.Mapping;
+import cn.crane4j.core.container.Container;
+import cn.crane4j.core.container.LambdaContainer;
+import cn.crane4j.core.executor.handler.ManyToManyAssembleOperationHandler;
+import cn.crane4j.core.executor.handler.OneToManyAssembleOperationHandler;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data sources and targets shared by benchmarks.
+ *
+ * @author huangchengxing
+ * @since 2.7.0
+ */
+public class BenchmarkData {
+
+    /**
+     * namespace of container which returns one {@link Source} for each key
+     */
+    public static final String ONE_TO_ONE = "one";
+
+    /**
+     * namespace of container which returns a list of {@link Source} for each key
+     */
+    public static final String ONE_TO_MANY = "many";
+
+    /**
+     * number of distinct keys in containers
+     */
+    public static final int KEY_RANGE = 1024;
+
+    private static final Map<Integer, Source> SOURCES = new HashMap<>(KEY_RANGE);
+    private static final Map<Integer, List<Source>> SOURCE_LISTS = new HashMap<>(KEY_RANGE);
+
+    static {
+        for (int i = 0; i < KEY_RANGE; i++) {
+            Source source = new Source(i, "name" + i);
+            SOURCES.put(i, source);
+            SOURCE_LISTS.put(i, Arrays.asList(source, source));
+        }
+    }
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Create an in-memory container which returns one {@link Source} for each key.
+     *
+     * @return container
+     */
+    public static Container<Integer> oneToOneContainer() {
+        return LambdaContainer.<Integer>forLambda(ONE_TO_ONE, BenchmarkData::getSources);
+    }
+
+    /**
+     * Create an in-memory container which returns a list of {@link Source} for each key.
+     *
+     * @return container
+     */
+    public static Container<Integer> oneToManyContainer() {
+        return LambdaContainer.<Integer>forLambda(ONE_TO_MANY, keys -> {
+            Map<Integer, Object> results = new HashMap<>(keys.size());
+            keys.forEach(key -> results.put(key, SOURCE_LISTS.get(key)));
+            return results;
+        });
+    }
+
+    /**
+     * Get sources of keys, the keys which are out of {@link #KEY_RANGE} will be ignored.
+     *
+     * @param keys keys
+     * @return sources grouped by key
+     */
+    public static Map<Integer, Object> getSources(Iterable<Integer> keys) {
+        Map<Integer, Object> results = new HashMap<>(KEY_RANGE);
+        for (Integer key : keys) {
+            Source source = SOURCES.get(key);
+            if (source != null) {
+                results.put(key, source);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Create targets.
+     *
+     * @param size number of targets
+     * @return targets
+     */
+    public static List<Target> targets(int size) {
+        List<Target> targets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int key = i % KEY_RANGE;
+            targets.add(new Target()
+                .setId(key)
+                .setIds(Arrays.asList(key, (key + 1) % KEY_RANGE))
+                .setNested(new Target().setId(key).setIds(Collections.singletonList(key)))
+            );
+        }
+        return targets;
+    }
+
+    /**
+     * Data source object.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Source {
+        private Integer id;
+        private String name;
+
+        public Source(Integer id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    /**
+     * Target object with operations of all kinds of handlers.
+     */
+    @Data
+    @Accessors(chain = true)
+    public static class Target {
+
+        @Assemble(container = ONE_TO_ONE, props = @Mapping(src = "name", ref = "name"))
+        @Assemble(
+            container = ONE_TO_MANY, handlerType = OneToManyAssembleOperationHandler.class,
+            props = @Mapping(src = "name", ref = "groupNames")
+        )
+        private Integer id;
+        private String name;
+        private List<String> groupNames;
+
+        @Assemble(
+            container = ONE_TO_ONE, handlerType = ManyToManyAssembleOperationHandler.class,
+            props = @Mapping(src = "name", ref = "names")
+        )
+        private List<Integer> ids;
+        private List<String> names;
+
+        @Disassemble(type = Target.class)
+        private Target nested;
+    }
+}
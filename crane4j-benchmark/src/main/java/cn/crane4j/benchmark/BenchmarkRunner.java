@@ -0,0 +1,40 @@
+package cn.crane4j.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Entrance of benchmarks.<br />
+ * It accepts the same arguments as {@link org.openjdk.jmh.Main},
+ * and always enables {@link GCProfiler} so that the allocation rate of each benchmark is reported.
+ * For example:
+ * <pre>{@code
+ * mvn -pl crane4j-benchmark -am package -DskipTests
+ * java -jar crane4j-benchmark/target/benchmarks.jar AssembleOperationHandlerBenchmark -p size=1000
+ * }</pre>
+ *
+ * @author huangchengxing
+ * @since 2.7.0
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args command line arguments of JMH
+     * @throws CommandLineOptionException thrown when arguments are invalid
+     * @throws RunnerException thrown when benchmarks are failed
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,69 @@
+package cn.crane4j.benchmark;
+
+import cn.crane4j.core.cache.CacheDefinition;
+import cn.crane4j.core.cache.CacheableContainer;
+import cn.crane4j.core.cache.MapCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark of {@link CacheableContainer} with different mixes of cache hit and miss.<br />
+ * The missed keys are out of {@link BenchmarkData#KEY_RANGE}, so they never be cached,
+ * and the hit ratio keeps stable during the benchmark.
+ *
+ * @author huangchengxing
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheableContainerBenchmark {
+
+    @Param({"0", "50", "90", "100"})
+    private int hitPercent;
+
+    @Param({"100"})
+    private int keyCount;
+
+    private CacheableContainer<Integer> container;
+    private List<Integer> keys;
+
+    @Setup
+    public void setup() {
+        CacheDefinition definition = new CacheDefinition.Impl(
+            BenchmarkData.ONE_TO_ONE, null, -1L, TimeUnit.MILLISECONDS
+        );
+        container = new CacheableContainer<>(
+            BenchmarkData.oneToOneContainer(), definition, MapCacheManager.newConcurrentHashMapCacheManager()
+        );
+        int hits = keyCount * hitPercent / 100;
+        keys = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keys.add(i < hits ? i % BenchmarkData.KEY_RANGE : BenchmarkData.KEY_RANGE + i);
+        }
+        // warm up the cache for hit keys
+        container.get(keys);
+    }
+
+    @Benchmark
+    public Map<Integer, ?> get() {
+        return container.get(keys);
+    }
+}
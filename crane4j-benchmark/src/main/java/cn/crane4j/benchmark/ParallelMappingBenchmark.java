@@ -0,0 +1,92 @@
+package cn.crane4j.benchmark;
+
+import cn.crane4j.core.container.Container;
+import cn.crane4j.core.executor.AssembleExecution;
+import cn.crane4j.core.executor.handler.OneToOneAssembleOperationHandler;
+import cn.crane4j.core.parser.BeanOperationParser;
+import cn.crane4j.core.parser.BeanOperations;
+import cn.crane4j.core.parser.operation.AssembleOperation;
+import cn.crane4j.core.support.SimpleCrane4jGlobalConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark of the parallel mapping phase of {@link OneToOneAssembleOperationHandler}.<br />
+ * The parallelism of 0 means the parallel mapping is disabled,
+ * compare the results of different parallelism to see how the mapping phase scales across cores.
+ *
+ * @author huangchengxing
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelMappingBenchmark {
+
+    @Param({"0", "1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"500000"})
+    private int size;
+
+    private ForkJoinPool pool;
+    private OneToOneAssembleOperationHandler operationHandler;
+    private Container<?> container;
+    private Collection<AssembleExecution> executions;
+
+    @Setup
+    public void setup() {
+        SimpleCrane4jGlobalConfiguration configuration = SimpleCrane4jGlobalConfiguration.create();
+        operationHandler = new OneToOneAssembleOperationHandler(
+            configuration.getPropertyOperator(), configuration.getConverterManager()
+        );
+        if (parallelism > 0) {
+            pool = new ForkJoinPool(parallelism);
+            operationHandler.setMappingPool(pool);
+            operationHandler.setParallelMappingThreshold(1024);
+        }
+        BeanOperations operations = configuration.getBeanOperationsParser(BeanOperationParser.class)
+            .parse(BenchmarkData.Target.class);
+        AssembleOperation operation = operations.getAssembleOperations().stream()
+            .filter(op -> op.getAssembleOperationHandler().getClass() == OneToOneAssembleOperationHandler.class)
+            .filter(op -> BenchmarkData.ONE_TO_ONE.equals(op.getContainer()))
+            .findFirst()
+            .orElseThrow(IllegalStateException::new);
+        container = BenchmarkData.oneToOneContainer();
+        executions = Collections.singletonList(AssembleExecution.create(
+            operations, operation, container, new ArrayList<>(BenchmarkData.targets(size))
+        ));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Collection<AssembleExecution> process() {
+        operationHandler.process(container, executions);
+        return executions;
+    }
+}
@@ -0,0 +1,98 @@
+package cn.crane4j.benchmark;
+
+import cn.crane4j.core.support.converter.ConverterManager;
+import cn.crane4j.core.support.converter.HutoolConverterManager;
+import cn.crane4j.core.support.reflect.AsmReflectivePropertyOperator;
+import cn.crane4j.core.support.reflect.CacheablePropertyOperator;
+import cn.crane4j.core.support.reflect.ChainAccessiblePropertyOperator;
+import cn.crane4j.core.support.reflect.MapAccessiblePropertyOperator;
+import cn.crane4j.core.support.reflect.MethodHandlePropertyOperator;
+import cn.crane4j.core.support.reflect.PropertyOperator;
+import cn.crane4j.core.support.reflect.ReflectivePropertyOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link PropertyOperator} implementations and decorators.
+ *
+ * @author huangchengxing
+ * @since 2.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyOperatorBenchmark {
+
+    @Param({"reflective", "asm", "methodHandle", "chain", "map"})
+    private String operator;
+
+    private PropertyOperator propertyOperator;
+    private Object target;
+    private Class<?> targetType;
+
+    @Setup
+    public void setup() {
+        ConverterManager converterManager = new HutoolConverterManager();
+        switch (operator) {
+            case "asm":
+                propertyOperator = new AsmReflectivePropertyOperator(converterManager);
+                break;
+            case "methodHandle":
+                propertyOperator = new MethodHandlePropertyOperator(converterManager);
+                break;
+            case "chain":
+                propertyOperator = new ChainAccessiblePropertyOperator(
+                    new CacheablePropertyOperator(new ReflectivePropertyOperator(converterManager))
+                );
+                break;
+            case "map":
+                propertyOperator = new MapAccessiblePropertyOperator(
+                    new CacheablePropertyOperator(new ReflectivePropertyOperator(converterManager))
+                );
+                break;
+            default:
+                propertyOperator = new ReflectivePropertyOperator(converterManager);
+        }
+        if ("map".equals(operator)) {
+            Map<String, Object> map = new HashMap<>(4);
+            map.put("name", "name");
+            target = map;
+        } else if ("chain".equals(operator)) {
+            target = new BenchmarkData.Target().setNested(new BenchmarkData.Target().setName("name"));
+        } else {
+            target = new BenchmarkData.Target().setName("name");
+        }
+        targetType = target.getClass();
+    }
+
+    @Benchmark
+    public Object read() {
+        return propertyOperator.readProperty(targetType, target, getPropertyName());
+    }
+
+    @Benchmark
+    public Object write() {
+        propertyOperator.writeProperty(targetType, target, getPropertyName(), "name");
+        return target;
+    }
+
+    private String getPropertyName() {
+        return "chain".equals(operator) ? "nested.name" : "name";
+    }
+}
@@ -1,28 +1,56 @@
 package cn.crane4j.core.cache;
 
+import cn.crane4j.core.container.Container;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Abstract cache manager.
+ * <p>Abstract cache manager.<br />
+ * The entries of caches which implement {@link PersistableCacheObject} can be saved to
+ * a snapshot file by {@link #saveSnapshot}, and after restarting,
+ * the snapshot can be loaded by {@link #loadSnapshot},
+ * the entries of each cache will be restored when the cache is created.
  *
  * @author huangchengxing
  * @since 2.4.0
  */
+@Slf4j
 public abstract class AbstractCacheManager implements CacheManager {
 
     private final ConcurrentMap<String, AbstractCacheObject<?>> caches = new ConcurrentHashMap<>();
 
+    /**
+     * codec used to encode keys and values of snapshot
+     *
+     * @since 2.7.0
+     */
+    @NonNull
+    @Setter
+    private CacheValueCodec snapshotCodec = CacheValueCodec.JdkSerializationCodec.INSTANCE;
+
+    /**
+     * the loaded snapshot whose caches have not been all restored
+     */
+    @Nullable
+    private volatile CacheSnapshot snapshot;
+
     /**
      * Get cache instance by name,
      * if cache instance still not created by {@link #createCache}, return null.
@@ -52,11 +80,92 @@ public abstract class AbstractCacheManager implements CacheManager {
     public <K> CacheObject<K> createCache(
         String name, Long expireTime, TimeUnit timeUnit) {
         AbstractCacheObject<Object> cacheObject = doCreateCache(name, expireTime, timeUnit);
+        return (CacheObject<K>)register(name, cacheObject);
+    }
+
+    /**
+     * Create cache instance according to the definition, if cache instance already created,
+     * remove the old cache instance and create a new cache instance.
+     *
+     * @param definition cache definition
+     * @param loader     container which the values of cache are loaded from, may be null
+     * @return cache instance
+     * @see #doCreateCache(CacheDefinition, Container)
+     * @since 2.7.0
+     */
+    @NonNull
+    @Override
+    public <K> CacheObject<K> createCache(CacheDefinition definition, @Nullable Container<K> loader) {
+        AbstractCacheObject<K> cacheObject = doCreateCache(definition, loader);
+        return register(definition.getName(), cacheObject);
+    }
+
+    private <K> CacheObject<K> register(String name, AbstractCacheObject<K> cacheObject) {
         AbstractCacheObject<?> old = caches.put(name, cacheObject);
         if (Objects.nonNull(old)) {
             invalidate(old);
         }
-        return (CacheObject<K>)cacheObject;
+        restoreFromSnapshot(cacheObject);
+        return cacheObject;
+    }
+
+    /**
+     * <p>Save the entries of specified caches to the snapshot file.<br />
+     * Only the caches which implement {@link PersistableCacheObject} will be saved,
+     * and the expired entries will be skipped.
+     *
+     * @param file snapshot file
+     * @param cacheNames names of caches to save, if null or empty, save all caches
+     * @return number of entries saved
+     * @see CacheSnapshot#write
+     * @since 2.7.0
+     */
+    public int saveSnapshot(Path file, @Nullable Collection<String> cacheNames) {
+        List<PersistableCacheObject<?>> targets = new ArrayList<>();
+        caches.forEach((name, cache) -> {
+            boolean selected = Objects.isNull(cacheNames) || cacheNames.isEmpty() || cacheNames.contains(name);
+            if (selected && cache instanceof PersistableCacheObject && !cache.isInvalid()) {
+                targets.add((PersistableCacheObject<?>)cache);
+            }
+        });
+        int count = CacheSnapshot.write(file, targets, snapshotCodec);
+        log.info("save [{}] entries of caches [{}] to snapshot file [{}]", count, targets.size(), file);
+        return count;
+    }
+
+    /**
+     * <p>Load the snapshot file.<br />
+     * The entries are not decoded until the cache with same name is created,
+     * if the cache has been created, its entries will be restored immediately.
+     *
+     * @param file snapshot file
+     * @see CacheSnapshot#open
+     * @since 2.7.0
+     */
+    public void loadSnapshot(Path file) {
+        CacheSnapshot loaded = CacheSnapshot.open(file, snapshotCodec);
+        log.info("load snapshot file [{}] with caches {}", file, loaded.getCacheNames());
+        this.snapshot = loaded;
+        caches.values().forEach(this::restoreFromSnapshot);
+    }
+
+    private void restoreFromSnapshot(AbstractCacheObject<?> cacheObject) {
+        CacheSnapshot current = snapshot;
+        if (Objects.isNull(current) || !(cacheObject instanceof PersistableCacheObject)) {
+            return;
+        }
+        try {
+            int count = current.restore((PersistableCacheObject<?>)cacheObject);
+            if (count >= 0) {
+                log.info("restore [{}] entries of cache [{}] from snapshot", count, cacheObject.getName());
+            }
+        } catch (Exception ex) {
+            log.warn("failed to restore cache [{}] from snapshot", cacheObject.getName(), ex);
+        }
+        if (current.getCacheNames().isEmpty()) {
+            // all caches have been restored, release the snapshot
+            snapshot = null;
+        }
     }
 
 
@@ -85,6 +194,19 @@ public abstract class AbstractCacheManager implements CacheManager {
         allCaches.forEach(this::invalidate);
     }
 
+    /**
+     * Get the snapshots of statistics of all caches created by this manager.
+     *
+     * @return statistics grouped by cache name
+     * @see CacheObject#getStats()
+     * @since 2.7.0
+     */
+    public Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> results = new LinkedHashMap<>(caches.size());
+        caches.forEach((name, cache) -> results.put(name, cache.getStats()));
+        return Collections.unmodifiableMap(results);
+    }
+
     /**
      * Create cache instance.
      *
@@ -96,6 +218,21 @@ public abstract class AbstractCacheManager implements CacheManager {
     @NonNull
     protected abstract <K> AbstractCacheObject<K> doCreateCache(String name, Long expireTime, TimeUnit timeUnit);
 
+    /**
+     * <p>Create cache instance according to the definition.<br />
+     * By default, only the name, expire time and time unit of the definition are used,
+     * subclasses can override this method to support more options of definition.
+     *
+     * @param definition cache definition
+     * @param loader     container which the values of cache are loaded from, may be null
+     * @return cache instance
+     * @since 2.7.0
+     */
+    @NonNull
+    protected <K> AbstractCacheObject<K> doCreateCache(CacheDefinition definition, @Nullable Container<K> loader) {
+        return doCreateCache(definition.getName(), definition.getExpireTime(), definition.getTimeUnit());
+    }
+
     /**
      * Invalidate cache.
      *
@@ -119,5 +256,58 @@ public abstract class AbstractCacheManager implements CacheManager {
         @Setter
         private volatile boolean invalid = false;
         private final String name;
+        @Getter(AccessLevel.PROTECTED)
+        private final CacheStatsCounter statsCounter = new CacheStatsCounter();
+
+        /**
+         * Get a snapshot of the statistics of this cache.
+         *
+         * @return statistics
+         * @since 2.7.0
+         */
+        @Override
+        public CacheStats getStats() {
+            return statsCounter.snapshot(estimatedSize());
+        }
+
+        /**
+         * Get the approximate number of entries in this cache.
+         *
+         * @return number of entries, -1 if unknown
+         * @since 2.7.0
+         */
+        protected long estimatedSize() {
+            return -1L;
+        }
+
+        /**
+         * Record a hit or a miss according to the value got from cache.
+         *
+         * @param value value got from cache
+         * @return value
+         * @since 2.7.0
+         */
+        @Nullable
+        protected Object recordGet(@Nullable Object value) {
+            if (Objects.isNull(value)) {
+                statsCounter.recordMisses(1);
+            } else {
+                statsCounter.recordHits(1);
+            }
+            return value;
+        }
+
+        /**
+         * Record a batch of keys according to the values got from cache.
+         *
+         * @param values values got from cache
+         * @param keyCount number of keys in the batch
+         * @return values
+         * @since 2.7.0
+         */
+        protected Map<K, Object> recordGetAll(Map<K, Object> values, int keyCount) {
+            statsCounter.recordBatch(values.size(), keyCount);
+            return values;
+        }
     }
 }
@@ -1,7 +1,9 @@
 package cn.crane4j.core.cache;
 
+import cn.crane4j.annotation.ContainerCache;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.concurrent.TimeUnit;
@@ -44,6 +46,95 @@ public interface CacheDefinition {
      */
     TimeUnit getTimeUnit();
 
+    /**
+     * <p>Get the expiry time of the keys which are not found in the container,
+     * the time unit is same as {@link #getTimeUnit()}.<br />
+     * If the value is zero, the missing keys will not be cached,
+     * if the value is negative, the missing keys will never proactive evict.
+     *
+     * @return expire time of missing keys
+     * @see CacheableContainer#MISSING_KEY_CACHE_SUFFIX
+     * @since 2.7.0
+     */
+    default Long getMissingKeyExpireTime() {
+        return 0L;
+    }
+
+    /**
+     * <p>Get the max number of entries in this cache.<br />
+     * If the value is not positive, the number of entries is unbounded.
+     * It only works when the cache manager supports bounded cache.
+     *
+     * @return max number of entries
+     * @since 2.7.0
+     */
+    default Long getMaximumSize() {
+        return -1L;
+    }
+
+    /**
+     * <p>Get the max total weight of entries in this cache,
+     * the weight of each entry is calculated by the cache manager.<br />
+     * If the value is not positive, the total weight is unbounded.
+     * It only works when the cache manager supports bounded cache,
+     * and it takes precedence over {@link #getMaximumSize()} if both are set.
+     *
+     * @return max total weight of entries
+     * @since 2.7.0
+     */
+    default Long getMaximumWeight() {
+        return -1L;
+    }
+
+    /**
+     * <p>Get the time after which an entry should be refreshed since it was written,
+     * the time unit is same as {@link #getTimeUnit()}.<br />
+     * If the value is not positive, the entries will not be refreshed.
+     * It only works when the cache manager supports refreshing.
+     *
+     * @return refresh time
+     * @since 2.7.0
+     */
+    default Long getRefreshAfterWriteTime() {
+        return -1L;
+    }
+
+    /**
+     * <p>Get the soft expire time of the values cached by {@link CacheableContainer},
+     * the time unit is same as {@link #getTimeUnit()}.<br />
+     * If the value is positive, the values read after the soft expire time
+     * are still returned, and they will be reloaded by the container in background,
+     * the {@link #getExpireTime()} is used as the hard expire time in this case.
+     * If the value is not positive, the soft expire is disabled.
+     *
+     * @return soft expire time
+     * @see CacheableContainer
+     * @since 2.7.0
+     */
+    default Long getSoftExpireTime() {
+        return -1L;
+    }
+
+    /**
+     * Create a {@link CacheDefinition} from the annotation.
+     *
+     * @param name cache name
+     * @param cacheManager cache manager name
+     * @param annotation annotation
+     * @return cache definition
+     * @since 2.7.0
+     */
+    static CacheDefinition from(String name, String cacheManager, ContainerCache annotation) {
+        Impl definition = new Impl(
+            name, cacheManager, annotation.expirationTime(), annotation.timeUnit(), annotation.missingKeyExpirationTime()
+        );
+        definition.setMaximumSize(annotation.maximumSize());
+        definition.setMaximumWeight(annotation.maximumWeight());
+        definition.setRefreshAfterWriteTime(annotation.refreshAfterWriteTime());
+        definition.setSoftExpireTime(annotation.softExpirationTime());
+        return definition;
+    }
+
     /**
      * <p>Implementation of {@link CacheDefinition}.
      *
@@ -57,5 +148,26 @@ public interface CacheDefinition {
         private final String cacheManager;
         private final Long expireTime;
         private final TimeUnit timeUnit;
+        private final Long missingKeyExpireTime;
+        @Setter
+        private Long maximumSize = -1L;
+        @Setter
+        private Long maximumWeight = -1L;
+        @Setter
+        private Long refreshAfterWriteTime = -1L;
+        @Setter
+        private Long softExpireTime = -1L;
+
+        /**
+         * Create a {@link CacheDefinition} which does not cache missing keys.
+         *
+         * @param name cache name
+         * @param cacheManager cache manager name
+         * @param expireTime expire time
+         * @param timeUnit time unit
+         */
+        public Impl(String name, String cacheManager, Long expireTime, TimeUnit timeUnit) {
+            this(name, cacheManager, expireTime, timeUnit, 0L);
+        }
     }
 }
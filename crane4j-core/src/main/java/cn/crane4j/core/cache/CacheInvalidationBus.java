@@ -0,0 +1,78 @@
+package cn.crane4j.core.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * <p>A bus used to broadcast invalidation events of caches between nodes.<br />
+ * When the entries of a shared cache are changed by a node,
+ * the node publishes an event through the bus,
+ * then other nodes receive the event and evict their local copies of the entries.
+ *
+ * @author huangchengxing
+ * @see NearCacheManager
+ * @see LocalCacheInvalidationBus
+ * @since 2.7.0
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Publish an event to all subscribers.
+     *
+     * @param event event
+     */
+    void publish(Event event);
+
+    /**
+     * Subscribe the events published by all nodes.
+     *
+     * @param listener listener
+     */
+    void subscribe(Consumer<Event> listener);
+
+    /**
+     * An invalidation event.
+     *
+     * @author huangchengxing
+     * @since 2.7.0
+     */
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    class Event implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * id of the node which published the event
+         */
+        private final String source;
+
+        /**
+         * name of the cache
+         */
+        private final String cacheName;
+
+        /**
+         * keys to be evicted, null means all entries of the cache should be evicted
+         */
+        @Nullable
+        private final Collection<Object> keys;
+
+        /**
+         * Whether all entries of the cache should be evicted.
+         *
+         * @return true if all entries should be evicted
+         */
+        public boolean isClear() {
+            return Objects.isNull(keys);
+        }
+    }
+}
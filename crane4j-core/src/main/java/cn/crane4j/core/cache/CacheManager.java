@@ -1,5 +1,6 @@
 package cn.crane4j.core.cache;
 
+import cn.crane4j.core.container.Container;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -19,6 +20,7 @@ public interface CacheManager {
 
     String DEFAULT_MAP_CACHE_MANAGER_NAME = "MapCacheFactory";
     String DEFAULT_GUAVA_CACHE_MANAGER_NAME = "GuavaCacheManager";
+    String DEFAULT_OFF_HEAP_CACHE_MANAGER_NAME = "OffHeapCacheManager";
 
     /**
      * Create cache instance, if cache instance already created,
@@ -33,6 +35,24 @@ public interface CacheManager {
     @NonNull
     <K> CacheObject<K> createCache(String name, Long expireTime, TimeUnit timeUnit);
 
+    /**
+     * <p>Create cache instance according to the definition, if cache instance already created,
+     * remove the old cache instance and create a new cache instance.<br />
+     * The {@code loader} can be used by the cache which supports refreshing entries by itself,
+     * and the options which are not supported by the cache manager will be ignored.
+     *
+     * @param definition cache definition
+     * @param loader container which the values of cache are loaded from, may be null
+     * @param <K> key type
+     * @return cache instance
+     * @see CacheDefinition
+     * @since 2.7.0
+     */
+    @NonNull
+    default <K> CacheObject<K> createCache(CacheDefinition definition, @Nullable Container<K> loader) {
+        return createCache(definition.getName(), definition.getExpireTime(), definition.getTimeUnit());
+    }
+
     /**
      * Get cache instance by name,
      * if cache instance still not created by {@link #createCache}, return null.
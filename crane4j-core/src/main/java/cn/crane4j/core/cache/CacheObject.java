@@ -84,6 +84,20 @@ public interface CacheObject<K> {
         caches.forEach(this::put);
     }
 
+    /**
+     * <p>Add the cache values which are just loaded from the original data source,
+     * for example, fill the cache after the keys are not found in it.<br />
+     * By default, it is the same as {@link #putAll}, but the implementation which propagates
+     * the writes to other nodes can skip the propagation, because the values are not changed.
+     *
+     * @param values values loaded from the original data source
+     * @see CacheableContainer
+     * @since 2.7.0
+     */
+    default void putAllLoaded(Map<K, Object> values) {
+        putAll(values);
+    }
+
     /**
      * Add cache value if it does not exist.
      *
@@ -115,4 +129,15 @@ public interface CacheObject<K> {
      * Clear all cache value.
      */
     void clear();
+
+    /**
+     * <p>Get a snapshot of the statistics of this cache.<br />
+     * If the cache does not record statistics, return {@link CacheStats#EMPTY}.
+     *
+     * @return statistics
+     * @since 2.7.0
+     */
+    default CacheStats getStats() {
+        return CacheStats.EMPTY;
+    }
 }
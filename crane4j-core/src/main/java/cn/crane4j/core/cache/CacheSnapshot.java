@@ -0,0 +1,326 @@
+package cn.crane4j.core.cache;
+
+import cn.crane4j.core.exception.Crane4jException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * <p>A snapshot file of caches, which is used to warm up the caches after restarting.
+ *
+ * <p>The snapshot is a binary file which is written as a stream, the format is:
+ * <pre>
+ * snapshot  = magic(int) version(int) region* directory footer
+ * region    = entry*
+ * entry     = expireAt(long) keyLength(int) key(bytes) valueLength(int) value(bytes)
+ * directory = cacheCount(int) (nameLength(int) name(bytes) offset(int) length(int) crc32(long))*
+ * footer    = directoryOffset(int) directoryCrc32(long) magic(int)
+ * </pre>
+ * The entries of each cache are stored in a separate region, the keys and values are encoded by the {@link CacheValueCodec}.
+ * The offset, length and checksum of each region are recorded in the directory at the end of file,
+ * and the directory is located by the fixed-size footer, which also has a checksum of the directory.
+ *
+ * <p>When opening a snapshot, the file is mapped into memory,
+ * and only the directory is read and verified by its checksum,
+ * so the cost of opening does not grow with the number of entries.
+ * The region of a cache is verified and decoded when the cache is restored by {@link #restore},
+ * a corrupted region only fails the restoring of its own cache.
+ *
+ * @author huangchengxing
+ * @see AbstractCacheManager#saveSnapshot
+ * @see AbstractCacheManager#loadSnapshot
+ * @since 2.7.0
+ */
+@Slf4j
+public class CacheSnapshot {
+
+    private static final int MAGIC = 0x43344A53;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int FOOTER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final CacheValueCodec codec;
+
+    /**
+     * cache name -> region of entries
+     */
+    private final ConcurrentMap<String, Region> regions;
+
+    private CacheSnapshot(Path file, ByteBuffer buffer, CacheValueCodec codec, ConcurrentMap<String, Region> regions) {
+        this.file = file;
+        this.buffer = buffer;
+        this.codec = codec;
+        this.regions = regions;
+    }
+
+    /**
+     * Write the unexpired entries of caches to the snapshot file,
+     * the file will be replaced after all entries are written.
+     *
+     * @param file snapshot file
+     * @param caches caches
+     * @param codec codec of keys and values
+     * @return number of entries written
+     * @throws Crane4jException thrown when failed to write the file
+     */
+    public static int write(Path file, Collection<? extends PersistableCacheObject<?>> caches, CacheValueCodec codec) {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        AtomicInteger count = new AtomicInteger();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                long now = System.currentTimeMillis();
+                Map<String, Region> written = new LinkedHashMap<>(caches.size());
+                for (PersistableCacheObject<?> cache : caches) {
+                    // the bytes written by region output are counted by the output of file
+                    int offset = output.size();
+                    CRC32 crc = new CRC32();
+                    DataOutputStream regionOutput = new DataOutputStream(new CheckedOutputStream(output, crc));
+                    writeEntries(regionOutput, cache, codec, now, count);
+                    written.put(cache.getName(), new Region(offset, offset + regionOutput.size(), crc.getValue()));
+                }
+                // the size of output is no longer increased when it exceeds the max value of int
+                if (output.size() == Integer.MAX_VALUE) {
+                    throw new Crane4jException("snapshot file [{}] is too large", file);
+                }
+                writeDirectory(output, written);
+            }
+            move(tempFile, file);
+        } catch (IOException ex) {
+            throw new Crane4jException(ex);
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ex) {
+                log.warn("failed to delete temp snapshot file [{}]", tempFile, ex);
+            }
+        }
+        return count.get();
+    }
+
+    private static <K> void writeEntries(
+        DataOutputStream output, PersistableCacheObject<K> cache, CacheValueCodec codec, long now, AtomicInteger count) throws IOException {
+        AtomicInteger skipped = new AtomicInteger();
+        try {
+            cache.forEachEntry((key, value, expireAt) -> {
+                if (expireAt > 0L && expireAt <= now) {
+                    return;
+                }
+                byte[] keyBytes;
+                byte[] valueBytes;
+                try {
+                    keyBytes = codec.encode(key);
+                    valueBytes = codec.encode(value);
+                } catch (RuntimeException ex) {
+                    // skip the entries which cannot be encoded
+                    skipped.incrementAndGet();
+                    return;
+                }
+                try {
+                    output.writeLong(expireAt);
+                    writeBytes(output, keyBytes);
+                    writeBytes(output, valueBytes);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                count.incrementAndGet();
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        if (skipped.get() > 0) {
+            log.warn("skip [{}] entries of cache [{}] which cannot be encoded", skipped.get(), cache.getName());
+        }
+    }
+
+    private static void writeDirectory(DataOutputStream output, Map<String, Region> regions) throws IOException {
+        int offset = output.size();
+        CRC32 crc = new CRC32();
+        DataOutputStream directoryOutput = new DataOutputStream(new CheckedOutputStream(output, crc));
+        directoryOutput.writeInt(regions.size());
+        for (Map.Entry<String, Region> entry : regions.entrySet()) {
+            Region region = entry.getValue();
+            writeBytes(directoryOutput, entry.getKey().getBytes(StandardCharsets.UTF_8));
+            directoryOutput.writeInt(region.start);
+            directoryOutput.writeInt(region.end - region.start);
+            directoryOutput.writeLong(region.crc);
+        }
+        // footer is not covered by the checksum of directory
+        output.writeInt(offset);
+        output.writeLong(crc.getValue());
+        output.writeInt(MAGIC);
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Open a snapshot file, the file is mapped into memory,
+     * and only the directory of caches is read and verified by the checksum.
+     *
+     * @param file snapshot file
+     * @param codec codec of keys and values
+     * @return snapshot
+     * @throws Crane4jException thrown when the file cannot be read or the directory is corrupted
+     */
+    public static CacheSnapshot open(Path file, CacheValueCodec codec) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new Crane4jException("snapshot file [{}] is too large", file);
+            }
+            // the mapping remains valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException ex) {
+            throw new Crane4jException(ex);
+        }
+        return new CacheSnapshot(file, buffer, codec, readDirectory(file, buffer));
+    }
+
+    private static ConcurrentMap<String, Region> readDirectory(Path file, ByteBuffer buffer) {
+        int limit = buffer.limit();
+        if (limit < HEADER_SIZE + FOOTER_SIZE || buffer.getInt(limit - Integer.BYTES) != MAGIC) {
+            throw new Crane4jException("snapshot file [{}] is corrupted", file);
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new Crane4jException("snapshot file [{}] is not supported", file);
+        }
+        int footer = limit - FOOTER_SIZE;
+        int offset = buffer.getInt(footer);
+        if (offset < HEADER_SIZE || offset > footer) {
+            throw new Crane4jException("snapshot file [{}] is corrupted", file);
+        }
+        ByteBuffer directory = buffer.duplicate();
+        directory.position(offset);
+        directory.limit(footer);
+        if (checksum(directory) != buffer.getLong(footer + Integer.BYTES)) {
+            throw new Crane4jException("the checksum of snapshot file [{}] is mismatched", file);
+        }
+        ConcurrentMap<String, Region> regions = new ConcurrentHashMap<>(16);
+        try {
+            int cacheCount = directory.getInt();
+            for (int i = 0; i < cacheCount; i++) {
+                String name = new String(readBytes(directory), StandardCharsets.UTF_8);
+                int start = directory.getInt();
+                int length = directory.getInt();
+                long crc = directory.getLong();
+                if (start < HEADER_SIZE || length < 0 || (long)start + length > offset) {
+                    throw new Crane4jException("snapshot file [{}] is corrupted", file);
+                }
+                regions.put(name, new Region(start, start + length, crc));
+            }
+        } catch (RuntimeException ex) {
+            throw ex instanceof Crane4jException ? ex : new Crane4jException(ex);
+        }
+        return regions;
+    }
+
+    private static long checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        return crc.getValue();
+    }
+
+    private static byte[] readBytes(ByteBuffer input) {
+        byte[] bytes = new byte[input.getInt()];
+        input.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Get the names of caches which have not been restored.
+     *
+     * @return cache names
+     */
+    public Set<String> getCacheNames() {
+        return Collections.unmodifiableSet(regions.keySet());
+    }
+
+    /**
+     * Restore the unexpired entries of the cache with the same name,
+     * the entries of each cache can be restored only once.<br />
+     * The region of cache is verified by its checksum before restoring.
+     *
+     * @param cache cache
+     * @param <K> key type
+     * @return number of entries restored, -1 if the cache is not found in snapshot
+     * @throws Crane4jException thrown when the region of cache is corrupted
+     */
+    @SuppressWarnings("unchecked")
+    public <K> int restore(PersistableCacheObject<K> cache) {
+        Region region = regions.remove(cache.getName());
+        if (region == null) {
+            return -1;
+        }
+        ByteBuffer input = buffer.duplicate();
+        input.position(region.start);
+        input.limit(region.end);
+        if (checksum(input) != region.crc) {
+            throw new Crane4jException("the checksum of cache [{}] in snapshot file [{}] is mismatched", cache.getName(), file);
+        }
+        long now = System.currentTimeMillis();
+        int count = 0;
+        while (input.hasRemaining()) {
+            long expireAt = input.getLong();
+            byte[] keyBytes = readBytes(input);
+            byte[] valueBytes = readBytes(input);
+            if (expireAt > 0L && expireAt <= now) {
+                continue;
+            }
+            cache.restore((K)codec.decode(keyBytes), codec.decode(valueBytes), expireAt);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Region of entries of a cache in snapshot.
+     */
+    @RequiredArgsConstructor
+    private static class Region {
+        private final int start;
+        private final int end;
+        private final long crc;
+    }
+}
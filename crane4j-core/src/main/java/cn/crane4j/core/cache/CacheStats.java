@@ -0,0 +1,201 @@
+package cn.crane4j.core.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * <p>An immutable snapshot of the statistics of a cache.<br />
+ * The counters are accumulated since the cache was created,
+ * use {@link #minus} to get the statistics of a period between two snapshots.
+ *
+ * @author huangchengxing
+ * @see CacheObject#getStats()
+ * @see CacheStatsCounter
+ * @since 2.7.0
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class CacheStats {
+
+    /**
+     * statistics of a cache which does not record anything
+     */
+    public static final CacheStats EMPTY = new CacheStats(0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, -1L);
+
+    /**
+     * number of keys which are found in cache
+     */
+    private final long hitCount;
+
+    /**
+     * number of keys which are not found in cache
+     */
+    private final long missCount;
+
+    /**
+     * number of successful loadings from the data source
+     */
+    private final long loadSuccessCount;
+
+    /**
+     * number of failed loadings from the data source
+     */
+    private final long loadFailureCount;
+
+    /**
+     * total time of loadings in nanoseconds
+     */
+    private final long totalLoadTime;
+
+    /**
+     * number of entries evicted by the cache automatically
+     */
+    private final long evictionCount;
+
+    /**
+     * number of batches requested by getting multiple keys at once
+     */
+    private final long batchCount;
+
+    /**
+     * number of batches whose keys are all found in cache
+     */
+    private final long fullHitBatchCount;
+
+    /**
+     * number of batches whose keys are partially found in cache
+     */
+    private final long partialHitBatchCount;
+
+    /**
+     * approximate number of entries in cache, -1 if unknown
+     */
+    private final long size;
+
+    /**
+     * Get the number of keys requested.
+     *
+     * @return number of keys requested
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Get the ratio of keys which are found in cache.
+     *
+     * @return ratio, 1 if no keys requested
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0L ? 1D : (double)hitCount / requestCount;
+    }
+
+    /**
+     * Get the ratio of keys which are not found in cache.
+     *
+     * @return ratio, 0 if no keys requested
+     */
+    public double getMissRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0L ? 0D : (double)missCount / requestCount;
+    }
+
+    /**
+     * Get the number of loadings from the data source.
+     *
+     * @return number of loadings
+     */
+    public long getLoadCount() {
+        return loadSuccessCount + loadFailureCount;
+    }
+
+    /**
+     * Get the average time of loadings in nanoseconds.
+     *
+     * @return average time, 0 if no loadings
+     */
+    public double getAverageLoadPenalty() {
+        long loadCount = getLoadCount();
+        return loadCount == 0L ? 0D : (double)totalLoadTime / loadCount;
+    }
+
+    /**
+     * Get the ratio of batches whose keys are partially found in cache.
+     *
+     * @return ratio, 0 if no batches requested
+     */
+    public double getPartialHitBatchRate() {
+        return batchCount == 0L ? 0D : (double)partialHitBatchCount / batchCount;
+    }
+
+    /**
+     * Get the ratio of batches whose keys are all found in cache.
+     *
+     * @return ratio, 0 if no batches requested
+     */
+    public double getFullHitBatchRate() {
+        return batchCount == 0L ? 0D : (double)fullHitBatchCount / batchCount;
+    }
+
+    /**
+     * Get a copy of this snapshot with the specified eviction count.
+     *
+     * @param evictionCount number of entries evicted by the cache automatically
+     * @return snapshot
+     */
+    public CacheStats withEvictionCount(long evictionCount) {
+        return new CacheStats(
+            hitCount, missCount, loadSuccessCount, loadFailureCount, totalLoadTime,
+            evictionCount, batchCount, fullHitBatchCount, partialHitBatchCount, size
+        );
+    }
+
+    /**
+     * Get the difference between this snapshot and the specified earlier snapshot,
+     * the size of result is the size of this snapshot.
+     *
+     * @param other earlier snapshot
+     * @return statistics of the period between two snapshots
+     */
+    public CacheStats minus(CacheStats other) {
+        return new CacheStats(
+            Math.max(0L, hitCount - other.hitCount),
+            Math.max(0L, missCount - other.missCount),
+            Math.max(0L, loadSuccessCount - other.loadSuccessCount),
+            Math.max(0L, loadFailureCount - other.loadFailureCount),
+            Math.max(0L, totalLoadTime - other.totalLoadTime),
+            Math.max(0L, evictionCount - other.evictionCount),
+            Math.max(0L, batchCount - other.batchCount),
+            Math.max(0L, fullHitBatchCount - other.fullHitBatchCount),
+            Math.max(0L, partialHitBatchCount - other.partialHitBatchCount),
+            size
+        );
+    }
+
+    /**
+     * Get the sum of this snapshot and the specified snapshot,
+     * the size of result is unknown if any of sizes is unknown.
+     *
+     * @param other other snapshot
+     * @return sum of two snapshots
+     */
+    public CacheStats plus(CacheStats other) {
+        return new CacheStats(
+            hitCount + other.hitCount,
+            missCount + other.missCount,
+            loadSuccessCount + other.loadSuccessCount,
+            loadFailureCount + other.loadFailureCount,
+            totalLoadTime + other.totalLoadTime,
+            evictionCount + other.evictionCount,
+            batchCount + other.batchCount,
+            fullHitBatchCount + other.fullHitBatchCount,
+            partialHitBatchCount + other.partialHitBatchCount,
+            size < 0L || other.size < 0L ? -1L : size + other.size
+        );
+    }
+}
@@ -0,0 +1,127 @@
+package cn.crane4j.core.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A lock-free accumulator of the statistics of a cache.<br />
+ * The counters are striped by {@link LongAdder}, so the recording is cheap under contention,
+ * and {@link #snapshot} can be called at any time without blocking the recording.
+ *
+ * @author huangchengxing
+ * @see CacheStats
+ * @since 2.7.0
+ */
+public class CacheStatsCounter {
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder fullHitBatchCount = new LongAdder();
+    private final LongAdder partialHitBatchCount = new LongAdder();
+
+    /**
+     * Record the keys which are found in cache.
+     *
+     * @param count number of keys
+     */
+    public void recordHits(int count) {
+        if (count > 0) {
+            hitCount.add(count);
+        }
+    }
+
+    /**
+     * Record the keys which are not found in cache.
+     *
+     * @param count number of keys
+     */
+    public void recordMisses(int count) {
+        if (count > 0) {
+            missCount.add(count);
+        }
+    }
+
+    /**
+     * Record a batch of keys, the hits and misses of the batch are also recorded.
+     *
+     * @param hits number of keys which are found in cache
+     * @param total number of keys in the batch
+     */
+    public void recordBatch(int hits, int total) {
+        if (total <= 0) {
+            return;
+        }
+        recordHits(hits);
+        recordMisses(total - hits);
+        batchCount.increment();
+        if (hits >= total) {
+            fullHitBatchCount.increment();
+        } else if (hits > 0) {
+            partialHitBatchCount.increment();
+        }
+    }
+
+    /**
+     * Record a successful loading from the data source.
+     *
+     * @param nanos time elapsed in nanoseconds
+     */
+    public void recordLoadSuccess(long nanos) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(nanos);
+    }
+
+    /**
+     * Record a failed loading from the data source.
+     *
+     * @param nanos time elapsed in nanoseconds
+     */
+    public void recordLoadFailure(long nanos) {
+        loadFailureCount.increment();
+        totalLoadTime.add(nanos);
+    }
+
+    /**
+     * Record the entries evicted by the cache automatically.
+     *
+     * @param count number of entries
+     */
+    public void recordEvictions(long count) {
+        if (count > 0L) {
+            evictionCount.add(count);
+        }
+    }
+
+    /**
+     * Get a snapshot of current statistics.
+     *
+     * @param size approximate number of entries in cache, -1 if unknown
+     * @return snapshot
+     */
+    public CacheStats snapshot(long size) {
+        return new CacheStats(
+            hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+            totalLoadTime.sum(), evictionCount.sum(), batchCount.sum(),
+            fullHitBatchCount.sum(), partialHitBatchCount.sum(), size
+        );
+    }
+
+    /**
+     * Clear all recorded statistics.
+     */
+    public void reset() {
+        hitCount.reset();
+        missCount.reset();
+        loadSuccessCount.reset();
+        loadFailureCount.reset();
+        totalLoadTime.reset();
+        evictionCount.reset();
+        batchCount.reset();
+        fullHitBatchCount.reset();
+        partialHitBatchCount.reset();
+    }
+}
@@ -0,0 +1,179 @@
+package cn.crane4j.core.cache;
+
+import cn.crane4j.core.exception.Crane4jException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>Codec used to convert the cached values to bytes and back,
+ * it is used by the cache which stores values outside the java heap.<br />
+ * The default implementation is {@link JdkSerializationCodec},
+ * if most of the values are strings or boxed primitives, such as dictionaries,
+ * {@link CompactCodec} can be used to reduce the size of bytes,
+ * and a codec based on Kryo, Protostuff or Jackson can be used
+ * by implementing this interface.
+ *
+ * @author huangchengxing
+ * @see OffHeapCacheManager
+ * @since 2.7.0
+ */
+public interface CacheValueCodec {
+
+    /**
+     * Encode the value to bytes.
+     *
+     * @param value value, not null
+     * @return bytes
+     */
+    byte[] encode(Object value);
+
+    /**
+     * Decode the bytes to value.
+     *
+     * @param bytes bytes
+     * @return value
+     */
+    Object decode(byte[] bytes);
+
+    /**
+     * A {@link CacheValueCodec} which uses the java serialization,
+     * the values must implement {@link java.io.Serializable}.
+     *
+     * @author huangchengxing
+     * @since 2.7.0
+     */
+    class JdkSerializationCodec implements CacheValueCodec {
+
+        public static final JdkSerializationCodec INSTANCE = new JdkSerializationCodec();
+
+        /**
+         * Encode the value to bytes.
+         *
+         * @param value value, not null
+         * @return bytes
+         */
+        @Override
+        public byte[] encode(Object value) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+                output.writeObject(value);
+            } catch (IOException ex) {
+                throw new Crane4jException(ex);
+            }
+            return bytes.toByteArray();
+        }
+
+        /**
+         * Decode the bytes to value.
+         *
+         * @param bytes bytes
+         * @return value
+         */
+        @Override
+        public Object decode(byte[] bytes) {
+            try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return input.readObject();
+            } catch (IOException | ClassNotFoundException ex) {
+                throw new Crane4jException(ex);
+            }
+        }
+    }
+
+    /**
+     * <p>A {@link CacheValueCodec} which encodes the strings and boxed primitives
+     * as a type tag followed by their raw bytes,
+     * for example, a string is encoded to a tag and its UTF-8 bytes,
+     * while the java serialization writes the stream header and class descriptor for each value.<br />
+     * The other values are encoded by the {@link #fallback} codec.
+     *
+     * @author huangchengxing
+     * @since 2.7.0
+     */
+    class CompactCodec implements CacheValueCodec {
+
+        public static final CompactCodec INSTANCE = new CompactCodec(JdkSerializationCodec.INSTANCE);
+
+        private static final byte OTHER = 0;
+        private static final byte STRING = 1;
+        private static final byte INTEGER = 2;
+        private static final byte LONG = 3;
+        private static final byte DOUBLE = 4;
+        private static final byte BOOLEAN = 5;
+
+        /**
+         * codec used to encode the values which are not strings or boxed primitives
+         */
+        private final CacheValueCodec fallback;
+
+        /**
+         * Create a {@link CompactCodec} instance.
+         *
+         * @param fallback codec used to encode the values which are not strings or boxed primitives
+         */
+        public CompactCodec(CacheValueCodec fallback) {
+            this.fallback = fallback;
+        }
+
+        /**
+         * Encode the value to bytes.
+         *
+         * @param value value, not null
+         * @return bytes
+         */
+        @Override
+        public byte[] encode(Object value) {
+            if (value instanceof String) {
+                byte[] bytes = ((String)value).getBytes(StandardCharsets.UTF_8);
+                return ByteBuffer.allocate(bytes.length + 1).put(STRING).put(bytes).array();
+            }
+            if (value instanceof Integer) {
+                return ByteBuffer.allocate(5).put(INTEGER).putInt((Integer)value).array();
+            }
+            if (value instanceof Long) {
+                return ByteBuffer.allocate(9).put(LONG).putLong((Long)value).array();
+            }
+            if (value instanceof Double) {
+                return ByteBuffer.allocate(9).put(DOUBLE).putDouble((Double)value).array();
+            }
+            if (value instanceof Boolean) {
+                return new byte[]{ BOOLEAN, (byte)(Boolean.TRUE.equals(value) ? 1 : 0) };
+            }
+            byte[] bytes = fallback.encode(value);
+            return ByteBuffer.allocate(bytes.length + 1).put(OTHER).put(bytes).array();
+        }
+
+        /**
+         * Decode the bytes to value.
+         *
+         * @param bytes bytes
+         * @return value
+         */
+        @Override
+        public Object decode(byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+            switch (bytes[0]) {
+                case STRING:
+                    return new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+                case INTEGER:
+                    return buffer.getInt();
+                case LONG:
+                    return buffer.getLong();
+                case DOUBLE:
+                    return buffer.getDouble();
+                case BOOLEAN:
+                    return bytes[1] != 0;
+                case OTHER:
+                    return fallback.decode(Arrays.copyOfRange(bytes, 1, bytes.length));
+                default:
+                    throw new Crane4jException("unknown type tag [{}] of cached value", bytes[0]);
+            }
+        }
+    }
+}
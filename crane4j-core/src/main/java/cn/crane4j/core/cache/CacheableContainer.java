@@ -2,12 +2,32 @@ package cn.crane4j.core.cache;
 
 import cn.crane4j.core.container.Container;
 import cn.crane4j.core.container.ContainerDelegate;
+import cn.crane4j.core.exception.Crane4jException;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -17,6 +37,27 @@ import java.util.stream.Collectors;
  * If some key sets do not exist in the cache,
  * it will be obtained from the original container and added to the cache for this batch of keys.
  *
+ * <p>If {@link CacheDefinition#getMissingKeyExpireTime()} is not zero,
+ * the keys which are not found in the original container will also be recorded
+ * in a separate cache named {@code cacheName + "$missing"} with its own expire time,
+ * and these keys will not be obtained from the original container again until the records expire.
+ * The records of missing keys are never returned as data source objects.
+ *
+ * <p>If {@link CacheDefinition#getSoftExpireTime()} is positive,
+ * it will be used as a soft expire time of the cached values,
+ * and {@link CacheDefinition#getExpireTime()} is used as the hard expire time.
+ * When the cached values are read after the soft expire time,
+ * they are returned immediately, and the stale keys of the batch will be reloaded
+ * from the original container at once by {@link #refreshExecutor} in background.
+ * Only the keys that have exceeded the hard expire time are loaded synchronously.<br />
+ * In this case, the cached values are wrapped with their stale time,
+ * so the value serializer of cache must support {@link Serializable} objects if it is a remote cache,
+ * and the cache manager should use {@link #unwrapValue} to get the original value
+ * if it inspects the cached values, e.g. weighs them.
+ *
+ * <p>The hits and misses of each batch of keys, and the loadings from the original container
+ * are recorded, the statistics can be obtained by {@link #getStats()}.
+ *
  * @author huangchengxing
  * @param <K> key type
  * @see CacheObject
@@ -28,51 +69,299 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CacheableContainer<K> implements ContainerDelegate<K> {
 
+    /**
+     * suffix of the name of cache for missing keys
+     *
+     * @since 2.7.0
+     */
+    public static final String MISSING_KEY_CACHE_SUFFIX = "$missing";
+
+    /**
+     * the value recorded in the cache for missing keys
+     */
+    private static final Object MISSING = Boolean.TRUE;
+
     private final Container<K> container;
     private final CacheDefinition cacheDefinition;
     private final CacheManager cacheManager;
     private volatile CacheObject<K> currentCache;
+    private volatile CacheObject<K> currentMissingKeyCache;
+
+    /**
+     * keys which are being loaded from the original container, and the futures of their values
+     */
+    @Getter(AccessLevel.NONE)
+    private final ConcurrentMap<K, CompletableFuture<Object>> loadingKeys = new ConcurrentHashMap<>();
+
+    /**
+     * executor used to refresh the stale values in background,
+     * default is {@link ForkJoinPool#commonPool()}.
+     *
+     * @see CacheDefinition#getSoftExpireTime()
+     * @since 2.7.0
+     */
+    @NonNull
+    @Setter
+    private Executor refreshExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * statistics of the batches and loadings of this container
+     */
+    @Getter(AccessLevel.NONE)
+    private final CacheStatsCounter statsCounter = new CacheStatsCounter();
 
     /**
      * <p>Enter a batch of key values to return data source objects grouped by key values.
      * If part of the key value entered has been cached,
      * the data corresponding to that part of the key value will be obtained from the cache first.
      *
+     * <p>The keys which are not cached will be loaded from the original container,
+     * if some of them are being loaded by other threads at the same time,
+     * the current thread will wait for the results of those threads instead of loading them again,
+     * and only load the rest of keys.
+     *
+     * <p>If the soft expire time is enabled, the stale values will be returned directly,
+     * and the stale keys will be refreshed in background.
+     *
      * @param keys keys
      * @return data source objects grouped by key value
      */
-    @SuppressWarnings("unchecked")
     @Override
     public Map<K, ?> get(Collection<K> keys) {
         CacheObject<K> current = getCurrentCache();
-        Map<K, Object> caches = current.getAll(keys);
+        Map<K, Object> cachedValues = current.getAll(keys);
+        CacheObject<K> missingKeyCache = isMissingKeyCacheEnabled() ? getCurrentMissingKeyCache() : null;
+        // return the stale values directly, and refresh them in background
+        Map<K, Object> caches = isRefreshEnabled() && !cachedValues.isEmpty() ?
+            unwrapAndRefreshStaleValues(current, missingKeyCache, cachedValues) : cachedValues;
 
-        // all keys are not cached?
+        // some keys are cached?
+        Set<K> noneCachedKeys = keys.stream()
+            .filter(k -> !caches.containsKey(k)).collect(Collectors.toSet());
+        int keyCount = caches.size() + noneCachedKeys.size();
+        if (Objects.nonNull(missingKeyCache) && !noneCachedKeys.isEmpty()) {
+            // skip the keys which are known to be missing in the container
+            noneCachedKeys.removeAll(missingKeyCache.getAll(noneCachedKeys).keySet());
+        }
+        // the keys which are known to be missing are also regarded as hits
+        statsCounter.recordBatch(keyCount - noneCachedKeys.size(), keyCount);
+        if (noneCachedKeys.isEmpty()) {
+            return caches;
+        }
+        Map<K, Object> values = load(current, missingKeyCache, noneCachedKeys);
         if (caches.isEmpty()) {
-            if (log.isDebugEnabled()) {
-                log.debug("get none cached keys [{}] from container [{}]", keys, container.getNamespace());
+            return values;
+        }
+        // merge cached values and none cached values,
+        // the values returned by cache object may be unmodifiable, so they are copied into a new map
+        Map<K, Object> results = new HashMap<>(caches.size() + values.size());
+        results.putAll(caches);
+        results.putAll(values);
+        return results;
+    }
+
+    private Map<K, Object> load(CacheObject<K> current, @Nullable CacheObject<K> missingKeyCache, Set<K> keys) {
+        // register the keys which are not loading by other threads
+        Map<K, CompletableFuture<Object>> ownedKeys = new HashMap<>(keys.size());
+        Map<K, CompletableFuture<Object>> joinedKeys = null;
+        for (K key : keys) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            CompletableFuture<Object> loading = loadingKeys.putIfAbsent(key, future);
+            if (Objects.isNull(loading)) {
+                ownedKeys.put(key, future);
+            } else {
+                joinedKeys = Objects.isNull(joinedKeys) ? new HashMap<>(8) : joinedKeys;
+                joinedKeys.put(key, loading);
             }
-            Map<K, Object> values = (Map<K, Object>)container.get(keys);
-            current.putAll(values);
+        }
+
+        Map<K, Object> values = ownedKeys.isEmpty() ?
+            Collections.emptyMap() : loadOwnedKeys(current, missingKeyCache, ownedKeys);
+        if (Objects.isNull(joinedKeys)) {
             return values;
         }
+        Map<K, Object> results = new HashMap<>(values);
+        if (log.isDebugEnabled()) {
+            log.debug("wait for keys [{}] which are loading by other threads from container [{}]", joinedKeys.keySet(), container.getNamespace());
+        }
+        joinedKeys.forEach((key, future) -> {
+            Object value = join(future);
+            if (Objects.nonNull(value)) {
+                results.put(key, value);
+            }
+        });
+        return results;
+    }
 
-        // some keys are cached?
-        keys = keys.stream()
-            .filter(k -> !caches.containsKey(k)).collect(Collectors.toSet());
+    @SuppressWarnings("unchecked")
+    private Map<K, Object> loadOwnedKeys(
+        CacheObject<K> current, @Nullable CacheObject<K> missingKeyCache, Map<K, CompletableFuture<Object>> ownedKeys) {
+        Set<K> keys = ownedKeys.keySet();
         if (log.isDebugEnabled()) {
             log.debug("get none cached keys [{}] from container [{}]", keys, container.getNamespace());
         }
-        Map<K, Object> values = (Map<K, Object>)container.get(keys);
-        current.putAll(values);
-        // merge cached values and none cached values
-        caches.putAll(values);
-        return caches;
+        long startTime = System.nanoTime();
+        try {
+            Map<K, Object> values = (Map<K, Object>)container.get(keys);
+            values = Objects.isNull(values) ? Collections.emptyMap() : values;
+            current.putAllLoaded(isRefreshEnabled() ? wrap(values) : values);
+            if (Objects.nonNull(missingKeyCache)) {
+                putMissingKeys(missingKeyCache, keys, values);
+            }
+            for (Map.Entry<K, CompletableFuture<Object>> entry : ownedKeys.entrySet()) {
+                entry.getValue().complete(values.get(entry.getKey()));
+            }
+            statsCounter.recordLoadSuccess(System.nanoTime() - startTime);
+            return values;
+        } catch (Throwable ex) {
+            statsCounter.recordLoadFailure(System.nanoTime() - startTime);
+            ownedKeys.values().forEach(future -> future.completeExceptionally(ex));
+            throw ex;
+        } finally {
+            // values have been put into cache, so the later callers can get them from cache
+            ownedKeys.forEach(loadingKeys::remove);
+        }
+    }
+
+    private Map<K, Object> unwrapAndRefreshStaleValues(
+        CacheObject<K> current, @Nullable CacheObject<K> missingKeyCache, Map<K, Object> caches) {
+        long now = System.currentTimeMillis();
+        Map<K, Object> results = new HashMap<>(caches.size());
+        Map<K, Object> staleValues = null;
+        for (Map.Entry<K, Object> entry : caches.entrySet()) {
+            Object value = entry.getValue();
+            if (!(value instanceof RefreshableValue)) {
+                results.put(entry.getKey(), value);
+                continue;
+            }
+            RefreshableValue refreshableValue = (RefreshableValue)value;
+            results.put(entry.getKey(), refreshableValue.getValue());
+            if (refreshableValue.isStale(now)) {
+                staleValues = Objects.isNull(staleValues) ? new HashMap<>(8) : staleValues;
+                staleValues.put(entry.getKey(), refreshableValue.getValue());
+            }
+        }
+        if (Objects.nonNull(staleValues)) {
+            refresh(current, missingKeyCache, staleValues);
+        }
+        return results;
+    }
+
+    private void refresh(CacheObject<K> current, @Nullable CacheObject<K> missingKeyCache, Map<K, Object> staleValues) {
+        // skip the keys which are being loaded by other threads
+        Map<K, CompletableFuture<Object>> ownedKeys = new HashMap<>(staleValues.size());
+        staleValues.keySet().forEach(key -> {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            if (Objects.isNull(loadingKeys.putIfAbsent(key, future))) {
+                ownedKeys.put(key, future);
+            }
+        });
+        if (ownedKeys.isEmpty()) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refreshOwnedKeys(current, missingKeyCache, ownedKeys));
+        } catch (RejectedExecutionException ex) {
+            log.warn("failed to refresh stale keys [{}] of container [{}], because the task is rejected", ownedKeys.keySet(), container.getNamespace(), ex);
+            ownedKeys.forEach((key, future) -> {
+                loadingKeys.remove(key, future);
+                future.complete(staleValues.get(key));
+            });
+        }
+    }
+
+    private void refreshOwnedKeys(
+        CacheObject<K> current, @Nullable CacheObject<K> missingKeyCache, Map<K, CompletableFuture<Object>> ownedKeys) {
+        if (log.isDebugEnabled()) {
+            log.debug("refresh stale keys [{}] from container [{}]", ownedKeys.keySet(), container.getNamespace());
+        }
+        try {
+            Map<K, Object> values = loadOwnedKeys(current, missingKeyCache, ownedKeys);
+            // evict the stale values of keys which no longer exist in the container
+            List<K> removedKeys = new ArrayList<>();
+            ownedKeys.keySet().forEach(key -> {
+                if (Objects.isNull(values.get(key))) {
+                    removedKeys.add(key);
+                }
+            });
+            if (!removedKeys.isEmpty()) {
+                current.removeAll(removedKeys);
+            }
+        } catch (Exception ex) {
+            log.warn("failed to refresh stale keys [{}] of container [{}]", ownedKeys.keySet(), container.getNamespace(), ex);
+        }
+    }
+
+    private Map<K, Object> wrap(Map<K, Object> values) {
+        if (values.isEmpty()) {
+            return values;
+        }
+        long staleAt = System.currentTimeMillis()
+            + cacheDefinition.getTimeUnit().toMillis(cacheDefinition.getSoftExpireTime());
+        Map<K, Object> results = new HashMap<>(values.size());
+        values.forEach((key, value) -> {
+            if (Objects.nonNull(value)) {
+                results.put(key, new RefreshableValue(value, staleAt));
+            }
+        });
+        return results;
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            throw cause instanceof RuntimeException ?
+                (RuntimeException)cause : new Crane4jException(cause);
+        }
+    }
+
+    private void putMissingKeys(CacheObject<K> missingKeyCache, Collection<K> keys, Map<K, Object> values) {
+        Map<K, Object> missingKeys = new HashMap<>(keys.size());
+        for (K key : keys) {
+            if (Objects.isNull(values) || Objects.isNull(values.get(key))) {
+                missingKeys.put(key, MISSING);
+            }
+        }
+        if (!missingKeys.isEmpty()) {
+            missingKeyCache.putAllLoaded(missingKeys);
+        }
+    }
+
+    /**
+     * <p>Get a snapshot of the statistics of this container.<br />
+     * The hits and misses are counted per key of each batch passed to {@link #get},
+     * and the keys which are known to be missing in the original container are regarded as hits.
+     * The eviction count and size are obtained from current cache object.
+     *
+     * @return statistics
+     * @see CacheStats#getPartialHitBatchRate()
+     * @since 2.7.0
+     */
+    public CacheStats getStats() {
+        CacheObject<K> cache = currentCache;
+        CacheStats cacheStats = Objects.isNull(cache) ? CacheStats.EMPTY : cache.getStats();
+        return statsCounter.snapshot(cacheStats.getSize())
+            .withEvictionCount(cacheStats.getEvictionCount());
+    }
+
+    private boolean isRefreshEnabled() {
+        Long softExpireTime = cacheDefinition.getSoftExpireTime();
+        return Objects.nonNull(softExpireTime) && softExpireTime > 0L;
+    }
+
+    private boolean isMissingKeyCacheEnabled() {
+        Long expireTime = cacheDefinition.getMissingKeyExpireTime();
+        return Objects.nonNull(expireTime) && expireTime != 0L;
     }
 
     /**
      * Get current cache object, if current cache object is null or invalid,
-     * recreate it by cache manager which is specified in cache definition.
+     * recreate it by cache manager which is specified in cache definition.<br />
+     * If the soft expire time is enabled, the stale values are refreshed by this container,
+     * so the refreshing of cache manager will be disabled,
+     * otherwise the values reloaded by cache manager will not be wrapped.
      *
      * @return current cache object
      */
@@ -83,12 +372,143 @@ public class CacheableContainer<K> implements ContainerDelegate<K> {
                     if (log.isDebugEnabled()) {
                         log.debug("recreate cache object for container [{}], because it is invalid or null", container.getNamespace());
                     }
-                    currentCache = cacheManager.createCache(
-                        cacheDefinition.getName(), cacheDefinition.getExpireTime(), cacheDefinition.getTimeUnit()
-                    );
+                    CacheDefinition definition = isRefreshEnabled() ?
+                        new NonRefreshingCacheDefinition(cacheDefinition) : cacheDefinition;
+                    currentCache = cacheManager.createCache(definition, container);
                 }
             }
         }
         return currentCache;
     }
+
+    /**
+     * Get current cache object for missing keys, if current cache object is null or invalid,
+     * recreate it by cache manager which is specified in cache definition.
+     *
+     * @return current cache object for missing keys
+     * @see CacheDefinition#getMissingKeyExpireTime()
+     * @since 2.7.0
+     */
+    public CacheObject<K> getCurrentMissingKeyCache() {
+        if (currentMissingKeyCache == null || currentMissingKeyCache.isInvalid()) {
+            synchronized (this) {
+                if (currentMissingKeyCache == null || currentMissingKeyCache.isInvalid()) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("recreate missing key cache object for container [{}], because it is invalid or null", container.getNamespace());
+                    }
+                    currentMissingKeyCache = cacheManager.createCache(new MissingKeyCacheDefinition(cacheDefinition), null);
+                }
+            }
+        }
+        return currentMissingKeyCache;
+    }
+
+    /**
+     * <p>Get the original value if the given cached value is wrapped by container
+     * when the soft expire is enabled, otherwise return the value itself.<br />
+     * It's useful for the cache managers which inspect the cached values, e.g. weigh them.
+     *
+     * @param value cached value
+     * @return original value
+     * @see CacheDefinition#getSoftExpireTime()
+     * @since 2.7.0
+     */
+    public static Object unwrapValue(Object value) {
+        return value instanceof RefreshableValue ? ((RefreshableValue)value).getValue() : value;
+    }
+
+    /**
+     * Definition of the cache for missing keys, which is derived from the definition of container cache.
+     */
+    @RequiredArgsConstructor
+    private static class MissingKeyCacheDefinition implements CacheDefinition {
+
+        private final CacheDefinition definition;
+
+        @Override
+        public String getName() {
+            return definition.getName() + MISSING_KEY_CACHE_SUFFIX;
+        }
+
+        @Override
+        public String getCacheManager() {
+            return definition.getCacheManager();
+        }
+
+        @Override
+        public Long getExpireTime() {
+            return definition.getMissingKeyExpireTime();
+        }
+
+        @Override
+        public TimeUnit getTimeUnit() {
+            return definition.getTimeUnit();
+        }
+
+        @Override
+        public Long getMaximumSize() {
+            return definition.getMaximumSize();
+        }
+    }
+
+    /**
+     * Definition of the cache which disables the refreshing of cache manager,
+     * because the stale values are refreshed by the container itself when soft expire is enabled.
+     */
+    @RequiredArgsConstructor
+    private static class NonRefreshingCacheDefinition implements CacheDefinition {
+
+        private final CacheDefinition definition;
+
+        @Override
+        public String getName() {
+            return definition.getName();
+        }
+
+        @Override
+        public String getCacheManager() {
+            return definition.getCacheManager();
+        }
+
+        @Override
+        public Long getExpireTime() {
+            return definition.getExpireTime();
+        }
+
+        @Override
+        public TimeUnit getTimeUnit() {
+            return definition.getTimeUnit();
+        }
+
+        @Override
+        public Long getMissingKeyExpireTime() {
+            return definition.getMissingKeyExpireTime();
+        }
+
+        @Override
+        public Long getMaximumSize() {
+            return definition.getMaximumSize();
+        }
+
+        @Override
+        public Long getMaximumWeight() {
+            return definition.getMaximumWeight();
+        }
+    }
+
+    /**
+     * The cached value with the time after which it is stale.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class RefreshableValue implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private final Object value;
+        private final long staleAt;
+
+        boolean isStale(long now) {
+            return now >= staleAt;
+        }
+    }
 }
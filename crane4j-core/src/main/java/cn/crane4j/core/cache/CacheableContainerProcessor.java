@@ -13,6 +13,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -40,6 +41,17 @@ public class CacheableContainerProcessor implements ContainerLifecycleProcessor
     @Setter
     private CacheDefinitionRetriever cacheDefinitionRetriever = (definition, container) -> null;
 
+    /**
+     * The executor used by cacheable containers to refresh the stale values in background,
+     * if it is null, use the default executor of {@link CacheableContainer}.
+     *
+     * @see CacheableContainer#setRefreshExecutor
+     * @since 2.7.0
+     */
+    @Nullable
+    @Setter
+    private Executor refreshExecutor;
+
     /**
      * Callback when the container is created.
      *
@@ -62,8 +74,11 @@ public class CacheableContainerProcessor implements ContainerLifecycleProcessor
             cacheDefinition.getCacheManager(), CacheManager.DEFAULT_MAP_CACHE_MANAGER_NAME
         );
         CacheManager cacheManager = configuration.getCacheManager(cacheManagerName);
-        container = new CacheableContainer<>(container, cacheDefinition, cacheManager);
-        return container;
+        CacheableContainer<Object> cacheableContainer = new CacheableContainer<>(container, cacheDefinition, cacheManager);
+        if (Objects.nonNull(refreshExecutor)) {
+            cacheableContainer.setRefreshExecutor(refreshExecutor);
+        }
+        return cacheableContainer;
     }
 
     @Nullable
@@ -83,10 +98,8 @@ public class CacheableContainerProcessor implements ContainerLifecycleProcessor
      */
     protected CacheDefinition getCacheDefinitionFromContainer(Container<Object> container) {
         ContainerCache annotation = container.getClass().getAnnotation(ContainerCache.class);
-        return Objects.isNull(annotation) ? null : new CacheDefinition.Impl(
-            container.getNamespace(), annotation.cacheManager(),
-            annotation.expirationTime(), annotation.timeUnit()
-        );
+        return Objects.isNull(annotation) ? null :
+            CacheDefinition.from(container.getNamespace(), annotation.cacheManager(), annotation);
     }
 
     /**
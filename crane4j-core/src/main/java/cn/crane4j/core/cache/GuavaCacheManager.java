@@ -1,6 +1,7 @@
 package cn.crane4j.core.cache;
 
 import cn.crane4j.core.util.Asserts;
+import cn.crane4j.core.util.CollectionUtils;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import lombok.NoArgsConstructor;
@@ -9,6 +10,9 @@ import lombok.SneakyThrows;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -66,6 +70,7 @@ public class GuavaCacheManager extends AbstractCacheManager {
      * A default {@link CacheFactory} implementation,
      * if expire time greater than 0, use {@link CacheBuilder#expireAfterWrite(long, TimeUnit)},
      * if expire time less than 0, use {@link CacheBuilder#weakKeys()} and {@link CacheBuilder#weakValues()}.
+     * The statistics of cache are recorded by {@link CacheBuilder#recordStats()}.
      *
      * @author huangchengxing
      */
@@ -86,11 +91,13 @@ public class GuavaCacheManager extends AbstractCacheManager {
             if (expireTime > 1) {
                 return CacheBuilder.newBuilder()
                     .expireAfterWrite(expireTime, timeUnit)
+                    .recordStats()
                     .build();
             }
             // if expire time less than 0, use weak keys and weak values
             return CacheBuilder.newBuilder()
                 .weakKeys().weakValues()
+                .recordStats()
                 .build();
         }
     }
@@ -119,7 +126,28 @@ public class GuavaCacheManager extends AbstractCacheManager {
         @Nullable
         @Override
         public Object get(K key) {
-            return cache.getIfPresent(key);
+            return recordGet(cache.getIfPresent(key));
+        }
+
+        /**
+         * Get all cache according to the key values.
+         *
+         * @param keys keys
+         * @return cache value
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public Map<K, Object> getAll(Iterable<K> keys) {
+            if (CollectionUtils.isEmpty(keys)) {
+                return Collections.emptyMap();
+            }
+            int keyCount = 0;
+            for (K ignored : keys) {
+                keyCount++;
+            }
+            // the result of guava is immutable, copy it for the callers to merge values
+            Map<K, Object> results = new HashMap<>((Map<K, Object>)cache.getAllPresent(keys));
+            return recordGetAll(results, keyCount);
         }
 
         /**
@@ -162,5 +190,26 @@ public class GuavaCacheManager extends AbstractCacheManager {
         public void clear() {
             cache.invalidateAll();
         }
+
+        /**
+         * Get a snapshot of the statistics of this cache,
+         * the eviction count is available only if the cache records statistics.
+         *
+         * @return statistics
+         */
+        @Override
+        public CacheStats getStats() {
+            return super.getStats().withEvictionCount(cache.stats().evictionCount());
+        }
+
+        /**
+         * Get the approximate number of entries in this cache.
+         *
+         * @return number of entries
+         */
+        @Override
+        protected long estimatedSize() {
+            return cache.size();
+        }
     }
 }
@@ -0,0 +1,48 @@
+package cn.crane4j.core.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * <p>An in-process implementation of {@link CacheInvalidationBus},
+ * the events are dispatched to all subscribers in the current thread.<br />
+ * It's useful when there is only one node,
+ * or simulating multiple nodes in the same process for testing.
+ *
+ * @author huangchengxing
+ * @since 2.7.0
+ */
+@Slf4j
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final List<Consumer<Event>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Publish an event to all subscribers.
+     *
+     * @param event event
+     */
+    @Override
+    public void publish(Event event) {
+        for (Consumer<Event> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception ex) {
+                log.warn("failed to handle cache invalidation event [{}]", event, ex);
+            }
+        }
+    }
+
+    /**
+     * Subscribe the events published by all nodes.
+     *
+     * @param listener listener
+     */
+    @Override
+    public void subscribe(Consumer<Event> listener) {
+        listeners.add(listener);
+    }
+}
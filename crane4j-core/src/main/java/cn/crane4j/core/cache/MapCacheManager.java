@@ -4,7 +4,10 @@ import cn.crane4j.core.util.CollectionUtils;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
@@ -63,7 +66,7 @@ public abstract class MapCacheManager extends AbstractCacheManager {
      * @author huangchengxing
      * @since 2.4.0
      */
-    protected static class MapCacheObject<K> extends AbstractCacheObject<K> {
+    protected static class MapCacheObject<K> extends AbstractCacheObject<K> implements PersistableCacheObject<K> {
 
         private final Map<K, Object> map;
 
@@ -81,7 +84,30 @@ public abstract class MapCacheManager extends AbstractCacheManager {
         @Nullable
         @Override
         public Object get(K key) {
-            return map.get(key);
+            return recordGet(map.get(key));
+        }
+
+        /**
+         * Get all cache according to the key values.
+         *
+         * @param keys keys
+         * @return cache value
+         */
+        @Override
+        public Map<K, Object> getAll(Iterable<K> keys) {
+            if (CollectionUtils.isEmpty(keys)) {
+                return Collections.emptyMap();
+            }
+            Map<K, Object> results = new HashMap<>(16);
+            int keyCount = 0;
+            for (K key : keys) {
+                keyCount++;
+                Object value = map.get(key);
+                if (Objects.nonNull(value)) {
+                    results.put(key, value);
+                }
+            }
+            return recordGetAll(results, keyCount);
         }
 
         /**
@@ -123,6 +149,38 @@ public abstract class MapCacheManager extends AbstractCacheManager {
         public void clear() {
             map.clear();
         }
+
+        /**
+         * Traverse all entries of this cache, the entries never expire.
+         *
+         * @param consumer consumer of entries
+         */
+        @Override
+        public void forEachEntry(EntryConsumer<K> consumer) {
+            map.forEach((key, value) -> consumer.accept(key, value, -1L));
+        }
+
+        /**
+         * Restore an entry, the expire time is ignored because the entries never expire.
+         *
+         * @param key key
+         * @param value value
+         * @param expireAt epoch milliseconds when the entry expires
+         */
+        @Override
+        public void restore(K key, Object value, long expireAt) {
+            map.putIfAbsent(key, value);
+        }
+
+        /**
+         * Get the number of entries in this cache.
+         *
+         * @return number of entries
+         */
+        @Override
+        protected long estimatedSize() {
+            return map.size();
+        }
     }
 
     /**
@@ -0,0 +1,450 @@
+package cn.crane4j.core.cache;
+
+import cn.crane4j.core.container.Container;
+import cn.crane4j.core.util.Asserts;
+import cn.crane4j.core.util.CollectionUtils;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>A two-level {@link CacheManager} which layers a local cache (L1) over a shared cache (L2).<br />
+ * The caches created by this manager read from L1 first, and then read from L2 if not found,
+ * the values read from L2 will be put into L1.
+ * The writes and removals are applied to both L1 and L2,
+ * and an invalidation event will be published through the {@link CacheInvalidationBus},
+ * so other nodes can evict their L1 copies of the changed entries.
+ * The values filled by {@link CacheObject#putAllLoaded} are not changed but just loaded from the data source,
+ * so no event will be published for them, and the L1 copies of other nodes are retained.
+ *
+ * <p>By default, L1 and L2 are created with the same {@link CacheDefinition},
+ * the expiry time and max size of L1 can be specified separately by
+ * {@link #setLocalExpireTime}, {@link #setLocalTimeUnit} and {@link #setLocalMaximumSize}.
+ *
+ * <p>For example, use a bounded local cache manager as L1 and a redis cache manager as L2:
+ * <pre>{@code
+ * CacheManager manager = new NearCacheManager(
+ *     new CaffeineCacheManager(), new StringKeyRedisCacheManager(redisTemplate),
+ *     new RedisCacheInvalidationBus(redisTemplate, listenerContainer, "crane4j:cache:invalidation")
+ * );
+ * }</pre>
+ *
+ * <p>Note that L1 may serve stale values until the invalidation event arrives,
+ * so the expire time of L1 should be kept short if the bus is not reliable.
+ *
+ * @author huangchengxing
+ * @see CacheInvalidationBus
+ * @since 2.7.0
+ */
+@Slf4j
+public class NearCacheManager extends AbstractCacheManager {
+
+    /**
+     * manager of local caches
+     */
+    @Getter
+    private final CacheManager localCacheManager;
+
+    /**
+     * manager of shared caches
+     */
+    @Getter
+    private final CacheManager remoteCacheManager;
+
+    /**
+     * bus used to broadcast invalidation events
+     */
+    private final CacheInvalidationBus invalidationBus;
+
+    /**
+     * <p>The expiry time of local caches, the time unit is {@link #localTimeUnit}.<br />
+     * If the value is positive, it will be used instead of the expiry time of cache definition,
+     * so the local copies can expire earlier than the shared entries.
+     */
+    @Setter
+    private long localExpireTime = -1L;
+
+    /**
+     * The time unit of {@link #localExpireTime}.
+     */
+    @NonNull
+    @Setter
+    private TimeUnit localTimeUnit = TimeUnit.MILLISECONDS;
+
+    /**
+     * <p>The max number of entries in each local cache.<br />
+     * If the value is positive, it will be used instead of the max size and max weight of cache definition.
+     * It only works when the local cache manager supports bounded cache.
+     */
+    @Setter
+    private long localMaximumSize = -1L;
+
+    /**
+     * id of current node
+     */
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Create a {@link NearCacheManager} instance.
+     *
+     * @param localCacheManager manager of local caches
+     * @param remoteCacheManager manager of shared caches
+     * @param invalidationBus bus used to broadcast invalidation events
+     */
+    public NearCacheManager(
+        CacheManager localCacheManager, CacheManager remoteCacheManager, CacheInvalidationBus invalidationBus) {
+        Asserts.isNotNull(localCacheManager, "localCacheManager must not null");
+        Asserts.isNotNull(remoteCacheManager, "remoteCacheManager must not null");
+        Asserts.isNotNull(invalidationBus, "invalidationBus must not null");
+        this.localCacheManager = localCacheManager;
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Create cache instance.
+     *
+     * @param name cache name
+     * @param expireTime expire time
+     * @param timeUnit   time unit
+     * @return cache instance
+     */
+    @NonNull
+    @Override
+    protected <K> NearCacheObject<K> doCreateCache(String name, Long expireTime, TimeUnit timeUnit) {
+        return doCreateCache(new CacheDefinition.Impl(name, null, expireTime, timeUnit), null);
+    }
+
+    /**
+     * Create cache instance according to the definition,
+     * the definition and loader are passed to both local and shared cache managers,
+     * and the expiry time and max size of local cache will be replaced if specified.
+     *
+     * @param definition cache definition
+     * @param loader     container which the values of cache are loaded from, may be null
+     * @return cache instance
+     * @see #setLocalExpireTime
+     * @see #setLocalMaximumSize
+     */
+    @NonNull
+    @Override
+    protected <K> NearCacheObject<K> doCreateCache(CacheDefinition definition, @Nullable Container<K> loader) {
+        CacheDefinition localDefinition = localExpireTime > 0 || localMaximumSize > 0 ?
+            new LocalCacheDefinition(definition, localExpireTime, localTimeUnit, localMaximumSize) : definition;
+        CacheObject<K> local = localCacheManager.createCache(localDefinition, loader);
+        CacheObject<K> remote = remoteCacheManager.createCache(definition, loader);
+        return new NearCacheObject<>(definition.getName(), local, remote);
+    }
+
+    /**
+     * Remove cache, and remove the local and shared caches with the same name.
+     *
+     * @param name cache name
+     */
+    @Override
+    public void removeCache(String name) {
+        super.removeCache(name);
+        localCacheManager.removeCache(name);
+        remoteCacheManager.removeCache(name);
+    }
+
+    /**
+     * Clear all cache, and clear all local and shared caches.
+     */
+    @Override
+    public void clearAll() {
+        super.clearAll();
+        localCacheManager.clearAll();
+        remoteCacheManager.clearAll();
+    }
+
+    private void onInvalidation(CacheInvalidationBus.Event event) {
+        // ignore the events published by current node
+        if (Objects.equals(nodeId, event.getSource())) {
+            return;
+        }
+        CacheObject<Object> local = localCacheManager.getCache(event.getCacheName());
+        if (Objects.isNull(local)) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("evict local cache [{}] for invalidation event from node [{}]", event.getCacheName(), event.getSource());
+        }
+        if (event.isClear()) {
+            local.clear();
+        } else {
+            local.removeAll(event.getKeys());
+        }
+    }
+
+    private void publish(String cacheName, @Nullable Collection<?> keys) {
+        List<Object> copiedKeys = Objects.isNull(keys) ? null : new ArrayList<>(keys);
+        try {
+            invalidationBus.publish(new CacheInvalidationBus.Event(nodeId, cacheName, copiedKeys));
+        } catch (Exception ex) {
+            log.warn("failed to publish cache invalidation event for cache [{}]", cacheName, ex);
+        }
+    }
+
+    /**
+     * A {@link CacheObject} which layers a local cache over a shared cache.
+     *
+     * @author huangchengxing
+     * @since 2.7.0
+     */
+    protected class NearCacheObject<K> extends AbstractCacheObject<K> {
+
+        private final CacheObject<K> local;
+        private final CacheObject<K> remote;
+
+        protected NearCacheObject(String name, CacheObject<K> local, CacheObject<K> remote) {
+            super(name);
+            this.local = local;
+            this.remote = remote;
+        }
+
+        /**
+         * Whether the cache is expired.
+         *
+         * @return true if this cache, or the local cache or the shared cache is expired
+         */
+        @Override
+        public boolean isInvalid() {
+            return super.isInvalid() || local.isInvalid() || remote.isInvalid();
+        }
+
+        /**
+         * Get the cache according to the key value,
+         * if not found in local cache, get it from shared cache and put it into local cache.
+         *
+         * @param key key
+         * @return cache value
+         */
+        @Nullable
+        @Override
+        public Object get(K key) {
+            Object value = local.get(key);
+            if (Objects.nonNull(value)) {
+                return recordGet(value);
+            }
+            value = remote.get(key);
+            if (Objects.nonNull(value)) {
+                local.put(key, value);
+            }
+            return recordGet(value);
+        }
+
+        /**
+         * Get all cache according to the key values,
+         * the keys which are not found in local cache will be got from shared cache at once,
+         * and put them into local cache.
+         *
+         * @param keys keys
+         * @return cache value
+         */
+        @Override
+        public Map<K, Object> getAll(Iterable<K> keys) {
+            if (CollectionUtils.isEmpty(keys)) {
+                return Collections.emptyMap();
+            }
+            Map<K, Object> localValues = local.getAll(keys);
+            List<K> missingKeys = new ArrayList<>();
+            int keyCount = 0;
+            for (K key : keys) {
+                keyCount++;
+                if (!localValues.containsKey(key)) {
+                    missingKeys.add(key);
+                }
+            }
+            if (missingKeys.isEmpty()) {
+                return recordGetAll(localValues, keyCount);
+            }
+            Map<K, Object> remoteValues = remote.getAll(missingKeys);
+            if (CollectionUtils.isEmpty(remoteValues)) {
+                return recordGetAll(localValues, keyCount);
+            }
+            local.putAll(remoteValues);
+            Map<K, Object> results = new HashMap<>(localValues);
+            results.putAll(remoteValues);
+            return recordGetAll(results, keyCount);
+        }
+
+        /**
+         * Add cache value.
+         *
+         * @param key   key
+         * @param value value
+         */
+        @Override
+        public void put(K key, Object value) {
+            remote.put(key, value);
+            local.put(key, value);
+            publish(getName(), Collections.singletonList(key));
+        }
+
+        /**
+         * Add all cache value.
+         *
+         * @param caches caches
+         */
+        @Override
+        public void putAll(Map<K, Object> caches) {
+            if (CollectionUtils.isEmpty(caches)) {
+                return;
+            }
+            remote.putAll(caches);
+            local.putAll(caches);
+            publish(getName(), caches.keySet());
+        }
+
+        /**
+         * Add the cache values which are just loaded from the original data source,
+         * no invalidation event will be published because the values are not changed.
+         *
+         * @param values values loaded from the original data source
+         */
+        @Override
+        public void putAllLoaded(Map<K, Object> values) {
+            if (CollectionUtils.isEmpty(values)) {
+                return;
+            }
+            remote.putAllLoaded(values);
+            local.putAllLoaded(values);
+        }
+
+        /**
+         * Add cache value if it does not exist,
+         * the local copy will be evicted because the actual value in shared cache is unknown.
+         *
+         * @param key   key
+         * @param value cache value
+         */
+        @Override
+        public void putIfAbsent(K key, Object value) {
+            remote.putIfAbsent(key, value);
+            local.remove(key);
+            publish(getName(), Collections.singletonList(key));
+        }
+
+        /**
+         * Remove cache value.
+         *
+         * @param key key
+         */
+        @Override
+        public void remove(K key) {
+            remote.remove(key);
+            local.remove(key);
+            publish(getName(), Collections.singletonList(key));
+        }
+
+        /**
+         * Remove all cache value.
+         *
+         * @param keys keys
+         */
+        @Override
+        public void removeAll(Iterable<K> keys) {
+            if (CollectionUtils.isEmpty(keys)) {
+                return;
+            }
+            List<K> keyList = new ArrayList<>();
+            keys.forEach(keyList::add);
+            remote.removeAll(keyList);
+            local.removeAll(keyList);
+            publish(getName(), keyList);
+        }
+
+        /**
+         * Clear all cache value.
+         */
+        @Override
+        public void clear() {
+            remote.clear();
+            local.clear();
+            publish(getName(), null);
+        }
+    }
+
+    /**
+     * A {@link CacheDefinition} of local cache, which replaces the expiry time and max size of the delegate definition.
+     * All times are converted to the finer time unit of both, so no precision will be lost.
+     */
+    private static class LocalCacheDefinition implements CacheDefinition {
+
+        private final CacheDefinition delegate;
+        private final TimeUnit delegateTimeUnit;
+        private final TimeUnit timeUnit;
+        private final Long expireTime;
+        private final Long maximumSize;
+
+        LocalCacheDefinition(CacheDefinition delegate, long expireTime, TimeUnit timeUnit, long maximumSize) {
+            this.delegate = delegate;
+            this.delegateTimeUnit = Objects.isNull(delegate.getTimeUnit()) ? timeUnit : delegate.getTimeUnit();
+            this.timeUnit = timeUnit.compareTo(delegateTimeUnit) < 0 ? timeUnit : delegateTimeUnit;
+            this.expireTime = expireTime > 0 ?
+                this.timeUnit.convert(expireTime, timeUnit) : convert(delegate.getExpireTime());
+            this.maximumSize = maximumSize > 0 ? maximumSize : delegate.getMaximumSize();
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Nullable
+        @Override
+        public String getCacheManager() {
+            return delegate.getCacheManager();
+        }
+
+        @Override
+        public Long getExpireTime() {
+            return expireTime;
+        }
+
+        @Override
+        public TimeUnit getTimeUnit() {
+            return timeUnit;
+        }
+
+        @Override
+        public Long getMissingKeyExpireTime() {
+            return convert(delegate.getMissingKeyExpireTime());
+        }
+
+        @Override
+        public Long getMaximumSize() {
+            return maximumSize;
+        }
+
+        @Override
+        public Long getMaximumWeight() {
+            // the max size of local cache takes precedence over the max weight of definition
+            return Objects.equals(maximumSize, delegate.getMaximumSize()) ? delegate.getMaximumWeight() : -1L;
+        }
+
+        @Override
+        public Long getRefreshAfterWriteTime() {
+            return convert(delegate.getRefreshAfterWriteTime());
+        }
+
+        private Long convert(Long time) {
+            return Objects.isNull(time) || time <= 0 ? time : timeUnit.convert(time, delegateTimeUnit);
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package cn.crane4j.core.cache;
+
+import cn.crane4j.core.container.Container;
+import cn.crane4j.core.util.Asserts;
+import cn.crane4j.core.util.CollectionUtils;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntFunction;
+
+/**
+ * <p>An implementation of the {@link CacheManager} that
+ * creates a cache instance what stores the serialized values outside the java heap.<br />
+ * Each cache keeps an index of keys in heap, and the values are encoded by {@link #codec}
+ * and appended to a ring of fixed-size buffers (slabs) allocated by {@link #bufferAllocator},
+ * by default the slabs are direct {@link ByteBuffer}, so the cached values
+ * do not count against the old generation and do not lengthen the GC pauses.
+ *
+ * <p>The total bytes of a cache is bounded by {@link CacheDefinition#getMaximumWeight()},
+ * or {@link #maximumBytes} if it is not positive,
+ * and the size of slabs is reduced to the total bytes if {@link #slabSize} is larger than it.
+ * When all slabs are full, the oldest slab will be recycled,
+ * and the entries stored in it will be evicted at once.
+ * If {@link CacheDefinition#getMaximumSize()} is positive,
+ * the oldest slabs will also be recycled when the number of entries exceeds it.<br />
+ * The values which are overwritten or removed still occupy the slabs until the slabs are recycled,
+ * so this cache is suitable for the large and read-mostly data, such as dictionaries.
+ *
+ * <p>The reading is lock-free, and the writing of each cache is serialized by a lock.
+ *
+ * @author huangchengxing
+ * @see CacheValueCodec
+ * @since 2.7.0
+ */
+@Slf4j
+@NoArgsConstructor
+public class OffHeapCacheManager extends AbstractCacheManager {
+
+    /**
+     * codec used to convert values to bytes
+     */
+    @NonNull
+    @Setter
+    private CacheValueCodec codec = CacheValueCodec.JdkSerializationCodec.INSTANCE;
+
+    /**
+     * <p>allocator used to allocate slabs by the size in bytes,
+     * default is {@link ByteBuffer#allocateDirect}.<br />
+     * It can be replaced by an allocator which maps a region of file into memory,
+     * such as {@link java.nio.channels.FileChannel#map}.
+     */
+    @NonNull
+    @Setter
+    private IntFunction<ByteBuffer> bufferAllocator = ByteBuffer::allocateDirect;
+
+    /**
+     * size of each slab in bytes, default is 4MB
+     */
+    @Setter
+    private int slabSize = 4 * 1024 * 1024;
+
+    /**
+     * default max total bytes of each cache, default is 64MB
+     */
+    @Setter
+    private long maximumBytes = 64L * 1024 * 1024;
+
+    /**
+     * Create cache instance.
+     *
+     * @param name cache name
+     * @param expireTime expire time
+     * @param timeUnit   time unit
+     * @return cache instance
+     */
+    @NonNull
+    @Override
+    protected <K> OffHeapCacheObject<K> doCreateCache(String name, Long expireTime, TimeUnit timeUnit) {
+        return doCreateCache(new CacheDefinition.Impl(name, null, expireTime, timeUnit), null);
+    }
+
+    /**
+     * Create cache instance according to the definition.
+     *
+     * @param definition cache definition
+     * @param loader     container which the values of cache are loaded from, may be null
+     * @return cache instance
+     */
+    @NonNull
+    @Override
+    protected <K> OffHeapCacheObject<K> doCreateCache(CacheDefinition definition, @Nullable Container<K> loader) {
+        Asserts.isTrue(slabSize > 0, "slab size must be positive");
+        long maxBytes = isPositive(definition.getMaximumWeight()) ? definition.getMaximumWeight() : maximumBytes;
+        // a single slab must not exceed the max bytes of the cache
+        int slabBytes = (int)Math.min(slabSize, Math.max(1L, maxBytes));
+        int slabCount = (int)Math.max(1L, Math.min(Integer.MAX_VALUE, maxBytes / slabBytes));
+        long expireMillis = isPositive(definition.getExpireTime()) ?
+            definition.getTimeUnit().toMillis(definition.getExpireTime()) : -1L;
+        long maxEntries = isPositive(definition.getMaximumSize()) ? definition.getMaximumSize() : -1L;
+        return new OffHeapCacheObject<>(definition.getName(), codec, slabBytes, slabCount, expireMillis, maxEntries);
+    }
+
+    private static boolean isPositive(@Nullable Long value) {
+        return Objects.nonNull(value) && value > 0L;
+    }
+
+    /**
+     * Location of a value in slabs.
+     */
+    @RequiredArgsConstructor
+    private static class Location {
+        private final Slab slab;
+        private final long generation;
+        private final int offset;
+        private final int length;
+        private final long expireAt;
+
+        boolean isExpired(long now) {
+            return expireAt > 0L && now >= expireAt;
+        }
+    }
+
+    /**
+     * <p>A fixed-size buffer which values are appended to.<br />
+     * The readers copy bytes under the optimistic read of {@link #lock} without blocking,
+     * and the recycling is performed under the write lock,
+     * so the copying which overlaps the recycling can be detected by validating the stamp,
+     * the validation has a load fence, which prevents the copying from being reordered after it.
+     */
+    private static class Slab {
+
+        private final ByteBuffer buffer;
+        private final List<Object> keys = new ArrayList<>();
+        private final StampedLock lock = new StampedLock();
+        private volatile long generation;
+        private int position;
+
+        Slab(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        boolean hasRemaining(int length) {
+            return buffer.capacity() - position >= length;
+        }
+
+        int append(byte[] bytes) {
+            int offset = position;
+            ByteBuffer target = buffer.duplicate();
+            target.position(offset);
+            target.put(bytes);
+            position += bytes.length;
+            return offset;
+        }
+
+        /**
+         * Read bytes from slab, return null if the slab has been recycled while reading.
+         */
+        @Nullable
+        byte[] read(Location location) {
+            long stamp = lock.tryOptimisticRead();
+            if (generation != location.generation) {
+                return null;
+            }
+            byte[] bytes = new byte[location.length];
+            ByteBuffer source = buffer.duplicate();
+            source.position(location.offset);
+            source.get(bytes);
+            // the bytes may be overwritten if the slab was recycled during copying
+            return lock.validate(stamp) && generation == location.generation ? bytes : null;
+        }
+
+        void recycle() {
+            long stamp = lock.writeLock();
+            try {
+                generation++;
+                position = 0;
+                keys.clear();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * A {@link CacheObject} implementation that stores the serialized values in slabs.
+     *
+     * @author huangchengxing
+     * @since 2.7.0
+     */
+    protected class OffHeapCacheObject<K> extends AbstractCacheObject<K> implements PersistableCacheObject<K> {
+
+        private final ConcurrentMap<K, Location> index = new ConcurrentHashMap<>(16);
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final CacheValueCodec valueCodec;
+        private final int slabBytes;
+        private final Slab[] slabs;
+        private final long expireMillis;
+        private final long maxEntries;
+        private int current = 0;
+
+        protected OffHeapCacheObject(
+            String name, CacheValueCodec valueCodec, int slabBytes, int slabCount, long expireMillis, long maxEntries) {
+            super(name);
+            this.valueCodec = valueCodec;
+            this.slabBytes = slabBytes;
+            this.slabs = new Slab[slabCount];
+            this.expireMillis = expireMillis;
+            this.maxEntries = maxEntries;
+        }
+
+        /**
+         * Get the cache according to the key value.
+         *
+         * @param key key
+         * @return cache value
+         */
+        @Nullable
+        @Override
+        public Object get(K key) {
+            return recordGet(read(key));
+        }
+
+        /**
+         * Get all cache according to the key values.
+         *
+         * @param keys keys
+         * @return cache value
+         */
+        @Override
+        public Map<K, Object> getAll(Iterable<K> keys) {
+            Map<K, Object> results = new HashMap<>(16);
+            if (CollectionUtils.isEmpty(keys)) {
+                return results;
+            }
+            int keyCount = 0;
+            for (K key : keys) {
+                keyCount++;
+                Object value = read(key);
+                if (Objects.nonNull(value)) {
+                    results.put(key, value);
+                }
+            }
+            return recordGetAll(results, keyCount);
+        }
+
+        @Nullable
+        private Object read(K key) {
+            Location location = index.get(key);
+            if (Objects.isNull(location)) {
+                return null;
+            }
+            if (location.isExpired(System.currentTimeMillis())) {
+                index.remove(key, location);
+                return null;
+            }
+            byte[] bytes = location.slab.read(location);
+            if (Objects.nonNull(bytes)) {
+                try {
+                    return valueCodec.decode(bytes);
+                } catch (RuntimeException ex) {
+                    // the bytes are broken because the slab was recycled while reading
+                    if (location.generation == location.slab.generation) {
+                        throw ex;
+                    }
+                }
+            }
+            index.remove(key, location);
+            return null;
+        }
+
+        /**
+         * Add cache value.
+         *
+         * @param key   key
+         * @param value value
+         */
+        @Override
+        public void put(K key, Object value) {
+            write(key, valueCodec.encode(value), false, -1L);
+        }
+
+        /**
+         * Add all cache value.
+         *
+         * @param caches caches
+         */
+        @Override
+        public void putAll(Map<K, Object> caches) {
+            if (CollectionUtils.isEmpty(caches)) {
+                return;
+            }
+            // encode values outside the lock
+            Map<K, byte[]> encoded = new HashMap<>(caches.size());
+            caches.forEach((key, value) -> encoded.put(key, valueCodec.encode(value)));
+            encoded.forEach((key, bytes) -> write(key, bytes, false, -1L));
+        }
+
+        /**
+         * Add cache value if it does not exist.
+         *
+         * @param key   key
+         * @param value cache value
+         */
+        @Override
+        public void putIfAbsent(K key, Object value) {
+            if (Objects.isNull(read(key))) {
+                write(key, valueCodec.encode(value), true, -1L);
+            }
+        }
+
+        /**
+         * Traverse all unexpired entries of this cache.
+         *
+         * @param consumer consumer of entries
+         */
+        @Override
+        public void forEachEntry(EntryConsumer<K> consumer) {
+            index.forEach((key, location) -> {
+                Object value = read(key);
+                if (Objects.nonNull(value)) {
+                    consumer.accept(key, value, location.expireAt);
+                }
+            });
+        }
+
+        /**
+         * Restore an entry with the specified expire time if it does not exist.
+         *
+         * @param key key
+         * @param value value
+         * @param expireAt epoch milliseconds when the entry expires, not positive means never expire
+         */
+        @Override
+        public void restore(K key, Object value, long expireAt) {
+            write(key, valueCodec.encode(value), true, expireAt);
+        }
+
+        /**
+         * Write bytes to slab, and update the index.
+         *
+         * @param expireAt epoch milliseconds when the entry expires, use the expire time of cache if not positive
+         */
+        private void write(K key, byte[] bytes, boolean onlyIfAbsent, long expireAt) {
+            if (bytes.length > slabBytes) {
+                log.debug("value of key [{}] is too large to be cached in cache [{}], size is [{}] bytes", key, getName(), bytes.length);
+                index.remove(key);
+                return;
+            }
+            writeLock.lock();
+            try {
+                if (onlyIfAbsent && isPresent(key)) {
+                    return;
+                }
+                // recycle the oldest slabs until there is room for the new entry
+                boolean evictable = maxEntries > 0L && !index.containsKey(key);
+                while (evictable && index.size() >= maxEntries) {
+                    evictable = evictOldestSlab();
+                }
+                Slab slab = slabs[current];
+                if (Objects.isNull(slab) || !slab.hasRemaining(bytes.length)) {
+                    slab = nextSlab();
+                }
+                int offset = slab.append(bytes);
+                if (expireAt <= 0L) {
+                    expireAt = expireMillis > 0L ? System.currentTimeMillis() + expireMillis : -1L;
+                }
+                index.put(key, new Location(slab, slab.generation, offset, bytes.length, expireAt));
+                slab.keys.add(key);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private boolean isPresent(K key) {
+            Location location = index.get(key);
+            return Objects.nonNull(location)
+                && !location.isExpired(System.currentTimeMillis())
+                && location.generation == location.slab.generation;
+        }
+
+        private Slab nextSlab() {
+            if (Objects.nonNull(slabs[current])) {
+                current = (current + 1) % slabs.length;
+            }
+            Slab slab = slabs[current];
+            if (Objects.isNull(slab)) {
+                slab = new Slab(bufferAllocator.apply(slabBytes));
+                slabs[current] = slab;
+                return slab;
+            }
+            recycle(slab);
+            return slab;
+        }
+
+        /**
+         * Recycle the oldest slab which is not empty,
+         * the current slab is recycled only if all other slabs are empty,
+         * e.g. there is only one slab when the max bytes is not greater than slab size.
+         */
+        private boolean evictOldestSlab() {
+            for (int i = 1; i <= slabs.length; i++) {
+                Slab slab = slabs[(current + i) % slabs.length];
+                if (Objects.nonNull(slab) && !slab.keys.isEmpty()) {
+                    recycle(slab);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void recycle(Slab slab) {
+            long generation = slab.generation;
+            int evicted = 0;
+            for (Object key : slab.keys) {
+                Location location = index.get((K)key);
+                if (Objects.nonNull(location) && location.slab == slab && location.generation == generation
+                    && index.remove((K)key, location)) {
+                    evicted++;
+                }
+            }
+            getStatsCounter().recordEvictions(evicted);
+            slab.recycle();
+        }
+
+        /**
+         * Remove cache value.
+         *
+         * @param key key
+         */
+        @Override
+        public void remove(K key) {
+            index.remove(key);
+        }
+
+        /**
+         * Clear all cache value.
+         */
+        @Override
+        public void clear() {
+            writeLock.lock();
+            try {
+                index.clear();
+                for (Slab slab : slabs) {
+                    if (Objects.nonNull(slab)) {
+                        slab.recycle();
+                    }
+                }
+                current = 0;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        /**
+         * Get the number of entries in this cache.
+         *
+         * @return number of entries
+         */
+        @Override
+        protected long estimatedSize() {
+            return index.size();
+        }
+    }
+}
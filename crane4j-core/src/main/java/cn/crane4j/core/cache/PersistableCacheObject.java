@@ -0,0 +1,49 @@
+package cn.crane4j.core.cache;
+
+/**
+ * <p>A {@link CacheObject} whose entries can be traversed with their expire time,
+ * and be restored with the specified expire time.<br />
+ * The entries of these caches can be saved to a snapshot file and be reloaded after restarting.
+ *
+ * @author huangchengxing
+ * @param <K> key type
+ * @see CacheSnapshot
+ * @see AbstractCacheManager#saveSnapshot
+ * @since 2.7.0
+ */
+public interface PersistableCacheObject<K> extends CacheObject<K> {
+
+    /**
+     * Traverse all unexpired entries of this cache.
+     *
+     * @param consumer consumer of entries
+     */
+    void forEachEntry(EntryConsumer<K> consumer);
+
+    /**
+     * Restore an entry, the entry will expire at the specified time.
+     *
+     * @param key key
+     * @param value value
+     * @param expireAt epoch milliseconds when the entry expires, not positive means never expire
+     */
+    void restore(K key, Object value, long expireAt);
+
+    /**
+     * Consumer of cache entries.
+     *
+     * @param <K> key type
+     */
+    @FunctionalInterface
+    interface EntryConsumer<K> {
+
+        /**
+         * Accept an entry.
+         *
+         * @param key key
+         * @param value value
+         * @param expireAt epoch milliseconds when the entry expires, not positive means never expire
+         */
+        void accept(K key, Object value, long expireAt);
+    }
+}
@@ -0,0 +1,117 @@
+package cn.crane4j.core.container;
+
+import cn.crane4j.core.util.Asserts;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>A data source container which can obtain data source objects asynchronously.<br />
+ * When the data source supports non-blocking access (such as reactive or netty based clients),
+ * implement this interface directly, so that the thread which starts the operation
+ * will not be parked while waiting for the data source objects.
+ *
+ * <p>A common {@link Container} can be adapted to {@link AsyncContainer} by {@link #adapt},
+ * in this case, the data source will be accessed in the specified executor.
+ *
+ * @author huangchengxing
+ * @param <K> key type
+ * @see cn.crane4j.core.executor.BeanOperationExecutor#executeAsync
+ * @since 2.7.0
+ */
+public interface AsyncContainer<K> extends Container<K> {
+
+    /**
+     * Adapt the container to {@link AsyncContainer},
+     * if the container is already an {@link AsyncContainer}, return it directly.
+     *
+     * @param container container
+     * @param executor executor used to access the container
+     * @param <K> key type
+     * @return {@link AsyncContainer} instance
+     */
+    @SuppressWarnings("unchecked")
+    static <K> AsyncContainer<K> adapt(@NonNull Container<K> container, @NonNull Executor executor) {
+        Asserts.isNotNull(container, "container must not null");
+        Asserts.isNotNull(executor, "executor must not null");
+        return container instanceof AsyncContainer ?
+            (AsyncContainer<K>)container : new Adapter<>(container, executor);
+    }
+
+    /**
+     * Enter a batch of key values to return a future of data source objects grouped by key values.
+     *
+     * @param keys keys
+     * @return future of data source objects grouped by key value
+     */
+    CompletableFuture<Map<K, ?>> getAsync(Collection<K> keys);
+
+    /**
+     * Enter a batch of key values to return data source objects grouped by key values,
+     * the current thread will be blocked until the data source objects are obtained.
+     *
+     * @param keys keys
+     * @return data source objects grouped by key value
+     */
+    @Override
+    default Map<K, ?> get(Collection<K> keys) {
+        return getAsync(keys).join();
+    }
+
+    /**
+     * An adapter that makes a common container available as an {@link AsyncContainer}.
+     *
+     * @param <K> key type
+     */
+    @RequiredArgsConstructor
+    class Adapter<K> implements AsyncContainer<K>, ContainerDelegate<K> {
+
+        /**
+         * delegate container
+         */
+        @Getter
+        private final Container<K> container;
+
+        /**
+         * executor used to access the container
+         */
+        private final Executor executor;
+
+        /**
+         * Gets the namespace of the data source container.
+         *
+         * @return namespace
+         */
+        @Override
+        public String getNamespace() {
+            return container.getNamespace();
+        }
+
+        /**
+         * Enter a batch of key values to return data source objects grouped by key values.
+         *
+         * @param keys keys
+         * @return data source objects grouped by key value
+         */
+        @Override
+        public Map<K, ?> get(Collection<K> keys) {
+            return container.get(keys);
+        }
+
+        /**
+         * Enter a batch of key values, and access the delegate container in the executor.
+         *
+         * @param keys keys
+         * @return future of data source objects grouped by key value
+         */
+        @Override
+        public CompletableFuture<Map<K, ?>> getAsync(Collection<K> keys) {
+            return CompletableFuture.supplyAsync(() -> container.get(keys), executor);
+        }
+    }
+}
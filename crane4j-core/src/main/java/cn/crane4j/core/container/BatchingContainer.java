@@ -0,0 +1,183 @@
+package cn.crane4j.core.container;
+
+import cn.crane4j.core.exception.Crane4jException;
+import cn.crane4j.core.util.Asserts;
+import cn.crane4j.core.util.CollectionUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>A {@link ContainerDelegate} that coalesces keys requested
+ * by concurrent callers into a single call of the delegate container,
+ * similar to the DataLoader pattern.
+ *
+ * <p>The first caller which finds no open batch becomes the leader of a new batch,
+ * it will wait until the batch window elapses or the number of collected keys
+ * reaches {@code maxKeys}, and then fetch all collected keys from the delegate container at once.
+ * Other callers that arrive while the batch is still open only add their keys to it,
+ * and wait for the result of the leader, then pick up the part they need.
+ *
+ * <p>Note that the leader always waits for the window before fetching,
+ * so the window should be kept short (several milliseconds),
+ * it trades a little latency for fewer calls to the data source under concurrency.
+ *
+ * @author huangchengxing
+ * @param <K> key type
+ * @see BatchingContainerProcessor
+ * @since 2.7.0
+ */
+@Slf4j
+public class BatchingContainer<K> implements ContainerDelegate<K> {
+
+    /**
+     * delegate container
+     */
+    @Getter
+    private final Container<K> container;
+
+    /**
+     * max waiting time of a batch in nanoseconds
+     */
+    private final long windowNanos;
+
+    /**
+     * max number of keys in a batch
+     */
+    private final int maxKeys;
+
+    /**
+     * lock for {@link #current}
+     */
+    private final Object lock = new Object();
+
+    /**
+     * current opening batch, guarded by {@link #lock}
+     */
+    private Batch<K> current;
+
+    /**
+     * Create a {@link BatchingContainer} instance.
+     *
+     * @param container delegate container
+     * @param window max waiting time of a batch
+     * @param timeUnit time unit of window
+     * @param maxKeys max number of keys in a batch, the batch will be fetched immediately when reached
+     */
+    public BatchingContainer(Container<K> container, long window, TimeUnit timeUnit, int maxKeys) {
+        Asserts.isNotNull(container, "container must not null");
+        Asserts.isTrue(window >= 0, "window must not less than 0");
+        Asserts.isTrue(maxKeys > 0, "maxKeys must greater than 0");
+        this.container = container;
+        this.windowNanos = timeUnit.toNanos(window);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Enter a batch of key values to return data source objects grouped by key values,
+     * the keys may be fetched from the delegate container together with the keys of other callers.
+     *
+     * @param keys keys
+     * @return data source objects grouped by key value
+     */
+    @Override
+    public Map<K, ?> get(Collection<K> keys) {
+        if (CollectionUtils.isEmpty(keys)) {
+            return Collections.emptyMap();
+        }
+        Batch<K> batch;
+        boolean leader = false;
+        synchronized (lock) {
+            batch = current;
+            if (Objects.isNull(batch)) {
+                batch = new Batch<>();
+                current = batch;
+                leader = true;
+            }
+            batch.keys.addAll(keys);
+            // the batch is full, close it and wake up the leader
+            if (batch.keys.size() >= maxKeys) {
+                current = null;
+                lock.notifyAll();
+            }
+        }
+        if (leader) {
+            awaitAndFetch(batch);
+        }
+        return slice(keys, join(batch));
+    }
+
+    private void awaitAndFetch(Batch<K> batch) {
+        synchronized (lock) {
+            long deadline = System.nanoTime() + windowNanos;
+            long remaining = windowNanos;
+            while (current == batch && remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+            // close the batch if it is still opening
+            if (current == batch) {
+                current = null;
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("fetch [{}] coalesced keys from container [{}]", batch.keys.size(), container.getNamespace());
+        }
+        try {
+            Map<K, ?> results = container.get(batch.keys);
+            batch.result.complete(Objects.isNull(results) ? Collections.emptyMap() : results);
+        } catch (Throwable ex) {
+            // the waiters must be always released, even if an error is thrown
+            batch.result.completeExceptionally(ex);
+        }
+    }
+
+    private Map<K, ?> join(Batch<K> batch) {
+        try {
+            return batch.result.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw cause instanceof RuntimeException ?
+                (RuntimeException)cause : new Crane4jException(cause);
+        }
+    }
+
+    private Map<K, Object> slice(Collection<K> keys, Map<K, ?> results) {
+        Map<K, Object> slice = new HashMap<>(keys.size());
+        for (K key : keys) {
+            Object value = results.get(key);
+            if (Objects.nonNull(value)) {
+                slice.put(key, value);
+            }
+        }
+        return slice;
+    }
+
+    /**
+     * A batch of keys waiting to be fetched.
+     *
+     * @param <K> key type
+     */
+    private static class Batch<K> {
+        private final Set<K> keys = new LinkedHashSet<>();
+        private final CompletableFuture<Map<K, ?>> result = new CompletableFuture<>();
+    }
+}
@@ -0,0 +1,64 @@
+package cn.crane4j.core.container;
+
+import cn.crane4j.core.container.lifecycle.ContainerLifecycleProcessor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * <p>Processor for wrap the container as a {@link BatchingContainer}
+ * when it is created, so that the keys requested by concurrent callers
+ * can be merged into one call of the original container.<br />
+ * The processor is opt-in, only the containers accepted by {@link #containerFilter} will be wrapped.
+ *
+ * @author huangchengxing
+ * @see BatchingContainer
+ * @since 2.7.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BatchingContainerProcessor implements ContainerLifecycleProcessor {
+
+    /**
+     * filter of containers which need to be wrapped
+     */
+    private final Predicate<Container<?>> containerFilter;
+
+    /**
+     * max waiting time of a batch
+     */
+    private final long window;
+
+    /**
+     * time unit of window
+     */
+    private final TimeUnit timeUnit;
+
+    /**
+     * max number of keys in a batch
+     */
+    private final int maxKeys;
+
+    /**
+     * Callback when the container is created.
+     *
+     * @param definition definition of container
+     * @param container  container
+     * @return final effective container instance
+     */
+    @Nullable
+    @Override
+    public Container<Object> whenCreated(ContainerDefinition definition, Container<Object> container) {
+        if (Objects.isNull(container) || container instanceof EmptyContainer
+            || container instanceof BatchingContainer || !containerFilter.test(container)) {
+            return container;
+        }
+        log.info("apply batching to container [{}], window is [{}] {}, max keys is [{}]",
+            container.getNamespace(), window, timeUnit.name().toLowerCase(), maxKeys);
+        return new BatchingContainer<>(container, window, timeUnit, maxKeys);
+    }
+}
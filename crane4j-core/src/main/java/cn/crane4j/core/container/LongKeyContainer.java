@@ -0,0 +1,99 @@
+package cn.crane4j.core.container;
+
+import cn.crane4j.core.exception.Crane4jException;
+import cn.crane4j.core.util.LongHashSet;
+import cn.crane4j.core.util.LongObjectHashMap;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <p>A {@link Container} whose keys are primitive long values.<br />
+ * When the container is used by {@link cn.crane4j.core.executor.handler.ArrayBasedOneToOneAssembleOperationHandler},
+ * the keys will be collected into a primitive set and passed to {@link #get(long[])},
+ * and the data source objects will be looked up from the returned {@link LongObjectHashMap},
+ * so the keys will never be boxed and hashed as {@link Long} objects.
+ * It's useful when the keys are numeric ids and there are a large number of targets.
+ *
+ * <p>The container can also be used as a common container by {@link #get(Collection)},
+ * in which case the keys will be boxed, and any numeric keys are accepted.
+ *
+ * @author huangchengxing
+ * @see cn.crane4j.core.executor.key.LongKeyResolver
+ * @since 2.7.0
+ */
+public interface LongKeyContainer extends Container<Long> {
+
+    /**
+     * Create a {@link LongKeyContainer} instance by lambda expression.
+     *
+     * @param namespace namespace
+     * @param lambda lambda expression which returns data source objects grouped by key
+     * @return container
+     */
+    static LongKeyContainer forLambda(String namespace, Function<long[], LongObjectHashMap<?>> lambda) {
+        Objects.requireNonNull(namespace, "container namespace must not null");
+        Objects.requireNonNull(lambda, "lambda must not null");
+        return new LongKeyContainer() {
+            @Override
+            public LongObjectHashMap<?> get(long[] keys) {
+                return lambda.apply(keys);
+            }
+            @Override
+            public String getNamespace() {
+                return namespace;
+            }
+        };
+    }
+
+    /**
+     * Enter a batch of primitive keys to return data source objects grouped by key values.
+     *
+     * @param keys distinct keys
+     * @return data source objects grouped by key value
+     */
+    LongObjectHashMap<?> get(long[] keys);
+
+    /**
+     * <p>Enter a batch of key values to return data source objects grouped by key values.<br />
+     * The keys will be unboxed before calling {@link #get(long[])},
+     * and the results will be grouped by the original key objects again,
+     * so the keys of other numeric types (such as {@link Integer}) can also be found by the caller.
+     *
+     * @param keys keys, each key must be a {@link Number}
+     * @return data source objects grouped by the original key value
+     * @throws Crane4jException thrown when the key is not a number
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    default Map<Long, ?> get(Collection<Long> keys) {
+        // the keys may be other numeric types at runtime
+        Collection<Object> originalKeys = (Collection<Object>)(Collection<?>)keys;
+        LongHashSet values = new LongHashSet(keys.size());
+        for (Object key : originalKeys) {
+            if (!(key instanceof Number)) {
+                throw new Crane4jException(
+                    "the key [{}] of container [{}] must be a number, but it is [{}]",
+                    key, getNamespace(), Objects.isNull(key) ? null : key.getClass().getName()
+                );
+            }
+            values.add(((Number)key).longValue());
+        }
+        LongObjectHashMap<?> sources = get(values.toArray());
+        if (Objects.isNull(sources) || sources.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Object, Object> results = new HashMap<>(sources.size());
+        for (Object key : originalKeys) {
+            Object source = sources.get(((Number)key).longValue());
+            if (Objects.nonNull(source)) {
+                results.put(key, source);
+            }
+        }
+        return (Map<Long, ?>)(Map<?, ?>)results;
+    }
+}
@@ -0,0 +1,193 @@
+package cn.crane4j.core.container;
+
+import cn.crane4j.core.cache.CacheObject;
+import cn.crane4j.core.exception.Crane4jException;
+import cn.crane4j.core.util.Asserts;
+import cn.crane4j.core.util.CollectionUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>A {@link ContainerDelegate} which limits the time of obtaining data from the delegate container.<br />
+ * The delegate container will be called in the specified executor,
+ * if it cannot return data in time, the call will be cancelled and the {@link Callback} will be notified,
+ * then an empty result will be returned, so the fields of targets will be left unassembled.<br />
+ * The thread which is calling the delegate container will be interrupted when the call is cancelled,
+ * so the delegate container can stop in time if it responds to interruption.
+ *
+ * <p>If a fallback cache is specified, the data obtained from the delegate container
+ * will be stored in the cache, and the stale data in the cache will be returned when timeout.
+ *
+ * @author huangchengxing
+ * @param <K> key type
+ * @see TimeoutContainerProcessor
+ * @see cn.crane4j.core.executor.BeanOperationExecutor.Options.TimeoutOption
+ * @since 2.7.0
+ */
+@Slf4j
+public class TimeoutContainer<K> implements ContainerDelegate<K> {
+
+    /**
+     * delegate container
+     */
+    @Getter
+    private final Container<K> container;
+
+    /**
+     * supplier of the remaining time to wait in nanoseconds
+     */
+    private final LongSupplier remainingNanos;
+
+    /**
+     * executor used to call the delegate container
+     */
+    private final Executor executor;
+
+    /**
+     * cache of the last data obtained from the delegate container
+     */
+    @Nullable
+    private final CacheObject<K> fallbackCache;
+
+    /**
+     * callback when timeout
+     */
+    private final Callback callback;
+
+    /**
+     * Create a {@link TimeoutContainer} instance.
+     *
+     * @param container delegate container
+     * @param timeout max time to wait for each call
+     * @param timeUnit time unit of timeout
+     * @param executor executor used to call the delegate container
+     * @param fallbackCache cache of the last data obtained from the delegate container, it can be null
+     * @param callback callback when timeout
+     */
+    public TimeoutContainer(
+        Container<K> container, long timeout, TimeUnit timeUnit,
+        Executor executor, @Nullable CacheObject<K> fallbackCache, Callback callback) {
+        this(container, constant(timeUnit.toNanos(timeout)), executor, fallbackCache, callback);
+    }
+
+    /**
+     * Create a {@link TimeoutContainer} instance.
+     *
+     * @param container delegate container
+     * @param remainingNanos supplier of the remaining time to wait in nanoseconds
+     * @param executor executor used to call the delegate container
+     * @param fallbackCache cache of the last data obtained from the delegate container, it can be null
+     * @param callback callback when timeout
+     */
+    protected TimeoutContainer(
+        Container<K> container, LongSupplier remainingNanos,
+        Executor executor, @Nullable CacheObject<K> fallbackCache, Callback callback) {
+        Asserts.isNotNull(container, "container must not null");
+        Asserts.isNotNull(executor, "executor must not null");
+        Asserts.isNotNull(callback, "callback must not null");
+        this.container = container;
+        this.remainingNanos = remainingNanos;
+        this.executor = executor;
+        this.fallbackCache = fallbackCache;
+        this.callback = callback;
+    }
+
+    /**
+     * Create a {@link TimeoutContainer} instance which must return data before the deadline.
+     *
+     * @param container delegate container
+     * @param deadlineNanos deadline based on {@link System#nanoTime()}
+     * @param executor executor used to call the delegate container
+     * @param callback callback when timeout
+     * @param <K> key type
+     * @return {@link TimeoutContainer} instance
+     */
+    public static <K> TimeoutContainer<K> withDeadline(
+        Container<K> container, long deadlineNanos, Executor executor, Callback callback) {
+        return new TimeoutContainer<>(container, () -> deadlineNanos - System.nanoTime(), executor, null, callback);
+    }
+
+    /**
+     * Enter a batch of key values to return data source objects grouped by key values,
+     * if the delegate container cannot return data in time, return the fallback data.
+     *
+     * @param keys keys
+     * @return data source objects grouped by key value
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Map<K, ?> get(Collection<K> keys) {
+        long remaining = remainingNanos.getAsLong();
+        if (remaining <= 0) {
+            return onTimeout(keys);
+        }
+        // use FutureTask instead of CompletableFuture, because only the former interrupts the running thread when cancelled
+        FutureTask<Map<K, ?>> future = new FutureTask<>(() -> container.get(keys));
+        executor.execute(future);
+        Map<K, ?> results;
+        try {
+            results = future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            return onTimeout(keys);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return onTimeout(keys);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            throw cause instanceof RuntimeException ?
+                (RuntimeException)cause : new Crane4jException(cause);
+        }
+        if (Objects.nonNull(fallbackCache) && CollectionUtils.isNotEmpty(results)) {
+            fallbackCache.putAll((Map<K, Object>)results);
+        }
+        return results;
+    }
+
+    private Map<K, ?> onTimeout(Collection<K> keys) {
+        log.warn("container [{}] did not return data of [{}] keys in time", container.getNamespace(), keys.size());
+        callback.onTimeout(container, keys);
+        return Objects.isNull(fallbackCache) ?
+            Collections.emptyMap() : fallbackCache.getAll(keys);
+    }
+
+    private static LongSupplier constant(long nanos) {
+        return () -> nanos;
+    }
+
+    /**
+     * Callback when the container does not return data in time.
+     *
+     * @author huangchengxing
+     * @since 2.7.0
+     */
+    @FunctionalInterface
+    public interface Callback {
+
+        /**
+         * A callback which does nothing.
+         */
+        Callback NONE = (container, keys) -> { };
+
+        /**
+         * Called when the container does not return data in time.
+         *
+         * @param container container
+         * @param keys keys which are not obtained
+         */
+        void onTimeout(Container<?> container, Collection<?> keys);
+    }
+}
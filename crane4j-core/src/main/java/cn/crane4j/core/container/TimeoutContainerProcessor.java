@@ -0,0 +1,226 @@
+package cn.crane4j.core.container;
+
+import cn.crane4j.annotation.ContainerTimeout;
+import cn.crane4j.core.cache.CacheDefinition;
+import cn.crane4j.core.cache.CacheManager;
+import cn.crane4j.core.cache.CacheObject;
+import cn.crane4j.core.container.TimeoutContainer.Callback;
+import cn.crane4j.core.container.lifecycle.ContainerLifecycleProcessor;
+import cn.crane4j.core.support.Crane4jGlobalConfiguration;
+import cn.crane4j.core.util.Asserts;
+import cn.crane4j.core.util.StringUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Processor for wrap the container as a {@link TimeoutContainer} when it is created.<br />
+ * The timeout of a container can be specified by {@link ContainerTimeout} on the container class,
+ * or registered by {@link #registerTimeout} with the namespace of the container.
+ *
+ * <p>The {@link ContainerTimeout} on the method annotated by {@link cn.crane4j.annotation.ContainerMethod}
+ * is applied by {@link cn.crane4j.core.support.container.DefaultMethodContainerFactory}
+ * through {@link #applyTimeout}, if this processor is set to the factory.
+ *
+ * @author huangchengxing
+ * @see ContainerTimeout
+ * @see TimeoutContainer
+ * @since 2.7.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TimeoutContainerProcessor implements ContainerLifecycleProcessor {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private static final long DEFAULT_FALLBACK_EXPIRE_TIME = 1L;
+    private static final long DEFAULT_FALLBACK_MAXIMUM_SIZE = 10000L;
+
+    /**
+     * global configuration
+     */
+    private final Crane4jGlobalConfiguration configuration;
+
+    /**
+     * executor used to call the containers
+     */
+    private final Executor executor;
+
+    /**
+     * registered timeout definitions
+     */
+    private final Map<String, TimeoutDefinition> timeoutDefinitions = new ConcurrentHashMap<>(8);
+
+    /**
+     * callback when a container does not return data in time
+     */
+    @NonNull
+    @Setter
+    private Callback callback = Callback.NONE;
+
+    /**
+     * Create a {@link TimeoutContainerProcessor} instance,
+     * the containers are called in a cached thread pool of daemon threads,
+     * which threads are created only when they are needed.
+     *
+     * @param configuration global configuration
+     */
+    public TimeoutContainerProcessor(Crane4jGlobalConfiguration configuration) {
+        this(configuration, Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "crane4j-timeout-container-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Register the timeout of the container with the specified namespace,
+     * it takes precedence over the {@link ContainerTimeout} on the container class.<br />
+     * The stale data in fallback cache will expire after 1 hour,
+     * and the cache holds at most 10000 entries if the cache manager supports bounded cache.
+     *
+     * @param namespace namespace of container
+     * @param timeout max time to wait for the container
+     * @param timeUnit time unit of timeout
+     * @param fallbackCacheManager name of the cache manager used to store the stale data, it can be null
+     */
+    public void registerTimeout(
+        String namespace, long timeout, TimeUnit timeUnit, @Nullable String fallbackCacheManager) {
+        registerTimeout(
+            namespace, timeout, timeUnit, fallbackCacheManager,
+            DEFAULT_FALLBACK_EXPIRE_TIME, TimeUnit.HOURS, DEFAULT_FALLBACK_MAXIMUM_SIZE
+        );
+    }
+
+    /**
+     * Register the timeout of the container with the specified namespace,
+     * it takes precedence over the {@link ContainerTimeout} on the container class.
+     *
+     * @param namespace namespace of container
+     * @param timeout max time to wait for the container
+     * @param timeUnit time unit of timeout
+     * @param fallbackCacheManager name of the cache manager used to store the stale data, it can be null
+     * @param fallbackExpireTime expire time of the stale data, not positive means never expire
+     * @param fallbackTimeUnit time unit of fallback expire time
+     * @param fallbackMaximumSize max number of entries in fallback cache, not positive means unbounded
+     */
+    public void registerTimeout(
+        String namespace, long timeout, TimeUnit timeUnit, @Nullable String fallbackCacheManager,
+        long fallbackExpireTime, TimeUnit fallbackTimeUnit, long fallbackMaximumSize) {
+        Asserts.isNotEmpty(namespace, "namespace must not empty");
+        Asserts.isTrue(timeout > 0, "timeout must greater than 0");
+        timeoutDefinitions.put(namespace, new TimeoutDefinition(
+            timeout, timeUnit, fallbackCacheManager, fallbackExpireTime, fallbackTimeUnit, fallbackMaximumSize
+        ));
+    }
+
+    /**
+     * Callback when the container is created.
+     *
+     * @param definition definition of container
+     * @param container  container
+     * @return final effective container instance
+     */
+    @Nullable
+    @Override
+    public Container<Object> whenCreated(ContainerDefinition definition, Container<Object> container) {
+        if (Objects.isNull(container) || container instanceof EmptyContainer || isTimeoutApplied(container)) {
+            return container;
+        }
+        TimeoutDefinition timeoutDefinition = retrieveTimeoutDefinition(container);
+        return Objects.isNull(timeoutDefinition) ? container : wrap(container, timeoutDefinition);
+    }
+
+    /**
+     * Wrap the container as a {@link TimeoutContainer} according to the annotation,
+     * the timeout registered by {@link #registerTimeout} with the namespace of container takes precedence.
+     *
+     * @param container container
+     * @param annotation annotation
+     * @return timeout container
+     */
+    public Container<Object> applyTimeout(Container<Object> container, ContainerTimeout annotation) {
+        if (isTimeoutApplied(container)) {
+            return container;
+        }
+        TimeoutDefinition timeoutDefinition = timeoutDefinitions.get(container.getNamespace());
+        return wrap(container, Objects.isNull(timeoutDefinition) ? TimeoutDefinition.from(annotation) : timeoutDefinition);
+    }
+
+    private static boolean isTimeoutApplied(Container<?> container) {
+        while (container instanceof ContainerDelegate) {
+            if (container instanceof TimeoutContainer) {
+                return true;
+            }
+            container = ((ContainerDelegate<?>)container).getContainer();
+        }
+        return false;
+    }
+
+    private Container<Object> wrap(Container<Object> container, TimeoutDefinition timeoutDefinition) {
+        log.info("apply timeout to container [{}], timeout is [{}] {}",
+            container.getNamespace(), timeoutDefinition.getTimeout(), timeoutDefinition.getTimeUnit().name().toLowerCase());
+        CacheObject<Object> fallbackCache = null;
+        if (StringUtils.isNotEmpty(timeoutDefinition.getFallbackCacheManager())) {
+            fallbackCache = createFallbackCache(container.getNamespace(), timeoutDefinition);
+        }
+        return new TimeoutContainer<>(
+            container, timeoutDefinition.getTimeout(), timeoutDefinition.getTimeUnit(), executor, fallbackCache, callback
+        );
+    }
+
+    private CacheObject<Object> createFallbackCache(String namespace, TimeoutDefinition timeoutDefinition) {
+        String cacheManagerName = timeoutDefinition.getFallbackCacheManager();
+        CacheManager cacheManager = configuration.getCacheManager(cacheManagerName);
+        CacheDefinition.Impl cacheDefinition = new CacheDefinition.Impl(
+            namespace + "$fallback", cacheManagerName,
+            timeoutDefinition.getFallbackExpireTime(), timeoutDefinition.getFallbackTimeUnit()
+        );
+        cacheDefinition.setMaximumSize(timeoutDefinition.getFallbackMaximumSize());
+        return cacheManager.createCache(cacheDefinition, null);
+    }
+
+    @Nullable
+    private TimeoutDefinition retrieveTimeoutDefinition(Container<Object> container) {
+        TimeoutDefinition timeoutDefinition = timeoutDefinitions.get(container.getNamespace());
+        if (Objects.nonNull(timeoutDefinition)) {
+            return timeoutDefinition;
+        }
+        ContainerTimeout annotation = container.getClass().getAnnotation(ContainerTimeout.class);
+        return Objects.isNull(annotation) ? null : TimeoutDefinition.from(annotation);
+    }
+
+    /**
+     * Timeout configuration of a container.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class TimeoutDefinition {
+        private final long timeout;
+        private final TimeUnit timeUnit;
+        @Nullable
+        private final String fallbackCacheManager;
+        private final long fallbackExpireTime;
+        private final TimeUnit fallbackTimeUnit;
+        private final long fallbackMaximumSize;
+
+        static TimeoutDefinition from(ContainerTimeout annotation) {
+            Asserts.isTrue(annotation.timeout() > 0, "timeout must greater than 0");
+            return new TimeoutDefinition(
+                annotation.timeout(), annotation.timeUnit(), annotation.fallbackCacheManager(),
+                annotation.fallbackExpirationTime(), annotation.fallbackTimeUnit(), annotation.fallbackMaximumSize()
+            );
+        }
+    }
+}
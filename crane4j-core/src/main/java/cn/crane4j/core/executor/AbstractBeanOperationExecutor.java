@@ -1,7 +1,9 @@
 package cn.crane4j.core.executor;
 
+import cn.crane4j.core.container.AsyncContainer;
 import cn.crane4j.core.container.Container;
 import cn.crane4j.core.container.ContainerManager;
+import cn.crane4j.core.container.EmptyContainer;
 import cn.crane4j.core.exception.OperationExecuteException;
 import cn.crane4j.core.executor.handler.AssembleOperationHandler;
 import cn.crane4j.core.executor.handler.DisassembleOperationHandler;
@@ -9,6 +11,7 @@ import cn.crane4j.core.parser.BeanOperations;
 import cn.crane4j.core.parser.operation.AssembleOperation;
 import cn.crane4j.core.parser.operation.DisassembleOperation;
 import cn.crane4j.core.parser.operation.KeyTriggerOperation;
+import cn.crane4j.core.support.metrics.ExecutionListener;
 import cn.crane4j.core.util.Asserts;
 import cn.crane4j.core.util.CollectionUtils;
 import cn.crane4j.core.util.MultiMap;
@@ -17,12 +20,22 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -40,7 +53,9 @@ import java.util.stream.Collectors;
  *     <li>
  *         If there are any {@link DisassembleOperation} operations to be executed,
  *         recursively extract and flatten the objects that need to be processed from
- *         the {@code target} object (if it is a collection or an array, iterate over each element);
+ *         the {@code target} object (if it is a collection or an array, iterate over each element),
+ *         the objects are deduplicated by identity, so a shared object is collected only once
+ *         and the cyclic references will not cause infinite recursion;
  *     </li>
  *     <li>
  *         Group all the objects to be processed based on their corresponding {@link BeanOperations},
@@ -90,6 +105,50 @@ public abstract class AbstractBeanOperationExecutor implements BeanOperationExec
     @Setter
     private int batchSize = -1;
 
+    /**
+     * <p>The executor used to complete operations in {@link #executeAsync}.<br />
+     * The default is {@link ForkJoinPool#commonPool()}.
+     *
+     * @since 2.7.0
+     */
+    @Setter
+    @NonNull
+    protected Executor asyncExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * <p>Whether to cache the {@link ExecutionPlan} for each {@link BeanOperations} and operation filter.<br />
+     * When enabled, the filtered and grouped operations of the same {@link BeanOperations} and filter
+     * will be compiled only once, it's useful when the filter is reused in each execution.
+     *
+     * <p>The filters are compared by identity, so the plan can be reused only if the same filter instance is used,
+     * such as the non-capturing lambda, {@link cn.crane4j.core.support.Grouped#alwaysMatch()}
+     * and the filter resolved from {@link cn.crane4j.annotation.AutoOperate} of a method.
+     * The filter created in each call, such as {@link cn.crane4j.core.support.Grouped#anyMatch},
+     * will always miss the cache, since the filters are weakly referenced by the cache,
+     * the plans compiled for them will be removed after the filters are collected.
+     *
+     * @see #getExecutionPlan
+     * @since 2.7.0
+     */
+    @Setter
+    private boolean enableExecutionPlanCache = false;
+
+    /**
+     * <p>The listener notified at each stage of the execution.<br />
+     * The default is {@link ExecutionListener#NONE}, which means no metrics will be collected.
+     *
+     * @see cn.crane4j.core.support.metrics.InMemoryExecutionListener
+     * @since 2.7.0
+     */
+    @Setter
+    @NonNull
+    protected ExecutionListener executionListener = ExecutionListener.NONE;
+
+    /**
+     * cached execution plans, the keys are compared by identity
+     */
+    private final Map<BeanOperations, Map<Predicate<? super KeyTriggerOperation>, ExecutionPlan>> executionPlans = CollectionUtils.newWeakKeyConcurrentMap();
+
     /**
      * Complete operations on all objects in {@code targets} according to the specified {@link BeanOperations} and {@link Options}.
      *
@@ -102,47 +161,96 @@ public abstract class AbstractBeanOperationExecutor implements BeanOperationExec
      */
     @Override
     public void execute(Collection<?> targets, BeanOperations operations, Options options) {
-        if (CollectionUtils.isEmpty(targets) || Objects.isNull(operations)) {
+        if (!isExecutable(targets, operations)) {
             return;
         }
+        MultiMap<BeanOperations, Object> targetWithOperations = disassembleOperations(targets, operations, options);
+        List<AssembleExecution> executions = combineExecutions(options, targetWithOperations);
+
+        // complete assembly operation
+        TimerUtil.getExecutionTime(
+            log.isDebugEnabled(),
+            time -> log.debug("assemble operations completed in {} ms", time),
+            () -> executeOperations(executions, options)
+        );
+        afterOperationsCompletion(targetWithOperations);
+    }
+
+    /**
+     * <p>Complete operations on all objects in {@code targets} asynchronously
+     * according to the specified {@link BeanOperations} and {@link Options}.<br />
+     * The disassembly operations and the assembly operations will be completed in {@link #asyncExecutor},
+     * and the assembly operations will be completed by {@link #executeOperationsAsync}.
+     *
+     * @param targets targets
+     * @param operations operations to be performed
+     * @param options options for execution
+     * @return future which will be completed after all operations completed
+     * @see #executeOperationsAsync
+     * @since 2.7.0
+     */
+    @Override
+    public CompletableFuture<Void> executeAsync(Collection<?> targets, BeanOperations operations, Options options) {
+        if (!isExecutable(targets, operations)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> disassembleOperations(targets, operations, options), asyncExecutor)
+            .thenCompose(targetWithOperations -> {
+                List<AssembleExecution> executions = combineExecutions(options, targetWithOperations);
+                return executeOperationsAsync(executions, options)
+                    .thenRun(() -> afterOperationsCompletion(targetWithOperations));
+            });
+    }
 
+    private boolean isExecutable(Collection<?> targets, BeanOperations operations) {
+        if (CollectionUtils.isEmpty(targets) || Objects.isNull(operations)) {
+            return false;
+        }
         // When the following all conditions are met, the operation will be abandoned:
         // 1. The operation is not active;
         // 2. The operation is still not active after waiting for a period of time;
         // 3. The execution of non-active operations is not enabled.
         if (!operations.isActive() && !enableExecuteNotActiveOperation) {
             log.warn("bean operation of [{}] is still not ready, abort execution of the operation", operations.getSource());
-            return;
+            return false;
         }
+        return true;
+    }
 
+    private MultiMap<BeanOperations, Object> disassembleOperations(
+        Collection<?> targets, BeanOperations operations, Options options) {
         // complete the disassembly first if necessary
         beforeDisassembleOperation(targets, operations, options);
         MultiMap<BeanOperations, Object> targetWithOperations = MultiMap.linkedListMultimap();
         targetWithOperations.putAll(operations, targets);
         Predicate<? super KeyTriggerOperation> filter = options.getFilter();
+        long start = executionListener == ExecutionListener.NONE ? 0L : System.nanoTime();
         TimerUtil.getExecutionTime(
             log.isDebugEnabled(),
             time -> log.debug("disassemble operations completed in {} ms", time),
-            () -> disassembleIfNecessary(targets, operations, filter, targetWithOperations)
+            () -> disassembleIfNecessary(targets, operations, filter, targetWithOperations, newVisitedSet(targets))
         );
+        if (executionListener != ExecutionListener.NONE) {
+            executionListener.onDisassembled(operations, targetWithOperations.size(), System.nanoTime() - start);
+        }
+        return targetWithOperations;
+    }
 
+    private List<AssembleExecution> combineExecutions(
+        Options options, MultiMap<BeanOperations, Object> targetWithOperations) {
         // flattened objects are grouped according to assembly operations, then encapsulated as execution objects
         beforeAssembleOperation(targetWithOperations);
+        Predicate<? super KeyTriggerOperation> filter = options.getFilter();
+        // containers are resolved only once for each namespace in an execution
+        Options containerCachedOptions = new ContainerCachedOptions(options);
         List<AssembleExecution> executions = new ArrayList<>();
         targetWithOperations.asMap().forEach((op, ts) -> {
-            List<AssembleExecution> executionsOfOp = combineExecutions(options, filter, op, ts);
+            List<AssembleExecution> executionsOfOp = combineExecutions(containerCachedOptions, filter, op, ts);
             if (CollectionUtils.isNotEmpty(executionsOfOp)) {
                 executions.addAll(executionsOfOp);
             }
         });
-
-        // complete assembly operation
-        TimerUtil.getExecutionTime(
-            log.isDebugEnabled(),
-            time -> log.debug("assemble operations completed in {} ms", time),
-            () -> executeOperations(executions, options)
-        );
-        afterOperationsCompletion(targetWithOperations);
+        return executions;
     }
 
     @NonNull
@@ -168,11 +276,35 @@ public abstract class AbstractBeanOperationExecutor implements BeanOperationExec
     @NonNull
     protected List<AssembleExecution> doCombineExecutions(
         Options options, Predicate<? super KeyTriggerOperation> filter, BeanOperations beanOperations, Collection<Object> targets) {
-        return beanOperations.getAssembleOperations()
-            .stream()
-            .filter(filter)
-            .map(p -> createAssembleExecution(beanOperations, p, targets, options))
-            .collect(Collectors.toList());
+        ExecutionPlan plan = getExecutionPlan(beanOperations, filter);
+        List<AssembleExecution> executions = new ArrayList<>(plan.getAssembleOperations().size());
+        // create executions group by group, so the executions of the same group are adjacent
+        for (ExecutionPlan.AssembleOperationGroup group : plan.getAssembleOperationGroups()) {
+            for (AssembleOperation operation : group.getOperations()) {
+                executions.add(createAssembleExecution(beanOperations, operation, targets, options));
+            }
+        }
+        return executions;
+    }
+
+    /**
+     * <p>Get the execution plan of the specified {@link BeanOperations} and filter.<br />
+     * If {@link #enableExecutionPlanCache} is true and the operations is active,
+     * the plan will be cached and reused in subsequent executions.
+     *
+     * @param operations bean operations
+     * @param filter operation filter
+     * @return execution plan
+     * @since 2.7.0
+     */
+    protected ExecutionPlan getExecutionPlan(
+        BeanOperations operations, Predicate<? super KeyTriggerOperation> filter) {
+        if (!enableExecutionPlanCache || !operations.isActive()) {
+            return ExecutionPlan.compile(operations, filter);
+        }
+        return executionPlans
+            .computeIfAbsent(operations, op -> CollectionUtils.newWeakKeyConcurrentMap())
+            .computeIfAbsent(filter, f -> ExecutionPlan.compile(operations, f));
     }
 
     /**
@@ -214,6 +346,20 @@ public abstract class AbstractBeanOperationExecutor implements BeanOperationExec
      */
     protected abstract void executeOperations(List<AssembleExecution> executions, Options options) throws OperationExecuteException;
 
+    /**
+     * <p>Complete the assembly operation asynchronously.<br />
+     * By default, the operations will be completed by {@link #executeOperations} in {@link #asyncExecutor},
+     * the implementation can override this method to avoid blocking when waiting for data source objects.
+     *
+     * @param executions assembly operations to be completed
+     * @param options options for execution
+     * @return future which will be completed after all operations completed
+     * @since 2.7.0
+     */
+    protected CompletableFuture<Void> executeOperationsAsync(List<AssembleExecution> executions, Options options) {
+        return CompletableFuture.runAsync(() -> executeOperations(executions, options), asyncExecutor);
+    }
+
     /**
      * Do something before the assembly operation begin.
      *
@@ -263,44 +409,273 @@ public abstract class AbstractBeanOperationExecutor implements BeanOperationExec
 
     private <T> void disassembleIfNecessary(
         Collection<T> targets, BeanOperations operations,
-        Predicate<? super KeyTriggerOperation> filter, MultiMap<BeanOperations, Object> collector) {
-        Collection<DisassembleOperation> internalOperations = operations.getDisassembleOperations();
-        if (CollectionUtils.isEmpty(internalOperations)) {
+        Predicate<? super KeyTriggerOperation> filter, MultiMap<BeanOperations, Object> collector, Set<Object> visited) {
+        if (CollectionUtils.isEmpty(operations.getDisassembleOperations())) {
             return;
         }
-        internalOperations.stream()
-            .filter(filter)
-            .forEach(internal -> doDisassembleAndCollect(targets, internal, filter, collector));
+        List<DisassembleOperation> internalOperations = getExecutionPlan(operations, filter).getDisassembleOperations();
+        for (DisassembleOperation internal : internalOperations) {
+            doDisassembleAndCollect(targets, internal, filter, collector, visited);
+        }
     }
 
     private <T> void doDisassembleAndCollect(
-        Collection<T> targets, DisassembleOperation disassembleOperation, Predicate<? super KeyTriggerOperation> filter, MultiMap<BeanOperations, Object> collector) {
+        Collection<T> targets, DisassembleOperation disassembleOperation, Predicate<? super KeyTriggerOperation> filter,
+        MultiMap<BeanOperations, Object> collector, Set<Object> visited) {
         DisassembleOperationHandler handler = disassembleOperation.getDisassembleOperationHandler();
         targets = filterTargetsForSupportedOperation(targets, disassembleOperation);
-        Collection<?> internalTargets = handler.process(disassembleOperation, targets);
-        if (CollectionUtils.isEmpty(internalTargets)) {
+        Collection<?> nestedTargets = handler.process(disassembleOperation, targets);
+        if (CollectionUtils.isEmpty(nestedTargets)) {
+            return;
+        }
+        // the objects which have been collected will be skipped,
+        // so each object is assembled only once and the cyclic references will not cause infinite recursion
+        List<Object> internalTargets = new ArrayList<>(nestedTargets.size());
+        for (Object nested : nestedTargets) {
+            if (visited.add(nested)) {
+                internalTargets.add(nested);
+            }
+        }
+        if (internalTargets.isEmpty()) {
             return;
         }
         BeanOperations internalOperations = disassembleOperation.getInternalBeanOperations(internalTargets);
         collector.putAll(internalOperations, internalTargets);
         // recurse process if still have nested objects
-        disassembleIfNecessary(internalTargets, internalOperations, filter, collector);
+        disassembleIfNecessary(internalTargets, internalOperations, filter, collector, visited);
+    }
+
+    private static Set<Object> newVisitedSet(Collection<?> targets) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>(targets.size() * 2));
+        visited.addAll(targets);
+        return visited;
     }
 
     /**
      * <p>Try to execute the operation.<br />
+     * If {@link #executionListener} is specified, the operation will be executed by {@link #doExecuteWithSharedFetch},
+     * so the time of collecting keys, fetching data sources and mapping properties can be reported to the listener.
      * If necessary, output the log when throwing an exception.
      *
      * @param handler handler
      * @param executions executions
      * @param container container
      */
-    protected static void doExecute(
+    protected void doExecute(
         AssembleOperationHandler handler, Container<?> container, Collection<AssembleExecution> executions) {
+        if (isListened(container)) {
+            doExecuteWithSharedFetch(container, Collections.singletonMap(handler, executions));
+            return;
+        }
+        doProcess(handler, container, executions);
+    }
+
+    /**
+     * <p>Try to execute the operations of the handlers which use the same container.<br />
+     * If there are multiple handlers, the keys of all handlers that support {@link AssembleOperationHandler#prepare}
+     * will be merged, so that the container is only accessed once,
+     * and then the obtained data source objects will be distributed to each handler.
+     * If necessary, output the log when throwing an exception.
+     *
+     * <p>If {@link #executionListener} is specified, the time of collecting keys,
+     * fetching data sources and mapping properties will be reported to the listener,
+     * and the handlers which do not support {@link AssembleOperationHandler#prepare}
+     * will be reported by {@link ExecutionListener#onProcessed}.
+     *
+     * @param container container
+     * @param executionsOfHandlers executions grouped by handler
+     * @since 2.7.0
+     */
+    @SuppressWarnings("unchecked")
+    protected void doExecuteWithSharedFetch(
+        Container<?> container, Map<AssembleOperationHandler, ? extends Collection<AssembleExecution>> executionsOfHandlers) {
+        boolean listened = isListened(container);
+        if ((executionsOfHandlers.size() < 2 && !listened) || container instanceof EmptyContainer) {
+            executionsOfHandlers.forEach((handler, executions) -> doProcess(handler, container, executions));
+            return;
+        }
+        String namespace = container.getNamespace();
+        long start = listened ? System.nanoTime() : 0L;
+        List<AssembleOperationHandler.Preparation> preparations = new ArrayList<>(executionsOfHandlers.size());
+        executionsOfHandlers.forEach((handler, executions) -> {
+            try {
+                AssembleOperationHandler.Preparation preparation = handler.prepare(container, executions);
+                if (Objects.isNull(preparation)) {
+                    doProcess(handler, container, executions);
+                } else {
+                    preparations.add(preparation);
+                }
+            } catch (Exception ex) {
+                log.warn("execute operation fail: {}", ex.getMessage(), ex);
+            }
+        });
+        if (preparations.isEmpty()) {
+            return;
+        }
+        int keyCount = 0;
+        Set<Object> keys = new LinkedHashSet<>();
+        for (AssembleOperationHandler.Preparation preparation : preparations) {
+            keyCount += listened ? preparation.getKeyCount() : 0;
+            keys.addAll(preparation.getKeys());
+        }
+        if (listened) {
+            long now = System.nanoTime();
+            executionListener.onKeysCollected(namespace, keyCount, keys.size(), now - start);
+            start = now;
+        }
+        Map<Object, Object> sources;
+        try {
+            sources = keys.isEmpty() ?
+                Collections.emptyMap() : (Map<Object, Object>)((Container<Object>)container).get(keys);
+        } catch (Exception ex) {
+            log.warn("execute operation fail: {}", ex.getMessage(), ex);
+            if (listened) {
+                executionListener.onFetched(namespace, keys.size(), System.nanoTime() - start, ex);
+            }
+            return;
+        }
+        if (listened) {
+            long now = System.nanoTime();
+            executionListener.onFetched(namespace, keys.size(), now - start, null);
+            start = now;
+        }
+        Map<Object, Object> results = Objects.isNull(sources) ? Collections.emptyMap() : sources;
+        Exception failure = null;
+        for (AssembleOperationHandler.Preparation preparation : preparations) {
+            try {
+                preparation.complete(results);
+            } catch (Exception ex) {
+                log.warn("execute operation fail: {}", ex.getMessage(), ex);
+                failure = ex;
+            }
+        }
+        if (listened) {
+            executionListener.onMapped(namespace, System.nanoTime() - start, failure);
+        }
+    }
+
+    /**
+     * <p>Try to execute the operation asynchronously.<br />
+     * If {@link #executionListener} is specified, the keys will be collected by {@link AssembleOperationHandler#prepare}
+     * and the data source objects will be obtained by {@link AsyncContainer#getAsync},
+     * so the time of each stage can be reported to the listener.
+     * If necessary, output the log when the operation completed exceptionally.
+     *
+     * @param handler handler
+     * @param container container
+     * @param executions executions
+     * @param executor executor
+     * @return future of operation, it never completes exceptionally
+     * @since 2.7.0
+     */
+    protected CompletableFuture<Void> doExecuteAsync(
+        AssembleOperationHandler handler, AsyncContainer<?> container,
+        Collection<AssembleExecution> executions, Executor executor) {
+        CompletableFuture<Void> future;
+        try {
+            future = isListened(container) ?
+                doProcessAsyncWithListener(handler, container, executions, executor) :
+                handler.processAsync(container, executions, executor);
+        } catch (Exception ex) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+        }
+        return future.exceptionally(ex -> {
+            log.warn("execute operation fail: {}", ex.getMessage(), ex);
+            return null;
+        });
+    }
+
+    private boolean isListened(Container<?> container) {
+        return executionListener != ExecutionListener.NONE
+            && Objects.nonNull(container) && !(container instanceof EmptyContainer);
+    }
+
+    private void doProcess(
+        AssembleOperationHandler handler, Container<?> container, Collection<AssembleExecution> executions) {
+        boolean listened = isListened(container);
+        long start = listened ? System.nanoTime() : 0L;
+        Exception failure = null;
         try {
             handler.process(container, executions);
-        } catch(Exception ex) {
+        } catch (Exception ex) {
             log.warn("execute operation fail: {}", ex.getMessage(), ex);
+            failure = ex;
+        }
+        if (listened) {
+            executionListener.onProcessed(container.getNamespace(), System.nanoTime() - start, failure);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Void> doProcessAsyncWithListener(
+        AssembleOperationHandler handler, AsyncContainer<?> container,
+        Collection<AssembleExecution> executions, Executor executor) {
+        String namespace = container.getNamespace();
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            AssembleOperationHandler.Preparation preparation = handler.prepare(container, executions);
+            if (Objects.nonNull(preparation)) {
+                executionListener.onKeysCollected(
+                    namespace, preparation.getKeyCount(), preparation.getKeys().size(), System.nanoTime() - start
+                );
+            }
+            return preparation;
+        }, executor).thenCompose(preparation -> {
+            long start = System.nanoTime();
+            // the handler does not support preparation, the stages are reported as a whole
+            if (Objects.isNull(preparation)) {
+                return handler.processAsync(container, executions, executor).whenComplete(
+                    (r, ex) -> executionListener.onProcessed(namespace, System.nanoTime() - start, unwrap(ex))
+                );
+            }
+            Collection<Object> keys = preparation.getKeys();
+            CompletableFuture<? extends Map<?, ?>> sources = keys.isEmpty() ?
+                CompletableFuture.completedFuture(Collections.emptyMap()) : ((AsyncContainer<Object>)container).getAsync(keys);
+            return sources
+                .whenComplete((r, ex) -> executionListener.onFetched(namespace, keys.size(), System.nanoTime() - start, unwrap(ex)))
+                .thenAcceptAsync(r -> {
+                    long mappingStart = System.nanoTime();
+                    try {
+                        preparation.complete(Objects.isNull(r) ? Collections.emptyMap() : (Map<Object, Object>)r);
+                    } catch (RuntimeException ex) {
+                        executionListener.onMapped(namespace, System.nanoTime() - mappingStart, ex);
+                        throw ex;
+                    }
+                    executionListener.onMapped(namespace, System.nanoTime() - mappingStart, null);
+                }, executor);
+        });
+    }
+
+    @Nullable
+    private static Throwable unwrap(@Nullable Throwable ex) {
+        return ex instanceof CompletionException && Objects.nonNull(ex.getCause()) ? ex.getCause() : ex;
+    }
+
+    /**
+     * An {@link Options} which caches the containers resolved by the delegate options.
+     */
+    @RequiredArgsConstructor
+    private static class ContainerCachedOptions implements Options {
+
+        private final Options delegate;
+        private final Map<String, Container<?>> containers = new HashMap<>(8);
+
+        @Override
+        public Predicate<? super KeyTriggerOperation> getFilter() {
+            return delegate.getFilter();
+        }
+
+        @Override
+        public Container<?> getContainer(ContainerManager containerManager, String namespace) {
+            Container<?> container = containers.get(namespace);
+            if (Objects.isNull(container)) {
+                container = delegate.getContainer(containerManager, namespace);
+                if (Objects.nonNull(container)) {
+                    containers.put(namespace, container);
+                }
+            }
+            return container;
         }
     }
 }
@@ -4,13 +4,17 @@ import cn.crane4j.core.container.Container;
 import cn.crane4j.core.container.ContainerManager;
 import cn.crane4j.core.exception.OperationExecuteException;
 import cn.crane4j.core.executor.handler.AssembleOperationHandler;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
@@ -19,6 +23,13 @@ import java.util.stream.Collectors;
  * It will group the operations to be executed according to the data source container,
  * then submit them to the executor in turn, and finally complete them asynchronously.
  *
+ * <p>By default, each {@link AssembleExecution} is submitted as an independent task.
+ * If {@link #mergeExecutions} is enabled, the executions will be grouped
+ * by the container and handler first like {@link DisorderedBeanOperationExecutor},
+ * and the groups of the same container will be completed in one task,
+ * so the container will only be accessed once in the thread pool if possible.<br />
+ * The number of tasks running at the same time in an execution can be limited by {@link #maxConcurrentTasks}.
+ *
  * @author huangchengxing
  */
 @Slf4j
@@ -29,16 +40,41 @@ public class AsyncBeanOperationExecutor extends DisorderedBeanOperationExecutor
      */
     private final Executor executor;
 
+    /**
+     * <p>Whether to group the executions by container and handler before submitting them to the executor.<br />
+     * When enabled, the executions which use the same container and handler
+     * will be merged into one task, so the container only be accessed once in a group.
+     *
+     * @since 2.7.0
+     */
+    @Setter
+    private boolean mergeExecutions = false;
+
+    /**
+     * <p>The max number of tasks running at the same time in an execution,
+     * not greater than 0 means no limit.<br />
+     * For example, if merged executions use 10 containers and the value is 2,
+     * only 2 tasks will be submitted to the executor, and each of them will
+     * complete the executions of containers one by one until all of them are completed,
+     * so an execution will not occupy all threads of the executor,
+     * and each container is still only accessed once if possible.
+     *
+     * @since 2.7.0
+     */
+    @Setter
+    private int maxConcurrentTasks = -1;
+
     /**
      * Create an instance of {@link AsyncBeanOperationExecutor}.
      *
      * @param containerManager container manager
-     * @param executor thread pool used to perform operations
+     * @param executor thread pool used to perform operations, it is also used in {@link #executeAsync}
      */
     public AsyncBeanOperationExecutor(
         ContainerManager containerManager, Executor executor) {
         super(containerManager);
         this.executor = executor;
+        this.asyncExecutor = executor;
     }
 
     /**
@@ -60,15 +96,17 @@ public class AsyncBeanOperationExecutor extends DisorderedBeanOperationExecutor
      *     </li>
      * </ul>
      */
-    @SuppressWarnings("unchecked")
     @Override
     protected void executeOperations(List<AssembleExecution> executions, Options options) throws OperationExecuteException {
-        CompletableFuture<Void>[] tasks = executions.stream()
+        if (mergeExecutions) {
+            super.executeOperations(executions, options);
+            return;
+        }
+        List<Runnable> tasks = executions.stream()
             .map(execution -> (Runnable)() -> doExecuteOperations(execution))
-            .map(task -> CompletableFuture.runAsync(task, executor))
-            .toArray(CompletableFuture[]::new);
+            .collect(Collectors.toList());
         try {
-            CompletableFuture.allOf(tasks).join();
+            runTasks(tasks);
         } catch (Exception e) {
             throw new OperationExecuteException(e);
         }
@@ -80,20 +118,65 @@ public class AsyncBeanOperationExecutor extends DisorderedBeanOperationExecutor
     }
 
     /**
-     * <p>Execute the assembly operation.
+     * <p>Execute the assembly operation.<br />
+     * The executions of each container will be completed as a task in the executor,
+     * and the handlers which use the same container will share one access to the container if possible,
+     * the number of tasks running at the same time is limited by {@link #maxConcurrentTasks}.
      *
      * @param executionGroups grouped assembly operations
+     * @see #doExecuteWithSharedFetch
      */
     @Override
     protected void doExecuteOperations(Map<Container<?>, Map<AssembleOperationHandler, List<AssembleExecution>>> executionGroups) {
         List<Runnable> tasks = new ArrayList<>(executionGroups.size());
-        executionGroups.forEach((c, he) ->
-            he.forEach((h, es) -> tasks.add(() -> h.process(c, es))));
-        tasks.stream()
-            .map(t -> CompletableFuture.runAsync(t, executor))
-            .collect(Collectors.collectingAndThen(
-                Collectors.toList(), ts -> CompletableFuture.allOf(ts.toArray(new CompletableFuture[0]))
-            ))
-            .join();
+        executionGroups.forEach((c, he) -> tasks.add(() -> doExecuteWithSharedFetch(c, he)));
+        runTasks(tasks);
+    }
+
+    /**
+     * <p>Run tasks in the executor and wait for all of them to complete.<br />
+     * If {@link #maxConcurrentTasks} is positive and less than the number of tasks,
+     * only that number of workers will be submitted,
+     * and each worker takes the remaining tasks from a shared queue in turn.
+     * A failed task does not stop the worker,
+     * the first exception will be thrown after all tasks are completed.
+     *
+     * @param tasks tasks
+     */
+    @SuppressWarnings("unchecked")
+    private void runTasks(List<Runnable> tasks) {
+        int workerCount = maxConcurrentTasks > 0 ? Math.min(maxConcurrentTasks, tasks.size()) : tasks.size();
+        CompletableFuture<Void>[] workers;
+        if (workerCount == tasks.size()) {
+            workers = tasks.stream()
+                .map(task -> CompletableFuture.runAsync(task, executor))
+                .toArray(CompletableFuture[]::new);
+        } else {
+            Queue<Runnable> queue = new ConcurrentLinkedQueue<>(tasks);
+            workers = new CompletableFuture[workerCount];
+            for (int i = 0; i < workerCount; i++) {
+                workers[i] = CompletableFuture.runAsync(() -> drain(queue), executor);
+            }
+        }
+        CompletableFuture.allOf(workers).join();
+    }
+
+    private static void drain(Queue<Runnable> queue) {
+        RuntimeException failure = null;
+        Runnable task;
+        while (Objects.nonNull(task = queue.poll())) {
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                if (Objects.isNull(failure)) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        if (Objects.nonNull(failure)) {
+            throw failure;
+        }
     }
 }
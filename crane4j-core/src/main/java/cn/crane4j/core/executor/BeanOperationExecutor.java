@@ -2,6 +2,8 @@ package cn.crane4j.core.executor;
 
 import cn.crane4j.core.container.Container;
 import cn.crane4j.core.container.ContainerManager;
+import cn.crane4j.core.container.EmptyContainer;
+import cn.crane4j.core.container.TimeoutContainer;
 import cn.crane4j.core.executor.handler.AssembleOperationHandler;
 import cn.crane4j.core.parser.BeanOperations;
 import cn.crane4j.core.parser.operation.KeyTriggerOperation;
@@ -10,6 +12,10 @@ import lombok.RequiredArgsConstructor;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 /**
@@ -56,6 +62,55 @@ public interface BeanOperationExecutor {
         execute(targets, operations, t -> true);
     }
 
+    /**
+     * <p>Complete operations on all objects in {@code targets} asynchronously
+     * according to the specified {@link BeanOperations} and {@link Options}.<br />
+     * By default, the operations will be completed in the current thread,
+     * and a completed future will be returned.
+     *
+     * @param targets targets
+     * @param operations operations to be performed
+     * @param options options for execution
+     * @return future which will be completed after all operations completed
+     * @since 2.7.0
+     */
+    default CompletableFuture<Void> executeAsync(Collection<?> targets, BeanOperations operations, Options options) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            execute(targets, operations, options);
+            future.complete(null);
+        } catch (Exception ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    /**
+     * Complete operations on all objects in {@code targets} asynchronously according to the specified {@link BeanOperations}
+     *
+     * @param targets targets
+     * @param operations operations to be performed
+     * @param filter operation filter, which can filter some operations based on operation key, group and other attributes
+     * @return future which will be completed after all operations completed
+     * @since 2.7.0
+     */
+    default CompletableFuture<Void> executeAsync(
+        Collection<?> targets, BeanOperations operations, Predicate<? super KeyTriggerOperation> filter) {
+        return executeAsync(targets, operations, () -> filter);
+    }
+
+    /**
+     * Complete operations on all objects in {@code targets} asynchronously according to the specified {@link BeanOperations}
+     *
+     * @param targets targets
+     * @param operations operations to be performed
+     * @return future which will be completed after all operations completed
+     * @since 2.7.0
+     */
+    default CompletableFuture<Void> executeAsync(Collection<?> targets, BeanOperations operations) {
+        return executeAsync(targets, operations, t -> true);
+    }
+
     /**
      * Options for execution.
      *
@@ -96,5 +151,54 @@ public interface BeanOperationExecutor {
                 return dynamicContainers.getOrDefault(namespace, containerManager.getContainer(namespace));
             }
         }
+
+        /**
+         * <p>An option which limits the total time of obtaining data from containers in an execution.<br />
+         * The deadline starts when the option is created,
+         * and each container obtained through the option will be wrapped as a {@link TimeoutContainer},
+         * the container which cannot return data before the deadline will be abandoned,
+         * and the corresponding fields will be left unassembled.
+         *
+         * @author huangchengxing
+         * @see TimeoutContainer
+         * @since 2.7.0
+         */
+        class TimeoutOption implements Options {
+
+            private final Options delegate;
+            private final long deadlineNanos;
+            private final Executor executor;
+            private final TimeoutContainer.Callback callback;
+
+            /**
+             * Create a {@link TimeoutOption} instance.
+             *
+             * @param delegate delegate options
+             * @param timeout max time of obtaining data from containers
+             * @param timeUnit time unit of timeout
+             * @param executor executor used to call the containers
+             * @param callback callback when a container does not return data in time
+             */
+            public TimeoutOption(
+                Options delegate, long timeout, TimeUnit timeUnit, Executor executor, TimeoutContainer.Callback callback) {
+                this.delegate = delegate;
+                this.deadlineNanos = System.nanoTime() + timeUnit.toNanos(timeout);
+                this.executor = executor;
+                this.callback = callback;
+            }
+
+            @Override
+            public Predicate<? super KeyTriggerOperation> getFilter() {
+                return delegate.getFilter();
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public Container<?> getContainer(ContainerManager containerManager, String namespace) {
+                Container<Object> container = (Container<Object>)delegate.getContainer(containerManager, namespace);
+                return Objects.isNull(container) || container instanceof EmptyContainer ?
+                    container : TimeoutContainer.withDeadline(container, deadlineNanos, executor, callback);
+            }
+        }
     }
 }
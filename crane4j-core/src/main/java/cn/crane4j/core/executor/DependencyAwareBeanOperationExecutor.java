@@ -0,0 +1,219 @@
+package cn.crane4j.core.executor;
+
+import cn.crane4j.core.container.Container;
+import cn.crane4j.core.container.ContainerManager;
+import cn.crane4j.core.container.EmptyContainer;
+import cn.crane4j.core.exception.OperationExecuteException;
+import cn.crane4j.core.executor.handler.AssembleOperationHandler;
+import cn.crane4j.core.parser.PropertyMapping;
+import cn.crane4j.core.parser.operation.AssembleOperation;
+import cn.crane4j.core.util.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * <p>The implementation of {@link BeanOperationExecutor} which
+ * guarantees the execution order of {@link AssembleOperation} only when necessary.<br />
+ * Different from {@link OrderedBeanOperationExecutor}, it does not execute all operations one by one,
+ * but builds a dependency graph of the executions sorted by the comparator first,
+ * an execution depends on the earlier executions of the same {@link cn.crane4j.core.parser.BeanOperations} if:
+ * <ul>
+ *     <li>it reads the property which the earlier execution writes (read-after-write);</li>
+ *     <li>it writes the property which the earlier execution writes (write-after-write);</li>
+ *     <li>it writes the property which the earlier execution reads (write-after-read);</li>
+ * </ul>
+ * An execution reads the key property of the operation,
+ * and also reads the source properties of mappings if its container is {@link EmptyContainer},
+ * and writes the reference properties of mappings.
+ * If the key property of the operation is not specified,
+ * the execution is considered to read all properties of the target.
+ *
+ * <p>Then the executions are divided into levels by their dependencies,
+ * the executions in the same level are grouped by container
+ * and submitted to the {@link #executor} concurrently,
+ * and the next level will not start until all executions of the current level have completed.
+ *
+ * @author huangchengxing
+ * @see OrderedBeanOperationExecutor
+ * @since 2.7.0
+ */
+@Slf4j
+public class DependencyAwareBeanOperationExecutor extends AbstractOperationAwareBeanOperationExecutor {
+
+    /**
+     * comparator
+     */
+    private final Comparator<AssembleOperation> comparator;
+
+    /**
+     * executor
+     */
+    private final Executor executor;
+
+    /**
+     * Create a new {@link DependencyAwareBeanOperationExecutor} instance.
+     *
+     * @param containerManager container manager
+     * @param comparator       comparator
+     * @param executor         executor
+     */
+    public DependencyAwareBeanOperationExecutor(
+        ContainerManager containerManager, Comparator<AssembleOperation> comparator, Executor executor) {
+        super(containerManager);
+        this.comparator = comparator;
+        this.executor = executor;
+    }
+
+    /**
+     * <p>Complete the assembly operation.<br />
+     * The executions are divided into levels by their dependencies,
+     * and the executions in the same level will be executed concurrently.
+     *
+     * @param executions assembly operations to be completed
+     * @param options options for execution
+     * @throws OperationExecuteException thrown when operation execution exception
+     */
+    @Override
+    protected void executeOperations(List<AssembleExecution> executions, Options options) throws OperationExecuteException {
+        List<List<AssembleExecution>> levels = resolveLevels(executions);
+        if (log.isDebugEnabled()) {
+            log.debug("[{}] executions are divided into [{}] levels", executions.size(), levels.size());
+        }
+        try {
+            levels.forEach(this::doExecuteLevel);
+        } catch (CompletionException e) {
+            throw new OperationExecuteException(e.getCause());
+        }
+    }
+
+    /**
+     * Divide the executions into levels by their dependencies.
+     *
+     * @param executions executions
+     * @return levels of executions, the executions in the same level are independent of each other
+     */
+    protected List<List<AssembleExecution>> resolveLevels(List<AssembleExecution> executions) {
+        List<AssembleExecution> sorted = executions.stream()
+            .sorted(Comparator.comparing(AssembleExecution::getOperation, comparator))
+            .collect(Collectors.toList());
+        int size = sorted.size();
+        List<PropertyAccess> accesses = sorted.stream()
+            .map(PropertyAccess::new)
+            .collect(Collectors.toList());
+        int[] levelOfExecutions = new int[size];
+        List<List<AssembleExecution>> levels = new ArrayList<>();
+        for (int j = 0; j < size; j++) {
+            int level = 0;
+            PropertyAccess current = accesses.get(j);
+            for (int i = 0; i < j; i++) {
+                if (levelOfExecutions[i] >= level && current.dependsOn(accesses.get(i))) {
+                    level = levelOfExecutions[i] + 1;
+                }
+            }
+            levelOfExecutions[j] = level;
+            if (level == levels.size()) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(level).add(sorted.get(j));
+        }
+        return levels;
+    }
+
+    /**
+     * Execute the executions of a level, and wait for all of them to complete.
+     *
+     * @param executions executions of the same level
+     */
+    @SuppressWarnings("unchecked")
+    protected void doExecuteLevel(List<AssembleExecution> executions) {
+        Map<Container<?>, Map<AssembleOperationHandler, List<AssembleExecution>>> groups = new LinkedHashMap<>();
+        executions.forEach(e -> groups
+            .computeIfAbsent(e.getContainer(), c -> new HashMap<>(8))
+            .computeIfAbsent(e.getHandler(), h -> new ArrayList<>())
+            .add(e)
+        );
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        groups.forEach((container, he) -> tasks.add(
+            CompletableFuture.runAsync(() -> doExecuteWithSharedFetch(container, he), executor)
+        ));
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * Properties read and written by an execution.
+     */
+    private static class PropertyAccess {
+
+        private final AssembleExecution execution;
+        private final boolean readAll;
+        private final Set<String> reads;
+        private final Set<String> writes;
+
+        PropertyAccess(AssembleExecution execution) {
+            this.execution = execution;
+            AssembleOperation operation = execution.getOperation();
+            String key = operation.getKey();
+            this.readAll = StringUtils.isEmpty(key);
+            boolean readFromTarget = execution.getContainer() instanceof EmptyContainer;
+            Set<PropertyMapping> mappings = operation.getPropertyMappings();
+            this.reads = readAll ? Collections.emptySet() : new HashSet<>(mappings.size() + 1);
+            this.writes = new HashSet<>(mappings.size());
+            if (!readAll) {
+                reads.add(key);
+            }
+            for (PropertyMapping mapping : mappings) {
+                String reference = StringUtils.isEmpty(mapping.getReference()) ? key : mapping.getReference();
+                if (StringUtils.isNotEmpty(reference)) {
+                    writes.add(reference);
+                }
+                if (!readAll && readFromTarget && mapping.hasSource()) {
+                    reads.add(mapping.getSource());
+                }
+            }
+        }
+
+        /**
+         * Whether the current execution must be executed after the earlier execution.
+         *
+         * @param earlier earlier execution
+         * @return true if current execution depends on the earlier execution
+         */
+        boolean dependsOn(PropertyAccess earlier) {
+            // batches of the same operation or executions of different bean types are processing different targets
+            if (execution.getOperation() == earlier.execution.getOperation()
+                || execution.getBeanOperations() != earlier.execution.getBeanOperations()) {
+                return false;
+            }
+            return readsAnyOf(earlier.writes)
+                || intersects(writes, earlier.writes)
+                || earlier.readsAnyOf(writes);
+        }
+
+        private boolean readsAnyOf(Collection<String> properties) {
+            return readAll ? !properties.isEmpty() : intersects(reads, properties);
+        }
+
+        private static boolean intersects(Set<String> properties, Collection<String> others) {
+            for (String property : others) {
+                if (properties.contains(property)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package cn.crane4j.core.executor;
 
+import cn.crane4j.core.container.AsyncContainer;
 import cn.crane4j.core.container.Container;
 import cn.crane4j.core.container.ContainerManager;
+import cn.crane4j.core.container.EmptyContainer;
 import cn.crane4j.core.exception.OperationExecuteException;
 import cn.crane4j.core.executor.handler.AssembleOperationHandler;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +13,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <p>Synchronization implementation of {@link BeanOperationExecutor}.<br />
@@ -52,13 +55,7 @@ public class DisorderedBeanOperationExecutor extends AbstractOperationAwareBeanO
      */
     @Override
     protected void executeOperations(List<AssembleExecution> executions, Options options) throws OperationExecuteException {
-        Map<Container<?>, Map<AssembleOperationHandler, List<AssembleExecution>>> operations = new LinkedHashMap<>();
-        executions.forEach(e -> {
-            Container<?> container = e.getContainer();
-            Map<AssembleOperationHandler, List<AssembleExecution>> he = operations.computeIfAbsent(container, c -> new HashMap<>(8));
-            List<AssembleExecution> es = he.computeIfAbsent(e.getHandler(), h -> new ArrayList<>());
-            es.add(e);
-        });
+        Map<Container<?>, Map<AssembleOperationHandler, List<AssembleExecution>>> operations = groupExecutions(executions);
         try {
             doExecuteOperations(operations);
         } catch (Exception e) {
@@ -67,13 +64,64 @@ public class DisorderedBeanOperationExecutor extends AbstractOperationAwareBeanO
     }
 
     /**
-     * <p>Execute the assembly operation.
+     * <p>Execute the assembly operation.<br />
+     * The handlers which use the same container will share one access to the container if possible.
      *
      * @param executionGroups grouped assembly operations
+     * @see #doExecuteWithSharedFetch
      */
     protected void doExecuteOperations(Map<Container<?>, Map<AssembleOperationHandler, List<AssembleExecution>>> executionGroups) {
-        executionGroups.forEach((container, he) ->
-            he.forEach((handler, executions) -> doExecute(handler, container, executions))
-        );
+        executionGroups.forEach(this::doExecuteWithSharedFetch);
+    }
+
+    /**
+     * <p>Complete the assembly operation asynchronously.<br />
+     * The executions will be grouped by container and handler,
+     * and each group will be completed by {@link AssembleOperationHandler#processAsync},
+     * so the threads of {@link #asyncExecutor} will not be blocked while waiting for data source objects
+     * if the container is an {@link AsyncContainer}.
+     *
+     * @param executions assembly operations to be completed
+     * @param options options for execution
+     * @return future which will be completed after all operations completed
+     * @since 2.7.0
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    protected CompletableFuture<Void> executeOperationsAsync(List<AssembleExecution> executions, Options options) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        groupExecutions(executions).forEach((container, he) -> {
+            // the handlers recognize the empty container by type, so it must not be adapted
+            if (container instanceof EmptyContainer) {
+                he.forEach((handler, es) -> tasks.add(
+                    CompletableFuture.runAsync(() -> doExecute(handler, container, es), asyncExecutor)
+                ));
+                return;
+            }
+            AsyncContainer<?> asyncContainer = AsyncContainer.adapt(container, asyncExecutor);
+            he.forEach((handler, es) -> tasks.add(doExecuteAsync(handler, asyncContainer, es, asyncExecutor)));
+        });
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0]));
+    }
+
+    private static Map<Container<?>, Map<AssembleOperationHandler, List<AssembleExecution>>> groupExecutions(
+        List<AssembleExecution> executions) {
+        Map<Container<?>, Map<AssembleOperationHandler, List<AssembleExecution>>> operations = new LinkedHashMap<>();
+        Container<?> lastContainer = null;
+        AssembleOperationHandler lastHandler = null;
+        List<AssembleExecution> es = null;
+        for (AssembleExecution e : executions) {
+            Container<?> container = e.getContainer();
+            AssembleOperationHandler handler = e.getHandler();
+            // the executions of the same group in execution plan are adjacent, see ExecutionPlan
+            if (container != lastContainer || handler != lastHandler) {
+                es = operations.computeIfAbsent(container, c -> new HashMap<>(8))
+                    .computeIfAbsent(handler, h -> new ArrayList<>());
+                lastContainer = container;
+                lastHandler = handler;
+            }
+            es.add(e);
+        }
+        return operations;
     }
 }
@@ -0,0 +1,128 @@
+package cn.crane4j.core.executor;
+
+import cn.crane4j.core.executor.handler.AssembleOperationHandler;
+import cn.crane4j.core.parser.BeanOperations;
+import cn.crane4j.core.parser.operation.AssembleOperation;
+import cn.crane4j.core.parser.operation.DisassembleOperation;
+import cn.crane4j.core.parser.operation.KeyTriggerOperation;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * <p>The execution plan of a {@link BeanOperations} under a specified operation filter,
+ * which holds the assembly operations and disassembly operations that passed the filter,
+ * and the assembly operations grouped by the namespace of container and handler.<br />
+ * Since the result of filtering is always the same for the same {@link BeanOperations} and filter,
+ * the plan can be compiled once and reused in subsequent executions,
+ * so that the executor only needs to fill in the targets and containers when executing.
+ *
+ * <p>The executions created from the same group are adjacent,
+ * so the executor can group them by container and handler
+ * with one lookup for each group instead of each operation.
+ *
+ * @author huangchengxing
+ * @see AbstractBeanOperationExecutor#getExecutionPlan
+ * @since 2.7.0
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ExecutionPlan {
+
+    /**
+     * assembly operations that passed the filter
+     */
+    private final List<AssembleOperation> assembleOperations;
+
+    /**
+     * disassembly operations that passed the filter
+     */
+    private final List<DisassembleOperation> disassembleOperations;
+
+    /**
+     * assembly operations that passed the filter, grouped by the namespace of container and handler,
+     * the groups are sorted by the first operation in each group
+     */
+    private final List<AssembleOperationGroup> assembleOperationGroups;
+
+    /**
+     * Compile an execution plan for the specified {@link BeanOperations} and filter.
+     *
+     * @param operations bean operations
+     * @param filter operation filter
+     * @return execution plan
+     */
+    public static ExecutionPlan compile(BeanOperations operations, Predicate<? super KeyTriggerOperation> filter) {
+        List<AssembleOperation> assembleOperations = filter(operations.getAssembleOperations(), filter);
+        return new ExecutionPlan(
+            assembleOperations,
+            filter(operations.getDisassembleOperations(), filter),
+            group(assembleOperations)
+        );
+    }
+
+    private static List<AssembleOperationGroup> group(List<AssembleOperation> operations) {
+        if (operations.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, Map<AssembleOperationHandler, List<AssembleOperation>>> groups = new LinkedHashMap<>();
+        for (AssembleOperation operation : operations) {
+            groups.computeIfAbsent(operation.getContainer(), n -> new LinkedHashMap<>(4))
+                .computeIfAbsent(operation.getAssembleOperationHandler(), h -> new ArrayList<>())
+                .add(operation);
+        }
+        List<AssembleOperationGroup> results = new ArrayList<>(operations.size());
+        groups.forEach((namespace, handlers) -> handlers.forEach((handler, ops) ->
+            results.add(new AssembleOperationGroup(namespace, handler, Collections.unmodifiableList(ops)))
+        ));
+        return Collections.unmodifiableList(results);
+    }
+
+    private static <T extends KeyTriggerOperation> List<T> filter(
+        Collection<T> operations, Predicate<? super KeyTriggerOperation> filter) {
+        if (operations.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> results = new ArrayList<>(operations.size());
+        for (T operation : operations) {
+            if (filter.test(operation)) {
+                results.add(operation);
+            }
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * A group of assembly operations which use the same container and handler.
+     *
+     * @author huangchengxing
+     * @since 2.7.0
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class AssembleOperationGroup {
+
+        /**
+         * namespace of container
+         */
+        private final String namespace;
+
+        /**
+         * handler of operations
+         */
+        private final AssembleOperationHandler handler;
+
+        /**
+         * operations in the group, in the order of the operations of {@link BeanOperations}
+         */
+        private final List<AssembleOperation> operations;
+    }
+}
@@ -1,5 +1,6 @@
 package cn.crane4j.core.executor.handler;
 
+import cn.crane4j.core.container.AsyncContainer;
 import cn.crane4j.core.container.Container;
 import cn.crane4j.core.container.EmptyContainer;
 import cn.crane4j.core.executor.AssembleExecution;
@@ -7,12 +8,19 @@ import cn.crane4j.core.util.CollectionUtils;
 import cn.crane4j.core.util.ObjectUtils;
 import cn.crane4j.core.util.TimerUtil;
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * <p>This class serves as the top-level template class
@@ -44,12 +52,38 @@ import java.util.Objects;
  * <p>The implementation logic of this template class is based on
  * the encapsulation of {@link Target}, which may introduce unnecessary performance overhead.
  *
+ * <p>If {@link #parallelMappingThreshold} is set, when the number of targets reaches the threshold,
+ * the mapping phase will be split into tasks and executed in the {@link #mappingPool},
+ * each target is always mapped by one thread.
+ *
  * @author huangchengxing
  * @param <T> target type
  */
 @Slf4j
 public abstract class AbstractAssembleOperationHandler<T extends AbstractAssembleOperationHandler.Target> implements AssembleOperationHandler {
 
+    /**
+     * <p>The min number of targets to map properties in parallel.<br />
+     * When the number of targets reaches the threshold,
+     * the targets will be split into tasks and mapped in {@link #mappingPool}.
+     * The default is -1, which means the parallel mapping is disabled.
+     *
+     * @since 2.7.0
+     */
+    @Setter
+    private int parallelMappingThreshold = -1;
+
+    /**
+     * <p>The pool used to map properties in parallel.<br />
+     * The default is {@link ForkJoinPool#commonPool()}.
+     *
+     * @see #parallelMappingThreshold
+     * @since 2.7.0
+     */
+    @Setter
+    @NonNull
+    private ForkJoinPool mappingPool = ForkJoinPool.commonPool();
+
     /**
      * Perform assembly operation.
      *
@@ -65,6 +99,69 @@ public abstract class AbstractAssembleOperationHandler<T extends AbstractAssembl
         );
     }
 
+    /**
+     * <p>Perform assembly operation asynchronously.<br />
+     * The targets will be collected and mapped in the executor,
+     * and the data source objects will be obtained by {@link #getSourcesFromContainerAsync},
+     * so the executor thread will not be blocked while waiting for the data source objects.
+     *
+     * @param container container
+     * @param executions operations to be performed
+     * @param executor executor
+     * @return future of operation
+     * @since 2.7.0
+     */
+    @Override
+    public CompletableFuture<Void> processAsync(
+        AsyncContainer<?> container, Collection<AssembleExecution> executions, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> collectToEntities(executions), executor)
+            .thenCompose(targets -> {
+                if (container instanceof EmptyContainer || Objects.isNull(container)) {
+                    introspectForEntities(targets);
+                    return CompletableFuture.completedFuture(null);
+                }
+                return getSourcesFromContainerAsync(container, targets)
+                    .thenAcceptAsync(sources -> completeMappings(targets, sources), executor);
+            });
+    }
+
+    /**
+     * <p>Prepare the assembly operation, collect the keys of targets
+     * but do not obtain data source objects from the container.<br />
+     * If the container is {@link EmptyContainer}, or {@link #collectKeys} is not supported, return {@code null}.
+     *
+     * @param container container
+     * @param executions operations to be performed
+     * @return preparation of operation, or {@code null} if not supported
+     * @since 2.7.0
+     */
+    @Nullable
+    @Override
+    public Preparation prepare(Container<?> container, Collection<AssembleExecution> executions) {
+        if (container instanceof EmptyContainer || Objects.isNull(container)) {
+            return null;
+        }
+        Collection<T> targets = collectToEntities(executions);
+        Collection<Object> keys = collectKeys(targets);
+        if (Objects.isNull(keys)) {
+            return null;
+        }
+        return new Preparation() {
+            @Override
+            public Collection<Object> getKeys() {
+                return keys;
+            }
+            @Override
+            public int getKeyCount() {
+                return countKeys(targets, keys);
+            }
+            @Override
+            public void complete(Map<Object, Object> sources) {
+                completeMappings(targets, sources);
+            }
+        };
+    }
+
     private void doProcess(Container<?> container, Collection<AssembleExecution> executions) {
         Collection<T> targets = collectToEntities(executions);
         if (container instanceof EmptyContainer || Objects.isNull(container)) {
@@ -72,17 +169,40 @@ public abstract class AbstractAssembleOperationHandler<T extends AbstractAssembl
             return;
         }
         Map<Object, Object> sources = getSourcesFromContainer(container, targets);
+        completeMappings(targets, sources);
+    }
+
+    private void completeMappings(Collection<T> targets, Map<Object, Object> sources) {
         if (CollectionUtils.isEmpty(sources)) {
             return;
         }
+        if (parallelMappingThreshold > 0 && targets.size() >= parallelMappingThreshold) {
+            completeMappingsInParallel(targets, sources);
+            return;
+        }
         for (T target : targets) {
-            Object source = getTheAssociatedSource(target, sources);
-            if (ObjectUtils.isNotEmpty(source)) {
-                completeMapping(source, target);
-            }
+            mapTarget(target, sources);
         }
     }
 
+    private void mapTarget(T target, Map<Object, Object> sources) {
+        Object source = getTheAssociatedSource(target, sources);
+        if (ObjectUtils.isNotEmpty(source)) {
+            completeMapping(source, target);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void completeMappingsInParallel(Collection<T> targets, Map<Object, Object> sources) {
+        T[] array = (T[])targets.toArray(new Target[0]);
+        // split into several times of the parallelism, so that the idle workers can steal the remaining tasks
+        int leafSize = Math.max(array.length / (mappingPool.getParallelism() * 4), 1);
+        if (log.isDebugEnabled()) {
+            log.debug("map properties of [{}] targets in parallel, each task has at most [{}] targets", array.length, leafSize);
+        }
+        mappingPool.invoke(new MappingTask(array, sources, 0, array.length, leafSize));
+    }
+
     /**
      * Split the {@link AssembleExecution} into pending objects and wrap it as {@link Target}.
      *
@@ -111,6 +231,49 @@ public abstract class AbstractAssembleOperationHandler<T extends AbstractAssembl
      */
     protected abstract Map<Object, Object> getSourcesFromContainer(Container<?> container, Collection<T> targets);
 
+    /**
+     * <p>Collect the keys used to obtain data source objects from the targets.<br />
+     * By default, it returns {@code null}, which means the handler
+     * does not support {@link #prepare}, the implementation should override it if possible.
+     *
+     * @param targets targets
+     * @return keys, or {@code null} if not supported
+     * @since 2.7.0
+     */
+    @Nullable
+    protected Collection<Object> collectKeys(Collection<T> targets) {
+        return null;
+    }
+
+    /**
+     * <p>Count the keys of targets before deduplication,
+     * it is used to report the metrics of execution.<br />
+     * By default, it returns the number of distinct keys.
+     *
+     * @param targets targets
+     * @param keys distinct keys collected by {@link #collectKeys}
+     * @return number of keys
+     * @since 2.7.0
+     */
+    protected int countKeys(Collection<T> targets, Collection<Object> keys) {
+        return keys.size();
+    }
+
+    /**
+     * <p>Obtain the corresponding data source object from the data source container asynchronously.<br />
+     * By default, it will call {@link #getSourcesFromContainer} directly in the current thread,
+     * the implementation should override it to use {@link AsyncContainer#getAsync} if possible.
+     *
+     * @param container container
+     * @param targets targets
+     * @return future of source objects
+     * @since 2.7.0
+     */
+    protected CompletableFuture<Map<Object, Object>> getSourcesFromContainerAsync(
+        AsyncContainer<?> container, Collection<T> targets) {
+        return CompletableFuture.completedFuture(getSourcesFromContainer(container, targets));
+    }
+
     /**
      * Get the data source object associated with the target object.
      *
@@ -128,6 +291,35 @@ public abstract class AbstractAssembleOperationHandler<T extends AbstractAssembl
      */
     protected abstract void completeMapping(Object source, T target);
 
+    /**
+     * Task to map properties of the targets in range {@code [from, to)}.
+     */
+    @RequiredArgsConstructor
+    private class MappingTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private final transient T[] targets;
+        private final transient Map<Object, Object> sources;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                for (int i = from; i < to; i++) {
+                    mapTarget(targets[i], sources);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new MappingTask(targets, sources, from, middle, leafSize),
+                new MappingTask(targets, sources, middle, to, leafSize)
+            );
+        }
+    }
+
     /**
      * Target object to be processed.
      */
@@ -0,0 +1,416 @@
+package cn.crane4j.core.executor.handler;
+
+import cn.crane4j.core.container.AsyncContainer;
+import cn.crane4j.core.container.Container;
+import cn.crane4j.core.container.EmptyContainer;
+import cn.crane4j.core.container.LongKeyContainer;
+import cn.crane4j.core.executor.AssembleExecution;
+import cn.crane4j.core.executor.key.KeyResolver;
+import cn.crane4j.core.executor.key.LongKeyResolver;
+import cn.crane4j.core.parser.PropertyMapping;
+import cn.crane4j.core.parser.handler.strategy.PropertyMappingStrategy;
+import cn.crane4j.core.parser.operation.AssembleOperation;
+import cn.crane4j.core.support.MethodInvoker;
+import cn.crane4j.core.support.converter.ConverterManager;
+import cn.crane4j.core.support.reflect.PropertyOperator;
+import cn.crane4j.core.util.CollectionUtils;
+import cn.crane4j.core.util.LongHashSet;
+import cn.crane4j.core.util.LongObjectHashMap;
+import cn.crane4j.core.util.ObjectUtils;
+import cn.crane4j.core.util.StringUtils;
+import cn.crane4j.core.util.TimerUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * <p>An implementation of {@link AssembleOperationHandler}
+ * for the one-to-one mapping between the target object and the data source object,
+ * which has the same behavior as {@link OneToOneAssembleOperationHandler}
+ * but is optimized for processing a large number of targets.<br />
+ * Different from {@link OneToOneAssembleOperationHandler}, it does not wrap each target as a
+ * {@link AbstractAssembleOperationHandler.Target}, but:
+ * <ul>
+ *     <li>holds the targets and their keys of each execution in parallel arrays;</li>
+ *     <li>collects the distinct keys in the same pass as resolving keys;</li>
+ *     <li>
+ *         resolves the getter of source property and the setter of reference property
+ *         once for each mapping and type, instead of looking them up for each target;
+ *     </li>
+ * </ul>
+ * So there is no wrapper object or lambda capture allocated for each target.
+ *
+ * <p>If the container is a {@link LongKeyContainer}, the keys will be resolved by {@link LongKeyResolver}
+ * and collected into a primitive set, and the data source objects will be looked up
+ * by primitive keys, so the keys are never boxed.
+ *
+ * @author huangchengxing
+ * @see OneToOneAssembleOperationHandler
+ * @since 2.7.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ArrayBasedOneToOneAssembleOperationHandler implements AssembleOperationHandler {
+
+    /**
+     * property operator
+     */
+    protected final PropertyOperator propertyOperator;
+
+    /**
+     * converter manager
+     */
+    private final ConverterManager converterManager;
+
+    /**
+     * whether ignore null key.
+     */
+    @Setter
+    private boolean ignoreNullKey = false;
+
+    /**
+     * Perform assembly operation.
+     *
+     * @param container  container
+     * @param executions operations to be performed
+     */
+    @Override
+    public void process(Container<?> container, Collection<AssembleExecution> executions) {
+        TimerUtil.getExecutionTime(
+            log.isDebugEnabled(),
+            time -> log.debug("operation of container [{}] completed in {} ms", container.getNamespace(), time),
+            () -> doProcess(container, executions)
+        );
+    }
+
+    /**
+     * <p>Perform assembly operation asynchronously.<br />
+     * The keys will be collected and the properties will be mapped in the executor,
+     * and the data source objects will be obtained by {@link AsyncContainer#getAsync}.
+     *
+     * @param container  container
+     * @param executions operations to be performed
+     * @param executor   executor
+     * @return future of operation
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletableFuture<Void> processAsync(
+        AsyncContainer<?> container, Collection<AssembleExecution> executions, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> collect(executions), executor)
+            .thenCompose(batch -> {
+                if (container instanceof EmptyContainer || Objects.isNull(container)) {
+                    batch.introspect();
+                    return CompletableFuture.completedFuture(null);
+                }
+                if (batch.keys.isEmpty()) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                return ((AsyncContainer<Object>)container).getAsync(batch.keys)
+                    .thenAcceptAsync(sources -> batch.complete((Map<Object, Object>)sources), executor);
+            });
+    }
+
+    /**
+     * <p>Prepare the assembly operation, collect the keys of targets
+     * but do not obtain data source objects from the container.<br />
+     * If the container is {@link EmptyContainer} or {@link LongKeyContainer}, return {@code null},
+     * the latter will be processed with primitive keys in {@link #process}.
+     *
+     * @param container  container
+     * @param executions operations to be performed
+     * @return preparation of operation, or {@code null} if not supported
+     */
+    @Nullable
+    @Override
+    public Preparation prepare(Container<?> container, Collection<AssembleExecution> executions) {
+        if (container instanceof EmptyContainer || container instanceof LongKeyContainer || Objects.isNull(container)) {
+            return null;
+        }
+        return collect(executions);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void doProcess(Container<?> container, Collection<AssembleExecution> executions) {
+        if (container instanceof LongKeyContainer) {
+            doProcessWithLongKeys((LongKeyContainer)container, executions);
+            return;
+        }
+        Batch batch = collect(executions);
+        if (container instanceof EmptyContainer || Objects.isNull(container)) {
+            batch.introspect();
+            return;
+        }
+        if (batch.keys.isEmpty()) {
+            return;
+        }
+        Map<Object, Object> sources = (Map<Object, Object>)((Container<Object>)container).get(batch.keys);
+        batch.complete(sources);
+    }
+
+    /**
+     * <p>Perform assembly operation with primitive long keys.<br />
+     * The keys are resolved by {@link LongKeyResolver} and collected into a {@link LongHashSet},
+     * and the sources are looked up from the {@link LongObjectHashMap} returned by the container,
+     * so the keys will not be boxed after they are resolved.
+     * Whether the keys are boxed while resolving depends on the {@link LongKeyResolver},
+     * for example, the key read from a getter which returns primitive value will not be boxed,
+     * but the keys resolved by a common {@link KeyResolver} are boxed before being adapted.
+     *
+     * @param container container
+     * @param executions executions
+     */
+    private void doProcessWithLongKeys(LongKeyContainer container, Collection<AssembleExecution> executions) {
+        LongHashSet keys = new LongHashSet(countTargets(executions));
+        LongSegment[] segments = new LongSegment[executions.size()];
+        int index = 0;
+        for (AssembleExecution execution : executions) {
+            AssembleOperation operation = execution.getOperation();
+            LongKeyResolver keyResolver = LongKeyResolver.adapt(getKeyResolver(operation), converterManager);
+            Collection<Object> targetsOfExecution = execution.getTargets();
+            Object[] targets = new Object[targetsOfExecution.size()];
+            long[] keysOfTargets = new long[targets.length];
+            // the positions of targets whose keys are absent, it is created only when needed
+            BitSet absent = null;
+            int size = 0;
+            for (Object target : targetsOfExecution) {
+                if (keyResolver.resolveLong(target, operation, keysOfTargets, size)) {
+                    keys.add(keysOfTargets[size]);
+                } else if (ignoreNullKey) {
+                    continue;
+                } else {
+                    absent = Objects.isNull(absent) ? new BitSet(targets.length) : absent;
+                    absent.set(size);
+                }
+                targets[size] = target;
+                size++;
+            }
+            segments[index++] = new LongSegment(operation, targets, keysOfTargets, absent, size);
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        LongObjectHashMap<?> sources = container.get(keys.toArray());
+        if (Objects.isNull(sources) || sources.isEmpty()) {
+            return;
+        }
+        for (LongSegment segment : segments) {
+            long[] keysOfTargets = segment.keys;
+            BitSet absent = segment.absent;
+            completeMappings(segment.operation, segment.targets, segment.size, i ->
+                Objects.nonNull(absent) && absent.get(i) ? null : sources.get(keysOfTargets[i])
+            );
+        }
+    }
+
+    private static int countTargets(Collection<AssembleExecution> executions) {
+        int total = 0;
+        for (AssembleExecution execution : executions) {
+            total += execution.getTargets().size();
+        }
+        return total;
+    }
+
+    /**
+     * Resolve the keys of targets and collect the distinct keys in a single pass.
+     *
+     * @param executions executions
+     * @return batch of targets
+     */
+    private Batch collect(Collection<AssembleExecution> executions) {
+        Segment[] segments = new Segment[executions.size()];
+        int total = countTargets(executions);
+        Set<Object> keys = new HashSet<>(Math.max((int)(total / .75f) + 1, 16));
+        int index = 0;
+        int keyCount = 0;
+        for (AssembleExecution execution : executions) {
+            AssembleOperation operation = execution.getOperation();
+            KeyResolver keyResolver = getKeyResolver(operation);
+            Collection<Object> targetsOfExecution = execution.getTargets();
+            Object[] targets = new Object[targetsOfExecution.size()];
+            Object[] keysOfTargets = new Object[targets.length];
+            int size = 0;
+            for (Object target : targetsOfExecution) {
+                Object key = keyResolver.resolve(target, operation);
+                if (Objects.isNull(key)) {
+                    if (ignoreNullKey) {
+                        continue;
+                    }
+                } else {
+                    keys.add(key);
+                    keyCount++;
+                }
+                targets[size] = target;
+                keysOfTargets[size] = key;
+                size++;
+            }
+            segments[index++] = new Segment(operation, targets, keysOfTargets, size);
+        }
+        return new Batch(segments, keys, keyCount);
+    }
+
+    private KeyResolver getKeyResolver(AssembleOperation operation) {
+        KeyResolver keyResolver = operation.getKeyResolver();
+        if (Objects.nonNull(keyResolver)) {
+            return keyResolver;
+        }
+        String key = operation.getKey();
+        // if no key is specified, key value is the targets themselves.
+        KeyResolver propertyKeyResolver = StringUtils.isEmpty(key) ?
+            (t, op) -> t : (t, op) -> propertyOperator.readProperty(t.getClass(), t, key);
+        Class<?> keyType = operation.getKeyType();
+        return Objects.isNull(keyType) ? propertyKeyResolver :
+            (t, op) -> converterManager.convert(propertyKeyResolver.resolve(t, op), keyType);
+    }
+
+    /**
+     * Map the properties of sources to the targets.
+     *
+     * @param operation operation
+     * @param targets targets
+     * @param size number of targets
+     * @param sourceLookup function to get the source of the target at the index
+     */
+    private void completeMappings(
+        AssembleOperation operation, Object[] targets, int size, IntFunction<Object> sourceLookup) {
+        Set<PropertyMapping> mappings = operation.getPropertyMappings();
+        MappingWriter[] writers = new MappingWriter[mappings.size()];
+        int index = 0;
+        for (PropertyMapping mapping : mappings) {
+            writers[index++] = new MappingWriter(mapping);
+        }
+        PropertyMappingStrategy strategy = operation.getPropertyMappingStrategy();
+        for (int i = 0; i < size; i++) {
+            Object source = sourceLookup.apply(i);
+            if (ObjectUtils.isNotEmpty(source)) {
+                for (MappingWriter writer : writers) {
+                    writer.write(strategy, targets[i], source);
+                }
+            }
+        }
+    }
+
+    /**
+     * Targets, distinct keys and the number of keys before deduplication collected from executions.
+     */
+    @RequiredArgsConstructor
+    private class Batch implements Preparation {
+
+        private final Segment[] segments;
+        private final Set<Object> keys;
+        private final int keyCount;
+
+        @Override
+        public Collection<Object> getKeys() {
+            return keys;
+        }
+
+        @Override
+        public int getKeyCount() {
+            return keyCount;
+        }
+
+        @Override
+        public void complete(Map<Object, Object> sources) {
+            if (CollectionUtils.isEmpty(sources)) {
+                return;
+            }
+            for (Segment segment : segments) {
+                Object[] keysOfTargets = segment.keys;
+                completeMappings(segment.operation, segment.targets, segment.size, i -> sources.get(keysOfTargets[i]));
+            }
+        }
+
+        void introspect() {
+            for (Segment segment : segments) {
+                Object[] targets = segment.targets;
+                completeMappings(segment.operation, targets, segment.size, i -> targets[i]);
+            }
+        }
+    }
+
+    /**
+     * Targets and their keys of an execution.
+     */
+    @RequiredArgsConstructor
+    private static class Segment {
+        private final AssembleOperation operation;
+        private final Object[] targets;
+        private final Object[] keys;
+        private final int size;
+    }
+
+    /**
+     * Targets and their primitive keys of an execution.
+     */
+    @RequiredArgsConstructor
+    private static class LongSegment {
+        private final AssembleOperation operation;
+        private final Object[] targets;
+        private final long[] keys;
+        @Nullable
+        private final BitSet absent;
+        private final int size;
+    }
+
+    /**
+     * <p>Writer of a property mapping, which caches the invokers resolved for the last type.<br />
+     * It is also the callback passed to {@link PropertyMappingStrategy},
+     * so no lambda is captured for each target.
+     * The writer is not thread-safe, it only be used in a single mapping pass.
+     */
+    @RequiredArgsConstructor
+    private class MappingWriter implements Consumer<Object> {
+
+        private final PropertyMapping mapping;
+        private Class<?> sourceType;
+        private MethodInvoker getter;
+        private Class<?> targetType;
+        private MethodInvoker setter;
+        private Object currentTarget;
+
+        void write(PropertyMappingStrategy strategy, Object target, Object source) {
+            Object sourceValue = mapping.hasSource() ? readSourceValue(source) : source;
+            currentTarget = target;
+            try {
+                strategy.doMapping(target, source, sourceValue, mapping, this);
+            } finally {
+                currentTarget = null;
+            }
+        }
+
+        @Override
+        public void accept(Object value) {
+            Class<?> type = currentTarget.getClass();
+            if (type != targetType) {
+                targetType = type;
+                setter = propertyOperator.findSetter(type, mapping.getReference());
+            }
+            if (Objects.nonNull(setter)) {
+                setter.invoke(currentTarget, value);
+            }
+        }
+
+        @Nullable
+        private Object readSourceValue(Object source) {
+            Class<?> type = source.getClass();
+            if (type != sourceType) {
+                sourceType = type;
+                getter = propertyOperator.findGetter(type, mapping.getSource());
+            }
+            return Objects.isNull(getter) ? null : getter.invoke(source);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package cn.crane4j.core.executor.handler;
 
+import cn.crane4j.core.container.AsyncContainer;
 import cn.crane4j.core.container.Container;
 import cn.crane4j.core.executor.AssembleExecution;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * <p>Handler of assembly operation.<br />
@@ -31,4 +36,74 @@ public interface AssembleOperationHandler {
      * @param executions operations to be performed
      */
     void process(Container<?> container, Collection<AssembleExecution> executions);
+
+    /**
+     * <p>Perform assembly operation asynchronously.<br />
+     * By default, the operation will be completed by {@link #process} in the executor,
+     * the implementation can override this method to avoid blocking when waiting for data source objects.
+     *
+     * @param container container
+     * @param executions operations to be performed
+     * @param executor executor
+     * @return future of operation
+     * @since 2.7.0
+     */
+    default CompletableFuture<Void> processAsync(
+        AsyncContainer<?> container, Collection<AssembleExecution> executions, Executor executor) {
+        return CompletableFuture.runAsync(() -> process(container, executions), executor);
+    }
+
+    /**
+     * <p>Prepare the assembly operation, collect the keys of targets
+     * but do not obtain data source objects from the container.<br />
+     * It allows the caller to obtain data source objects for multiple handlers
+     * which use the same container at once, and then complete the operations by {@link Preparation#complete}.
+     * If the handler does not support it, return {@code null},
+     * and the caller should complete the operation by {@link #process} instead.
+     *
+     * @param container container
+     * @param executions operations to be performed
+     * @return preparation of operation, or {@code null} if not supported
+     * @since 2.7.0
+     */
+    @Nullable
+    default Preparation prepare(Container<?> container, Collection<AssembleExecution> executions) {
+        return null;
+    }
+
+    /**
+     * A prepared assembly operation which is waiting for data source objects.
+     *
+     * @author huangchengxing
+     * @see #prepare
+     * @since 2.7.0
+     */
+    interface Preparation {
+
+        /**
+         * Get the keys used to obtain data source objects from the container.
+         *
+         * @return keys
+         */
+        Collection<Object> getKeys();
+
+        /**
+         * Get the number of keys resolved from targets before deduplication,
+         * it is used to report the metrics of execution.<br />
+         * By default, it returns the number of distinct keys.
+         *
+         * @return number of keys
+         */
+        default int getKeyCount() {
+            return getKeys().size();
+        }
+
+        /**
+         * Complete the operation with the data source objects obtained from the container,
+         * the data source objects may contain the objects of other keys which are not required.
+         *
+         * @param sources data source objects grouped by key value
+         */
+        void complete(Map<Object, Object> sources);
+    }
 }
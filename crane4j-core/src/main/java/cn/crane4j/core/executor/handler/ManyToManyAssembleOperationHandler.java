@@ -1,6 +1,5 @@
 package cn.crane4j.core.executor.handler;
 
-import cn.crane4j.core.container.Container;
 import cn.crane4j.core.executor.AssembleExecution;
 import cn.crane4j.core.support.converter.ConverterManager;
 import cn.crane4j.core.support.reflect.PropertyOperator;
@@ -81,21 +80,34 @@ public class ManyToManyAssembleOperationHandler extends OneToManyAssembleOperati
     }
 
     /**
-     * Obtain the corresponding data source object from the data source container based on the entity's key value.
+     * Collect the keys used to obtain data source objects from the targets.
      *
-     * @param container container
-     * @param targets   targets
-     * @return source objects
+     * @param targets targets
+     * @return keys
      */
-    @SuppressWarnings("unchecked")
     @Override
-    protected Map<Object, Object> getSourcesFromContainer(Container<?> container, Collection<Target> targets) {
-        Set<Object> keys = targets.stream()
+    protected Set<Object> collectKeys(Collection<Target> targets) {
+        return targets.stream()
             .map(Target::getKey)
             .map(k -> (Collection<?>)k)
             .flatMap(Collection::stream)
             .collect(Collectors.toSet());
-        return (Map<Object, Object>)((Container<Object>)container).get(keys);
+    }
+
+    /**
+     * Count the keys of targets before deduplication.
+     *
+     * @param targets targets
+     * @param keys distinct keys
+     * @return number of keys
+     */
+    @Override
+    protected int countKeys(Collection<Target> targets, Collection<Object> keys) {
+        int count = 0;
+        for (Target target : targets) {
+            count += ((Collection<?>)target.getKey()).size();
+        }
+        return count;
     }
 
     /**
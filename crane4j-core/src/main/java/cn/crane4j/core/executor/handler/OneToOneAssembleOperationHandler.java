@@ -1,10 +1,9 @@
 package cn.crane4j.core.executor.handler;
 
+import cn.crane4j.core.container.AsyncContainer;
 import cn.crane4j.core.container.Container;
 import cn.crane4j.core.executor.AssembleExecution;
 import cn.crane4j.core.executor.key.KeyResolver;
-import cn.crane4j.core.parser.PropertyMapping;
-import cn.crane4j.core.parser.handler.strategy.PropertyMappingStrategy;
 import cn.crane4j.core.parser.operation.AssembleOperation;
 import cn.crane4j.core.support.converter.ConverterManager;
 import cn.crane4j.core.support.reflect.PropertyOperator;
@@ -19,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +48,11 @@ public class OneToOneAssembleOperationHandler
     @Setter
     private boolean ignoreNullKey = false;
 
+    /**
+     * compiled property mapping copiers
+     */
+    private final PropertyMappingCopier.Cache copiers = new PropertyMappingCopier.Cache();
+
     /**
      * Split the {@link AssembleExecution} into pending objects and wrap it as {@link Target}.
      *
@@ -113,11 +118,59 @@ public class OneToOneAssembleOperationHandler
     @SuppressWarnings("unchecked")
     @Override
     protected Map<Object, Object> getSourcesFromContainer(Container<?> container, Collection<Target> targets) {
-        Set<Object> keys = targets.stream()
+        Set<Object> keys = collectKeys(targets);
+        return (Map<Object, Object>)((Container<Object>)container).get(keys);
+    }
+
+    /**
+     * Obtain the corresponding data source object from the data source container asynchronously.
+     *
+     * @param container container
+     * @param targets   targets
+     * @return future of source objects
+     * @since 2.7.0
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    protected CompletableFuture<Map<Object, Object>> getSourcesFromContainerAsync(
+        AsyncContainer<?> container, Collection<Target> targets) {
+        Set<Object> keys = collectKeys(targets);
+        return ((AsyncContainer<Object>)container).getAsync(keys)
+            .thenApply(sources -> (Map<Object, Object>)sources);
+    }
+
+    /**
+     * Collect the keys used to obtain data source objects from the targets.
+     *
+     * @param targets targets
+     * @return keys
+     * @since 2.7.0
+     */
+    @Override
+    protected Set<Object> collectKeys(Collection<Target> targets) {
+        return targets.stream()
             .map(Target::getKey)
             .filter(Objects::nonNull)
             .collect(Collectors.toSet());
-        return (Map<Object, Object>)((Container<Object>)container).get(keys);
+    }
+
+    /**
+     * Count the keys of targets before deduplication.
+     *
+     * @param targets targets
+     * @param keys distinct keys
+     * @return number of keys
+     * @since 2.7.0
+     */
+    @Override
+    protected int countKeys(Collection<Target> targets, Collection<Object> keys) {
+        int count = 0;
+        for (Target target : targets) {
+            if (Objects.nonNull(target.getKey())) {
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
@@ -133,28 +186,18 @@ public class OneToOneAssembleOperationHandler
     }
 
     /**
-     * Complete attribute mapping between the target object and the data source object.
+     * <p>Complete attribute mapping between the target object and the data source object.<br />
+     * The getters and setters used in mapping are resolved once for
+     * each pair of source type and target type by {@link PropertyMappingCopier}.
      *
      * @param source source
      * @param target target
      */
     @Override
     protected void completeMapping(Object source, Target target) {
-        AssembleExecution execution = target.getExecution();
-        Set<PropertyMapping> mappings = execution.getOperation().getPropertyMappings();
-        for (PropertyMapping mapping : mappings) {
-            mappingProperty(target, source, mapping);
-        }
-    }
-
-    private void mappingProperty(Target entity, Object source, PropertyMapping mapping) {
-        PropertyMappingStrategy propertyMappingStrategy = entity.getExecution().getOperation().getPropertyMappingStrategy();
-        Object sourceValue = mapping.hasSource() ?
-            propertyOperator.readProperty(source.getClass(), source, mapping.getSource()) : source;
-        Object target = entity.getOrigin();
-        propertyMappingStrategy.doMapping(
-            target, source, sourceValue, mapping,
-            sv -> propertyOperator.writeProperty(target.getClass(), target, mapping.getReference(), sourceValue)
-        );
+        AssembleOperation operation = target.getExecution().getOperation();
+        Object origin = target.getOrigin();
+        copiers.get(propertyOperator, operation, source.getClass(), origin.getClass())
+            .copy(source, origin, operation.getPropertyMappingStrategy());
     }
 }
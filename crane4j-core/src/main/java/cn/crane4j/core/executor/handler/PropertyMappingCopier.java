@@ -0,0 +1,161 @@
+package cn.crane4j.core.executor.handler;
+
+import cn.crane4j.core.parser.PropertyMapping;
+import cn.crane4j.core.parser.handler.strategy.PropertyMappingStrategy;
+import cn.crane4j.core.parser.operation.AssembleOperation;
+import cn.crane4j.core.support.MethodInvoker;
+import cn.crane4j.core.support.reflect.PropertyOperator;
+import cn.crane4j.core.util.CollectionUtils;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>A copier which maps the properties of a source object to a target object
+ * according to the property mappings of an {@link AssembleOperation}.<br />
+ * The getters of source properties and the setters of reference properties are resolved
+ * from the {@link PropertyOperator} only once when the copier is compiled
+ * for a pair of source type and target type,
+ * so copying is just invoking the resolved {@link MethodInvoker}s one by one,
+ * without looking up the invokers through the decorators of {@link PropertyOperator} for each target.
+ *
+ * <p>The copiers are usually obtained from a {@link Cache},
+ * which compiles and caches the copier when a pair of types is seen for the first time.
+ *
+ * @author huangchengxing
+ * @see OneToOneAssembleOperationHandler
+ * @since 2.7.0
+ */
+public class PropertyMappingCopier {
+
+    /**
+     * type of source objects
+     */
+    @Getter
+    private final Class<?> sourceType;
+
+    /**
+     * type of target objects
+     */
+    @Getter
+    private final Class<?> targetType;
+
+    private final PropertyMapping[] mappings;
+    private final MethodInvoker[] getters;
+    private final MethodInvoker[] setters;
+
+    private PropertyMappingCopier(
+        Class<?> sourceType, Class<?> targetType,
+        PropertyMapping[] mappings, MethodInvoker[] getters, MethodInvoker[] setters) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+        this.mappings = mappings;
+        this.getters = getters;
+        this.setters = setters;
+    }
+
+    /**
+     * Compile the property mappings into a copier for the specified source type and target type.
+     *
+     * @param propertyOperator property operator used to resolve invokers
+     * @param sourceType type of source objects
+     * @param targetType type of target objects
+     * @param propertyMappings property mappings
+     * @return copier
+     */
+    public static PropertyMappingCopier compile(
+        PropertyOperator propertyOperator, Class<?> sourceType, Class<?> targetType,
+        Collection<PropertyMapping> propertyMappings) {
+        PropertyMapping[] mappings = propertyMappings.toArray(new PropertyMapping[0]);
+        MethodInvoker[] getters = new MethodInvoker[mappings.length];
+        MethodInvoker[] setters = new MethodInvoker[mappings.length];
+        for (int i = 0; i < mappings.length; i++) {
+            PropertyMapping mapping = mappings[i];
+            // if the source property is not specified, the source object itself will be used
+            getters[i] = mapping.hasSource() ?
+                propertyOperator.findGetter(sourceType, mapping.getSource()) : null;
+            setters[i] = propertyOperator.findSetter(targetType, mapping.getReference());
+        }
+        return new PropertyMappingCopier(sourceType, targetType, mappings, getters, setters);
+    }
+
+    /**
+     * Map the properties of source object to the target object.
+     *
+     * @param source source object
+     * @param target target object
+     * @param strategy property mapping strategy
+     */
+    public void copy(Object source, Object target, PropertyMappingStrategy strategy) {
+        for (int i = 0; i < mappings.length; i++) {
+            PropertyMapping mapping = mappings[i];
+            Object sourceValue;
+            if (mapping.hasSource()) {
+                MethodInvoker getter = getters[i];
+                sourceValue = Objects.isNull(getter) ? null : getter.invoke(source);
+            } else {
+                sourceValue = source;
+            }
+            MethodInvoker setter = setters[i];
+            strategy.doMapping(target, source, sourceValue, mapping, sv -> {
+                if (Objects.nonNull(setter)) {
+                    setter.invoke(target, sourceValue);
+                }
+            });
+        }
+    }
+
+    /**
+     * <p>Cache of {@link PropertyMappingCopier}.<br />
+     * The copiers are grouped by operation, target type and source type,
+     * the operations are compared by identity and weakly referenced,
+     * and the target types are held by {@link ClassValue}.
+     *
+     * <p>Note that the invokers will not be resolved again once the copier is compiled,
+     * even if the delegate of a {@link cn.crane4j.core.support.reflect.PropertyOperatorHolder} is replaced.
+     */
+    public static class Cache {
+
+        private final Map<AssembleOperation, CopiersOfTargetType> copiers = CollectionUtils.newWeakKeyConcurrentMap();
+
+        /**
+         * Get the copier of operation for the specified source type and target type,
+         * compile it if it does not exist.
+         *
+         * @param propertyOperator property operator used to resolve invokers
+         * @param operation operation
+         * @param sourceType type of source objects
+         * @param targetType type of target objects
+         * @return copier
+         */
+        public PropertyMappingCopier get(
+            PropertyOperator propertyOperator, AssembleOperation operation, Class<?> sourceType, Class<?> targetType) {
+            CopiersOfTargetType copiersOfOperation = copiers.get(operation);
+            if (Objects.isNull(copiersOfOperation)) {
+                copiersOfOperation = copiers.computeIfAbsent(operation, op -> new CopiersOfTargetType());
+            }
+            ConcurrentMap<Class<?>, PropertyMappingCopier> copiersOfSourceType = copiersOfOperation.get(targetType);
+            PropertyMappingCopier copier = copiersOfSourceType.get(sourceType);
+            if (Objects.isNull(copier)) {
+                copier = copiersOfSourceType.computeIfAbsent(sourceType, type -> compile(
+                    propertyOperator, type, targetType, operation.getPropertyMappings()
+                ));
+            }
+            return copier;
+        }
+    }
+
+    /**
+     * Copiers grouped by target type, and then grouped by source type.
+     */
+    private static class CopiersOfTargetType extends ClassValue<ConcurrentMap<Class<?>, PropertyMappingCopier>> {
+        @Override
+        protected ConcurrentMap<Class<?>, PropertyMappingCopier> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(4);
+        }
+    }
+}
@@ -5,19 +5,26 @@ import cn.crane4j.core.support.MethodInvoker;
 import cn.crane4j.core.support.reflect.PropertyOperator;
 import cn.crane4j.core.util.Asserts;
 import cn.crane4j.core.util.CollectionUtils;
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
- * A basic {@link DisassembleOperationHandler} implementation based on {@link PropertyOperator}.
+ * <p>A basic {@link DisassembleOperationHandler} implementation based on {@link PropertyOperator}.
+ *
+ * <p>If {@link #parallelFlattenThreshold} is set, when the number of targets reaches the threshold,
+ * the nested objects of targets will be extracted and flattened in the {@link #flattenPool},
+ * the order of the flattened objects is still the same as the order of the targets.
  *
  * @author huangchengxing
  */
@@ -26,6 +33,26 @@ public class ReflectiveDisassembleOperationHandler implements DisassembleOperati
 
     private final PropertyOperator propertyOperator;
 
+    /**
+     * <p>The min number of targets to flatten nested objects in parallel.<br />
+     * The default is -1, which means the parallel flattening is disabled.
+     *
+     * @since 2.7.0
+     */
+    @Setter
+    private int parallelFlattenThreshold = -1;
+
+    /**
+     * <p>The pool used to flatten nested objects in parallel.<br />
+     * The default is {@link ForkJoinPool#commonPool()}.
+     *
+     * @see #parallelFlattenThreshold
+     * @since 2.7.0
+     */
+    @Setter
+    @NonNull
+    private ForkJoinPool flattenPool = ForkJoinPool.commonPool();
+
     /**
      * Extract nested objects in object attributes according to disassembly configuration.
      *
@@ -40,24 +67,54 @@ public class ReflectiveDisassembleOperationHandler implements DisassembleOperati
         }
         MethodInvoker getter = propertyOperator.findGetter(operation.getSourceType(), operation.getKey());
         Asserts.isNotNull(getter, "cannot find getter for [{}] on [{}]", operation.getKey(), operation.getSourceType());
-        Deque<Object> deque = targets.stream()
-            .filter(Objects::nonNull)
-            .map(getter::invoke)
-            .collect(Collectors.toCollection(LinkedList::new));
+        if (parallelFlattenThreshold > 0 && targets.size() >= parallelFlattenThreshold) {
+            return flattenPool.submit(() -> targets.parallelStream()
+                .filter(Objects::nonNull)
+                .map(getter::invoke)
+                .map(ReflectiveDisassembleOperationHandler::flatten)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList())
+            ).join();
+        }
+        Deque<Object> deque = new ArrayDeque<>(targets.size());
+        for (Object target : targets) {
+            if (Objects.nonNull(target)) {
+                addNonNull(deque, getter.invoke(target));
+            }
+        }
+        return flatten(deque, new ArrayList<>(targets.size()));
+    }
 
-        List<Object> result = new ArrayList<>();
+    private static List<Object> flatten(Object nested) {
+        if (Objects.isNull(nested)) {
+            return Collections.emptyList();
+        }
+        if (!(nested instanceof Collection) && !nested.getClass().isArray()) {
+            return Collections.singletonList(nested);
+        }
+        Deque<Object> deque = new ArrayDeque<>();
+        deque.add(nested);
+        return flatten(deque, new ArrayList<>());
+    }
+
+    private static List<Object> flatten(Deque<Object> deque, List<Object> result) {
         while (!deque.isEmpty()) {
             Object item = deque.removeFirst();
-            if (Objects.isNull(item)) {
-                continue;
-            }
             // still is collection, continue
             if (item instanceof Collection || item.getClass().isArray()) {
-                deque.addAll(CollectionUtils.adaptObjectToCollection(item));
+                CollectionUtils.adaptObjectToCollection(item)
+                    .forEach(e -> addNonNull(deque, e));
             } else {
                 result.add(item);
             }
         }
         return result;
     }
+
+    private static void addNonNull(Deque<Object> deque, Object item) {
+        // ArrayDeque does not permit null elements
+        if (Objects.nonNull(item)) {
+            deque.addLast(item);
+        }
+    }
 }
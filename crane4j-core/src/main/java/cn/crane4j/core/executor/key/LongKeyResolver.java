@@ -0,0 +1,90 @@
+package cn.crane4j.core.executor.key;
+
+import cn.crane4j.core.parser.operation.AssembleOperation;
+import cn.crane4j.core.support.converter.ConverterManager;
+
+import java.util.Objects;
+
+/**
+ * <p>A {@link KeyResolver} which resolves the key of the operation as a primitive long value,
+ * it's used by the handler to collect keys without boxing them
+ * when the container is a {@link cn.crane4j.core.container.LongKeyContainer}.<br />
+ * Because a primitive value can not be null,
+ * the key is written to an array and the presence of key is returned separately,
+ * so any long value, including {@link Long#MIN_VALUE}, can be used as a key.
+ *
+ * @author huangchengxing
+ * @see cn.crane4j.core.container.LongKeyContainer
+ * @see cn.crane4j.core.executor.handler.ArrayBasedOneToOneAssembleOperationHandler
+ * @since 2.7.0
+ */
+public interface LongKeyResolver extends KeyResolver {
+
+    /**
+     * Resolve the key of the operation as a primitive long value,
+     * and write it to the specified position of {@code keys} if it is present.
+     *
+     * @param target    target
+     * @param operation operation
+     * @param keys      array which the key is written to
+     * @param index     position of key in array
+     * @return whether the key is present
+     */
+    boolean resolveLong(Object target, AssembleOperation operation, long[] keys, int index);
+
+    /**
+     * Resolve the key of the operation.
+     *
+     * @param target    target
+     * @param operation operation
+     * @return key, or null if the key is absent
+     */
+    @Override
+    default Object resolve(Object target, AssembleOperation operation) {
+        long[] keys = new long[1];
+        return resolveLong(target, operation, keys, 0) ? keys[0] : null;
+    }
+
+    /**
+     * <p>Adapt a {@link KeyResolver} to {@link LongKeyResolver}.<br />
+     * If the resolver is not a {@link LongKeyResolver},
+     * the key is still resolved as an object by it, then
+     * if the key is a {@link Number}, its long value will be used directly,
+     * otherwise the key will be converted to {@link Long} by the converter manager,
+     * the key which cannot be converted is regarded as absent.
+     *
+     * @param resolver resolver
+     * @param converterManager converter manager
+     * @return long key resolver
+     */
+    static LongKeyResolver adapt(KeyResolver resolver, ConverterManager converterManager) {
+        if (resolver instanceof LongKeyResolver) {
+            return (LongKeyResolver)resolver;
+        }
+        return (target, operation, keys, index) ->
+            toLong(resolver.resolve(target, operation), converterManager, keys, index);
+    }
+
+    /**
+     * Convert the key to a primitive long value,
+     * and write it to the specified position of {@code keys} if it is not null.
+     *
+     * @param key key
+     * @param converterManager converter manager
+     * @param keys array which the key is written to
+     * @param index position of key in array
+     * @return whether the key is present
+     */
+    static boolean toLong(Object key, ConverterManager converterManager, long[] keys, int index) {
+        if (key instanceof Number) {
+            keys[index] = ((Number)key).longValue();
+            return true;
+        }
+        Object converted = Objects.isNull(key) ? null : converterManager.convert(key, Long.class);
+        if (converted instanceof Number) {
+            keys[index] = ((Number)converted).longValue();
+            return true;
+        }
+        return false;
+    }
+}
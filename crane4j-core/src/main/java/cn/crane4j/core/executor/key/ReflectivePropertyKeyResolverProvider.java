@@ -1,59 +1,130 @@
-package cn.crane4j.core.executor.key;
-
-import cn.crane4j.core.parser.operation.AssembleOperation;
-import cn.crane4j.core.support.converter.ConverterManager;
-import cn.crane4j.core.support.reflect.PropertyOperator;
-import cn.crane4j.core.util.Asserts;
-import cn.crane4j.core.util.ClassUtils;
-import lombok.RequiredArgsConstructor;
-
-import java.util.Objects;
-
-/**
- * <p>Key resolver, which is used to get key value from specified property.
- *
- * @author huangchengxing
- * @since 2.7.0
- */
-@RequiredArgsConstructor
-public class ReflectivePropertyKeyResolverProvider implements KeyResolverProvider {
-
-    private final PropertyOperator propertyOperator;
-    private final ConverterManager converterManager;
-
-    /**
-     * Get the resolver of the operation.
-     *
-     * @param operation operation
-     * @return resolver
-     */
-    @Override
-    public KeyResolver getResolver(AssembleOperation operation) {
-        Asserts.isNotEmpty(operation.getKey(), "No key is specified for the operation from {}", operation.getSource());
-        KeyResolver keyResolver = new ReflectivePropertyKeyResolver();
-        Class<?> keyType = operation.getKeyType();
-        if (Objects.isNull(keyType) || ClassUtils.isObjectOrVoid(keyType)) {
-            return keyResolver;
-        }
-        return (t, op) -> {
-            Object key = keyResolver.resolve(t, op);
-            return converterManager.convert(key, keyType);
-        };
-    }
-
-    @RequiredArgsConstructor
-    public class ReflectivePropertyKeyResolver implements KeyResolver {
-
-        /**
-         * Resolve the key of the operation.
-         *
-         * @param target    target
-         * @param operation operation
-         * @return key
-         */
-        @Override
-        public Object resolve(Object target, AssembleOperation operation) {
-            return propertyOperator.readProperty(target.getClass(), target, operation.getKey());
-        }
-    }
-}
+package cn.crane4j.core.executor.key;
+
+import cn.crane4j.core.parser.operation.AssembleOperation;
+import cn.crane4j.core.support.converter.ConverterManager;
+import cn.crane4j.core.support.reflect.PropertyOperator;
+import cn.crane4j.core.util.Asserts;
+import cn.crane4j.core.util.ClassUtils;
+import cn.crane4j.core.util.ReflectUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Key resolver, which is used to get key value from specified property.
+ *
+ * @author huangchengxing
+ * @since 2.7.0
+ */
+@RequiredArgsConstructor
+public class ReflectivePropertyKeyResolverProvider implements KeyResolverProvider {
+
+    private static final MethodType LONG_GETTER_TYPE = MethodType.methodType(long.class, Object.class);
+
+    private final PropertyOperator propertyOperator;
+    private final ConverterManager converterManager;
+
+    /**
+     * Get the resolver of the operation.
+     *
+     * @param operation operation
+     * @return resolver
+     */
+    @Override
+    public KeyResolver getResolver(AssembleOperation operation) {
+        Asserts.isNotEmpty(operation.getKey(), "No key is specified for the operation from {}", operation.getSource());
+        ReflectivePropertyKeyResolver keyResolver = new ReflectivePropertyKeyResolver();
+        Class<?> keyType = operation.getKeyType();
+        if (Objects.isNull(keyType) || ClassUtils.isObjectOrVoid(keyType)) {
+            return keyResolver;
+        }
+        return new LongKeyResolver() {
+            @Override
+            public Object resolve(Object target, AssembleOperation op) {
+                Object key = keyResolver.resolve(target, op);
+                return converterManager.convert(key, keyType);
+            }
+            @Override
+            public boolean resolveLong(Object target, AssembleOperation op, long[] keys, int index) {
+                return keyResolver.resolveLong(target, op, keys, index);
+            }
+        };
+    }
+
+    /**
+     * <p>A resolver which reads the key from the property of target.<br />
+     * If the getter of property returns a primitive {@code long} or {@code int} value,
+     * the key will be read by a {@link MethodHandle} with exact type in {@link #resolveLong},
+     * so it will not be boxed.
+     */
+    @RequiredArgsConstructor
+    public class ReflectivePropertyKeyResolver implements LongKeyResolver {
+
+        /**
+         * getters which return primitive long value of each type
+         */
+        private final Map<Class<?>, Optional<MethodHandle>> longGetters = new ConcurrentHashMap<>(4);
+
+        /**
+         * Resolve the key of the operation.
+         *
+         * @param target    target
+         * @param operation operation
+         * @return key
+         */
+        @Override
+        public Object resolve(Object target, AssembleOperation operation) {
+            return propertyOperator.readProperty(target.getClass(), target, operation.getKey());
+        }
+
+        /**
+         * Resolve the key of the operation as a primitive long value,
+         * and write it to the specified position of {@code keys} if it is present.
+         *
+         * @param target    target
+         * @param operation operation
+         * @param keys      array which the key is written to
+         * @param index     position of key in array
+         * @return whether the key is present
+         */
+        @SneakyThrows
+        @Override
+        public boolean resolveLong(Object target, AssembleOperation operation, long[] keys, int index) {
+            MethodHandle getter = longGetters
+                .computeIfAbsent(target.getClass(), type -> findLongGetter(type, operation.getKey()))
+                .orElse(null);
+            if (Objects.isNull(getter)) {
+                return LongKeyResolver.toLong(resolve(target, operation), converterManager, keys, index);
+            }
+            keys[index] = (long)getter.invokeExact(target);
+            return true;
+        }
+    }
+
+    private static Optional<MethodHandle> findLongGetter(Class<?> type, String property) {
+        Optional<Method> getter = ReflectUtils.findGetterMethod(type, property)
+            .filter(m -> m.getParameterCount() == 0 && !Modifier.isStatic(m.getModifiers()))
+            .filter(m -> m.getReturnType() == long.class || m.getReturnType() == int.class);
+        if (!getter.isPresent()) {
+            return Optional.empty();
+        }
+        try {
+            Method method = getter.get();
+            if (!method.isAccessible()) {
+                method.setAccessible(true);
+            }
+            return Optional.of(MethodHandles.lookup().unreflect(method).asType(LONG_GETTER_TYPE));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+}
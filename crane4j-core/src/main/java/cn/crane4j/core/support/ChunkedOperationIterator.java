@@ -0,0 +1,166 @@
+package cn.crane4j.core.support;
+
+import cn.crane4j.core.exception.Crane4jException;
+import cn.crane4j.core.util.Asserts;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * <p>An iterator which pulls elements from the source iterator in fixed-size chunks,
+ * completes the operations of each chunk, and then returns the elements of the chunk one by one.<br />
+ * At most one chunk (two chunks if prefetch is enabled) is held in memory at the same time,
+ * so it can be used to process a large number of elements with bounded memory.
+ *
+ * <p>If prefetch is enabled, the operations of the next chunk will be started asynchronously
+ * before the elements of the current chunk are returned,
+ * so the time of accessing the data source can be overlapped with the time of consuming the current chunk.
+ *
+ * @author huangchengxing
+ * @param <T> element type
+ * @see OperateTemplate#executeIterator
+ * @see OperateTemplate#executeStream
+ * @since 2.7.0
+ */
+@Slf4j
+public class ChunkedOperationIterator<T> implements Iterator<T> {
+
+    /**
+     * source iterator
+     */
+    private final Iterator<T> source;
+
+    /**
+     * number of elements in a chunk
+     */
+    private final int chunkSize;
+
+    /**
+     * function to complete the operations of a chunk
+     */
+    private final Function<List<T>, CompletableFuture<Void>> executor;
+
+    /**
+     * whether to start the operations of the next chunk in advance
+     */
+    private final boolean prefetch;
+
+    /**
+     * iterator of the current chunk
+     */
+    private Iterator<T> current = Collections.emptyIterator();
+
+    /**
+     * the prefetched next chunk
+     */
+    private Chunk<T> next;
+
+    /**
+     * Create a {@link ChunkedOperationIterator} instance.
+     *
+     * @param source source iterator
+     * @param chunkSize number of elements in a chunk
+     * @param executor function to complete the operations of a chunk
+     * @param prefetch whether to start the operations of the next chunk in advance
+     */
+    public ChunkedOperationIterator(
+        Iterator<T> source, int chunkSize, Function<List<T>, CompletableFuture<Void>> executor, boolean prefetch) {
+        Asserts.isNotNull(source, "source must not null");
+        Asserts.isNotNull(executor, "executor must not null");
+        Asserts.isTrue(chunkSize > 0, "chunkSize must greater than 0");
+        this.source = source;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Whether there are more elements.
+     *
+     * @return true if there are more elements
+     */
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            List<T> chunk = nextChunk();
+            if (Objects.isNull(chunk)) {
+                return false;
+            }
+            current = chunk.iterator();
+        }
+        return true;
+    }
+
+    /**
+     * Get the next element which has been processed.
+     *
+     * @return element
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    private List<T> nextChunk() {
+        Chunk<T> chunk = prefetch && Objects.nonNull(next) ? next : submit(pull());
+        // start the operations of the next chunk before waiting for the current chunk
+        next = prefetch && Objects.nonNull(chunk) ? submit(pull()) : null;
+        return Objects.isNull(chunk) ? null : chunk.await();
+    }
+
+    private List<T> pull() {
+        List<T> elements = new ArrayList<>(chunkSize);
+        while (elements.size() < chunkSize && source.hasNext()) {
+            elements.add(source.next());
+        }
+        return elements;
+    }
+
+    private Chunk<T> submit(List<T> elements) {
+        if (elements.isEmpty()) {
+            return null;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("execute operations for chunk of [{}] elements", elements.size());
+        }
+        return new Chunk<>(elements, executor.apply(elements));
+    }
+
+    /**
+     * A chunk of elements and the future of its operations.
+     *
+     * @param <T> element type
+     */
+    private static class Chunk<T> {
+
+        private final List<T> elements;
+        private final CompletableFuture<Void> future;
+
+        Chunk(List<T> elements, CompletableFuture<Void> future) {
+            this.elements = elements;
+            this.future = future;
+        }
+
+        List<T> await() {
+            try {
+                future.join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                throw cause instanceof RuntimeException ?
+                    (RuntimeException)cause : new Crane4jException(cause);
+            }
+            return elements;
+        }
+    }
+}
@@ -4,12 +4,23 @@ import cn.crane4j.core.executor.BeanOperationExecutor;
 import cn.crane4j.core.parser.BeanOperationParser;
 import cn.crane4j.core.parser.BeanOperations;
 import cn.crane4j.core.parser.operation.KeyTriggerOperation;
+import cn.crane4j.core.support.metrics.ExecutionListener;
 import cn.crane4j.core.util.CollectionUtils;
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Helper classes used to simplify filling operations.
@@ -34,6 +45,16 @@ public class OperateTemplate {
      */
     private final TypeResolver typeResolver;
 
+    /**
+     * <p>The listener notified after the operations of target type have been parsed.<br />
+     * The default is {@link ExecutionListener#NONE}.
+     *
+     * @since 2.7.0
+     */
+    @Setter
+    @NonNull
+    private ExecutionListener executionListener = ExecutionListener.NONE;
+
     /**
      * If the operation belongs to any group in {@code groups}, execute the operation.
      *
@@ -164,13 +185,168 @@ public class OperateTemplate {
         Objects.requireNonNull(targetType, "targetType must not null");
         Objects.requireNonNull(parser, "parser must not null");
         Objects.requireNonNull(executor, "executor must not null");
-        BeanOperations beanOperations = parser.parse(targetType);
+        BeanOperations beanOperations = parse(parser, targetType);
         executor.execute(targets, beanOperations, filter);
     }
 
+    /**
+     * Execute the fill operation asynchronously.
+     *
+     * @param target target
+     * @return future which will be completed after all operations completed
+     * @since 2.7.0
+     */
+    public CompletableFuture<Void> executeAsync(Object target) {
+        return executeAsync(
+            CollectionUtils.adaptObjectToCollection(target),
+            resolveType(target), defaultParser, defaultExecutor, Grouped.alwaysMatch()
+        );
+    }
+
+    /**
+     * Execute the fill operation asynchronously.
+     *
+     * @param target target
+     * @param filter filter
+     * @return future which will be completed after all operations completed
+     * @since 2.7.0
+     */
+    public CompletableFuture<Void> executeAsync(Object target, Predicate<? super KeyTriggerOperation> filter) {
+        return executeAsync(
+            CollectionUtils.adaptObjectToCollection(target),
+            resolveType(target), defaultParser, defaultExecutor, filter
+        );
+    }
+
+    /**
+     * Execute the fill operation asynchronously.
+     *
+     * @param target target
+     * @param beanOperations bean operations
+     * @return future which will be completed after all operations completed
+     * @since 2.7.0
+     */
+    public CompletableFuture<Void> executeAsync(Object target, BeanOperations beanOperations) {
+        if (Objects.isNull(target) || Objects.isNull(beanOperations)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return defaultExecutor.executeAsync(
+            CollectionUtils.adaptObjectToCollection(target),
+            beanOperations, Grouped.alwaysMatch()
+        );
+    }
+
+    /**
+     * Execute the fill operation asynchronously.
+     *
+     * @param targets targets
+     * @param targetType target type
+     * @return future which will be completed after all operations completed
+     * @since 2.7.0
+     */
+    public CompletableFuture<Void> executeAsync(Collection<?> targets, Class<?> targetType) {
+        return executeAsync(targets, targetType, defaultParser, defaultExecutor, Grouped.alwaysMatch());
+    }
+
+    /**
+     * Execute the fill operation asynchronously.
+     *
+     * @param targets targets
+     * @param targetType target type
+     * @param parser parser
+     * @param executor executor
+     * @param filter filter
+     * @return future which will be completed after all operations completed
+     * @since 2.7.0
+     */
+    public CompletableFuture<Void> executeAsync(
+        Collection<?> targets, Class<?> targetType, BeanOperationParser parser,
+        BeanOperationExecutor executor, Predicate<? super KeyTriggerOperation> filter) {
+        if (CollectionUtils.isEmpty(targets)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Objects.requireNonNull(targetType, "targetType must not null");
+        Objects.requireNonNull(parser, "parser must not null");
+        Objects.requireNonNull(executor, "executor must not null");
+        BeanOperations beanOperations = parse(parser, targetType);
+        return executor.executeAsync(targets, beanOperations, filter);
+    }
+
+    /**
+     * <p>Execute the fill operation for the elements of the stream in chunks.<br />
+     * The returned stream is lazy, the elements will be pulled from the source stream
+     * in chunks of {@code chunkSize} and processed chunk by chunk when the returned stream is consumed.
+     *
+     * @param stream source stream
+     * @param chunkSize number of elements in a chunk
+     * @param <T> element type
+     * @return stream of processed elements
+     * @see ChunkedOperationIterator
+     * @since 2.7.0
+     */
+    public <T> Stream<T> executeStream(Stream<T> stream, int chunkSize) {
+        return executeStream(stream, chunkSize, false);
+    }
+
+    /**
+     * <p>Execute the fill operation for the elements of the stream in chunks.<br />
+     * The returned stream is lazy, the elements will be pulled from the source stream
+     * in chunks of {@code chunkSize} and processed chunk by chunk when the returned stream is consumed.
+     * If {@code prefetch} is true, the next chunk will be processed asynchronously
+     * while the elements of the current chunk are being consumed.
+     *
+     * @param stream source stream
+     * @param chunkSize number of elements in a chunk
+     * @param prefetch whether to process the next chunk in advance
+     * @param <T> element type
+     * @return stream of processed elements
+     * @see ChunkedOperationIterator
+     * @since 2.7.0
+     */
+    public <T> Stream<T> executeStream(Stream<T> stream, int chunkSize, boolean prefetch) {
+        Objects.requireNonNull(stream, "stream must not null");
+        Iterator<T> iterator = executeIterator(stream.iterator(), chunkSize, prefetch);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+            .onClose(stream::close);
+    }
+
+    /**
+     * <p>Execute the fill operation for the elements of the iterator in chunks.<br />
+     * The elements will be pulled from the source iterator in chunks of {@code chunkSize}
+     * and processed chunk by chunk when the returned iterator is consumed.
+     * If {@code prefetch} is true, the next chunk will be processed asynchronously
+     * while the elements of the current chunk are being consumed.
+     *
+     * @param iterator source iterator
+     * @param chunkSize number of elements in a chunk
+     * @param prefetch whether to process the next chunk in advance
+     * @param <T> element type
+     * @return iterator of processed elements
+     * @see ChunkedOperationIterator
+     * @since 2.7.0
+     */
+    public <T> Iterator<T> executeIterator(Iterator<T> iterator, int chunkSize, boolean prefetch) {
+        Function<List<T>, CompletableFuture<Void>> executor = prefetch ?
+            this::executeAsync : chunk -> {
+                execute(chunk);
+                return CompletableFuture.completedFuture(null);
+            };
+        return new ChunkedOperationIterator<>(iterator, chunkSize, executor, prefetch);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> Class<T> resolveType(Object target) {
         Class<?> type = typeResolver.resolve(target);
         return Objects.isNull(type) ? null : (Class<T>)type;
     }
+
+    private BeanOperations parse(BeanOperationParser parser, Class<?> targetType) {
+        if (executionListener == ExecutionListener.NONE) {
+            return parser.parse(targetType);
+        }
+        long start = System.nanoTime();
+        BeanOperations beanOperations = parser.parse(targetType);
+        executionListener.onParsed(targetType, System.nanoTime() - start);
+        return beanOperations;
+    }
 }
@@ -2,6 +2,7 @@ package cn.crane4j.core.support;
 
 import cn.crane4j.core.cache.CacheManager;
 import cn.crane4j.core.cache.GuavaCacheManager;
+import cn.crane4j.core.cache.OffHeapCacheManager;
 import cn.crane4j.core.cache.MapCacheManager;
 import cn.crane4j.core.condition.ConditionOnContainerParser;
 import cn.crane4j.core.condition.ConditionOnPropertyNotEmptyParser;
@@ -10,10 +11,12 @@ import cn.crane4j.core.condition.ConditionOnPropertyParser;
 import cn.crane4j.core.condition.ConditionOnTargetTypeParser;
 import cn.crane4j.core.container.ContainerProvider;
 import cn.crane4j.core.container.DefaultContainerManager;
+import cn.crane4j.core.container.TimeoutContainerProcessor;
 import cn.crane4j.core.container.lifecycle.ContainerRegisterLogger;
 import cn.crane4j.core.executor.BeanOperationExecutor;
 import cn.crane4j.core.executor.DisorderedBeanOperationExecutor;
 import cn.crane4j.core.executor.OrderedBeanOperationExecutor;
+import cn.crane4j.core.executor.handler.ArrayBasedOneToOneAssembleOperationHandler;
 import cn.crane4j.core.executor.handler.AssembleOperationHandler;
 import cn.crane4j.core.executor.handler.DisassembleOperationHandler;
 import cn.crane4j.core.executor.handler.ManyToManyAssembleOperationHandler;
@@ -125,12 +128,14 @@ public class SimpleCrane4jGlobalConfiguration
         // container container lifecycle lifecycle
         Logger logger = LoggerFactory.getLogger(ContainerRegisterLogger.class);
         configuration.registerContainerLifecycleProcessor(new ContainerRegisterLogger(logger::info));
+        TimeoutContainerProcessor timeoutContainerProcessor = new TimeoutContainerProcessor(configuration);
+        configuration.registerContainerLifecycleProcessor(timeoutContainerProcessor);
 
         // container providers
         configuration.registerContainerProvider(configuration.getClass().getSimpleName(), configuration);
         configuration.registerContainerProvider(ContainerProvider.class.getSimpleName(), configuration);
 
-        registerDefaultParserComponents(annotationFinder, converter, operator, configuration);
+        registerDefaultParserComponents(annotationFinder, converter, operator, configuration, timeoutContainerProcessor);
         registerDefaultExecutorComponents(converter, operator, configuration);
 
         // cache manager
@@ -138,11 +143,15 @@ public class SimpleCrane4jGlobalConfiguration
             .put(CacheManager.DEFAULT_GUAVA_CACHE_MANAGER_NAME, new GuavaCacheManager());
         configuration.getCacheManagerMap()
             .put(CacheManager.DEFAULT_MAP_CACHE_MANAGER_NAME, MapCacheManager.newWeakConcurrentMapCacheManager());
+        configuration.getCacheManagerMap()
+            .put(CacheManager.DEFAULT_OFF_HEAP_CACHE_MANAGER_NAME, new OffHeapCacheManager());
 
         return configuration;
     }
 
-    private static void registerDefaultParserComponents(AnnotationFinder annotationFinder, ConverterManager converter, PropertyOperator operator, SimpleCrane4jGlobalConfiguration configuration) {
+    private static void registerDefaultParserComponents(
+        AnnotationFinder annotationFinder, ConverterManager converter, PropertyOperator operator,
+        SimpleCrane4jGlobalConfiguration configuration, TimeoutContainerProcessor timeoutContainerProcessor) {
         // parser and condition parser
         ConditionalTypeHierarchyBeanOperationParser beanOperationParser = new ConditionalTypeHierarchyBeanOperationParser();
         beanOperationParser.registerConditionParser(new ConditionOnPropertyParser(annotationFinder, operator, converter));
@@ -164,8 +173,10 @@ public class SimpleCrane4jGlobalConfiguration
         MethodInvokerContainerCreator creator = new MethodInvokerContainerCreator(
             configuration.getPropertyOperator(), configuration.getConverterManager()
         );
+        DefaultMethodContainerFactory methodContainerFactory = new DefaultMethodContainerFactory(creator, annotationFinder);
+        methodContainerFactory.setTimeoutContainerProcessor(timeoutContainerProcessor);
         AssembleMethodAnnotationHandler annotationHandler = new AssembleMethodAnnotationHandler(annotationFinder, configuration,
-            Collections.singletonList(new DefaultMethodContainerFactory(creator, annotationFinder)),
+            Collections.singletonList(methodContainerFactory),
             new SimplePropertyMappingStrategyManager()
         );
         beanOperationParser.addOperationAnnotationHandler(annotationHandler);
@@ -207,6 +218,8 @@ public class SimpleCrane4jGlobalConfiguration
         configuration.getAssembleOperationHandlerMap().put(oneToManyReflexAssembleOperationHandler.getClass().getSimpleName(), oneToManyReflexAssembleOperationHandler);
         ManyToManyAssembleOperationHandler manyToManyReflexAssembleOperationHandler = new ManyToManyAssembleOperationHandler(operator, converter);
         configuration.getAssembleOperationHandlerMap().put(manyToManyReflexAssembleOperationHandler.getClass().getSimpleName(), manyToManyReflexAssembleOperationHandler);
+        ArrayBasedOneToOneAssembleOperationHandler arrayBasedOneToOneAssembleOperationHandler = new ArrayBasedOneToOneAssembleOperationHandler(operator, converter);
+        configuration.getAssembleOperationHandlerMap().put(arrayBasedOneToOneAssembleOperationHandler.getClass().getSimpleName(), arrayBasedOneToOneAssembleOperationHandler);
         ReflectiveDisassembleOperationHandler reflectiveDisassembleOperationHandler = new ReflectiveDisassembleOperationHandler(operator);
         configuration.getDisassembleOperationHandlerMap().put(DisassembleOperationHandler.class.getSimpleName(), reflectiveDisassembleOperationHandler);
         configuration.getDisassembleOperationHandlerMap().put(reflectiveDisassembleOperationHandler.getClass().getSimpleName(), reflectiveDisassembleOperationHandler);
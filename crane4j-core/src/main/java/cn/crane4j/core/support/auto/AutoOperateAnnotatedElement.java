@@ -6,6 +6,7 @@ import cn.crane4j.core.parser.BeanOperations;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.lang.reflect.AnnotatedElement;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <p>An object that holds the {@link AutoOperate} annotation and the annotated element,
@@ -68,4 +69,24 @@ public interface AutoOperateAnnotatedElement {
      * @param data data
      */
     void execute(Object data);
+
+    /**
+     * <p>Execute the operation of data from the annotated element asynchronously.<br />
+     * By default, the operation will be completed in the current thread,
+     * and a completed future will be returned.
+     *
+     * @param data data
+     * @return future which will be completed after all operations completed
+     * @since 2.7.0
+     */
+    default CompletableFuture<Void> executeAsync(Object data) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            execute(data);
+            future.complete(null);
+        } catch (Exception ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
 }
@@ -13,6 +13,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.lang.reflect.AnnotatedElement;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -76,4 +77,23 @@ public class DefaultAutoOperateAnnotatedElement implements AutoOperateAnnotatedE
             executor.execute(CollectionUtils.adaptObjectToCollection(target), bo, filter);
         }
     }
+
+    /**
+     * Execute the operation of data from the annotated element asynchronously.
+     *
+     * @param data data
+     * @return future which will be completed after all operations completed
+     * @since 2.7.0
+     */
+    @Override
+    public CompletableFuture<Void> executeAsync(Object data) {
+        Object target = extractor.invoke(data);
+        if (Objects.isNull(target)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        BeanOperations bo = Objects.isNull(beanOperations) ? parser.apply(target) : beanOperations;
+        return Objects.isNull(bo) || bo.isEmpty() ?
+            CompletableFuture.completedFuture(null) :
+            executor.executeAsync(CollectionUtils.adaptObjectToCollection(target), bo, filter);
+    }
 }
@@ -62,10 +62,7 @@ public class CacheableMethodContainerFactory extends DefaultMethodContainerFacto
         CacheManager cacheManager = configuration.getCacheManager(managerName);
         return super.get(source, method, annotations).stream()
             .map(container -> {
-                CacheDefinition cacheDefinition = new CacheDefinition.Impl(
-                    container.getNamespace(), managerName,
-                    annotation.expirationTime(), annotation.timeUnit()
-                );
+                CacheDefinition cacheDefinition = CacheDefinition.from(container.getNamespace(), managerName, annotation);
                 return new CacheableContainer<>(container, cacheDefinition, cacheManager);
             })
             .collect(Collectors.toList());
@@ -1,9 +1,12 @@
 package cn.crane4j.core.support.container;
 
 import cn.crane4j.annotation.ContainerMethod;
+import cn.crane4j.annotation.ContainerTimeout;
 import cn.crane4j.core.container.Container;
 import cn.crane4j.core.container.MethodInvokerContainer;
+import cn.crane4j.core.container.TimeoutContainerProcessor;
 import cn.crane4j.core.support.AnnotationFinder;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -17,6 +20,9 @@ import java.util.stream.Collectors;
  * <p>The basic implementation of {@link MethodContainerFactory},
  * build the method data source according to the method annotated by {@link ContainerMethod}.
  *
+ * <p>If {@link #timeoutContainerProcessor} is set and {@link ContainerTimeout} annotation exists on the method,
+ * the obtained method container will be wrapped as {@link cn.crane4j.core.container.TimeoutContainer}.
+ *
  * @author huangchengxing
  * @see ContainerMethod
  * @see MethodInvokerContainer
@@ -28,6 +34,15 @@ public class DefaultMethodContainerFactory implements MethodContainerFactory {
     protected final MethodInvokerContainerCreator methodInvokerContainerCreator;
     protected final AnnotationFinder annotationFinder;
 
+    /**
+     * processor used to apply {@link ContainerTimeout} on method
+     *
+     * @since 2.7.0
+     */
+    @Nullable
+    @Setter
+    protected TimeoutContainerProcessor timeoutContainerProcessor;
+
     /**
      * Create a {@link MethodContainerFactory} instance.
      *
@@ -75,8 +90,11 @@ public class DefaultMethodContainerFactory implements MethodContainerFactory {
     @Override
     public List<Container<Object>> get(
         @Nullable Object source, Method method, Collection<ContainerMethod> annotations) {
+        ContainerTimeout timeout = Objects.isNull(timeoutContainerProcessor) ?
+            null : annotationFinder.findAnnotation(method, ContainerTimeout.class);
         return annotations.stream()
             .map(annotation -> createContainer(source, method, annotation))
+            .map(container -> Objects.isNull(timeout) ? container : timeoutContainerProcessor.applyTimeout(container, timeout))
             .collect(Collectors.toList());
     }
 
@@ -0,0 +1,106 @@
+package cn.crane4j.core.support.metrics;
+
+import cn.crane4j.core.parser.BeanOperations;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.reflect.AnnotatedElement;
+
+/**
+ * <p>Listener of the stages in an execution, which can be used to collect metrics.<br />
+ * The listener will be notified at the following stages:
+ * <ul>
+ *     <li>{@link #onParsed}: the operations of an element have been parsed;</li>
+ *     <li>{@link #onDisassembled}: the nested objects have been disassembled from targets;</li>
+ *     <li>{@link #onKeysCollected}: the keys of targets which use the same container have been collected;</li>
+ *     <li>{@link #onFetched}: the data source objects have been obtained from the container;</li>
+ *     <li>{@link #onMapped}: the properties of data source objects have been mapped to targets;</li>
+ *     <li>
+ *         {@link #onProcessed}: a handler which cannot be split into the above stages has completed,
+ *         see {@link cn.crane4j.core.executor.handler.AssembleOperationHandler#prepare};
+ *     </li>
+ * </ul>
+ * All methods do nothing by default, and the listener will be skipped entirely
+ * if it is {@link #NONE}, so there is no cost when the metrics are not required.
+ *
+ * <p>The listener may be called concurrently, the implementation must be thread-safe.
+ *
+ * @author huangchengxing
+ * @see InMemoryExecutionListener
+ * @since 2.7.0
+ */
+public interface ExecutionListener {
+
+    /**
+     * A listener which does nothing.
+     */
+    ExecutionListener NONE = new ExecutionListener() { };
+
+    /**
+     * Called after the operations of an element have been parsed.
+     *
+     * @param element element
+     * @param nanos time elapsed in nanoseconds
+     */
+    default void onParsed(AnnotatedElement element, long nanos) {
+        // do nothing
+    }
+
+    /**
+     * Called after the nested objects have been disassembled from targets.
+     *
+     * @param operations operations of targets
+     * @param targetCount number of targets after disassembled, including the targets themselves
+     * @param nanos time elapsed in nanoseconds
+     */
+    default void onDisassembled(BeanOperations operations, int targetCount, long nanos) {
+        // do nothing
+    }
+
+    /**
+     * Called after the keys of targets which use the same container have been collected.
+     *
+     * @param namespace namespace of container
+     * @param keyCount number of keys collected by all handlers
+     * @param distinctKeyCount number of distinct keys which will be requested from the container
+     * @param nanos time elapsed in nanoseconds
+     */
+    default void onKeysCollected(String namespace, int keyCount, int distinctKeyCount, long nanos) {
+        // do nothing
+    }
+
+    /**
+     * Called after the data source objects have been obtained from the container.
+     *
+     * @param namespace namespace of container
+     * @param keyCount number of keys requested
+     * @param nanos time elapsed in nanoseconds
+     * @param ex exception thrown by the container, null if success
+     */
+    default void onFetched(String namespace, int keyCount, long nanos, @Nullable Throwable ex) {
+        // do nothing
+    }
+
+    /**
+     * Called after the properties of data source objects have been mapped to targets.
+     *
+     * @param namespace namespace of container
+     * @param nanos time elapsed in nanoseconds
+     * @param ex exception thrown when mapping, null if success
+     */
+    default void onMapped(String namespace, long nanos, @Nullable Throwable ex) {
+        // do nothing
+    }
+
+    /**
+     * Called after a handler which does not support preparation has completed the operations,
+     * the time of collecting keys, fetching data sources and mapping properties are measured as a whole.
+     *
+     * @param namespace namespace of container
+     * @param nanos time elapsed in nanoseconds
+     * @param ex exception thrown when processing, null if success
+     * @see cn.crane4j.core.executor.handler.AssembleOperationHandler#prepare
+     */
+    default void onProcessed(String namespace, long nanos, @Nullable Throwable ex) {
+        // do nothing
+    }
+}
@@ -0,0 +1,271 @@
+package cn.crane4j.core.support.metrics;
+
+import cn.crane4j.core.parser.BeanOperations;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A lock-free {@link ExecutionListener} which collects metrics in memory.<br />
+ * The metrics of parsing and disassembling are collected globally,
+ * and the metrics of key collection, fetching, mapping and processing are collected per container namespace.
+ * The metrics can be scraped by {@link #getContainerMetrics()}, {@link #getParseMetrics()}
+ * and {@link #getDisassembleMetrics()} at any time.
+ *
+ * @author huangchengxing
+ * @since 2.7.0
+ */
+public class InMemoryExecutionListener implements ExecutionListener {
+
+    private final LatencyHistogram parseLatency = new LatencyHistogram();
+    private final LatencyHistogram disassembleLatency = new LatencyHistogram();
+    private final ConcurrentMap<String, Recorder> recorders = new ConcurrentHashMap<>(16);
+
+    /**
+     * Called after the operations of an element have been parsed.
+     *
+     * @param element element
+     * @param nanos time elapsed in nanoseconds
+     */
+    @Override
+    public void onParsed(AnnotatedElement element, long nanos) {
+        parseLatency.record(nanos);
+    }
+
+    /**
+     * Called after the nested objects have been disassembled from targets.
+     *
+     * @param operations operations of targets
+     * @param targetCount number of targets after disassembled
+     * @param nanos time elapsed in nanoseconds
+     */
+    @Override
+    public void onDisassembled(BeanOperations operations, int targetCount, long nanos) {
+        disassembleLatency.record(nanos);
+    }
+
+    /**
+     * Called after the keys of targets which use the same container have been collected.
+     *
+     * @param namespace namespace of container
+     * @param keyCount number of keys collected by all handlers
+     * @param distinctKeyCount number of distinct keys which will be requested from the container
+     * @param nanos time elapsed in nanoseconds
+     */
+    @Override
+    public void onKeysCollected(String namespace, int keyCount, int distinctKeyCount, long nanos) {
+        Recorder recorder = getRecorder(namespace);
+        recorder.keys.add(keyCount);
+        recorder.distinctKeys.add(distinctKeyCount);
+        recorder.keyCollectionNanos.add(nanos);
+    }
+
+    /**
+     * Called after the data source objects have been obtained from the container.
+     *
+     * @param namespace namespace of container
+     * @param keyCount number of keys requested
+     * @param nanos time elapsed in nanoseconds
+     * @param ex exception thrown by the container, null if success
+     */
+    @Override
+    public void onFetched(String namespace, int keyCount, long nanos, @Nullable Throwable ex) {
+        Recorder recorder = getRecorder(namespace);
+        recorder.calls.increment();
+        recorder.fetchLatency.record(nanos);
+        if (Objects.nonNull(ex)) {
+            recorder.fetchFailures.increment();
+        }
+    }
+
+    /**
+     * Called after the properties of data source objects have been mapped to targets.
+     *
+     * @param namespace namespace of container
+     * @param nanos time elapsed in nanoseconds
+     * @param ex exception thrown when mapping, null if success
+     */
+    @Override
+    public void onMapped(String namespace, long nanos, @Nullable Throwable ex) {
+        Recorder recorder = getRecorder(namespace);
+        recorder.mappingNanos.add(nanos);
+        if (Objects.nonNull(ex)) {
+            recorder.mappingFailures.increment();
+        }
+    }
+
+    /**
+     * Called after a handler which does not support preparation has completed the operations.
+     *
+     * @param namespace namespace of container
+     * @param nanos time elapsed in nanoseconds
+     * @param ex exception thrown when processing, null if success
+     */
+    @Override
+    public void onProcessed(String namespace, long nanos, @Nullable Throwable ex) {
+        Recorder recorder = getRecorder(namespace);
+        recorder.processes.increment();
+        recorder.processNanos.add(nanos);
+        if (Objects.nonNull(ex)) {
+            recorder.processFailures.increment();
+        }
+    }
+
+    /**
+     * Get the latency snapshot of parsing.
+     *
+     * @return snapshot
+     */
+    public LatencyHistogram.Snapshot getParseMetrics() {
+        return parseLatency.snapshot();
+    }
+
+    /**
+     * Get the latency snapshot of disassembling.
+     *
+     * @return snapshot
+     */
+    public LatencyHistogram.Snapshot getDisassembleMetrics() {
+        return disassembleLatency.snapshot();
+    }
+
+    /**
+     * Get the metrics snapshot of each container.
+     *
+     * @return metrics grouped by container namespace
+     */
+    public Map<String, ContainerMetrics> getContainerMetrics() {
+        Map<String, ContainerMetrics> results = new LinkedHashMap<>(recorders.size());
+        recorders.forEach((namespace, recorder) -> results.put(namespace, recorder.snapshot(namespace)));
+        return Collections.unmodifiableMap(results);
+    }
+
+    /**
+     * Clear all collected metrics.
+     */
+    public void reset() {
+        parseLatency.reset();
+        disassembleLatency.reset();
+        recorders.clear();
+    }
+
+    private Recorder getRecorder(String namespace) {
+        Recorder recorder = recorders.get(namespace);
+        return Objects.nonNull(recorder) ?
+            recorder : recorders.computeIfAbsent(namespace, ns -> new Recorder());
+    }
+
+    /**
+     * Metrics of a container.
+     *
+     * @author huangchengxing
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class ContainerMetrics {
+
+        /**
+         * namespace of container
+         */
+        private final String namespace;
+
+        /**
+         * number of calls to the container
+         */
+        private final long calls;
+
+        /**
+         * number of keys collected by all handlers
+         */
+        private final long keys;
+
+        /**
+         * number of distinct keys requested from the container
+         */
+        private final long distinctKeys;
+
+        /**
+         * total time of collecting keys in nanoseconds
+         */
+        private final long keyCollectionNanos;
+
+        /**
+         * latency of calls to the container
+         */
+        private final LatencyHistogram.Snapshot fetchLatency;
+
+        /**
+         * number of failed calls to the container
+         */
+        private final long fetchFailures;
+
+        /**
+         * total time of mapping in nanoseconds
+         */
+        private final long mappingNanos;
+
+        /**
+         * number of failed mappings
+         */
+        private final long mappingFailures;
+
+        /**
+         * number of operations completed by the handlers which do not support preparation
+         */
+        private final long processes;
+
+        /**
+         * total time of the operations completed by the handlers which do not support preparation in nanoseconds
+         */
+        private final long processNanos;
+
+        /**
+         * number of failed operations completed by the handlers which do not support preparation
+         */
+        private final long processFailures;
+
+        /**
+         * Get the ratio of distinct keys to all keys.
+         *
+         * @return ratio, 1 if no keys
+         */
+        public double getDistinctKeyRatio() {
+            return keys == 0L ? 1D : (double)distinctKeys / keys;
+        }
+    }
+
+    /**
+     * Recorder of container metrics.
+     */
+    private static class Recorder {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder keys = new LongAdder();
+        private final LongAdder distinctKeys = new LongAdder();
+        private final LongAdder keyCollectionNanos = new LongAdder();
+        private final LatencyHistogram fetchLatency = new LatencyHistogram();
+        private final LongAdder fetchFailures = new LongAdder();
+        private final LongAdder mappingNanos = new LongAdder();
+        private final LongAdder mappingFailures = new LongAdder();
+        private final LongAdder processes = new LongAdder();
+        private final LongAdder processNanos = new LongAdder();
+        private final LongAdder processFailures = new LongAdder();
+
+        ContainerMetrics snapshot(String namespace) {
+            return new ContainerMetrics(
+                namespace, calls.sum(), keys.sum(), distinctKeys.sum(), keyCollectionNanos.sum(),
+                fetchLatency.snapshot(), fetchFailures.sum(), mappingNanos.sum(), mappingFailures.sum(),
+                processes.sum(), processNanos.sum(), processFailures.sum()
+            );
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package cn.crane4j.core.support.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A lock-free histogram of latencies with exponential buckets.<br />
+ * The latency is recorded in microseconds, the bucket {@code i} counts
+ * the latencies in range {@code [2^(i-1), 2^i)} microseconds,
+ * and the bucket {@code 0} counts the latencies less than 1 microsecond.
+ * The relative error of the percentile is less than 2x, which is enough to find out slow containers.
+ *
+ * @author huangchengxing
+ * @since 2.7.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * number of buckets, the last bucket counts the latencies greater than {@code 2^(BUCKET_COUNT-2)} microseconds
+     */
+    private static final int BUCKET_COUNT = 40;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Create a {@link LatencyHistogram} instance.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(nanos, 0L) / 1000L;
+        int index = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1);
+        buckets[index].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Reset the histogram.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    /**
+     * Get a snapshot of the histogram.
+     *
+     * @return snapshot
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(counts, count.sum(), totalNanos.sum(), maxNanos.get());
+    }
+
+    /**
+     * Snapshot of {@link LatencyHistogram}.
+     *
+     * @author huangchengxing
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot {
+
+        /**
+         * counts of each bucket
+         */
+        private final long[] bucketCounts;
+
+        /**
+         * total number of records
+         */
+        private final long count;
+
+        /**
+         * sum of all latencies in nanoseconds
+         */
+        private final long totalNanos;
+
+        /**
+         * max latency in nanoseconds
+         */
+        private final long maxNanos;
+
+        /**
+         * Get the mean latency in nanoseconds.
+         *
+         * @return mean latency, 0 if no records
+         */
+        public long getMeanNanos() {
+            return count == 0 ? 0L : totalNanos / count;
+        }
+
+        /**
+         * Get the estimated latency at the specified percentile,
+         * which is the upper bound of the bucket where the percentile is located.
+         *
+         * @param percentile percentile, in range [0, 1]
+         * @return latency in nanoseconds, 0 if no records
+         */
+        public long getPercentileNanos(double percentile) {
+            long total = 0L;
+            for (long c : bucketCounts) {
+                total += c;
+            }
+            if (total == 0L) {
+                return 0L;
+            }
+            long threshold = (long)Math.ceil(total * Math.min(Math.max(percentile, 0D), 1D));
+            long accumulated = 0L;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                accumulated += bucketCounts[i];
+                if (accumulated >= threshold && bucketCounts[i] > 0) {
+                    return i == bucketCounts.length - 1 ? maxNanos : Math.min((1L << i) * 1000L, maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
@@ -382,6 +382,20 @@ public class CollectionUtils {
             .makeMap();
     }
 
+    /**
+     * <p>Create a thread-safe collection which only holds weak reference of keys.<br />
+     * Note that the keys are compared by identity.
+     *
+     * @return {@link ConcurrentMap}
+     * @since 2.7.0
+     */
+    public static <K, V> ConcurrentMap<K, V> newWeakKeyConcurrentMap() {
+        return new MapMaker()
+            .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+            .weakKeys()
+            .makeMap();
+    }
+
     /**
      * Adapt a {@link Object} object to {@link Collection}.
      *
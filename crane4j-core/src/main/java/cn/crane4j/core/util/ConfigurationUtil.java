@@ -8,6 +8,7 @@ import cn.crane4j.core.cache.CacheManager;
 import cn.crane4j.core.cache.CacheableContainer;
 import cn.crane4j.core.container.Container;
 import cn.crane4j.core.container.ContainerDefinition;
+import cn.crane4j.core.container.TimeoutContainerProcessor;
 import cn.crane4j.core.container.lifecycle.ContainerLifecycleProcessor;
 import cn.crane4j.core.executor.BeanOperationExecutor;
 import cn.crane4j.core.parser.BeanOperationParser;
@@ -69,10 +70,7 @@ public class ConfigurationUtil {
         );
         CacheManager cacheManager = configuration.getCacheManager(managerName);
         Asserts.isNotNull(cacheManager, "cacheManager [{}] not found", managerName);
-        CacheDefinition cacheDefinition = new CacheDefinition.Impl(
-            container.getNamespace(), managerName,
-            annotation.expirationTime(), annotation.timeUnit()
-        );
+        CacheDefinition cacheDefinition = CacheDefinition.from(container.getNamespace(), managerName, annotation);
         return new CacheableContainer<>(container, cacheDefinition, cacheManager);
     }
 
@@ -142,6 +140,10 @@ public class ConfigurationUtil {
         MethodInvokerContainerCreator methodInvokerContainerCreator = createMethodInvokerContainerCreator(configuration);
         AnnotationFinder annotationFinder = SimpleAnnotationFinder.INSTANCE;
         DefaultMethodContainerFactory factory = new DefaultMethodContainerFactory(methodInvokerContainerCreator, annotationFinder);
+        configuration.getContainerLifecycleProcessors().stream()
+            .filter(TimeoutContainerProcessor.class::isInstance)
+            .findFirst()
+            .ifPresent(processor -> factory.setTimeoutContainerProcessor((TimeoutContainerProcessor)processor));
         List<MethodContainerFactory> methodContainerFactories = CollectionUtils.newCollection(ArrayList::new, factory);
         return new ContainerMethodAnnotationProcessor(methodContainerFactories, annotationFinder);
     }
@@ -0,0 +1,147 @@
+package cn.crane4j.core.util;
+
+import java.util.Arrays;
+
+/**
+ * <p>A set of primitive long values based on open addressing with linear probing,
+ * which does not box the values into {@link Long}.<br />
+ * The instance is not thread-safe.
+ *
+ * @author huangchengxing
+ * @see LongObjectHashMap
+ * @since 2.7.0
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    /**
+     * Create a {@link LongHashSet} instance.
+     *
+     * @param expectedSize expected number of values
+     */
+    public LongHashSet(int expectedSize) {
+        int capacity = LongObjectHashMap.tableSizeFor(expectedSize, LOAD_FACTOR);
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Add a value to the set.
+     *
+     * @param value value
+     * @return true if the value is not in the set before
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int index = LongObjectHashMap.hash(value) & mask;
+        long current;
+        while ((current = table[index]) != EMPTY) {
+            if (current == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = value;
+        if (++size > table.length * LOAD_FACTOR) {
+            resize();
+        }
+        return true;
+    }
+
+    /**
+     * Whether the value is in the set.
+     *
+     * @param value value
+     * @return true if the value is in the set
+     */
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int index = LongObjectHashMap.hash(value) & mask;
+        long current;
+        while ((current = table[index]) != EMPTY) {
+            if (current == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of values in the set.
+     *
+     * @return number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the set is empty.
+     *
+     * @return true if the set is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copy the values to an array, the order of values is undefined.
+     *
+     * @return values
+     */
+    public long[] toArray() {
+        long[] results = new long[size];
+        int index = 0;
+        if (containsZero) {
+            results[index++] = EMPTY;
+        }
+        for (long value : table) {
+            if (value != EMPTY) {
+                results[index++] = value;
+            }
+        }
+        return results;
+    }
+
+    private void resize() {
+        long[] old = table;
+        table = new long[old.length << 1];
+        mask = table.length - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                int index = LongObjectHashMap.hash(value) & mask;
+                while (table[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = value;
+            }
+        }
+    }
+
+    /**
+     * Get the string representation of the set.
+     *
+     * @return string
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,219 @@
+package cn.crane4j.core.util;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>A map with primitive long keys based on open addressing with linear probing,
+ * which does not box the keys into {@link Long}.<br />
+ * The null value is not supported, {@link #put} a null value is equivalent to ignoring it.
+ * The instance is not thread-safe.
+ *
+ * @author huangchengxing
+ * @param <V> value type
+ * @see LongHashSet
+ * @since 2.7.0
+ */
+public class LongObjectHashMap<V> {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private Object zeroValue;
+
+    /**
+     * Create a {@link LongObjectHashMap} instance.
+     *
+     * @param expectedSize expected number of entries
+     */
+    public LongObjectHashMap(int expectedSize) {
+        int capacity = tableSizeFor(expectedSize, LOAD_FACTOR);
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Put a value with the key.
+     *
+     * @param key key
+     * @param value value, ignored if null
+     * @return the old value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public V put(long key, @Nullable V value) {
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        if (key == EMPTY) {
+            Object old = zeroValue;
+            zeroValue = value;
+            if (Objects.isNull(old)) {
+                size++;
+            }
+            return (V)old;
+        }
+        int index = hash(key) & mask;
+        long current;
+        while ((current = keys[index]) != EMPTY) {
+            if (current == key) {
+                Object old = values[index];
+                values[index] = value;
+                return (V)old;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > keys.length * LOAD_FACTOR) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     * Get the value of the key.
+     *
+     * @param key key
+     * @return value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public V get(long key) {
+        if (key == EMPTY) {
+            return (V)zeroValue;
+        }
+        int index = hash(key) & mask;
+        long current;
+        while ((current = keys[index]) != EMPTY) {
+            if (current == key) {
+                return (V)values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Whether the map contains the key.
+     *
+     * @param key key
+     * @return true if the map contains the key
+     */
+    public boolean containsKey(long key) {
+        return Objects.nonNull(get(key));
+    }
+
+    /**
+     * Get the number of entries in the map.
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the map is empty.
+     *
+     * @return true if the map is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Iterate all entries in the map.
+     *
+     * @param consumer consumer of key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        if (Objects.nonNull(zeroValue)) {
+            consumer.accept(EMPTY, (V)zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], (V)values[i]);
+            }
+        }
+    }
+
+    /**
+     * Copy the entries to a {@link Map} with boxed keys.
+     *
+     * @return map
+     */
+    public Map<Long, V> toMap() {
+        Map<Long, V> results = new LinkedHashMap<>(Math.max((int)(size / .75f) + 1, 16));
+        forEach(results::put);
+        return results;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length << 1];
+        values = new Object[oldKeys.length << 1];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int index = hash(key) & mask;
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Spread the bits of long value.
+     *
+     * @param value value
+     * @return hash code
+     */
+    static int hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /**
+     * Get the power of two table size for the expected size.
+     *
+     * @param expectedSize expected size
+     * @param loadFactor load factor
+     * @return table size
+     */
+    static int tableSizeFor(int expectedSize, float loadFactor) {
+        int required = (int)Math.min(Math.ceil(Math.max(expectedSize, 2) / (double)loadFactor), 1 << 30);
+        return Integer.highestOneBit(required - 1) << 1;
+    }
+
+    /**
+     * Consumer of entries in {@link LongObjectHashMap}.
+     *
+     * @param <V> value type
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Accept an entry.
+         *
+         * @param key key
+         * @param value value
+         */
+        void accept(long key, V value);
+    }
+}
@@ -90,4 +90,27 @@ public abstract class BaseCacheManagerTest {
         Assert.assertNull(cache.get("test"));
         Assert.assertNull(cache.get("test2"));
     }
+
+    @Test
+    public void testStats() {
+        cache.put("a", "a");
+        Assert.assertEquals("a", cache.get("a"));
+        Assert.assertNull(cache.get("b"));
+        Assert.assertEquals(1, cache.getAll(Arrays.asList("a", "b")).size());
+        Assert.assertEquals(1, cache.getAll(Collections.singletonList("a")).size());
+
+        CacheStats stats = cache.getStats();
+        Assert.assertEquals(3L, stats.getHitCount());
+        Assert.assertEquals(2L, stats.getMissCount());
+        Assert.assertEquals(0.6D, stats.getHitRate(), 0.001D);
+        Assert.assertEquals(2L, stats.getBatchCount());
+        Assert.assertEquals(1L, stats.getFullHitBatchCount());
+        Assert.assertEquals(1L, stats.getPartialHitBatchCount());
+        Assert.assertEquals(0.5D, stats.getPartialHitBatchRate(), 0.001D);
+
+        if (cacheManager instanceof AbstractCacheManager) {
+            Map<String, CacheStats> managerStats = ((AbstractCacheManager)cacheManager).getCacheStats();
+            Assert.assertEquals(stats.getHitCount(), managerStats.get(cache.getName()).getHitCount());
+        }
+    }
 }
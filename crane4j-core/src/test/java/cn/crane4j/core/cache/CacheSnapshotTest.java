@@ -0,0 +1,156 @@
+package cn.crane4j.core.cache;
+
+import cn.crane4j.core.exception.Crane4jException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * test for {@link CacheSnapshot}
+ *
+ * @author huangchengxing
+ */
+public class CacheSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSaveAndLoadMapCache() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("map.snapshot");
+        MapCacheManager cacheManager = MapCacheManager.newConcurrentHashMapCacheManager();
+        CacheObject<String> cache = cacheManager.createCache("test", -1L, TimeUnit.MILLISECONDS);
+        cache.put("a", "a");
+        cache.put("b", Arrays.asList(1, 2));
+        cache.put("c", new Object()); // not serializable, will be skipped
+        Assert.assertEquals(2, cacheManager.saveSnapshot(file, null));
+        Assert.assertTrue(Files.exists(file));
+
+        // restore immediately if cache exists
+        MapCacheManager newCacheManager = MapCacheManager.newConcurrentHashMapCacheManager();
+        CacheObject<String> existing = newCacheManager.createCache("test", -1L, TimeUnit.MILLISECONDS);
+        newCacheManager.loadSnapshot(file);
+        Assert.assertEquals("a", existing.get("a"));
+        Assert.assertEquals(Arrays.asList(1, 2), existing.get("b"));
+        Assert.assertNull(existing.get("c"));
+
+        // restore when cache is created
+        newCacheManager = MapCacheManager.newConcurrentHashMapCacheManager();
+        newCacheManager.loadSnapshot(file);
+        CacheObject<String> created = newCacheManager.createCache("test", -1L, TimeUnit.MILLISECONDS);
+        Assert.assertEquals("a", created.get("a"));
+        // the entries of cache are restored only once
+        created = newCacheManager.createCache("test", -1L, TimeUnit.MILLISECONDS);
+        Assert.assertNull(created.get("a"));
+    }
+
+    @Test
+    public void testSaveAndLoadOffHeapCache() throws InterruptedException {
+        Path file = folder.getRoot().toPath().resolve("off-heap.snapshot");
+        OffHeapCacheManager cacheManager = new OffHeapCacheManager();
+        CacheObject<String> shortCache = cacheManager.createCache("short", 200L, TimeUnit.MILLISECONDS);
+        shortCache.put("a", "a");
+        CacheObject<String> longCache = cacheManager.createCache("long", 1L, TimeUnit.HOURS);
+        longCache.put("a", "a");
+        Assert.assertEquals(2, cacheManager.saveSnapshot(file, null));
+
+        // the entries are restored with the remaining expire time
+        OffHeapCacheManager newCacheManager = new OffHeapCacheManager();
+        newCacheManager.loadSnapshot(file);
+        CacheObject<String> restoredShortCache = newCacheManager.createCache("short", 1L, TimeUnit.HOURS);
+        CacheObject<String> restoredLongCache = newCacheManager.createCache("long", 1L, TimeUnit.HOURS);
+        Assert.assertEquals("a", restoredShortCache.get("a"));
+        Assert.assertEquals("a", restoredLongCache.get("a"));
+        Thread.sleep(300L);
+        Assert.assertNull(restoredShortCache.get("a"));
+        Assert.assertEquals("a", restoredLongCache.get("a"));
+
+        // the expired entries are not saved
+        Assert.assertEquals(1, newCacheManager.saveSnapshot(file, null));
+    }
+
+    @Test
+    public void testSaveSpecifiedCaches() {
+        Path file = folder.getRoot().toPath().resolve("specified.snapshot");
+        MapCacheManager cacheManager = MapCacheManager.newConcurrentHashMapCacheManager();
+        cacheManager.createCache("a", -1L, TimeUnit.MILLISECONDS).put("a", "a");
+        cacheManager.createCache("b", -1L, TimeUnit.MILLISECONDS).put("b", "b");
+        Assert.assertEquals(1, cacheManager.saveSnapshot(file, Collections.singleton("a")));
+
+        CacheSnapshot snapshot = CacheSnapshot.open(file, CacheValueCodec.JdkSerializationCodec.INSTANCE);
+        Assert.assertEquals(Collections.singleton("a"), snapshot.getCacheNames());
+        MapCacheManager newCacheManager = MapCacheManager.newConcurrentHashMapCacheManager();
+        PersistableCacheObject<String> cache = (PersistableCacheObject<String>)newCacheManager
+            .<String>createCache("b", -1L, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(-1, snapshot.restore(cache));
+    }
+
+    @Test
+    public void testRestoreCorruptedRegion() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("region.snapshot");
+        MapCacheManager cacheManager = MapCacheManager.newConcurrentHashMapCacheManager();
+        PersistableCacheObject<String> a = (PersistableCacheObject<String>)cacheManager
+            .<String>createCache("a", -1L, TimeUnit.MILLISECONDS);
+        a.put("a", "a");
+        PersistableCacheObject<String> b = (PersistableCacheObject<String>)cacheManager
+            .<String>createCache("b", -1L, TimeUnit.MILLISECONDS);
+        b.put("b", "b");
+        Assert.assertEquals(2, CacheSnapshot.write(file, Arrays.asList(a, b), CacheValueCodec.JdkSerializationCodec.INSTANCE));
+
+        // the region of cache "a" follows the header, and it is verified only when restoring
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[Integer.BYTES * 2 + 1] ^= 1;
+        Files.write(file, bytes);
+        CacheSnapshot snapshot = CacheSnapshot.open(file, CacheValueCodec.JdkSerializationCodec.INSTANCE);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a", "b")), snapshot.getCacheNames());
+
+        MapCacheManager newCacheManager = MapCacheManager.newConcurrentHashMapCacheManager();
+        PersistableCacheObject<String> restoredB = (PersistableCacheObject<String>)newCacheManager
+            .<String>createCache("b", -1L, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(1, snapshot.restore(restoredB));
+        Assert.assertEquals("b", restoredB.get("b"));
+        PersistableCacheObject<String> restoredA = (PersistableCacheObject<String>)newCacheManager
+            .<String>createCache("a", -1L, TimeUnit.MILLISECONDS);
+        Assert.assertThrows(Crane4jException.class, () -> snapshot.restore(restoredA));
+        Assert.assertNull(restoredA.get("a"));
+
+        // the corrupted cache is skipped when loading by cache manager
+        newCacheManager = MapCacheManager.newConcurrentHashMapCacheManager();
+        newCacheManager.loadSnapshot(file);
+        Assert.assertNull(newCacheManager.createCache("a", -1L, TimeUnit.MILLISECONDS).get("a"));
+        Assert.assertEquals("b", newCacheManager.createCache("b", -1L, TimeUnit.MILLISECONDS).get("b"));
+    }
+
+    @Test
+    public void testOpenCorruptedFile() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("corrupted.snapshot");
+        MapCacheManager cacheManager = MapCacheManager.newConcurrentHashMapCacheManager();
+        cacheManager.createCache("test", -1L, TimeUnit.MILLISECONDS).put("a", "a");
+        cacheManager.saveSnapshot(file, null);
+
+        // the directory of caches is corrupted
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 20] ^= 1;
+        Files.write(file, bytes);
+        Assert.assertThrows(Crane4jException.class, () -> cacheManager.loadSnapshot(file));
+
+        // the file is truncated
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        Assert.assertThrows(Crane4jException.class, () -> cacheManager.loadSnapshot(file));
+
+        Files.write(file, new byte[] {1, 2, 3});
+        Assert.assertThrows(Crane4jException.class, () -> cacheManager.loadSnapshot(file));
+
+        Path notExists = folder.getRoot().toPath().resolve("not-exists.snapshot");
+        Assert.assertThrows(Crane4jException.class, () -> cacheManager.loadSnapshot(notExists));
+    }
+}
@@ -0,0 +1,68 @@
+package cn.crane4j.core.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * test for {@link CacheStats} and {@link CacheStatsCounter}
+ *
+ * @author huangchengxing
+ */
+public class CacheStatsTest {
+
+    @Test
+    public void testEmpty() {
+        CacheStats stats = CacheStats.EMPTY;
+        Assert.assertEquals(0L, stats.getRequestCount());
+        Assert.assertEquals(1D, stats.getHitRate(), 0D);
+        Assert.assertEquals(0D, stats.getMissRate(), 0D);
+        Assert.assertEquals(0D, stats.getAverageLoadPenalty(), 0D);
+        Assert.assertEquals(0D, stats.getPartialHitBatchRate(), 0D);
+        Assert.assertEquals(0D, stats.getFullHitBatchRate(), 0D);
+        Assert.assertEquals(-1L, stats.getSize());
+    }
+
+    @Test
+    public void testRecord() {
+        CacheStatsCounter counter = new CacheStatsCounter();
+        counter.recordBatch(2, 2);
+        counter.recordBatch(1, 3);
+        counter.recordBatch(0, 1);
+        counter.recordBatch(0, 0);
+        counter.recordHits(1);
+        counter.recordMisses(-1);
+        counter.recordLoadSuccess(100L);
+        counter.recordLoadFailure(300L);
+        counter.recordEvictions(2L);
+
+        CacheStats stats = counter.snapshot(10L);
+        Assert.assertEquals(4L, stats.getHitCount());
+        Assert.assertEquals(3L, stats.getMissCount());
+        Assert.assertEquals(7L, stats.getRequestCount());
+        Assert.assertEquals(3L, stats.getBatchCount());
+        Assert.assertEquals(1L, stats.getFullHitBatchCount());
+        Assert.assertEquals(1L, stats.getPartialHitBatchCount());
+        Assert.assertEquals(1D / 3, stats.getPartialHitBatchRate(), 0.001D);
+        Assert.assertEquals(2L, stats.getLoadCount());
+        Assert.assertEquals(200D, stats.getAverageLoadPenalty(), 0D);
+        Assert.assertEquals(2L, stats.getEvictionCount());
+        Assert.assertEquals(10L, stats.getSize());
+
+        counter.reset();
+        Assert.assertEquals(new CacheStats(0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 10L), counter.snapshot(10L));
+    }
+
+    @Test
+    public void testMinusAndPlus() {
+        CacheStats before = new CacheStats(1L, 1L, 1L, 0L, 10L, 0L, 1L, 0L, 1L, 2L);
+        CacheStats after = new CacheStats(3L, 2L, 2L, 1L, 30L, 1L, 3L, 1L, 2L, 4L);
+        CacheStats diff = after.minus(before);
+        Assert.assertEquals(new CacheStats(2L, 1L, 1L, 1L, 20L, 1L, 2L, 1L, 1L, 4L), diff);
+        CacheStats sum = diff.plus(before);
+        Assert.assertEquals(after.getHitCount(), sum.getHitCount());
+        Assert.assertEquals(after.getTotalLoadTime(), sum.getTotalLoadTime());
+        Assert.assertEquals(6L, sum.getSize());
+        Assert.assertEquals(5L, sum.withEvictionCount(5L).getEvictionCount());
+        Assert.assertEquals(-1L, after.plus(CacheStats.EMPTY).getSize());
+    }
+}
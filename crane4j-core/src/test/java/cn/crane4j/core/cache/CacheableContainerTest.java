@@ -1,16 +1,31 @@
 package cn.crane4j.core.cache;
 
 import cn.crane4j.core.container.Container;
+import cn.crane4j.core.container.LambdaContainer;
 import lombok.Getter;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * test for {@link CacheableContainer}
@@ -74,6 +89,192 @@ public class CacheableContainerTest {
         Assert.assertNotSame(cacheA, newData.get("a"));
     }
 
+    @Test
+    public void getWhenMissingKeyCacheEnabled() {
+        List<Collection<String>> requestedKeys = new ArrayList<>();
+        Container<String> source = LambdaContainer.forLambda("missing", keys -> {
+            requestedKeys.add(keys);
+            return keys.stream()
+                .filter(k -> !k.startsWith("missing"))
+                .collect(Collectors.toMap(Function.identity(), Function.identity()));
+        });
+        CacheDefinition cacheDefinition = new CacheDefinition.Impl(
+            source.getNamespace(), null, -1L, TimeUnit.MILLISECONDS, -1L
+        );
+        Assert.assertEquals(-1L, cacheDefinition.getMissingKeyExpireTime().longValue());
+        CacheableContainer<String> container = new CacheableContainer<>(source, cacheDefinition, cacheManager);
+
+        Map<String, ?> data = container.get(Arrays.asList("a", "missing1"));
+        Assert.assertEquals(Collections.singletonMap("a", "a"), data);
+        Assert.assertEquals(1, requestedKeys.size());
+        // missing keys are recorded in a separate cache
+        Assert.assertNotNull(container.getCurrentMissingKeyCache().get("missing1"));
+        Assert.assertNotNull(cacheManager.getCache(source.getNamespace() + CacheableContainer.MISSING_KEY_CACHE_SUFFIX));
+
+        // the cached keys and missing keys will not be obtained from the container again
+        data = container.get(Arrays.asList("a", "missing1"));
+        Assert.assertEquals(Collections.singletonMap("a", "a"), data);
+        Assert.assertEquals(1, requestedKeys.size());
+
+        data = container.get(Arrays.asList("a", "b", "missing1", "missing2"));
+        Assert.assertEquals(2, data.size());
+        Assert.assertFalse(data.containsKey("missing1"));
+        Assert.assertEquals(2, requestedKeys.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("b", "missing2")), new HashSet<>(requestedKeys.get(1)));
+
+        // missing keys will be obtained again after cache is removed
+        cacheManager.removeCache(source.getNamespace() + CacheableContainer.MISSING_KEY_CACHE_SUFFIX);
+        container.get(Collections.singletonList("missing1"));
+        Assert.assertEquals(3, requestedKeys.size());
+    }
+
+    @Test
+    public void getWhenKeysAreLoadingByOtherThread() throws Exception {
+        List<Collection<String>> requestedKeys = new CopyOnWriteArrayList<>();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch otherKeysLoaded = new CountDownLatch(1);
+        Container<String> source = LambdaContainer.forLambda("singleFlight", keys -> {
+            requestedKeys.add(new HashSet<>(keys));
+            if (keys.contains("a")) {
+                loading.countDown();
+                await(otherKeysLoaded);
+            } else {
+                otherKeysLoaded.countDown();
+            }
+            return keys.stream().collect(Collectors.toMap(Function.identity(), k -> k + k));
+        });
+        CacheDefinition cacheDefinition = new CacheDefinition.Impl(
+            source.getNamespace(), null, -1L, TimeUnit.MILLISECONDS
+        );
+        CacheableContainer<String> container = new CacheableContainer<>(source, cacheDefinition, cacheManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Map<String, ?>> first = executor.submit(() -> container.get(Arrays.asList("a", "b")));
+            await(loading);
+            // "b" is loading by the first thread, so only "c" is loaded by the second thread
+            Future<Map<String, ?>> second = executor.submit(() -> container.get(Arrays.asList("b", "c")));
+            Map<String, ?> firstResult = first.get(5, TimeUnit.SECONDS);
+            Map<String, ?> secondResult = second.get(5, TimeUnit.SECONDS);
+            Assert.assertEquals("aa", firstResult.get("a"));
+            Assert.assertEquals("bb", firstResult.get("b"));
+            Assert.assertSame(firstResult.get("b"), secondResult.get("b"));
+            Assert.assertEquals("cc", secondResult.get("c"));
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(2, requestedKeys.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a", "b")), requestedKeys.get(0));
+        Assert.assertEquals(Collections.singleton("c"), requestedKeys.get(1));
+    }
+
+    @Test
+    public void getWhenLoadingFailed() {
+        Container<String> source = LambdaContainer.forLambda("failed", keys -> {
+            throw new IllegalStateException("failed");
+        });
+        CacheDefinition cacheDefinition = new CacheDefinition.Impl(
+            source.getNamespace(), null, -1L, TimeUnit.MILLISECONDS
+        );
+        CacheableContainer<String> container = new CacheableContainer<>(source, cacheDefinition, cacheManager);
+        Assert.assertThrows(IllegalStateException.class, () -> container.get(Collections.singleton("a")));
+        // the failed keys can be loaded again
+        Assert.assertThrows(IllegalStateException.class, () -> container.get(Collections.singleton("a")));
+    }
+
+    @Test
+    public void getWhenSoftExpireTimeEnabled() throws InterruptedException {
+        List<Collection<String>> requestedKeys = new CopyOnWriteArrayList<>();
+        Set<String> removedKeys = new HashSet<>();
+        AtomicInteger version = new AtomicInteger();
+        Container<String> source = LambdaContainer.forLambda("refresh", keys -> {
+            requestedKeys.add(keys);
+            int v = version.incrementAndGet();
+            return keys.stream()
+                .filter(k -> !removedKeys.contains(k))
+                .collect(Collectors.toMap(Function.identity(), k -> k + v));
+        });
+        CacheDefinition.Impl cacheDefinition = new CacheDefinition.Impl(
+            source.getNamespace(), null, -1L, TimeUnit.MILLISECONDS
+        );
+        cacheDefinition.setSoftExpireTime(50L);
+        CacheableContainer<String> container = new CacheableContainer<>(source, cacheDefinition, cacheManager);
+        List<Runnable> tasks = new ArrayList<>();
+        container.setRefreshExecutor(tasks::add);
+
+        Assert.assertEquals(Collections.singletonMap("a", "a1"), container.get(Collections.singletonList("a")));
+        Map<String, ?> data = container.get(Collections.singletonList("a"));
+        Assert.assertEquals(Collections.singletonMap("a", "a1"), data);
+        Assert.assertEquals(1, requestedKeys.size());
+
+        // stale values are returned directly, and only the none cached keys are loaded synchronously
+        Thread.sleep(100L);
+        data = container.get(Arrays.asList("a", "b"));
+        Assert.assertEquals("a1", data.get("a"));
+        Assert.assertEquals("b2", data.get("b"));
+        Assert.assertEquals(2, requestedKeys.size());
+        Assert.assertEquals(1, tasks.size());
+        // the keys which are refreshing will not be refreshed again
+        Assert.assertEquals("a1", container.get(Collections.singletonList("a")).get("a"));
+        Assert.assertEquals(1, tasks.size());
+
+        // refresh in background
+        tasks.remove(0).run();
+        Assert.assertEquals(Collections.singleton("a"), new HashSet<>(requestedKeys.get(2)));
+        Assert.assertEquals("a3", container.get(Collections.singletonList("a")).get("a"));
+
+        // the stale values of keys which no longer exist in container will be evicted after refreshing
+        Thread.sleep(100L);
+        removedKeys.add("a");
+        Assert.assertEquals("a3", container.get(Collections.singletonList("a")).get("a"));
+        tasks.remove(0).run();
+        Assert.assertEquals(4, requestedKeys.size());
+        Assert.assertTrue(container.get(Collections.singletonList("a")).isEmpty());
+        Assert.assertEquals(5, requestedKeys.size());
+
+        // use the stale values if the refreshing is rejected
+        container.setRefreshExecutor(task -> {
+            throw new RejectedExecutionException();
+        });
+        Assert.assertEquals("b2", container.get(Collections.singletonList("b")).get("b"));
+        Assert.assertEquals(5, requestedKeys.size());
+    }
+
+    @Test
+    public void getStats() {
+        Assert.assertEquals(0L, cacheableContainer.getStats().getRequestCount());
+        cacheableContainer.get(Arrays.asList("a", "b"));
+        cacheableContainer.get(Arrays.asList("a", "b"));
+        cacheableContainer.get(Arrays.asList("a", "c"));
+
+        CacheStats stats = cacheableContainer.getStats();
+        Assert.assertEquals(3L, stats.getHitCount());
+        Assert.assertEquals(3L, stats.getMissCount());
+        Assert.assertEquals(3L, stats.getBatchCount());
+        Assert.assertEquals(1L, stats.getFullHitBatchCount());
+        Assert.assertEquals(1L, stats.getPartialHitBatchCount());
+        Assert.assertEquals(2L, stats.getLoadSuccessCount());
+        Assert.assertEquals(0L, stats.getLoadFailureCount());
+        Assert.assertEquals(3L, stats.getSize());
+
+        Container<String> source = LambdaContainer.forLambda("failed", keys -> {
+            throw new IllegalStateException("failed");
+        });
+        CacheableContainer<String> container = new CacheableContainer<>(
+            source, new CacheDefinition.Impl(source.getNamespace(), null, -1L, TimeUnit.MILLISECONDS), cacheManager
+        );
+        Assert.assertThrows(IllegalStateException.class, () -> container.get(Collections.singleton("a")));
+        Assert.assertEquals(1L, container.getStats().getLoadFailureCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Getter
     private static class TestContainer implements Container<String>, Container.Lifecycle {
         private final String namespace = "test";
@@ -0,0 +1,183 @@
+package cn.crane4j.core.cache;
+
+import cn.crane4j.core.container.Container;
+import cn.crane4j.core.container.LambdaContainer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * test for {@link NearCacheManager}
+ *
+ * @author huangchengxing
+ */
+public class NearCacheManagerTest extends BaseCacheManagerTest {
+
+    private Map<Object, Object> sharedStore;
+    private CacheInvalidationBus bus;
+
+    @Override
+    protected void initManager() {
+        sharedStore = new ConcurrentHashMap<>();
+        bus = new LocalCacheInvalidationBus();
+        cacheManager = newNode();
+        cache = cacheManager.createCache("test", -1L, TimeUnit.MILLISECONDS);
+    }
+
+    private NearCacheManager newNode() {
+        // the remote caches of all nodes share the same store, like redis
+        CacheManager remoteCacheManager = new MapCacheManager() {
+            @SuppressWarnings("unchecked")
+            @Override
+            protected <K> Map<K, Object> createMap() {
+                return (Map<K, Object>)sharedStore;
+            }
+        };
+        return new NearCacheManager(MapCacheManager.newConcurrentHashMapCacheManager(), remoteCacheManager, bus);
+    }
+
+    @Test
+    public void testReadThroughLocalCache() {
+        NearCacheManager manager = (NearCacheManager)cacheManager;
+        CacheObject<String> local = manager.getLocalCacheManager().getCache("test");
+        CacheObject<String> remote = manager.getRemoteCacheManager().getCache("test");
+        Assert.assertNotNull(local);
+        Assert.assertNotNull(remote);
+
+        remote.put("a", "a");
+        remote.put("b", "b");
+        Assert.assertNull(local.get("a"));
+        // values read from remote cache are put into local cache
+        Assert.assertEquals("a", cache.get("a"));
+        Assert.assertEquals("a", local.get("a"));
+        Map<String, Object> values = cache.getAll(Arrays.asList("a", "b", "c"));
+        Assert.assertEquals(2, values.size());
+        Assert.assertEquals("b", local.get("b"));
+
+        // local cache is read first
+        local.put("a", "local");
+        Assert.assertEquals("local", cache.get("a"));
+    }
+
+    @Test
+    public void testInvalidateOtherNodes() {
+        NearCacheManager node1 = (NearCacheManager)cacheManager;
+        NearCacheManager node2 = newNode();
+        Assert.assertNotEquals(node1.getNodeId(), node2.getNodeId());
+        CacheObject<String> cache2 = node2.createCache("test", -1L, TimeUnit.MILLISECONDS);
+
+        cache.put("a", "a1");
+        Assert.assertEquals("a1", cache2.get("a"));
+        CacheObject<String> local2 = node2.getLocalCacheManager().getCache("test");
+        Assert.assertEquals("a1", local2.get("a"));
+
+        // write on node1 evicts the local copy on node2
+        cache.put("a", "a2");
+        Assert.assertNull(local2.get("a"));
+        Assert.assertEquals("a2", cache2.get("a"));
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("a", "a3");
+        cache.putAll(values);
+        Assert.assertNull(local2.get("a"));
+        Assert.assertEquals("a3", cache2.get("a"));
+
+        cache.remove("a");
+        Assert.assertNull(local2.get("a"));
+        Assert.assertNull(cache2.get("a"));
+
+        cache2.put("b", "b");
+        Assert.assertEquals("b", cache.get("b"));
+        cache2.removeAll(Collections.singletonList("b"));
+        Assert.assertNull(node1.getLocalCacheManager().getCache("test").get("b"));
+
+        cache2.put("c", "c");
+        Assert.assertEquals("c", cache.get("c"));
+        cache2.clear();
+        Assert.assertNull(node1.getLocalCacheManager().getCache("test").get("c"));
+    }
+
+    @Test
+    public void testLoadedValuesNotPublished() {
+        NearCacheManager node2 = newNode();
+        CacheObject<String> cache2 = node2.createCache("test", -1L, TimeUnit.MILLISECONDS);
+        cache.put("a", "a");
+        Assert.assertEquals("a", cache2.get("a"));
+        CacheObject<String> local2 = node2.getLocalCacheManager().getCache("test");
+
+        // filling the loaded values does not evict the local copies of other nodes
+        cache.putAllLoaded(Collections.singletonMap("a", "a"));
+        Assert.assertEquals("a", local2.get("a"));
+        Assert.assertEquals("a", node2.getRemoteCacheManager().getCache("test").get("a"));
+
+        // the values loaded by cacheable container are filled without publishing
+        CacheableContainer<String> container = new CacheableContainer<>(
+            LambdaContainer.forLambda("loaded", keys -> Collections.singletonMap("b", "b")),
+            new CacheDefinition.Impl("loaded", null, -1L, TimeUnit.MILLISECONDS), node2
+        );
+        NearCacheManager node1 = (NearCacheManager)cacheManager;
+        node1.createCache("loaded", -1L, TimeUnit.MILLISECONDS);
+        CacheObject<String> local1 = node1.getLocalCacheManager().getCache("loaded");
+        local1.put("b", "b");
+        Assert.assertEquals("b", container.get(Collections.singletonList("b")).get("b"));
+        Assert.assertEquals("b", local1.get("b"));
+    }
+
+    @Test
+    public void testLocalCacheDefinition() {
+        List<CacheDefinition> definitions = new ArrayList<>();
+        CacheManager localCacheManager = new MapCacheManager() {
+            @Override
+            public <K> CacheObject<K> createCache(CacheDefinition definition, @Nullable Container<K> loader) {
+                definitions.add(definition);
+                return super.createCache(definition, loader);
+            }
+            @Override
+            protected <K> Map<K, Object> createMap() {
+                return new ConcurrentHashMap<>();
+            }
+        };
+        NearCacheManager manager = new NearCacheManager(localCacheManager, MapCacheManager.newConcurrentHashMapCacheManager(), bus);
+        CacheDefinition.Impl definition = new CacheDefinition.Impl("test", null, 1L, TimeUnit.HOURS, 2L);
+        definition.setMaximumWeight(100L);
+        definition.setRefreshAfterWriteTime(1L);
+
+        // same definition by default
+        manager.createCache(definition, null);
+        Assert.assertSame(definition, definitions.get(0));
+
+        // the expiry time and max size are replaced
+        manager.setLocalExpireTime(30L);
+        manager.setLocalTimeUnit(TimeUnit.SECONDS);
+        manager.setLocalMaximumSize(10L);
+        manager.createCache(definition, null);
+        CacheDefinition local = definitions.get(1);
+        Assert.assertEquals("test", local.getName());
+        Assert.assertEquals(TimeUnit.SECONDS, local.getTimeUnit());
+        Assert.assertEquals(Long.valueOf(30L), local.getExpireTime());
+        Assert.assertEquals(Long.valueOf(7200L), local.getMissingKeyExpireTime());
+        Assert.assertEquals(Long.valueOf(3600L), local.getRefreshAfterWriteTime());
+        Assert.assertEquals(Long.valueOf(10L), local.getMaximumSize());
+        Assert.assertEquals(Long.valueOf(-1L), local.getMaximumWeight());
+    }
+
+    @Test
+    public void testRemoveCache() {
+        NearCacheManager manager = (NearCacheManager)cacheManager;
+        CacheObject<String> local = manager.getLocalCacheManager().getCache("test");
+        manager.removeCache("test");
+        Assert.assertTrue(cache.isInvalid());
+        Assert.assertTrue(local.isInvalid());
+        Assert.assertNull(manager.getLocalCacheManager().getCache("test"));
+        Assert.assertNull(manager.getRemoteCacheManager().getCache("test"));
+    }
+}
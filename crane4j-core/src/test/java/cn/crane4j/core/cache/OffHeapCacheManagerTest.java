@@ -0,0 +1,207 @@
+package cn.crane4j.core.cache;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * test for {@link OffHeapCacheManager}
+ *
+ * @author huangchengxing
+ */
+public class OffHeapCacheManagerTest {
+
+    private OffHeapCacheManager cacheManager;
+    private CacheObject<String> cache;
+
+    @Before
+    public void init() {
+        cacheManager = new OffHeapCacheManager();
+        cache = cacheManager.createCache("test", -1L, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testManager() {
+        Assert.assertSame(cache, cacheManager.getCache("test"));
+        cacheManager.removeCache("test");
+        Assert.assertTrue(cache.isInvalid());
+        Assert.assertNull(cacheManager.getCache("test"));
+    }
+
+    @Test
+    public void testCache() {
+        cache.put("a", "a");
+        Assert.assertEquals("a", cache.get("a"));
+        cache.put("a", Arrays.asList(1, 2));
+        Assert.assertEquals(Arrays.asList(1, 2), cache.get("a"));
+        cache.putIfAbsent("a", "b");
+        Assert.assertEquals(Arrays.asList(1, 2), cache.get("a"));
+        cache.putIfAbsent("b", "b");
+        Assert.assertEquals("b", cache.get("b"));
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("c", "c");
+        values.put("d", "d");
+        cache.putAll(values);
+        cache.putAll(Collections.emptyMap());
+        Map<String, Object> results = cache.getAll(Arrays.asList("a", "b", "c", "d", "e"));
+        Assert.assertEquals(4, results.size());
+        Assert.assertEquals("d", results.get("d"));
+        Assert.assertTrue(cache.getAll(Collections.emptyList()).isEmpty());
+
+        cache.remove("a");
+        Assert.assertNull(cache.get("a"));
+        cache.removeAll(Arrays.asList("b", "c"));
+        Assert.assertNull(cache.get("b"));
+        Assert.assertNull(cache.get("c"));
+        cache.clear();
+        Assert.assertNull(cache.get("d"));
+        cache.put("a", "a");
+        Assert.assertEquals("a", cache.get("a"));
+    }
+
+    @Test
+    public void testExpire() throws InterruptedException {
+        CacheObject<String> cacheObject = cacheManager.createCache("expire", 100L, TimeUnit.MILLISECONDS);
+        cacheObject.put("a", "a");
+        Assert.assertEquals("a", cacheObject.get("a"));
+        Thread.sleep(200L);
+        Assert.assertNull(cacheObject.get("a"));
+        cacheObject.putIfAbsent("a", "b");
+        Assert.assertEquals("b", cacheObject.get("a"));
+    }
+
+    @Test
+    public void testEvictWhenExceedMaximumBytes() {
+        AtomicInteger allocated = new AtomicInteger();
+        cacheManager.setSlabSize(32);
+        cacheManager.setBufferAllocator(size -> {
+            allocated.incrementAndGet();
+            return ByteBuffer.allocate(size);
+        });
+        cacheManager.setCodec(new StringCodec());
+        CacheDefinition.Impl definition = new CacheDefinition.Impl("bytes", null, -1L, TimeUnit.MILLISECONDS);
+        definition.setMaximumWeight(64L);
+        CacheObject<Integer> cacheObject = cacheManager.createCache(definition, null);
+
+        // each value is 8 bytes, and each slab can store 4 values
+        for (int i = 0; i < 20; i++) {
+            cacheObject.put(i, String.format("value-%02d", i));
+        }
+        Assert.assertEquals(2, allocated.get());
+        List<Integer> keys = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+        Map<Integer, Object> values = cacheObject.getAll(keys);
+        Assert.assertTrue(values.size() <= 8);
+        // the latest values are retained
+        Assert.assertEquals("value-19", values.get(19));
+        Assert.assertNull(values.get(0));
+        Assert.assertTrue(cacheObject.getStats().getEvictionCount() >= 12L);
+
+        // the values larger than slab are not cached
+        cacheObject.put(100, "a value which is larger than the slab");
+        Assert.assertNull(cacheObject.get(100));
+    }
+
+    @Test
+    public void testClampSlabSizeToMaximumBytes() {
+        List<Integer> sizes = new ArrayList<>();
+        cacheManager.setBufferAllocator(size -> {
+            sizes.add(size);
+            return ByteBuffer.allocate(size);
+        });
+        cacheManager.setCodec(new StringCodec());
+        CacheDefinition.Impl definition = new CacheDefinition.Impl("clamp", null, -1L, TimeUnit.MILLISECONDS);
+        definition.setMaximumWeight(64L);
+        CacheObject<Integer> cacheObject = cacheManager.createCache(definition, null);
+        for (int i = 0; i < 20; i++) {
+            cacheObject.put(i, String.format("value-%02d", i));
+        }
+        // the default slab size is 4MB, but only 64 bytes are allocated
+        Assert.assertEquals(Collections.singletonList(64), sizes);
+        Assert.assertEquals("value-19", cacheObject.get(19));
+    }
+
+    @Test
+    public void testCompactCodec() {
+        CacheValueCodec codec = CacheValueCodec.CompactCodec.INSTANCE;
+        List<Object> values = Arrays.asList("value", "", 1, Long.MAX_VALUE, 1.5D, true, false, Arrays.asList(1, 2));
+        for (Object value : values) {
+            Assert.assertEquals(value, codec.decode(codec.encode(value)));
+        }
+        Assert.assertEquals(6, codec.encode("value").length);
+        Assert.assertTrue(codec.encode(1L).length < CacheValueCodec.JdkSerializationCodec.INSTANCE.encode(1L).length);
+
+        cacheManager.setCodec(codec);
+        CacheObject<String> cacheObject = cacheManager.createCache("compact", -1L, TimeUnit.MILLISECONDS);
+        cacheObject.put("a", "a");
+        cacheObject.put("b", 2L);
+        Assert.assertEquals("a", cacheObject.get("a"));
+        Assert.assertEquals(2L, cacheObject.get("b"));
+    }
+
+    @Test
+    public void testEvictWhenExceedMaximumSize() {
+        cacheManager.setSlabSize(32);
+        cacheManager.setCodec(new StringCodec());
+        CacheDefinition.Impl definition = new CacheDefinition.Impl("size", null, -1L, TimeUnit.MILLISECONDS);
+        definition.setMaximumWeight(1024L);
+        definition.setMaximumSize(6L);
+        CacheObject<Integer> cacheObject = cacheManager.createCache(definition, null);
+        for (int i = 0; i < 20; i++) {
+            cacheObject.put(i, String.format("value-%02d", i));
+        }
+        Assert.assertTrue(cacheObject.getStats().getSize() <= 6L);
+        Assert.assertEquals("value-19", cacheObject.get(19));
+    }
+
+    @Test
+    public void testEvictWhenExceedMaximumSizeWithSingleSlab() {
+        cacheManager.setSlabSize(1024);
+        cacheManager.setCodec(new StringCodec());
+        CacheDefinition.Impl definition = new CacheDefinition.Impl("single", null, -1L, TimeUnit.MILLISECONDS);
+        definition.setMaximumWeight(1024L);
+        definition.setMaximumSize(6L);
+        CacheObject<Integer> cacheObject = cacheManager.createCache(definition, null);
+        for (int i = 0; i < 20; i++) {
+            cacheObject.put(i, String.format("value-%02d", i));
+            Assert.assertTrue(cacheObject.getStats().getSize() <= 6L);
+        }
+        Assert.assertEquals("value-19", cacheObject.get(19));
+        Assert.assertTrue(cacheObject.getStats().getEvictionCount() >= 14L);
+    }
+
+    @Test
+    public void testStats() {
+        cache.put("a", "a");
+        cache.get("a");
+        cache.getAll(Arrays.asList("a", "b"));
+        CacheStats stats = cache.getStats();
+        Assert.assertEquals(2L, stats.getHitCount());
+        Assert.assertEquals(1L, stats.getMissCount());
+        Assert.assertEquals(1L, stats.getSize());
+    }
+
+    private static class StringCodec implements CacheValueCodec {
+        @Override
+        public byte[] encode(Object value) {
+            return value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        @Override
+        public Object decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package cn.crane4j.core.container;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * test for {@link AsyncContainer}
+ *
+ * @author huangchengxing
+ */
+public class AsyncContainerTest {
+
+    @Test
+    public void testAdapt() {
+        Container<Integer> container = LambdaContainer.forLambda("test", keys -> keys.stream()
+            .collect(Collectors.toMap(Function.identity(), String::valueOf)));
+        AsyncContainer<Integer> asyncContainer = AsyncContainer.adapt(container, Runnable::run);
+        Assert.assertTrue(asyncContainer instanceof ContainerDelegate);
+        Assert.assertSame(container, ((ContainerDelegate<?>)asyncContainer).getContainer());
+        Assert.assertEquals("test", asyncContainer.getNamespace());
+        // adapt again
+        Assert.assertSame(asyncContainer, AsyncContainer.adapt(asyncContainer, Runnable::run));
+
+        Map<Integer, ?> result = asyncContainer.getAsync(Arrays.asList(1, 2)).join();
+        Assert.assertEquals("1", result.get(1));
+        Assert.assertEquals("2", result.get(2));
+        result = asyncContainer.get(Collections.singletonList(3));
+        Assert.assertEquals("3", result.get(3));
+    }
+
+    @Test
+    public void testGet() {
+        AsyncContainer<Integer> container = new AsyncContainer<Integer>() {
+            @Override
+            public String getNamespace() {
+                return "test";
+            }
+            @Override
+            public CompletableFuture<Map<Integer, ?>> getAsync(Collection<Integer> keys) {
+                return CompletableFuture.completedFuture(Collections.singletonMap(1, "1"));
+            }
+        };
+        Assert.assertEquals("1", container.get(Collections.singletonList(1)).get(1));
+    }
+}
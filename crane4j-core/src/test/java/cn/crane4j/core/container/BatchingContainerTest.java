@@ -0,0 +1,140 @@
+package cn.crane4j.core.container;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * test for {@link BatchingContainer} and {@link BatchingContainerProcessor}
+ *
+ * @author huangchengxing
+ */
+public class BatchingContainerTest {
+
+    @Test
+    public void testCoalesceConcurrentCalls() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Container<Integer> container = LambdaContainer.forLambda("test", keys -> {
+            calls.incrementAndGet();
+            return keys.stream().collect(Collectors.toMap(Function.identity(), String::valueOf));
+        });
+        BatchingContainer<Integer> batchingContainer = new BatchingContainer<>(container, 300, TimeUnit.MILLISECONDS, 1000);
+        Assert.assertSame(container, batchingContainer.getContainer());
+        Assert.assertEquals("test", batchingContainer.getNamespace());
+
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<CompletableFuture<Map<Integer, ?>>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            List<Integer> keys = Arrays.asList(i * 2, i * 2 + 1);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                awaitQuietly(latch);
+                return batchingContainer.get(keys);
+            }, executor));
+        }
+        latch.countDown();
+        for (int i = 0; i < threads; i++) {
+            Map<Integer, ?> result = futures.get(i).get(5, TimeUnit.SECONDS);
+            // each caller only receives the keys it asked for
+            Assert.assertEquals(2, result.size());
+            Assert.assertEquals(String.valueOf(i * 2), result.get(i * 2));
+            Assert.assertEquals(String.valueOf(i * 2 + 1), result.get(i * 2 + 1));
+        }
+        executor.shutdown();
+        Assert.assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testFetchImmediatelyWhenBatchIsFull() {
+        AtomicInteger calls = new AtomicInteger();
+        Container<Integer> container = LambdaContainer.forLambda("test", keys -> {
+            calls.incrementAndGet();
+            return keys.stream().collect(Collectors.toMap(Function.identity(), String::valueOf));
+        });
+        // the window is long enough, but the batch is full at once
+        BatchingContainer<Integer> batchingContainer = new BatchingContainer<>(container, 1, TimeUnit.HOURS, 2);
+        Map<Integer, ?> result = batchingContainer.get(Arrays.asList(1, 2));
+        Assert.assertEquals("1", result.get(1));
+        Assert.assertEquals("2", result.get(2));
+        Assert.assertEquals(1, calls.get());
+        Assert.assertTrue(batchingContainer.get(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testExceptionPropagation() {
+        Container<Integer> container = LambdaContainer.forLambda("test", keys -> {
+            throw new IllegalStateException("error");
+        });
+        BatchingContainer<Integer> batchingContainer = new BatchingContainer<>(container, 0, TimeUnit.MILLISECONDS, 10);
+        Assert.assertThrows(IllegalStateException.class, () -> batchingContainer.get(Collections.singletonList(1)));
+    }
+
+    @Test
+    public void testReleaseWaitersWhenErrorThrown() throws Exception {
+        Container<Integer> container = LambdaContainer.forLambda("test", keys -> {
+            throw new LinkageError("error");
+        });
+        BatchingContainer<Integer> batchingContainer = new BatchingContainer<>(container, 300, TimeUnit.MILLISECONDS, 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<CompletableFuture<Map<Integer, ?>>> futures = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            List<Integer> keys = Collections.singletonList(i);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                awaitQuietly(latch);
+                return batchingContainer.get(keys);
+            }, executor));
+        }
+        latch.countDown();
+        // both the leader and the follower receive the error instead of blocking forever
+        for (CompletableFuture<Map<Integer, ?>> future : futures) {
+            ExecutionException ex = Assert.assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            Assert.assertTrue(ex.getCause() instanceof LinkageError);
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void testProcessor() {
+        BatchingContainerProcessor processor = new BatchingContainerProcessor(
+            c -> "batch".equals(c.getNamespace()), 1, TimeUnit.MILLISECONDS, 10
+        );
+        Container<Object> container = LambdaContainer.forLambda("batch", BatchingContainerTest::getData);
+        Container<Object> processed = processor.whenCreated(ContainerDefinition.create("batch", null, () -> container), container);
+        Assert.assertTrue(processed instanceof BatchingContainer);
+        // already wrapped
+        Assert.assertSame(processed, processor.whenCreated(null, processed));
+
+        Container<Object> other = LambdaContainer.forLambda("other", BatchingContainerTest::getData);
+        Assert.assertSame(other, processor.whenCreated(ContainerDefinition.create("other", null, () -> other), other));
+        Assert.assertSame(Container.empty(), processor.whenCreated(null, Container.empty()));
+    }
+
+    private static Map<Object, Object> getData(Collection<Object> keys) {
+        return keys.stream().collect(Collectors.toMap(Function.identity(), Function.identity()));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
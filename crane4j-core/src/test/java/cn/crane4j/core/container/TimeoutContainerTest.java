@@ -0,0 +1,256 @@
+package cn.crane4j.core.container;
+
+import cn.crane4j.annotation.ContainerMethod;
+import cn.crane4j.annotation.ContainerTimeout;
+import cn.crane4j.annotation.MappingType;
+import cn.crane4j.core.cache.CacheDefinition;
+import cn.crane4j.core.cache.CacheManager;
+import cn.crane4j.core.cache.CacheObject;
+import cn.crane4j.core.cache.MapCacheManager;
+import cn.crane4j.core.support.SimpleCrane4jGlobalConfiguration;
+import cn.crane4j.core.support.container.ContainerMethodAnnotationProcessor;
+import cn.crane4j.core.util.ConfigurationUtil;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * test for {@link TimeoutContainer} and {@link TimeoutContainerProcessor}
+ *
+ * @author huangchengxing
+ */
+public class TimeoutContainerTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testGet() {
+        AtomicBoolean slow = new AtomicBoolean(false);
+        Container<Integer> container = LambdaContainer.forLambda("test", keys -> {
+            if (slow.get()) {
+                sleep(1000L);
+            }
+            return keys.stream().collect(Collectors.toMap(Function.identity(), String::valueOf));
+        });
+        List<Collection<?>> timeoutKeys = new ArrayList<>();
+        TimeoutContainer<Integer> timeoutContainer = new TimeoutContainer<>(
+            container, 50L, TimeUnit.MILLISECONDS, executor, null, (c, keys) -> timeoutKeys.add(keys)
+        );
+        Assert.assertSame(container, timeoutContainer.getContainer());
+        Assert.assertEquals("1", timeoutContainer.get(Collections.singletonList(1)).get(1));
+        Assert.assertTrue(timeoutKeys.isEmpty());
+
+        slow.set(true);
+        Assert.assertTrue(timeoutContainer.get(Collections.singletonList(1)).isEmpty());
+        Assert.assertEquals(1, timeoutKeys.size());
+        Assert.assertEquals(Collections.singletonList(1), timeoutKeys.get(0));
+    }
+
+    @Test
+    public void testInterruptWhenTimeout() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Container<Integer> container = LambdaContainer.forLambda("test", keys -> {
+            try {
+                Thread.sleep(5000L);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Collections.emptyMap();
+        });
+        TimeoutContainer<Integer> timeoutContainer = new TimeoutContainer<>(
+            container, 50L, TimeUnit.MILLISECONDS, executor, null, TimeoutContainer.Callback.NONE
+        );
+        Assert.assertTrue(timeoutContainer.get(Collections.singletonList(1)).isEmpty());
+        Assert.assertTrue(interrupted.await(1L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFallbackToStaleData() {
+        AtomicBoolean slow = new AtomicBoolean(false);
+        Container<Integer> container = LambdaContainer.forLambda("test", keys -> {
+            if (slow.get()) {
+                sleep(1000L);
+            }
+            return keys.stream().collect(Collectors.toMap(Function.identity(), String::valueOf));
+        });
+        SimpleCrane4jGlobalConfiguration configuration = SimpleCrane4jGlobalConfiguration.create();
+        TimeoutContainer<Integer> timeoutContainer = new TimeoutContainer<>(
+            container, 50L, TimeUnit.MILLISECONDS, executor,
+            configuration.getCacheManager(CacheManager.DEFAULT_MAP_CACHE_MANAGER_NAME).createCache("test", -1L, TimeUnit.MILLISECONDS),
+            TimeoutContainer.Callback.NONE
+        );
+        Assert.assertEquals("1", timeoutContainer.get(Collections.singletonList(1)).get(1));
+        slow.set(true);
+        Map<Integer, ?> results = timeoutContainer.get(Arrays.asList(1, 2));
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals("1", results.get(1));
+    }
+
+    @Test
+    public void testDeadline() {
+        Container<Integer> container = LambdaContainer.forLambda("test", keys -> Collections.singletonMap(1, "1"));
+        AtomicBoolean timeout = new AtomicBoolean(false);
+        TimeoutContainer<Integer> timeoutContainer = TimeoutContainer.withDeadline(
+            container, System.nanoTime() - 1, executor, (c, keys) -> timeout.set(true)
+        );
+        Assert.assertTrue(timeoutContainer.get(Collections.singletonList(1)).isEmpty());
+        Assert.assertTrue(timeout.get());
+    }
+
+    @Test
+    public void testException() {
+        Container<Integer> container = LambdaContainer.forLambda("test", keys -> {
+            throw new IllegalStateException("error");
+        });
+        TimeoutContainer<Integer> timeoutContainer = new TimeoutContainer<>(
+            container, 1L, TimeUnit.SECONDS, executor, null, TimeoutContainer.Callback.NONE
+        );
+        Assert.assertThrows(IllegalStateException.class, () -> timeoutContainer.get(Collections.singletonList(1)));
+    }
+
+    @Test
+    public void testProcessor() {
+        SimpleCrane4jGlobalConfiguration configuration = SimpleCrane4jGlobalConfiguration.create();
+        TimeoutContainerProcessor processor = new TimeoutContainerProcessor(configuration, executor);
+        processor.setCallback(TimeoutContainer.Callback.NONE);
+
+        // not configured
+        Container<Object> container = LambdaContainer.forLambda("test", keys -> Collections.emptyMap());
+        Assert.assertSame(container, processor.whenCreated(null, container));
+        Assert.assertSame(Container.empty(), processor.whenCreated(null, Container.empty()));
+
+        // configured by annotation
+        Container<Object> annotated = new AnnotatedContainer();
+        Container<Object> processed = processor.whenCreated(null, annotated);
+        Assert.assertTrue(processed instanceof TimeoutContainer);
+        Assert.assertSame(processed, processor.whenCreated(null, processed));
+        Assert.assertNotNull(configuration.getCacheManager(CacheManager.DEFAULT_MAP_CACHE_MANAGER_NAME).getCache("annotated$fallback"));
+
+        // configured by namespace
+        processor.registerTimeout("test", 1L, TimeUnit.SECONDS, null);
+        Assert.assertTrue(processor.whenCreated(null, container) instanceof TimeoutContainer);
+    }
+
+    @Test
+    public void testBoundedFallbackCache() {
+        SimpleCrane4jGlobalConfiguration configuration = SimpleCrane4jGlobalConfiguration.create();
+        List<CacheDefinition> definitions = new ArrayList<>();
+        configuration.getCacheManagerMap().put("recorded", new MapCacheManager() {
+            @Override
+            public <K> CacheObject<K> createCache(CacheDefinition definition, @Nullable Container<K> loader) {
+                definitions.add(definition);
+                return super.createCache(definition, loader);
+            }
+            @Override
+            protected <K> Map<K, Object> createMap() {
+                return new ConcurrentHashMap<>();
+            }
+        });
+        TimeoutContainerProcessor processor = new TimeoutContainerProcessor(configuration, executor);
+
+        // default bound
+        processor.registerTimeout("test", 1L, TimeUnit.SECONDS, "recorded");
+        processor.whenCreated(null, LambdaContainer.forLambda("test", keys -> Collections.emptyMap()));
+        Assert.assertEquals(1, definitions.size());
+        Assert.assertEquals("test$fallback", definitions.get(0).getName());
+        Assert.assertEquals(Long.valueOf(1L), definitions.get(0).getExpireTime());
+        Assert.assertEquals(TimeUnit.HOURS, definitions.get(0).getTimeUnit());
+        Assert.assertEquals(Long.valueOf(10000L), definitions.get(0).getMaximumSize());
+
+        // custom bound
+        processor.registerTimeout("custom", 1L, TimeUnit.SECONDS, "recorded", 5L, TimeUnit.MINUTES, 100L);
+        processor.whenCreated(null, LambdaContainer.forLambda("custom", keys -> Collections.emptyMap()));
+        Assert.assertEquals(Long.valueOf(5L), definitions.get(1).getExpireTime());
+        Assert.assertEquals(TimeUnit.MINUTES, definitions.get(1).getTimeUnit());
+        Assert.assertEquals(Long.valueOf(100L), definitions.get(1).getMaximumSize());
+    }
+
+    @Test
+    public void testMethodContainer() {
+        // the processor is registered by default, and applied to the method containers
+        SimpleCrane4jGlobalConfiguration configuration = SimpleCrane4jGlobalConfiguration.create();
+        Assert.assertTrue(configuration.getContainerLifecycleProcessors().stream()
+            .anyMatch(TimeoutContainerProcessor.class::isInstance));
+        ContainerMethodAnnotationProcessor annotationProcessor = ConfigurationUtil.createContainerMethodAnnotationProcessor(configuration);
+        Map<String, Container<Object>> containers = annotationProcessor.process(new SlowService(), SlowService.class).stream()
+            .collect(Collectors.toMap(Container::getNamespace, Function.identity()));
+        Assert.assertEquals(2, containers.size());
+        Assert.assertFalse(containers.get("fast") instanceof TimeoutContainer);
+        Container<Object> slow = containers.get("slow");
+        Assert.assertTrue(slow instanceof TimeoutContainer);
+
+        // the fields are left unassembled when timeout
+        long start = System.currentTimeMillis();
+        Assert.assertTrue(slow.get(Collections.singletonList("a")).isEmpty());
+        Assert.assertTrue(System.currentTimeMillis() - start < 1000L);
+        // the registered container is not wrapped again
+        Assert.assertSame(slow, configuration.getContainerLifecycleProcessors().stream()
+            .filter(TimeoutContainerProcessor.class::isInstance)
+            .findFirst()
+            .map(processor -> processor.whenCreated(null, slow))
+            .orElse(null));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @ContainerTimeout(timeout = 100L, fallbackCacheManager = CacheManager.DEFAULT_MAP_CACHE_MANAGER_NAME)
+    private static class AnnotatedContainer implements Container<Object> {
+        @Override
+        public String getNamespace() {
+            return "annotated";
+        }
+        @Override
+        public Map<Object, ?> get(Collection<Object> keys) {
+            return Collections.emptyMap();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class SlowService {
+
+        @ContainerTimeout(timeout = 100L)
+        @ContainerMethod(namespace = "slow", type = MappingType.NO_MAPPING, resultType = Object.class)
+        public Map<String, Object> slow(Collection<String> keys) {
+            sleep(2000L);
+            return Collections.emptyMap();
+        }
+
+        @ContainerMethod(namespace = "fast", type = MappingType.NO_MAPPING, resultType = Object.class)
+        public Map<String, Object> fast(Collection<String> keys) {
+            return Collections.emptyMap();
+        }
+    }
+}
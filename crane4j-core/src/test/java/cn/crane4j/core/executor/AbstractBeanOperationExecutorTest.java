@@ -9,11 +9,13 @@ import cn.crane4j.core.parser.operation.KeyTriggerOperation;
 import cn.crane4j.core.util.CollectionUtils;
 import lombok.Data;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -59,6 +61,24 @@ public class AbstractBeanOperationExecutorTest extends BaseExecutorTest {
         Assert.assertEquals(2, executions.size());
     }
 
+    @Test
+    public void executeWhenNestedBeansAreSharedOrCyclic() {
+        Node root = new Node().setId(1);
+        Node shared = new Node().setId(2);
+        Node child1 = new Node().setId(3).setChildren(Arrays.asList(shared, root));
+        Node child2 = new Node().setId(4).setChildren(Collections.singletonList(shared));
+        root.setChildren(Arrays.asList(child1, child2, child1));
+        shared.setChildren(Collections.singletonList(child1));
+
+        executor.execute(Collections.singletonList(root), parseOperations(Node.class));
+        List<AssembleExecution> executions = executor.getExecutions();
+        Assert.assertEquals(1, executions.size());
+        // each node is collected only once by identity
+        List<Object> targets = new ArrayList<>(CollectionUtils.get(executions, 0).getTargets());
+        Assert.assertEquals(4, targets.size());
+        Assert.assertEquals(Arrays.asList(root, child1, child2, shared), targets);
+    }
+
     private static void checkAssembleOperation(
         AssembleExecution executionForId, Class<?> targetType, int targetSize, String key) {
         Assert.assertNotNull(executionForId);
@@ -114,4 +134,14 @@ public class AbstractBeanOperationExecutorTest extends BaseExecutorTest {
         private Integer type;
         private String typeName;
     }
+
+    @Accessors(chain = true)
+    @Getter
+    @Setter
+    private static class Node {
+        @Assemble
+        private Integer id;
+        @Disassemble(type = Node.class)
+        private List<Node> children;
+    }
 }
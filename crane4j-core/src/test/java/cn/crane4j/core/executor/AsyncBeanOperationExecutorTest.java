@@ -5,8 +5,11 @@ import cn.crane4j.annotation.Disassemble;
 import cn.crane4j.annotation.Mapping;
 import cn.crane4j.core.container.Container;
 import cn.crane4j.core.container.Containers;
+import cn.crane4j.core.container.LambdaContainer;
+import cn.crane4j.core.executor.handler.ManyToManyAssembleOperationHandler;
 import cn.crane4j.core.parser.BeanOperations;
 import cn.crane4j.core.parser.SimpleBeanOperations;
+import cn.crane4j.core.support.metrics.InMemoryExecutionListener;
 import lombok.Data;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +26,7 @@ import java.util.Map;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * test for {@link AbstractBeanOperationExecutor}
@@ -77,6 +81,146 @@ public class AsyncBeanOperationExecutorTest extends BaseExecutorTest {
         Assert.assertEquals("one", bean2.getNestedBean().getTypeName());
     }
 
+    @Test
+    public void executeWhenMergeExecutions() {
+        AtomicInteger calls = new AtomicInteger();
+        Map<Integer, Object> sources = new HashMap<>();
+        sources.put(1, new Source(1, "one"));
+        sources.put(2, new Source(2, "two"));
+        configuration.registerContainer(LambdaContainer.<Integer>forLambda("test", keys -> {
+            calls.incrementAndGet();
+            return sources;
+        }));
+        operationExecutor.setMergeExecutions(true);
+        BeanOperations beanOperations = parseOperations(Bean.class);
+
+        // executions of bean and nested bean are merged into one group
+        Bean bean1 = new Bean().setId(1).setNestedBean(new NestedBean().setType(2));
+        Bean bean2 = new Bean().setId(2).setNestedBean(new NestedBean().setType(1));
+        operationExecutor.execute(Arrays.asList(bean1, bean2), beanOperations);
+        Assert.assertEquals(1, calls.get());
+        Assert.assertEquals("one", bean1.getName());
+        Assert.assertEquals("two", bean1.getNestedBean().getTypeName());
+        Assert.assertEquals("two", bean2.getName());
+        Assert.assertEquals("one", bean2.getNestedBean().getTypeName());
+
+        // keys of different handlers which use the same container are fetched at once
+        calls.set(0);
+        MultiHandlerBean bean3 = new MultiHandlerBean().setId(1).setIds(Arrays.asList(1, 2));
+        operationExecutor.execute(Collections.singletonList(bean3), parseOperations(MultiHandlerBean.class));
+        Assert.assertEquals(1, calls.get());
+        Assert.assertEquals("one", bean3.getName());
+        Assert.assertEquals(Arrays.asList("one", "two"), bean3.getNames());
+        executor.shutdown();
+    }
+
+    @Test
+    public void executeWithMaxConcurrentTasks() {
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+            4, 4, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()
+        );
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+        Map<Integer, Object> sources = new HashMap<>();
+        sources.put(1, new Source(1, "one"));
+        sources.put(2, new Source(2, "two"));
+        for (String namespace : Arrays.asList("a", "b", "c", "d")) {
+            configuration.registerContainer(LambdaContainer.<Integer>forLambda(namespace, keys -> {
+                calls.incrementAndGet();
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return sources;
+            }));
+        }
+        AsyncBeanOperationExecutor limitedExecutor = new AsyncBeanOperationExecutor(configuration, threadPool);
+        limitedExecutor.setMergeExecutions(true);
+        limitedExecutor.setMaxConcurrentTasks(2);
+
+        List<MultiContainerBean> beans = Arrays.asList(new MultiContainerBean().setId(1), new MultiContainerBean().setId(2));
+        limitedExecutor.execute(beans, parseOperations(MultiContainerBean.class));
+        // each group only accesses the container once, and at most 2 groups run at the same time
+        Assert.assertEquals(4, calls.get());
+        Assert.assertTrue(maxRunning.get() <= 2);
+        Assert.assertEquals("one", beans.get(0).getA());
+        Assert.assertEquals("two", beans.get(1).getD());
+
+        // also works when the executions are not merged
+        calls.set(0);
+        maxRunning.set(0);
+        limitedExecutor.setMergeExecutions(false);
+        limitedExecutor.execute(beans, parseOperations(MultiContainerBean.class));
+        Assert.assertEquals(4, calls.get());
+        Assert.assertTrue(maxRunning.get() <= 2);
+        threadPool.shutdown();
+    }
+
+    @Test
+    public void executeWithExecutionListener() {
+        InMemoryExecutionListener listener = new InMemoryExecutionListener();
+        operationExecutor.setExecutionListener(listener);
+        BeanOperations beanOperations = parseOperations(Bean.class);
+
+        // each execution is submitted as an independent task
+        Bean bean1 = new Bean().setId(1).setNestedBean(new NestedBean().setType(2));
+        operationExecutor.execute(Collections.singletonList(bean1), beanOperations);
+        Assert.assertEquals("one", bean1.getName());
+        Assert.assertEquals("two", bean1.getNestedBean().getTypeName());
+        InMemoryExecutionListener.ContainerMetrics metrics = listener.getContainerMetrics().get("test");
+        Assert.assertEquals(2L, metrics.getCalls());
+        Assert.assertEquals(2L, metrics.getKeys());
+        Assert.assertEquals(2L, metrics.getFetchLatency().getCount());
+
+        // executions are merged by container and handler
+        listener.reset();
+        operationExecutor.setMergeExecutions(true);
+        Bean bean2 = new Bean().setId(2).setNestedBean(new NestedBean().setType(1));
+        operationExecutor.execute(Collections.singletonList(bean2), beanOperations);
+        Assert.assertEquals("two", bean2.getName());
+        Assert.assertEquals("one", bean2.getNestedBean().getTypeName());
+        metrics = listener.getContainerMetrics().get("test");
+        Assert.assertEquals(1L, metrics.getCalls());
+        Assert.assertEquals(2L, metrics.getKeys());
+
+        // executed asynchronously
+        listener.reset();
+        Bean bean3 = new Bean().setId(1).setNestedBean(new NestedBean().setType(1));
+        operationExecutor.executeAsync(Collections.singletonList(bean3), beanOperations).join();
+        Assert.assertEquals("one", bean3.getName());
+        Assert.assertEquals("one", bean3.getNestedBean().getTypeName());
+        metrics = listener.getContainerMetrics().get("test");
+        Assert.assertEquals(1L, metrics.getCalls());
+        // the same key of bean and nested bean is counted twice but requested once
+        Assert.assertEquals(2L, metrics.getKeys());
+        Assert.assertEquals(1L, metrics.getDistinctKeys());
+        Assert.assertEquals(0L, metrics.getFetchFailures());
+        Assert.assertEquals(0L, metrics.getMappingFailures());
+        executor.shutdown();
+    }
+
+    @Test
+    public void executeWithExecutionListenerWhenHandlerNotPrepared() {
+        AtomicInteger calls = new AtomicInteger();
+        configuration.getAssembleOperationHandlerMap().put("notPrepared", (container, executions) -> calls.incrementAndGet());
+        InMemoryExecutionListener listener = new InMemoryExecutionListener();
+        operationExecutor.setExecutionListener(listener);
+        BeanOperations beanOperations = parseOperations(NotPreparedBean.class);
+
+        operationExecutor.execute(Collections.singletonList(new NotPreparedBean().setId(1)), beanOperations);
+        operationExecutor.executeAsync(Collections.singletonList(new NotPreparedBean().setId(1)), beanOperations).join();
+        Assert.assertEquals(2, calls.get());
+        InMemoryExecutionListener.ContainerMetrics metrics = listener.getContainerMetrics().get("test");
+        Assert.assertEquals(2L, metrics.getProcesses());
+        Assert.assertEquals(0L, metrics.getProcessFailures());
+        Assert.assertEquals(0L, metrics.getCalls());
+        executor.shutdown();
+    }
+
     @Getter
     @RequiredArgsConstructor
     private static class Source {
@@ -94,6 +238,14 @@ public class AsyncBeanOperationExecutorTest extends BaseExecutorTest {
         private NestedBean nestedBean;
     }
 
+    @Accessors(chain = true)
+    @Data
+    private static class NotPreparedBean {
+        @Assemble(container = "test", handler = "notPrepared", props = @Mapping(ref = "name", src = "value"))
+        private Integer id;
+        private String name;
+    }
+
     @Accessors(chain = true)
     @Data
     private static class NestedBean {
@@ -101,4 +253,32 @@ public class AsyncBeanOperationExecutorTest extends BaseExecutorTest {
         private Integer type;
         private String typeName;
     }
+
+    @Accessors(chain = true)
+    @Data
+    private static class MultiContainerBean {
+        @Assemble(container = "a", props = @Mapping(ref = "a", src = "value"))
+        @Assemble(container = "b", props = @Mapping(ref = "b", src = "value"))
+        @Assemble(container = "c", props = @Mapping(ref = "c", src = "value"))
+        @Assemble(container = "d", props = @Mapping(ref = "d", src = "value"))
+        private Integer id;
+        private String a;
+        private String b;
+        private String c;
+        private String d;
+    }
+
+    @Accessors(chain = true)
+    @Data
+    private static class MultiHandlerBean {
+        @Assemble(container = "test", props = @Mapping(ref = "name", src = "value"))
+        private Integer id;
+        private String name;
+        @Assemble(
+            container = "test", handlerType = ManyToManyAssembleOperationHandler.class,
+            props = @Mapping(ref = "names", src = "value")
+        )
+        private List<Integer> ids;
+        private List<String> names;
+    }
 }
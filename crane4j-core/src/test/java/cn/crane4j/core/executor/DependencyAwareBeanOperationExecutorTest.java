@@ -0,0 +1,92 @@
+package cn.crane4j.core.executor;
+
+import cn.crane4j.annotation.Assemble;
+import cn.crane4j.annotation.Mapping;
+import cn.crane4j.core.container.Container;
+import cn.crane4j.core.container.Containers;
+import cn.crane4j.core.parser.BeanOperations;
+import cn.crane4j.core.parser.operation.AssembleOperation;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * test for {@link DependencyAwareBeanOperationExecutor}
+ *
+ * @author huangchengxing
+ */
+public class DependencyAwareBeanOperationExecutorTest extends BaseExecutorTest {
+
+    private ExecutorService threadPool;
+    private List<Integer> levelSizes;
+    private DependencyAwareBeanOperationExecutor executor;
+
+    @Before
+    public void init() {
+        threadPool = Executors.newFixedThreadPool(2);
+        levelSizes = new ArrayList<>();
+        executor = new DependencyAwareBeanOperationExecutor(
+            configuration, Comparator.comparing(AssembleOperation::getSort), threadPool) {
+            @Override
+            protected void doExecuteLevel(List<AssembleExecution> executions) {
+                levelSizes.add(executions.size());
+                super.doExecuteLevel(executions);
+            }
+        };
+        Map<Object, Object> sources = new HashMap<>();
+        sources.put(1, "two");
+        sources.put("two", "three");
+        sources.put(3, "four");
+        Container<Object> container = Containers.forMap("test", sources);
+        configuration.registerContainer(container);
+    }
+
+    @After
+    public void destroy() {
+        threadPool.shutdown();
+    }
+
+    @Test
+    public void execute() {
+        Bean bean1 = new Bean().setId(1).setCode("1").setExtId(3);
+        Bean bean2 = new Bean().setId(1).setExtId(3);
+        BeanOperations beanOperations = parseOperations(Bean.class);
+        executor.execute(Arrays.asList(bean1, bean2), beanOperations);
+
+        // id -> code -> name -> type must be executed in order, but extId is independent
+        Assert.assertEquals(Arrays.asList(2, 1, 1), levelSizes);
+        for (Bean bean : Arrays.asList(bean1, bean2)) {
+            Assert.assertEquals("two", bean.getCode());
+            Assert.assertEquals("three", bean.getName());
+            Assert.assertEquals("three", bean.getType());
+            Assert.assertEquals("four", bean.getExtName());
+        }
+    }
+
+    @Accessors(chain = true)
+    @Data
+    private static class Bean {
+        @Assemble(container = "test", props = @Mapping(ref = "name"), sort = 1)
+        private String code;
+        @Assemble(container = "test", props = @Mapping(ref = "code"), sort = 0)
+        private Integer id;
+        private String name;
+        @Assemble(props = @Mapping(src = "name"), sort = 2)
+        private String type;
+        @Assemble(container = "test", props = @Mapping(ref = "extName"), sort = 3)
+        private Integer extId;
+        private String extName;
+    }
+}
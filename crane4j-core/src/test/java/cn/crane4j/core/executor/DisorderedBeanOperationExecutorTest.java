@@ -4,9 +4,15 @@ import cn.crane4j.annotation.Assemble;
 import cn.crane4j.annotation.Disassemble;
 import cn.crane4j.annotation.Mapping;
 import cn.crane4j.annotation.condition.ConditionOnProperty;
+import cn.crane4j.core.container.AsyncContainer;
 import cn.crane4j.core.container.Container;
+import cn.crane4j.core.container.ContainerManager;
 import cn.crane4j.core.container.Containers;
+import cn.crane4j.core.container.LambdaContainer;
+import cn.crane4j.core.executor.handler.ManyToManyAssembleOperationHandler;
 import cn.crane4j.core.parser.BeanOperations;
+import cn.crane4j.core.parser.operation.KeyTriggerOperation;
+import cn.crane4j.core.support.metrics.InMemoryExecutionListener;
 import lombok.Data;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -16,11 +22,20 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * test for {@link DisorderedBeanOperationExecutor}
@@ -58,6 +73,198 @@ public class DisorderedBeanOperationExecutorTest extends BaseExecutorTest {
         Assert.assertEquals("one", bean2.getNestedBean().getTypeName());
     }
 
+    @Test
+    public void executeAsync() {
+        Map<Integer, Object> sources = new HashMap<>();
+        sources.put(1, new Source(1, "one"));
+        sources.put(2, new Source(2, "two"));
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Map<Integer, ?>> result = new CompletableFuture<>();
+        configuration.registerContainer(new AsyncContainer<Integer>() {
+            @Override
+            public String getNamespace() {
+                return "test";
+            }
+            @Override
+            public CompletableFuture<Map<Integer, ?>> getAsync(Collection<Integer> keys) {
+                calls.incrementAndGet();
+                return result;
+            }
+        });
+
+        Bean bean1 = new Bean().setId(1).setNestedBean(new NestedBean().setType(2));
+        Bean bean2 = new Bean().setId(2).setNestedBean(new NestedBean().setType(1));
+        BeanOperations beanOperations = parseOperations(Bean.class);
+        executor.setAsyncExecutor(Runnable::run);
+        CompletableFuture<Void> future = executor.executeAsync(Arrays.asList(bean1, bean2), beanOperations);
+        // waiting for the data source, but the current thread is not blocked
+        Assert.assertFalse(future.isDone());
+        Assert.assertEquals(1, calls.get());
+        result.complete(sources);
+        future.join();
+
+        Assert.assertEquals("one", bean1.getName());
+        Assert.assertEquals("two", bean1.getNestedBean().getTypeName());
+        Assert.assertEquals("two", bean2.getName());
+        Assert.assertEquals("one", bean2.getNestedBean().getTypeName());
+        Assert.assertTrue(executor.executeAsync(Collections.emptyList(), beanOperations).isDone());
+    }
+
+    @Test
+    public void executeAsyncWithoutContainer() {
+        IntrospectedBean bean = new IntrospectedBean().setName("name");
+        executor.executeAsync(Collections.singletonList(bean), parseOperations(IntrospectedBean.class)).join();
+        Assert.assertEquals("name", bean.getAlias());
+    }
+
+    @Test
+    public void executeWithExecutionPlanCache() {
+        BeanOperations beanOperations = parseOperations(Bean.class);
+        Predicate<KeyTriggerOperation> filter = op -> true;
+        Assert.assertNotSame(executor.getExecutionPlan(beanOperations, filter), executor.getExecutionPlan(beanOperations, filter));
+
+        executor.setEnableExecutionPlanCache(true);
+        ExecutionPlan plan = executor.getExecutionPlan(beanOperations, filter);
+        Assert.assertSame(plan, executor.getExecutionPlan(beanOperations, filter));
+        Assert.assertEquals(1, plan.getAssembleOperations().size());
+        Assert.assertEquals(1, plan.getDisassembleOperations().size());
+        ExecutionPlan emptyPlan = executor.getExecutionPlan(beanOperations, op -> false);
+        Assert.assertTrue(emptyPlan.getAssembleOperations().isEmpty());
+        Assert.assertTrue(emptyPlan.getDisassembleOperations().isEmpty());
+
+        // containers are only resolved once for each namespace
+        AtomicInteger resolveCount = new AtomicInteger();
+        BeanOperationExecutor.Options options = new BeanOperationExecutor.Options() {
+            @Override
+            public Predicate<? super KeyTriggerOperation> getFilter() {
+                return filter;
+            }
+            @Override
+            public Container<?> getContainer(ContainerManager containerManager, String namespace) {
+                resolveCount.incrementAndGet();
+                return containerManager.getContainer(namespace);
+            }
+        };
+        Bean bean1 = new Bean().setId(1).setNestedBean(new NestedBean().setType(2));
+        Bean bean2 = new Bean().setId(2).setNestedBean(new NestedBean().setType(1));
+        executor.execute(Arrays.asList(bean1, bean2), beanOperations, options);
+        Assert.assertEquals(1, resolveCount.get());
+        Assert.assertEquals("one", bean1.getName());
+        Assert.assertEquals("two", bean1.getNestedBean().getTypeName());
+        Assert.assertEquals("two", bean2.getName());
+        Assert.assertEquals("one", bean2.getNestedBean().getTypeName());
+    }
+
+    @Test
+    public void executeWithGroupedExecutionPlan() {
+        ExecutionPlan plan = executor.getExecutionPlan(parseOperations(MultiHandlerBean.class), op -> true);
+        List<ExecutionPlan.AssembleOperationGroup> groups = plan.getAssembleOperationGroups();
+        Assert.assertEquals(2, groups.size());
+        Assert.assertEquals("test", groups.get(0).getNamespace());
+        Assert.assertNotSame(groups.get(0).getHandler(), groups.get(1).getHandler());
+        Assert.assertEquals(1, groups.get(0).getOperations().size());
+
+        plan = executor.getExecutionPlan(parseOperations(MethodBasedOperationBean.class), op -> true);
+        groups = plan.getAssembleOperationGroups();
+        Assert.assertEquals(1, groups.size());
+        Assert.assertEquals(plan.getAssembleOperations(), groups.get(0).getOperations());
+        Assert.assertTrue(executor.getExecutionPlan(parseOperations(MethodBasedOperationBean.class), op -> false)
+            .getAssembleOperationGroups().isEmpty());
+    }
+
+    @Test
+    public void executeWithSharedFetch() {
+        Map<Integer, Object> sources = new HashMap<>();
+        sources.put(1, new Source(1, "one"));
+        sources.put(2, new Source(2, "two"));
+        sources.put(3, new Source(3, "three"));
+        List<Collection<Integer>> requestedKeys = new ArrayList<>();
+        configuration.registerContainer(LambdaContainer.<Integer>forLambda("test", keys -> {
+            requestedKeys.add(keys);
+            return sources;
+        }));
+
+        MultiHandlerBean bean = new MultiHandlerBean().setId(1).setIds(Arrays.asList(2, 3));
+        executor.execute(Collections.singletonList(bean), parseOperations(MultiHandlerBean.class));
+        // keys of different handlers are fetched at once
+        Assert.assertEquals(1, requestedKeys.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), new HashSet<>(requestedKeys.get(0)));
+        Assert.assertEquals("one", bean.getName());
+        Assert.assertEquals(Arrays.asList("two", "three"), bean.getNames());
+    }
+
+    @Test
+    public void executeWithExecutionListener() {
+        Map<Integer, Object> sources = new HashMap<>();
+        sources.put(1, new Source(1, "one"));
+        sources.put(2, new Source(2, "two"));
+        configuration.registerContainer(LambdaContainer.<Integer>forLambda("test", keys -> sources));
+        InMemoryExecutionListener listener = new InMemoryExecutionListener();
+        executor.setExecutionListener(listener);
+
+        MultiHandlerBean bean = new MultiHandlerBean().setId(1).setIds(Arrays.asList(1, 2));
+        executor.execute(Collections.singletonList(bean), parseOperations(MultiHandlerBean.class));
+        Assert.assertEquals("one", bean.getName());
+        Assert.assertEquals(Arrays.asList("one", "two"), bean.getNames());
+
+        Assert.assertEquals(1L, listener.getDisassembleMetrics().getCount());
+        InMemoryExecutionListener.ContainerMetrics metrics = listener.getContainerMetrics().get("test");
+        Assert.assertNotNull(metrics);
+        Assert.assertEquals(1L, metrics.getCalls());
+        Assert.assertEquals(3L, metrics.getKeys());
+        Assert.assertEquals(2L, metrics.getDistinctKeys());
+        Assert.assertEquals(0L, metrics.getFetchFailures());
+        Assert.assertEquals(0L, metrics.getMappingFailures());
+        Assert.assertEquals(1L, metrics.getFetchLatency().getCount());
+    }
+
+    @Test
+    public void executeAsyncWithExecutionListener() {
+        Map<Integer, Object> sources = new HashMap<>();
+        sources.put(1, new Source(1, "one"));
+        sources.put(2, new Source(2, "two"));
+        configuration.registerContainer(LambdaContainer.<Integer>forLambda("test", keys -> sources));
+        InMemoryExecutionListener listener = new InMemoryExecutionListener();
+        executor.setExecutionListener(listener);
+
+        // the keys are counted before deduplication
+        MultiHandlerBean bean1 = new MultiHandlerBean().setId(1).setIds(Arrays.asList(2, 2));
+        MultiHandlerBean bean2 = new MultiHandlerBean().setId(1).setIds(Arrays.asList(1, 2));
+        executor.executeAsync(Arrays.asList(bean1, bean2), parseOperations(MultiHandlerBean.class)).join();
+        Assert.assertEquals("one", bean2.getName());
+        Assert.assertEquals(Arrays.asList("two", "two"), bean1.getNames());
+
+        InMemoryExecutionListener.ContainerMetrics metrics = listener.getContainerMetrics().get("test");
+        Assert.assertNotNull(metrics);
+        Assert.assertEquals(6L, metrics.getKeys());
+        Assert.assertEquals(3L, metrics.getDistinctKeys());
+    }
+
+    @Test
+    public void executeWithTimeout() {
+        configuration.registerContainer(LambdaContainer.<Integer>forLambda("test", keys -> {
+            try {
+                Thread.sleep(1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Collections.emptyMap();
+        }));
+        List<String> timeoutNamespaces = new ArrayList<>();
+        ExecutorService threadPool = Executors.newCachedThreadPool();
+        BeanOperationExecutor.Options options = new BeanOperationExecutor.Options.TimeoutOption(
+            () -> op -> true, 50L, TimeUnit.MILLISECONDS, threadPool, (c, keys) -> timeoutNamespaces.add(c.getNamespace())
+        );
+        Bean bean = new Bean().setId(1).setNestedBean(new NestedBean().setType(2));
+        long start = System.currentTimeMillis();
+        executor.execute(Collections.singletonList(bean), parseOperations(Bean.class), options);
+        Assert.assertTrue(System.currentTimeMillis() - start < 1000L);
+        Assert.assertNull(bean.getName());
+        Assert.assertNull(bean.getNestedBean().getTypeName());
+        Assert.assertEquals(Collections.singletonList("test"), timeoutNamespaces);
+        threadPool.shutdownNow();
+    }
+
     @Test
     public void executeWithCondition() {
         ConditionalBean bean1 = new ConditionalBean().setId(1);
@@ -103,6 +310,20 @@ public class DisorderedBeanOperationExecutorTest extends BaseExecutorTest {
         private String typeName;
     }
 
+    @Accessors(chain = true)
+    @Data
+    private static class MultiHandlerBean {
+        @Assemble(container = "test", props = @Mapping(ref = "name", src = "value"))
+        private Integer id;
+        private String name;
+        @Assemble(
+            container = "test", handlerType = ManyToManyAssembleOperationHandler.class,
+            props = @Mapping(ref = "names", src = "value")
+        )
+        private List<Integer> ids;
+        private List<String> names;
+    }
+
     @Accessors(chain = true)
     @Data
     private static class ConditionalBean {
@@ -132,4 +353,12 @@ public class DisorderedBeanOperationExecutorTest extends BaseExecutorTest {
             return field1;
         }
     }
+
+    @Accessors(chain = true)
+    @Data
+    private static class IntrospectedBean {
+        private String name;
+        @Assemble(props = @Mapping(src = "name"))
+        private String alias;
+    }
 }
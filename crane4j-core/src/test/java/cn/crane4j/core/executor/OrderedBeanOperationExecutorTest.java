@@ -6,6 +6,7 @@ import cn.crane4j.core.container.Container;
 import cn.crane4j.core.container.Containers;
 import cn.crane4j.core.parser.BeanOperations;
 import cn.crane4j.core.parser.operation.AssembleOperation;
+import cn.crane4j.core.support.metrics.InMemoryExecutionListener;
 import lombok.Data;
 import lombok.experimental.Accessors;
 import org.junit.Assert;
@@ -46,6 +47,25 @@ public class OrderedBeanOperationExecutorTest extends BaseExecutorTest {
         Assert.assertEquals("three", bean.getType());
     }
 
+    @Test
+    public void executeWithExecutionListener() {
+        InMemoryExecutionListener listener = new InMemoryExecutionListener();
+        executor.setExecutionListener(listener);
+        Bean bean = new Bean().setId(1);
+        executor.execute(Collections.singleton(bean), parseOperations(Bean.class));
+        Assert.assertEquals("three", bean.getType());
+
+        // the operations are executed one by one, and the operation without container is not reported
+        Assert.assertEquals(1L, listener.getDisassembleMetrics().getCount());
+        Assert.assertEquals(Collections.singleton("test"), listener.getContainerMetrics().keySet());
+        InMemoryExecutionListener.ContainerMetrics metrics = listener.getContainerMetrics().get("test");
+        Assert.assertEquals(2L, metrics.getCalls());
+        Assert.assertEquals(2L, metrics.getKeys());
+        Assert.assertEquals(2L, metrics.getFetchLatency().getCount());
+        Assert.assertEquals(0L, metrics.getFetchFailures());
+        Assert.assertEquals(0L, metrics.getMappingFailures());
+    }
+
     @Accessors(chain = true)
     @Data
     private static class Bean {
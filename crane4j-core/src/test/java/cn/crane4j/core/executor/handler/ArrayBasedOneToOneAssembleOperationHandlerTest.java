@@ -0,0 +1,258 @@
+package cn.crane4j.core.executor.handler;
+
+import cn.crane4j.annotation.Assemble;
+import cn.crane4j.annotation.Mapping;
+import cn.crane4j.core.container.AsyncContainer;
+import cn.crane4j.core.container.Container;
+import cn.crane4j.core.container.LambdaContainer;
+import cn.crane4j.core.container.LongKeyContainer;
+import cn.crane4j.core.exception.Crane4jException;
+import cn.crane4j.core.executor.AssembleExecution;
+import cn.crane4j.core.executor.BaseExecutorTest;
+import cn.crane4j.core.executor.BeanOperationExecutor;
+import cn.crane4j.core.executor.DisorderedBeanOperationExecutor;
+import cn.crane4j.core.parser.BeanOperations;
+import cn.crane4j.core.parser.operation.AssembleOperation;
+import cn.crane4j.core.support.converter.HutoolConverterManager;
+import cn.crane4j.core.support.reflect.PropertyOperator;
+import cn.crane4j.core.support.reflect.ReflectivePropertyOperator;
+import cn.crane4j.core.util.LongObjectHashMap;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * test for {@link ArrayBasedOneToOneAssembleOperationHandler}.
+ *
+ * @author huangchengxing
+ */
+public class ArrayBasedOneToOneAssembleOperationHandlerTest extends BaseExecutorTest {
+
+    private ArrayBasedOneToOneAssembleOperationHandler handler;
+    private BeanOperationExecutor executor;
+    private List<Collection<Integer>> requestedKeys;
+
+    @Before
+    public void init() {
+        PropertyOperator operator = new ReflectivePropertyOperator(new HutoolConverterManager());
+        handler = new ArrayBasedOneToOneAssembleOperationHandler(operator, new HutoolConverterManager());
+        configuration.getAssembleOperationHandlerMap().put(handler.getClass().getSimpleName(), handler);
+        executor = new DisorderedBeanOperationExecutor(configuration);
+        requestedKeys = new ArrayList<>();
+        Container<Integer> container = LambdaContainer.forLambda("test", ids -> {
+            requestedKeys.add(ids);
+            return ids.stream().filter(id -> id != 0).collect(Collectors.toMap(
+                Function.identity(), id -> new SourceBean(id, "name" + id)
+            ));
+        });
+        configuration.registerContainer(container);
+    }
+
+    @Test
+    public void process() {
+        BeanOperations operations = parseOperations(Bean.class);
+        List<Bean> beanList = Arrays.asList(new Bean(1L), new Bean(2L), new Bean(1L), new Bean(0L));
+        executor.execute(beanList, operations);
+        Assert.assertEquals("name1", beanList.get(0).getName());
+        Assert.assertEquals("name2", beanList.get(1).getName());
+        Assert.assertEquals("name1", beanList.get(2).getName());
+        Assert.assertNull(beanList.get(3).getName());
+        // key of target itself is mapped without container
+        Assert.assertEquals((Long)1L, beanList.get(0).getOtherId());
+        // keys are distinct
+        Assert.assertEquals(1, requestedKeys.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(0, 1, 2)), new HashSet<>(requestedKeys.get(0)));
+    }
+
+    @Test
+    public void processWhenIgnoreNullKey() {
+        BeanOperations operations = parseOperations(Bean.class);
+        List<Bean> beanList = Arrays.asList(new Bean(null), new Bean(null));
+        handler.setIgnoreNullKey(true);
+        executor.execute(beanList, operations);
+        // no key need to be requested
+        Assert.assertTrue(requestedKeys.isEmpty());
+    }
+
+    @Test
+    public void prepare() {
+        BeanOperations operations = parseOperations(Bean.class);
+        AssembleOperation operation = getOperation(operations);
+        Bean bean = new Bean(2L);
+        Container<?> container = configuration.getContainer("test");
+        List<AssembleExecution> executions = Collections.singletonList(
+            AssembleExecution.create(operations, operation, container, Collections.singletonList(bean))
+        );
+        AssembleOperationHandler.Preparation preparation = handler.prepare(container, executions);
+        Assert.assertNotNull(preparation);
+        Assert.assertEquals(Collections.singleton(2), new HashSet<>(preparation.getKeys()));
+        Map<Object, Object> sources = new HashMap<>();
+        sources.put(2, new SourceBean(2, "prepared"));
+        preparation.complete(sources);
+        Assert.assertEquals("prepared", bean.getName());
+        Assert.assertNull(handler.prepare(Container.empty(), executions));
+    }
+
+    @Test
+    public void processAsync() {
+        BeanOperations operations = parseOperations(Bean.class);
+        AssembleOperation operation = getOperation(operations);
+        Bean bean = new Bean(1L);
+        AsyncContainer<?> container = AsyncContainer.adapt(configuration.getContainer("test"), Runnable::run);
+        handler.processAsync(
+            container, Collections.singletonList(AssembleExecution.create(operations, operation, container, Collections.singletonList(bean))), Runnable::run
+        ).join();
+        Assert.assertEquals("name1", bean.getName());
+    }
+
+    @Test
+    public void processWithLongKeyContainer() {
+        List<long[]> requestedLongKeys = new ArrayList<>();
+        LongKeyContainer container = LongKeyContainer.forLambda("test", keys -> {
+            requestedLongKeys.add(keys);
+            LongObjectHashMap<SourceBean> sources = new LongObjectHashMap<>(keys.length);
+            for (long key : keys) {
+                sources.put(key, new SourceBean((int)key, "long" + key));
+            }
+            return sources;
+        });
+        Assert.assertEquals("test", container.getNamespace());
+        Assert.assertEquals("long1", ((SourceBean)container.get(Collections.singletonList(1L)).get(1L)).getName());
+        requestedLongKeys.clear();
+
+        BeanOperations operations = parseOperations(Bean.class);
+        AssembleOperation operation = getOperation(operations);
+        List<Object> beans = Arrays.asList(new Bean(1L), new Bean(2L), new Bean(1L), new Bean(null));
+        List<AssembleExecution> executions = Collections.singletonList(
+            AssembleExecution.create(operations, operation, container, beans)
+        );
+        // processed by primitive keys
+        Assert.assertNull(handler.prepare(container, executions));
+        handler.process(container, executions);
+        Assert.assertEquals(1, requestedLongKeys.size());
+        long[] keys = requestedLongKeys.get(0);
+        Arrays.sort(keys);
+        Assert.assertArrayEquals(new long[]{ 1L, 2L }, keys);
+        Assert.assertEquals("long1", ((Bean)beans.get(0)).getName());
+        Assert.assertEquals("long2", ((Bean)beans.get(1)).getName());
+        Assert.assertEquals("long1", ((Bean)beans.get(2)).getName());
+        Assert.assertNull(((Bean)beans.get(3)).getName());
+    }
+
+    @Test
+    public void processWithPrimitiveLongKey() {
+        LongKeyContainer container = LongKeyContainer.forLambda("test", keys -> {
+            LongObjectHashMap<SourceBean> sources = new LongObjectHashMap<>(keys.length);
+            for (long key : keys) {
+                sources.put(key, new SourceBean((int)key, "long" + key));
+            }
+            return sources;
+        });
+        BeanOperations operations = parseOperations(PrimitiveKeyBean.class);
+        AssembleOperation operation = getOperation(operations);
+        // the min value of long is also a valid key
+        List<Object> beans = Arrays.asList(new PrimitiveKeyBean(Long.MIN_VALUE, null), new PrimitiveKeyBean(1L, null));
+        handler.process(container, Collections.singletonList(AssembleExecution.create(operations, operation, container, beans)));
+        Assert.assertEquals("long" + Long.MIN_VALUE, ((PrimitiveKeyBean)beans.get(0)).getName());
+        Assert.assertEquals("long1", ((PrimitiveKeyBean)beans.get(1)).getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void processWithLongKeyContainerByCommonHandler() {
+        LongKeyContainer container = LongKeyContainer.forLambda("long", keys -> {
+            LongObjectHashMap<SourceBean> sources = new LongObjectHashMap<>(keys.length);
+            for (long key : keys) {
+                sources.put(key, new SourceBean((int)key, "long" + key));
+            }
+            return sources;
+        });
+        configuration.registerContainer(container);
+        BeanOperations operations = parseOperations(IntegerKeyBean.class);
+
+        // the results are grouped by the original keys
+        IntegerKeyBean bean1 = new IntegerKeyBean(1L, null);
+        executor.execute(Collections.singletonList(bean1), operations);
+        Assert.assertEquals("long1", bean1.getName());
+        IntegerKeyBean bean2 = new IntegerKeyBean(2L, null);
+        executor.executeAsync(Collections.singletonList(bean2), operations).join();
+        Assert.assertEquals("long2", bean2.getName());
+
+        // the keys must be numbers
+        Collection<Long> keys = (Collection<Long>)(Collection<?>)Collections.singletonList("1");
+        Assert.assertThrows(Crane4jException.class, () -> container.get(keys));
+    }
+
+    private static AssembleOperation getOperation(BeanOperations operations) {
+        return operations.getAssembleOperations().stream()
+            .filter(op -> "test".equals(op.getContainer()))
+            .findFirst()
+            .orElseThrow(IllegalStateException::new);
+    }
+
+    @Assemble(
+        handlerType = ArrayBasedOneToOneAssembleOperationHandler.class,
+        props = @Mapping(src = "id", ref = "otherId")
+    )
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Data
+    public static class Bean {
+        @Assemble(
+            keyType = Integer.class, container = "test", props = @Mapping(src = "name", ref = "name"),
+            handlerType = ArrayBasedOneToOneAssembleOperationHandler.class
+        )
+        private Long id;
+        private String name;
+        private Long otherId;
+
+        public Bean(Long id) {
+            this.id = id;
+        }
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Data
+    public static class IntegerKeyBean {
+        @Assemble(
+            keyType = Integer.class, container = "long", props = @Mapping(src = "name", ref = "name"),
+            handlerType = OneToOneAssembleOperationHandler.class
+        )
+        private Long id;
+        private String name;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Data
+    public static class PrimitiveKeyBean {
+        @Assemble(
+            container = "test", props = @Mapping(src = "name", ref = "name"),
+            handlerType = ArrayBasedOneToOneAssembleOperationHandler.class
+        )
+        private long id;
+        private String name;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class SourceBean {
+        private Integer id;
+        private String name;
+    }
+}
@@ -22,8 +22,10 @@ import org.junit.Test;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 /**
  * test for {@link OneToOneAssembleOperationHandler}.
@@ -67,6 +69,28 @@ public class OneToOneAssembleOperationHandlerTest extends BaseExecutorTest {
         executor.execute(Collections.singletonList(new Bean(0L)), operations);
     }
 
+    @Test
+    public void processInParallel() {
+        HutoolConverterManager converterManager = new HutoolConverterManager();
+        PropertyOperator operator = new ReflectivePropertyOperator(converterManager);
+        OneToOneAssembleOperationHandler handler = new OneToOneAssembleOperationHandler(operator, converterManager);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        handler.setParallelMappingThreshold(100);
+        handler.setMappingPool(pool);
+        configuration.getAssembleOperationHandlerMap().put(handler.getClass().getSimpleName(), handler);
+
+        BeanOperations operations = parseOperations(Bean.class);
+        List<Bean> beanList = LongStream.rangeClosed(1, 1000)
+            .mapToObj(Bean::new)
+            .collect(Collectors.toList());
+        executor.execute(beanList, operations);
+        for (int i = 0; i < beanList.size(); i++) {
+            Assert.assertEquals("name" + (i + 1), beanList.get(i).getName());
+            Assert.assertEquals((Integer)(i + 1), beanList.get(i).getOtherId());
+        }
+        pool.shutdown();
+    }
+
     @Assemble(container = "identity", props = @Mapping(src = "id", ref = "otherId"))
     @RequiredArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,102 @@
+package cn.crane4j.core.executor.handler;
+
+import cn.crane4j.core.parser.SimplePropertyMapping;
+import cn.crane4j.core.parser.handler.strategy.OverwriteMappingStrategy;
+import cn.crane4j.core.parser.handler.strategy.OverwriteNotNullMappingStrategy;
+import cn.crane4j.core.parser.operation.AssembleOperation;
+import cn.crane4j.core.parser.operation.SimpleAssembleOperation;
+import cn.crane4j.core.support.converter.HutoolConverterManager;
+import cn.crane4j.core.support.reflect.MapAccessiblePropertyOperator;
+import cn.crane4j.core.support.reflect.PropertyOperator;
+import cn.crane4j.core.support.reflect.ReflectivePropertyOperator;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * test for {@link PropertyMappingCopier}.
+ *
+ * @author huangchengxing
+ */
+public class PropertyMappingCopierTest {
+
+    private PropertyOperator propertyOperator;
+    private AssembleOperation operation;
+
+    @Before
+    public void init() {
+        propertyOperator = new ReflectivePropertyOperator(new HutoolConverterManager());
+        operation = SimpleAssembleOperation.builder()
+            .key("id")
+            .propertyMapping(new SimplePropertyMapping("name", "name"))
+            .propertyMapping(new SimplePropertyMapping("", "source"))
+            .propertyMapping(new SimplePropertyMapping("notExist", "name"))
+            .propertyMapping(new SimplePropertyMapping("name", "notExist"))
+            .build();
+    }
+
+    @Test
+    public void copy() {
+        PropertyMappingCopier copier = PropertyMappingCopier.compile(
+            propertyOperator, Source.class, Target.class, operation.getPropertyMappings()
+        );
+        Assert.assertEquals(Source.class, copier.getSourceType());
+        Assert.assertEquals(Target.class, copier.getTargetType());
+
+        Source source = new Source("source");
+        Target target = new Target();
+        copier.copy(source, target, OverwriteNotNullMappingStrategy.INSTANCE);
+        Assert.assertEquals("source", target.getName());
+        Assert.assertSame(source, target.getSource());
+
+        // null value from the property which not exists overwrite the target
+        copier.copy(source, target, OverwriteMappingStrategy.INSTANCE);
+        Assert.assertNull(target.getName());
+    }
+
+    @Test
+    public void copyFromMap() {
+        Map<String, Object> source = new HashMap<>();
+        source.put("name", "map");
+        PropertyMappingCopier copier = PropertyMappingCopier.compile(
+            new MapAccessiblePropertyOperator(propertyOperator), source.getClass(), Target.class,
+            Arrays.asList(new SimplePropertyMapping("name", "name"))
+        );
+        Target target = new Target();
+        copier.copy(source, target, OverwriteNotNullMappingStrategy.INSTANCE);
+        Assert.assertEquals("map", target.getName());
+    }
+
+    @Test
+    public void cache() {
+        PropertyMappingCopier.Cache cache = new PropertyMappingCopier.Cache();
+        PropertyMappingCopier copier = cache.get(propertyOperator, operation, Source.class, Target.class);
+        Assert.assertSame(copier, cache.get(propertyOperator, operation, Source.class, Target.class));
+        Assert.assertNotSame(copier, cache.get(propertyOperator, operation, Target.class, Target.class));
+
+        AssembleOperation other = SimpleAssembleOperation.builder()
+            .key("id").propertyMapping(new SimplePropertyMapping("name", "name"))
+            .build();
+        Assert.assertNotSame(copier, cache.get(propertyOperator, other, Source.class, Target.class));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    private static class Source {
+        private String name;
+    }
+
+    @Data
+    private static class Target {
+        private String name;
+        private Object source;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -67,6 +68,32 @@ public class ReflectiveDisassembleOperationHandlerTest extends BaseExecutorTest
         checkDisassembledBeans(operationForBeanMultiList, root, 8);
     }
 
+    @Test
+    public void processInParallel() {
+        BeanOperations beanOperations = parseOperations(Bean.class);
+        DisassembleOperation operation = beanOperations.getDisassembleOperations().stream()
+            .filter(op -> "beanMultiList".equals(op.getKey()))
+            .findFirst().orElseThrow(NullPointerException::new);
+        List<Bean> roots = new ArrayList<>();
+        List<Bean> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Bean b1 = new Bean();
+            Bean b2 = new Bean();
+            Bean b3 = new Bean();
+            roots.add(new Bean().setBeanMultiList(Arrays.asList(
+                Collections.singletonList(new Bean[]{b1, null, b2}), Collections.singletonList(new Bean[]{b3})
+            )));
+            roots.add(null);
+            expected.addAll(Arrays.asList(b1, b2, b3));
+        }
+        handler.setParallelFlattenThreshold(5);
+        Collection<Object> results = handler.process(operation, roots);
+        // the order of nested objects is the same as the order of targets
+        Assert.assertEquals(expected, results);
+        handler.setParallelFlattenThreshold(-1);
+        Assert.assertEquals(new HashSet<>(expected), new HashSet<>(handler.process(operation, roots)));
+    }
+
     private void checkDisassembledBeans(DisassembleOperation operation, Object object, int expectedSize) {
         Collection<?> disassembledBeans = handler.process(operation, Collections.singleton(object));
         Assert.assertEquals(expectedSize, disassembledBeans.size());
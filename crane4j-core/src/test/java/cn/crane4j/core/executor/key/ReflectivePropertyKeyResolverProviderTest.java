@@ -46,6 +46,47 @@ public class ReflectivePropertyKeyResolverProviderTest {
         Assert.assertEquals(foo.getKey(), key);
     }
 
+    @Test
+    public void testResolveLong() {
+        SimpleAssembleOperation operation = SimpleAssembleOperation.builder()
+            .key("id")
+            .build();
+        LongKeyResolver resolver = (LongKeyResolver)provider.getResolver(operation);
+        long[] keys = new long[2];
+
+        // read by the getter which returns primitive value
+        Assert.assertTrue(resolver.resolveLong(new PrimitiveFoo(Long.MIN_VALUE), operation, keys, 0));
+        Assert.assertEquals(Long.MIN_VALUE, keys[0]);
+        Assert.assertEquals(Long.MIN_VALUE, resolver.resolve(new PrimitiveFoo(Long.MIN_VALUE), operation));
+
+        // read by the property operator
+        Assert.assertTrue(resolver.resolveLong(new BoxedFoo(2), operation, keys, 1));
+        Assert.assertEquals(2L, keys[1]);
+        Assert.assertFalse(resolver.resolveLong(new BoxedFoo(null), operation, keys, 1));
+        Assert.assertEquals(2L, keys[1]);
+        Assert.assertNull(resolver.resolve(new BoxedFoo(null), operation));
+
+        operation = SimpleAssembleOperation.builder()
+            .key("id")
+            .keyType(String.class)
+            .build();
+        resolver = (LongKeyResolver)provider.getResolver(operation);
+        Assert.assertTrue(resolver.resolveLong(new PrimitiveFoo(1L), operation, keys, 0));
+        Assert.assertEquals(1L, keys[0]);
+    }
+
+    @AllArgsConstructor
+    @Data
+    private static class PrimitiveFoo {
+        private long id;
+    }
+
+    @AllArgsConstructor
+    @Data
+    private static class BoxedFoo {
+        private Integer id;
+    }
+
     @AllArgsConstructor
     @Data
     private static class Foo {
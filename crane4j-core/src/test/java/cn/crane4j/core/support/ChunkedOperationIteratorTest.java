@@ -0,0 +1,66 @@
+package cn.crane4j.core.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * test for {@link ChunkedOperationIterator}
+ *
+ * @author huangchengxing
+ */
+public class ChunkedOperationIteratorTest {
+
+    @Test
+    public void testIterate() {
+        List<List<Integer>> chunks = new ArrayList<>();
+        Iterator<Integer> iterator = new ChunkedOperationIterator<>(
+            Arrays.asList(1, 2, 3, 4, 5).iterator(), 2, chunk -> {
+                chunks.add(new ArrayList<>(chunk));
+                return CompletableFuture.completedFuture(null);
+            }, false
+        );
+        Assert.assertTrue(iterator.hasNext());
+        Assert.assertEquals((Integer)1, iterator.next());
+        // only the first chunk is processed
+        Assert.assertEquals(1, chunks.size());
+        List<Integer> results = new ArrayList<>();
+        iterator.forEachRemaining(results::add);
+        Assert.assertEquals(Arrays.asList(2, 3, 4, 5), results);
+        Assert.assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)), chunks);
+    }
+
+    @Test
+    public void testPrefetch() {
+        List<List<Integer>> chunks = new ArrayList<>();
+        Iterator<Integer> iterator = new ChunkedOperationIterator<>(
+            Arrays.asList(1, 2, 3).iterator(), 2, chunk -> {
+                chunks.add(new ArrayList<>(chunk));
+                return CompletableFuture.completedFuture(null);
+            }, true
+        );
+        Assert.assertEquals((Integer)1, iterator.next());
+        // the next chunk is submitted in advance
+        Assert.assertEquals(2, chunks.size());
+        Assert.assertEquals((Integer)2, iterator.next());
+        Assert.assertEquals((Integer)3, iterator.next());
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testException() {
+        Iterator<Integer> iterator = new ChunkedOperationIterator<>(
+            Arrays.asList(1, 2, 3).iterator(), 2, chunk -> {
+                CompletableFuture<Void> future = new CompletableFuture<>();
+                future.completeExceptionally(new IllegalStateException("error"));
+                return future;
+            }, true
+        );
+        Assert.assertThrows(IllegalStateException.class, iterator::hasNext);
+    }
+}
@@ -16,6 +16,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * test for {@link OperateTemplate}
@@ -89,12 +90,54 @@ public class OperateTemplateTest {
         checkBean(fooList.get(0), "1", "1", "1");
     }
 
+    @Test
+    public void testExecuteAsync() {
+        List<Foo> fooList = getFooList();
+        template.executeAsync(fooList).join();
+        checkBean(fooList.get(0), "1", "1", "1");
+
+        fooList = getFooList();
+        template.executeAsync(fooList, Foo.class).join();
+        checkBean(fooList.get(0), "1", "1", "1");
+
+        fooList = getFooList();
+        template.executeAsync(fooList, op -> op instanceof AssembleOperation).join();
+        checkBean(fooList.get(0), "1", null, null);
+
+        BeanOperations beanOperations = parser.parse(Foo.class);
+        Assert.assertTrue(template.executeAsync(null, beanOperations).isDone());
+        Assert.assertTrue(template.executeAsync(Collections.emptyList(), Foo.class).isDone());
+        fooList = getFooList();
+        template.executeAsync(fooList, beanOperations).join();
+        checkBean(fooList.get(0), "1", "1", "1");
+    }
+
     private static void checkBean(Foo foo, String name, String nestedName, String value) {
         Assert.assertEquals(foo.getName(), name);
         Assert.assertEquals(((NestedFoo) foo.getNestedFoo()).getName(), nestedName);
         Assert.assertEquals(((NestedFoo) foo.getNestedFoo()).getValue(), value);
     }
 
+    @Test
+    public void testExecuteStream() {
+        List<Foo> fooList = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            fooList.addAll(getFooList());
+        }
+        List<Foo> results = template.executeStream(fooList.stream(), 3).collect(Collectors.toList());
+        Assert.assertEquals(fooList, results);
+        results.forEach(foo -> Assert.assertEquals(foo.getId(), foo.getName()));
+
+        fooList = getFooList();
+        results = template.executeStream(fooList.stream(), 1, true).collect(Collectors.toList());
+        Assert.assertEquals(fooList, results);
+        checkBean(results.get(0), "1", "1", "1");
+
+        Iterator<Foo> iterator = template.executeIterator(Collections.<Foo>emptyIterator(), 2, true);
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
     private static List<Foo> getFooList() {
         return Arrays.asList(
             new Foo("1", new NestedFoo("1", "1")),
@@ -0,0 +1,81 @@
+package cn.crane4j.core.support.metrics;
+
+import cn.crane4j.core.parser.BeanOperations;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+/**
+ * test for {@link InMemoryExecutionListener} and {@link LatencyHistogram}
+ *
+ * @author huangchengxing
+ */
+public class InMemoryExecutionListenerTest {
+
+    @Test
+    public void testContainerMetrics() {
+        InMemoryExecutionListener listener = new InMemoryExecutionListener();
+        listener.onKeysCollected("test", 4, 2, 100L);
+        listener.onFetched("test", 2, 2_000L, null);
+        listener.onFetched("test", 2, 4_000L, new IllegalStateException());
+        listener.onMapped("test", 300L, null);
+        listener.onMapped("test", 300L, new IllegalStateException());
+        listener.onFetched("other", 1, 1_000L, null);
+        listener.onProcessed("test", 500L, null);
+        listener.onProcessed("test", 500L, new IllegalStateException());
+
+        Map<String, InMemoryExecutionListener.ContainerMetrics> metrics = listener.getContainerMetrics();
+        Assert.assertEquals(2, metrics.size());
+        InMemoryExecutionListener.ContainerMetrics test = metrics.get("test");
+        Assert.assertEquals("test", test.getNamespace());
+        Assert.assertEquals(2L, test.getCalls());
+        Assert.assertEquals(4L, test.getKeys());
+        Assert.assertEquals(2L, test.getDistinctKeys());
+        Assert.assertEquals(0.5D, test.getDistinctKeyRatio(), 0D);
+        Assert.assertEquals(100L, test.getKeyCollectionNanos());
+        Assert.assertEquals(1L, test.getFetchFailures());
+        Assert.assertEquals(600L, test.getMappingNanos());
+        Assert.assertEquals(1L, test.getMappingFailures());
+        Assert.assertEquals(2L, test.getFetchLatency().getCount());
+        Assert.assertEquals(4_000L, test.getFetchLatency().getMaxNanos());
+        Assert.assertEquals(3_000L, test.getFetchLatency().getMeanNanos());
+        Assert.assertEquals(2L, test.getProcesses());
+        Assert.assertEquals(1_000L, test.getProcessNanos());
+        Assert.assertEquals(1L, test.getProcessFailures());
+        Assert.assertEquals(1.0D, metrics.get("other").getDistinctKeyRatio(), 0D);
+
+        listener.reset();
+        Assert.assertTrue(listener.getContainerMetrics().isEmpty());
+    }
+
+    @Test
+    public void testStageMetrics() {
+        InMemoryExecutionListener listener = new InMemoryExecutionListener();
+        listener.onParsed(Object.class, 1_000L);
+        listener.onDisassembled(BeanOperations.empty(), 10, 2_000L);
+        listener.onDisassembled(BeanOperations.empty(), 10, 2_000L);
+        Assert.assertEquals(1L, listener.getParseMetrics().getCount());
+        Assert.assertEquals(2L, listener.getDisassembleMetrics().getCount());
+        Assert.assertEquals(4_000L, listener.getDisassembleMetrics().getTotalNanos());
+        listener.reset();
+        Assert.assertEquals(0L, listener.getParseMetrics().getCount());
+        Assert.assertEquals(0L, listener.getParseMetrics().getPercentileNanos(0.99D));
+    }
+
+    @Test
+    public void testPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_500L);
+        }
+        histogram.record(1_000_000L);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(100L, snapshot.getCount());
+        // 1.5 microseconds is counted in bucket [1, 2) microseconds
+        Assert.assertEquals(2_000L, snapshot.getPercentileNanos(0.5D));
+        Assert.assertEquals(2_000L, snapshot.getPercentileNanos(0.99D));
+        Assert.assertEquals(1_000_000L, snapshot.getPercentileNanos(1D));
+        Assert.assertEquals(1_000_000L, snapshot.getMaxNanos());
+    }
+}
@@ -0,0 +1,69 @@
+package cn.crane4j.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * test for {@link LongObjectHashMap} and {@link LongHashSet}
+ *
+ * @author huangchengxing
+ */
+public class LongObjectHashMapTest {
+
+    @Test
+    public void testMap() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(2);
+        Assert.assertTrue(map.isEmpty());
+        // resize several times
+        for (long i = -100; i <= 100; i++) {
+            Assert.assertNull(map.put(i, String.valueOf(i)));
+        }
+        Assert.assertEquals(201, map.size());
+        for (long i = -100; i <= 100; i++) {
+            Assert.assertEquals(String.valueOf(i), map.get(i));
+        }
+        Assert.assertTrue(map.containsKey(0L));
+        Assert.assertFalse(map.containsKey(101L));
+        Assert.assertNull(map.get(Long.MAX_VALUE));
+
+        Assert.assertEquals("0", map.put(0L, "zero"));
+        Assert.assertEquals("1", map.put(1L, "one"));
+        Assert.assertNull(map.put(2L, null));
+        Assert.assertEquals(201, map.size());
+        Assert.assertEquals("zero", map.get(0L));
+        Assert.assertEquals("one", map.get(1L));
+
+        Map<Long, String> boxed = map.toMap();
+        Assert.assertEquals(201, boxed.size());
+        Assert.assertEquals("zero", boxed.get(0L));
+        Map<Long, String> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        Assert.assertEquals(boxed, iterated);
+    }
+
+    @Test
+    public void testSet() {
+        LongHashSet set = new LongHashSet(0);
+        Assert.assertTrue(set.isEmpty());
+        Assert.assertTrue(set.add(0L));
+        Assert.assertFalse(set.add(0L));
+        for (long i = 1; i <= 100; i++) {
+            Assert.assertTrue(set.add(i * 31));
+            Assert.assertFalse(set.add(i * 31));
+        }
+        Assert.assertEquals(101, set.size());
+        Assert.assertTrue(set.contains(0L));
+        Assert.assertTrue(set.contains(31L));
+        Assert.assertFalse(set.contains(32L));
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        Assert.assertEquals(101, values.length);
+        Assert.assertEquals(0L, values[0]);
+        Assert.assertEquals(3100L, values[100]);
+        Assert.assertNotNull(set.toString());
+    }
+}
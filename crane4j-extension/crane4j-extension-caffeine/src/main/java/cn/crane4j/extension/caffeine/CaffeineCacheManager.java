@@ -0,0 +1,319 @@
+package cn.crane4j.extension.caffeine;
+
+import cn.crane4j.core.cache.AbstractCacheManager;
+import cn.crane4j.core.cache.CacheDefinition;
+import cn.crane4j.core.cache.CacheStats;
+import cn.crane4j.core.cache.CacheableContainer;
+import cn.crane4j.core.container.Container;
+import cn.crane4j.core.util.CollectionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>An implementation of the {@link cn.crane4j.core.cache.CacheManager} that
+ * creates a cache instance what stores data in the Caffeine {@link Cache}.<br />
+ * The options of {@link CacheDefinition} are applied to the cache as follows:
+ * <ul>
+ *     <li>
+ *         if {@link CacheDefinition#getExpireTime()} greater than 0,
+ *         use {@link Caffeine#expireAfterWrite(long, TimeUnit)},
+ *         otherwise the entries will not expire;
+ *     </li>
+ *     <li>
+ *         if {@link CacheDefinition#getMaximumWeight()} greater than 0,
+ *         use {@link Caffeine#maximumWeight} with {@link #weigher},
+ *         the values wrapped by {@link CacheableContainer} are unwrapped before weighing,
+ *         else if {@link CacheDefinition#getMaximumSize()} greater than 0,
+ *         use {@link Caffeine#maximumSize}, the entries will be evicted by W-TinyLFU policy when exceeded;
+ *     </li>
+ *     <li>
+ *         if {@link CacheDefinition#getRefreshAfterWriteTime()} greater than 0 and the loader is specified,
+ *         use {@link Caffeine#refreshAfterWrite(long, TimeUnit)},
+ *         the stale entries will be reloaded from the loader in {@link #executor}
+ *         when they are read, and the stale values are returned before the reloading completes;
+ *     </li>
+ * </ul>
+ * Note that if {@link CacheDefinition#getSoftExpireTime()} is set for the caches created by {@link CacheableContainer},
+ * they are refreshed by the container itself in batch, so the refreshing of Caffeine is not used for them.
+ *
+ * @author huangchengxing
+ * @see Caffeine
+ * @since 2.7.0
+ */
+@Slf4j
+@NoArgsConstructor
+public class CaffeineCacheManager extends AbstractCacheManager {
+
+    public static final String DEFAULT_CAFFEINE_CACHE_MANAGER_NAME = "CaffeineCacheManager";
+
+    /**
+     * <p>The default weigher.<br />
+     * The weight of a collection or an array is its size, and the weight of other objects is 1,
+     * so the values of one-to-many containers are weighed by the number of elements.
+     */
+    public static final Weigher<Object, Object> DEFAULT_WEIGHER = (key, value) -> {
+        if (value instanceof Collection) {
+            return Math.max(((Collection<?>)value).size(), 1);
+        }
+        if (value instanceof Object[]) {
+            return Math.max(((Object[])value).length, 1);
+        }
+        return 1;
+    };
+
+    /**
+     * The weigher used to calculate the weight of entries
+     * when {@link CacheDefinition#getMaximumWeight()} is set.
+     */
+    @NonNull
+    @Setter
+    private Weigher<Object, Object> weigher = DEFAULT_WEIGHER;
+
+    /**
+     * The executor used to perform maintenance and refreshing,
+     * default is {@link ForkJoinPool#commonPool()}.
+     */
+    @NonNull
+    @Setter
+    private Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * Create cache instance.
+     *
+     * @param name cache name
+     * @param expireTime expire time
+     * @param timeUnit   time unit
+     * @return cache instance
+     */
+    @NonNull
+    @Override
+    protected <K> CaffeineCacheObject<K> doCreateCache(String name, Long expireTime, TimeUnit timeUnit) {
+        return doCreateCache(new CacheDefinition.Impl(name, null, expireTime, timeUnit), null);
+    }
+
+    /**
+     * Create cache instance according to the definition.
+     *
+     * @param definition cache definition
+     * @param loader     container which the values of cache are loaded from, may be null
+     * @return cache instance
+     */
+    @NonNull
+    @Override
+    protected <K> CaffeineCacheObject<K> doCreateCache(CacheDefinition definition, @Nullable Container<K> loader) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().executor(executor).recordStats();
+        TimeUnit timeUnit = definition.getTimeUnit();
+        if (isPositive(definition.getExpireTime())) {
+            builder.expireAfterWrite(definition.getExpireTime(), timeUnit);
+        }
+        if (isPositive(definition.getMaximumWeight())) {
+            Weigher<Object, Object> actualWeigher = weigher;
+            builder.maximumWeight(definition.getMaximumWeight())
+                .weigher((key, value) -> actualWeigher.weigh(key, CacheableContainer.unwrapValue(value)));
+        } else if (isPositive(definition.getMaximumSize())) {
+            builder.maximumSize(definition.getMaximumSize());
+        }
+        boolean refreshable = isPositive(definition.getRefreshAfterWriteTime());
+        if (refreshable && Objects.nonNull(loader)) {
+            builder.refreshAfterWrite(definition.getRefreshAfterWriteTime(), timeUnit);
+            return new CaffeineCacheObject<>(definition.getName(), builder.build(new ContainerCacheLoader<>(loader)));
+        }
+        if (refreshable) {
+            log.warn("refresh after write is ignored for cache [{}], because the loader is not specified", definition.getName());
+        }
+        return new CaffeineCacheObject<>(definition.getName(), builder.build());
+    }
+
+    private static boolean isPositive(@Nullable Long value) {
+        return Objects.nonNull(value) && value > 0L;
+    }
+
+    /**
+     * A {@link CacheLoader} which loads values from the container.
+     *
+     * @param <K> key type
+     */
+    @RequiredArgsConstructor
+    private static class ContainerCacheLoader<K> implements CacheLoader<Object, Object> {
+
+        private final Container<K> container;
+
+        @SuppressWarnings("unchecked")
+        @Nullable
+        @Override
+        public Object load(@NonNull Object key) {
+            Map<K, ?> values = container.get(Collections.singletonList((K)key));
+            return CollectionUtils.isEmpty(values) ? null : values.get(key);
+        }
+
+        @SuppressWarnings("unchecked")
+        @NonNull
+        @Override
+        public Map<Object, Object> loadAll(@NonNull Iterable<?> keys) {
+            Set<K> keySet = StreamSupport.stream(keys.spliterator(), false)
+                .map(key -> (K)key)
+                .collect(Collectors.toSet());
+            Map<K, ?> values = container.get(keySet);
+            return CollectionUtils.isEmpty(values) ? Collections.emptyMap() : (Map<Object, Object>)values;
+        }
+    }
+
+    /**
+     * A {@link cn.crane4j.core.cache.CacheObject} implementation that stores data in the {@link Cache}.
+     *
+     * @author huangchengxing
+     * @since 2.7.0
+     */
+    protected static class CaffeineCacheObject<K> extends AbstractCacheObject<K> {
+
+        private final Cache<Object, Object> cache;
+
+        public CaffeineCacheObject(String name, Cache<Object, Object> cache) {
+            super(name);
+            this.cache = cache;
+        }
+
+        /**
+         * Get the cache according to the key value.
+         *
+         * @param key key
+         * @return cache value
+         */
+        @Nullable
+        @Override
+        public Object get(K key) {
+            return recordGet(cache.getIfPresent(key));
+        }
+
+        /**
+         * Get all cache according to the key values.
+         *
+         * @param keys keys
+         * @return cache value
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public Map<K, Object> getAll(Iterable<K> keys) {
+            if (CollectionUtils.isEmpty(keys)) {
+                return Collections.emptyMap();
+            }
+            int keyCount = 0;
+            for (K ignored : keys) {
+                keyCount++;
+            }
+            // the result of caffeine is unmodifiable, copy it for the callers to merge values
+            Map<K, Object> results = new HashMap<>((Map<K, Object>)cache.getAllPresent(keys));
+            return recordGetAll(results, keyCount);
+        }
+
+        /**
+         * Add cache value.
+         *
+         * @param key   key
+         * @param value value
+         */
+        @Override
+        public void put(K key, Object value) {
+            cache.put(key, value);
+        }
+
+        /**
+         * Add all cache value.
+         *
+         * @param caches caches
+         */
+        @Override
+        public void putAll(Map<K, Object> caches) {
+            if (CollectionUtils.isNotEmpty(caches)) {
+                cache.putAll(caches);
+            }
+        }
+
+        /**
+         * Add cache value if it does not exist.
+         *
+         * @param key   key
+         * @param value cache value
+         */
+        @Override
+        public void putIfAbsent(K key, Object value) {
+            cache.asMap().putIfAbsent(key, value);
+        }
+
+        /**
+         * Remove cache value.
+         *
+         * @param key key
+         */
+        @Override
+        public void remove(K key) {
+            cache.invalidate(key);
+        }
+
+        /**
+         * Remove all cache value.
+         *
+         * @param keys keys
+         */
+        @Override
+        public void removeAll(Iterable<K> keys) {
+            if (CollectionUtils.isNotEmpty(keys)) {
+                cache.invalidateAll(keys);
+            }
+        }
+
+        /**
+         * Clear all cache value.
+         */
+        @Override
+        public void clear() {
+            cache.invalidateAll();
+        }
+
+        /**
+         * Get a snapshot of the statistics of this cache,
+         * the eviction count and the refreshing of entries are recorded by Caffeine.
+         *
+         * @return statistics
+         */
+        @Override
+        public CacheStats getStats() {
+            com.github.benmanes.caffeine.cache.stats.CacheStats stats = cache.stats();
+            CacheStats refreshStats = new CacheStats(
+                0L, 0L, stats.loadSuccessCount(), stats.loadFailureCount(), stats.totalLoadTime(),
+                stats.evictionCount(), 0L, 0L, 0L, 0L
+            );
+            return super.getStats().plus(refreshStats);
+        }
+
+        /**
+         * Get the approximate number of entries in this cache.
+         *
+         * @return number of entries
+         */
+        @Override
+        protected long estimatedSize() {
+            return cache.estimatedSize();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package cn.crane4j.extension.caffeine;
+
+import cn.crane4j.core.cache.CacheDefinition;
+import cn.crane4j.core.cache.CacheObject;
+import cn.crane4j.core.cache.CacheStats;
+import cn.crane4j.core.cache.CacheableContainer;
+import cn.crane4j.core.container.Container;
+import cn.crane4j.core.container.LambdaContainer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * test for {@link CaffeineCacheManager}
+ *
+ * @author huangchengxing
+ */
+public class CaffeineCacheManagerTest {
+
+    private CaffeineCacheManager cacheManager;
+    private CacheObject<Object> cache;
+
+    @Before
+    public void init() {
+        cacheManager = new CaffeineCacheManager();
+        // perform maintenance and refreshing in current thread
+        cacheManager.setExecutor(Runnable::run);
+        cache = cacheManager.createCache("test", -1L, null);
+    }
+
+    @Test
+    public void testGetCache() {
+        Assert.assertSame(cache, cacheManager.getCache("test"));
+        Assert.assertEquals("test", cache.getName());
+        Assert.assertFalse(cache.isInvalid());
+    }
+
+    @Test
+    public void testPutAndGet() {
+        cache.put("a", "a");
+        Assert.assertEquals("a", cache.get("a"));
+        cache.putIfAbsent("a", "b");
+        Assert.assertEquals("a", cache.get("a"));
+
+        Map<Object, Object> values = new HashMap<>();
+        values.put("b", "b");
+        values.put("c", "c");
+        cache.putAll(values);
+        Map<Object, Object> results = cache.getAll(Arrays.asList("a", "b", "c", "d"));
+        Assert.assertEquals(3, results.size());
+        Assert.assertFalse(results.containsKey("d"));
+        Assert.assertTrue(cache.getAll(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        cache.put("a", "a");
+        cache.put("b", "b");
+        cache.put("c", "c");
+        cache.remove("a");
+        Assert.assertNull(cache.get("a"));
+        cache.removeAll(Collections.singletonList("b"));
+        Assert.assertNull(cache.get("b"));
+        cache.clear();
+        Assert.assertNull(cache.get("c"));
+
+        cacheManager.removeCache("test");
+        Assert.assertTrue(cache.isInvalid());
+        Assert.assertNull(cacheManager.getCache("test"));
+    }
+
+    @Test
+    public void testStats() {
+        cache.put("a", "a");
+        cache.get("a");
+        cache.getAll(Arrays.asList("a", "b"));
+        CacheStats stats = cache.getStats();
+        Assert.assertEquals(2L, stats.getHitCount());
+        Assert.assertEquals(1L, stats.getMissCount());
+        Assert.assertEquals(1L, stats.getPartialHitBatchCount());
+        Assert.assertEquals(1L, stats.getSize());
+        Assert.assertSame(1, cacheManager.getCacheStats().size());
+    }
+
+    @Test
+    public void testExpire() throws InterruptedException {
+        CacheObject<Object> cacheObject = cacheManager.createCache("expire", 200L, TimeUnit.MILLISECONDS);
+        cacheObject.put("test", "test");
+        Assert.assertEquals("test", cacheObject.get("test"));
+        Thread.sleep(400L);
+        Assert.assertNull(cacheObject.get("test"));
+    }
+
+    @Test
+    public void testMaximumSize() {
+        CacheDefinition.Impl definition = new CacheDefinition.Impl("size", null, -1L, TimeUnit.MILLISECONDS);
+        definition.setMaximumSize(10L);
+        CacheObject<Integer> cacheObject = cacheManager.createCache(definition, null);
+        for (int i = 0; i < 100; i++) {
+            cacheObject.put(i, i);
+        }
+        List<Integer> keys = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        Assert.assertTrue(cacheObject.getAll(keys).size() <= 10);
+    }
+
+    @Test
+    public void testMaximumWeight() {
+        CacheDefinition.Impl definition = new CacheDefinition.Impl("weight", null, -1L, TimeUnit.MILLISECONDS);
+        definition.setMaximumWeight(10L);
+        definition.setMaximumSize(100L);
+        CacheObject<Integer> cacheObject = cacheManager.createCache(definition, null);
+        // weight of each entry is 4
+        for (int i = 0; i < 10; i++) {
+            cacheObject.put(i, Arrays.asList(i, i, i, i));
+        }
+        long totalWeight = cacheObject.getAll(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)).values().stream()
+            .mapToInt(v -> CaffeineCacheManager.DEFAULT_WEIGHER.weigh(null, v))
+            .sum();
+        Assert.assertTrue(totalWeight <= 10L);
+        Assert.assertEquals(1, CaffeineCacheManager.DEFAULT_WEIGHER.weigh("key", "value"));
+        Assert.assertEquals(2, CaffeineCacheManager.DEFAULT_WEIGHER.weigh("key", new Object[2]));
+    }
+
+    @Test
+    public void testRefreshAfterWrite() throws InterruptedException {
+        List<Collection<String>> requestedKeys = new CopyOnWriteArrayList<>();
+        AtomicInteger version = new AtomicInteger();
+        Container<String> container = LambdaContainer.forLambda("refresh", keys -> {
+            requestedKeys.add(keys);
+            int v = version.incrementAndGet();
+            return keys.stream().collect(Collectors.toMap(Function.identity(), k -> k + v));
+        });
+        CacheDefinition.Impl definition = new CacheDefinition.Impl("refresh", null, -1L, TimeUnit.MILLISECONDS);
+        definition.setRefreshAfterWriteTime(100L);
+        CacheObject<String> cacheObject = cacheManager.createCache(definition, container);
+        cacheObject.put("a", "a0");
+        Assert.assertEquals("a0", cacheObject.get("a"));
+        Assert.assertTrue(requestedKeys.isEmpty());
+
+        Thread.sleep(200L);
+        // the stale value is returned, and the entry is refreshed
+        Assert.assertEquals("a0", cacheObject.get("a"));
+        Assert.assertEquals("a1", cacheObject.get("a"));
+        Assert.assertEquals(1, requestedKeys.size());
+    }
+
+    @Test
+    public void testRefreshAfterWriteByCacheableContainer() throws InterruptedException {
+        List<Collection<String>> requestedKeys = new CopyOnWriteArrayList<>();
+        AtomicInteger version = new AtomicInteger();
+        Container<String> container = LambdaContainer.forLambda("refresh", keys -> {
+            requestedKeys.add(keys);
+            int v = version.incrementAndGet();
+            return keys.stream().collect(Collectors.toMap(Function.identity(), k -> k + v));
+        });
+        CacheDefinition.Impl definition = new CacheDefinition.Impl("refresh", null, -1L, TimeUnit.MILLISECONDS);
+        definition.setRefreshAfterWriteTime(100L);
+        cacheManager.setExecutor(Runnable::run);
+        CacheableContainer<String> cacheableContainer = new CacheableContainer<>(container, definition, cacheManager);
+
+        Assert.assertEquals("a1", cacheableContainer.get(Collections.singletonList("a")).get("a"));
+        Assert.assertEquals(1, requestedKeys.size());
+
+        Thread.sleep(200L);
+        // the entry is refreshed by caffeine
+        cacheableContainer.get(Collections.singletonList("a"));
+        Assert.assertEquals("a2", cacheableContainer.get(Collections.singletonList("a")).get("a"));
+        Assert.assertEquals(2, requestedKeys.size());
+    }
+
+    @Test
+    public void testSoftExpireByCacheableContainer() throws InterruptedException {
+        List<Collection<String>> requestedKeys = new CopyOnWriteArrayList<>();
+        AtomicInteger version = new AtomicInteger();
+        Container<String> container = LambdaContainer.forLambda("refresh", keys -> {
+            requestedKeys.add(keys);
+            int v = version.incrementAndGet();
+            return keys.stream().collect(Collectors.toMap(Function.identity(), k -> k + v));
+        });
+        CacheDefinition.Impl definition = new CacheDefinition.Impl("refresh", null, -1L, TimeUnit.MILLISECONDS);
+        definition.setSoftExpireTime(100L);
+        definition.setRefreshAfterWriteTime(100L);
+        CacheableContainer<String> cacheableContainer = new CacheableContainer<>(container, definition, cacheManager);
+        cacheableContainer.setRefreshExecutor(Runnable::run);
+
+        Assert.assertEquals("a1", cacheableContainer.get(Collections.singletonList("a")).get("a"));
+        Assert.assertEquals("a1", cacheableContainer.get(Collections.singletonList("a")).get("a"));
+        Assert.assertEquals(1, requestedKeys.size());
+
+        Thread.sleep(200L);
+        // the stale value is returned, and the entry is refreshed by container
+        Assert.assertEquals("a1", cacheableContainer.get(Collections.singletonList("a")).get("a"));
+        Assert.assertEquals("a2", cacheableContainer.get(Collections.singletonList("a")).get("a"));
+        Assert.assertEquals(2, requestedKeys.size());
+    }
+
+    @Test
+    public void testWeighSoftExpireValues() {
+        List<Object> weighedValues = new CopyOnWriteArrayList<>();
+        cacheManager.setWeigher((key, value) -> {
+            weighedValues.add(value);
+            return CaffeineCacheManager.DEFAULT_WEIGHER.weigh(key, value);
+        });
+        cacheManager.setExecutor(Runnable::run);
+        Container<String> container = LambdaContainer.forLambda("weigh", keys -> keys.stream()
+            .collect(Collectors.toMap(Function.identity(), k -> Arrays.asList(k, k, k))));
+        CacheDefinition.Impl definition = new CacheDefinition.Impl("weigh", null, -1L, TimeUnit.MILLISECONDS);
+        definition.setSoftExpireTime(100L);
+        definition.setMaximumWeight(10L);
+        CacheableContainer<String> cacheableContainer = new CacheableContainer<>(container, definition, cacheManager);
+        cacheableContainer.get(Arrays.asList("a", "b", "c", "d"));
+
+        // the weigher sees the original values, so the entries are weighed by their sizes
+        Assert.assertFalse(weighedValues.isEmpty());
+        weighedValues.forEach(value -> Assert.assertEquals(3, ((Collection<?>)value).size()));
+        Assert.assertEquals(3L, cacheableContainer.getCurrentCache().getStats().getSize());
+    }
+
+    @Test
+    public void testPartialHitByCacheableContainer() {
+        List<Collection<String>> requestedKeys = new CopyOnWriteArrayList<>();
+        Container<String> container = LambdaContainer.forLambda("partial", keys -> {
+            requestedKeys.add(keys);
+            return keys.stream().collect(Collectors.toMap(Function.identity(), Function.identity()));
+        });
+        CacheDefinition definition = new CacheDefinition.Impl("partial", null, -1L, TimeUnit.MILLISECONDS);
+        CacheableContainer<String> cacheableContainer = new CacheableContainer<>(container, definition, cacheManager);
+        Assert.assertEquals("a", cacheableContainer.get(Collections.singletonList("a")).get("a"));
+
+        // the cached values are merged with the loaded values
+        Map<String, ?> results = cacheableContainer.get(Arrays.asList("a", "b"));
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals("a", results.get("a"));
+        Assert.assertEquals("b", results.get("b"));
+        Assert.assertEquals(2, requestedKeys.size());
+        Assert.assertEquals(Collections.singleton("b"), new HashSet<>(requestedKeys.get(1)));
+    }
+
+    @Test
+    public void testRefreshAfterWriteWithoutLoader() {
+        CacheDefinition.Impl definition = new CacheDefinition.Impl("refresh", null, -1L, TimeUnit.MILLISECONDS);
+        definition.setRefreshAfterWriteTime(100L);
+        CacheObject<String> cacheObject = cacheManager.createCache(definition, null);
+        cacheObject.put("a", "a");
+        Assert.assertEquals("a", cacheObject.get("a"));
+    }
+}
@@ -1,15 +1,25 @@
 package cn.crane4j.extension.redis;
 
 import cn.crane4j.core.cache.AbstractCacheManager;
+import cn.crane4j.core.cache.CacheValueCodec;
+import cn.crane4j.core.exception.Crane4jException;
+import cn.crane4j.core.util.CollectionUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -17,13 +27,28 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 /**
- * The cache manager based on spring {@link RedisTemplate}.
+ * <p>The cache manager based on spring {@link RedisTemplate}.
+ *
+ * <p>The keys and values are serialized by the serializers of {@link RedisTemplate},
+ * or by {@link #valueCodec} for values if it is specified.
+ * The bulk operations are split into chunks of {@link #batchSize} keys,
+ * all chunks are sent in one pipeline, or in parallel pipelines
+ * if {@link #batchExecutor} is specified.
+ *
+ * <p>By default, each entry is stored as a string value with its own expire time,
+ * if the cache name is contained in {@link #hashStorageCaches},
+ * all entries of the cache will be stored in one hash which is returned by {@link #resolveHashKey},
+ * and the expire time will be applied to the whole hash since its first writing.
  *
  * @param <K> key type
  * @param <V> value type
@@ -40,6 +65,44 @@ public abstract class AbstractRedisCacheManager<K, V> extends AbstractCacheManag
     @NonNull
     protected final RedisTemplate<K, V> redisTemplate;
 
+    /**
+     * The max number of keys in each chunk of bulk operations,
+     * not positive means no chunking.
+     *
+     * @since 2.7.0
+     */
+    @Setter
+    private int batchSize = 500;
+
+    /**
+     * The executor used to send chunks of bulk operations in parallel,
+     * if null, all chunks will be sent in one pipeline.
+     *
+     * @since 2.7.0
+     */
+    @Nullable
+    @Setter
+    private Executor batchExecutor;
+
+    /**
+     * The codec used to encode values,
+     * if null, the value serializer of {@link RedisTemplate} will be used.
+     *
+     * @since 2.7.0
+     */
+    @Nullable
+    @Setter
+    private CacheValueCodec valueCodec;
+
+    /**
+     * The names of caches whose entries are stored in a hash.
+     *
+     * @since 2.7.0
+     */
+    @NonNull
+    @Setter
+    private Set<String> hashStorageCaches = Collections.emptySet();
+
     /**
      * Create cache instance.
      *
@@ -64,6 +127,17 @@ public abstract class AbstractRedisCacheManager<K, V> extends AbstractCacheManag
      */
     protected abstract K resolveCacheKey(String cacheName, K key);
 
+    /**
+     * Get the key of hash which is used to store all cache values of specified cache in redis.
+     *
+     * @param cacheName cache name
+     * @return hash key
+     * @since 2.7.0
+     */
+    protected K resolveHashKey(String cacheName) {
+        throw new Crane4jException("hash storage is not supported by [{}]", getClass().getName());
+    }
+
     /**
      * Resolve cache value.
      *
@@ -99,6 +173,77 @@ public abstract class AbstractRedisCacheManager<K, V> extends AbstractCacheManag
         redisTemplate.executePipelined(callback);
     }
 
+    /**
+     * Split items into chunks, and execute commands of each chunk in pipeline.
+     *
+     * @param items items
+     * @param commands commands of chunk
+     * @param <T> item type
+     * @return raw results of all commands in order
+     * @since 2.7.0
+     */
+    protected <T> List<Object> executePipelinedInChunks(List<T> items, BiConsumer<RedisConnection, List<T>> commands) {
+        List<List<T>> chunks = split(items);
+        if (Objects.isNull(batchExecutor) || chunks.size() < 2) {
+            return executeRawPipelined(connection -> chunks.forEach(chunk -> commands.accept(connection, chunk)));
+        }
+        List<CompletableFuture<List<Object>>> futures = chunks.stream()
+            .map(chunk -> CompletableFuture.supplyAsync(
+                () -> executeRawPipelined(connection -> commands.accept(connection, chunk)), batchExecutor
+            ))
+            .collect(Collectors.toList());
+        List<Object> results = new ArrayList<>(items.size());
+        try {
+            futures.forEach(future -> results.addAll(future.join()));
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException)cause : new Crane4jException(cause);
+        }
+        return results;
+    }
+
+    private List<Object> executeRawPipelined(Consumer<RedisConnection> commands) {
+        // keep raw results, they will be deserialized by cache object
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>)connection -> {
+            commands.accept(connection);
+            return null;
+        }, null);
+        return Objects.isNull(results) ? Collections.emptyList() : results;
+    }
+
+    private <T> List<List<T>> split(List<T> items) {
+        if (batchSize <= 0 || items.size() <= batchSize) {
+            return Collections.singletonList(items);
+        }
+        List<List<T>> chunks = new ArrayList<>(items.size() / batchSize + 1);
+        for (int i = 0; i < items.size(); i += batchSize) {
+            chunks.add(items.subList(i, Math.min(i + batchSize, items.size())));
+        }
+        return chunks;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serializeKey(K key) {
+        return ((RedisSerializer<K>)redisTemplate.getKeySerializer()).serialize(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serializeValue(Object value) {
+        V cacheValue = resolveCacheValue(value);
+        return Objects.nonNull(valueCodec) ?
+            valueCodec.encode(cacheValue) : ((RedisSerializer<V>)redisTemplate.getValueSerializer()).serialize(cacheValue);
+    }
+
+    @Nullable
+    private Object deserializeValue(@Nullable Object value) {
+        if (!(value instanceof byte[])) {
+            return value;
+        }
+        byte[] bytes = (byte[])value;
+        return Objects.nonNull(valueCodec) ?
+            valueCodec.decode(bytes) : redisTemplate.getValueSerializer().deserialize(bytes);
+    }
+
     /**
      * Redis cache object.
      *
@@ -131,13 +276,29 @@ public abstract class AbstractRedisCacheManager<K, V> extends AbstractCacheManag
          */
         @Override
         public void putAll(Map<K, Object> caches) {
-            executePipelined(ops -> {
-                for (Map.Entry<K, Object> entry : caches.entrySet()) {
-                    K cacheKey = resolveCacheKey(getName(), entry.getKey());
-                    V cacheValue = resolveCacheValue(entry.getValue());
-                    ops.opsForValue().set(cacheKey, cacheValue, expireTime, timeUnit);
-                }
+            if (CollectionUtils.isEmpty(caches)) {
+                return;
+            }
+            // resolve keys before pipeline, because it may access redis
+            List<byte[][]> entries = new ArrayList<>(caches.size());
+            byte[] hashKey = isHashStorage() ? serializeKey(resolveHashKey(getName())) : null;
+            caches.forEach((key, value) -> entries.add(new byte[][] {
+                serializeKey(Objects.isNull(hashKey) ? resolveCacheKey(getName(), key) : key), serializeValue(value)
+            }));
+            if (Objects.isNull(hashKey)) {
+                Expiration expiration = getExpiration();
+                executePipelinedInChunks(entries, (connection, chunk) -> chunk.forEach(
+                    entry -> connection.set(entry[0], entry[1], expiration, RedisStringCommands.SetOption.UPSERT)
+                ));
+                return;
+            }
+            List<Object> results = executePipelinedInChunks(entries, (connection, chunk) -> {
+                Map<byte[], byte[]> fields = new LinkedHashMap<>(chunk.size());
+                chunk.forEach(entry -> fields.put(entry[0], entry[1]));
+                connection.hMSet(hashKey, fields);
+                connection.pTtl(hashKey);
             });
+            expireHashIfNecessary(hashKey, results);
         }
 
         /**
@@ -146,25 +307,58 @@ public abstract class AbstractRedisCacheManager<K, V> extends AbstractCacheManag
          * @param keys keys
          * @return cache value
          */
+        @SuppressWarnings("unchecked")
         @Override
         public Map<K, Object> getAll(Iterable<K> keys) {
-            Set<K> keySet = StreamSupport.stream(keys.spliterator(), false)
-                .map(key -> resolveCacheKey(getName(), key))
-                .collect(Collectors.toCollection(LinkedHashSet::new));
-            List<V> values = redisTemplate.opsForValue().multiGet(keySet);
-            if (Objects.isNull(values) || values.isEmpty()) {
-                return Collections.emptyMap();
+            List<K> keyList = new ArrayList<>(StreamSupport.stream(keys.spliterator(), false)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+            if (keyList.isEmpty()) {
+                return recordGetAll(Collections.emptyMap(), 0);
+            }
+            byte[] hashKey = isHashStorage() ? serializeKey(resolveHashKey(getName())) : null;
+            List<byte[]> rawKeys = keyList.stream()
+                .map(key -> serializeKey(Objects.isNull(hashKey) ? resolveCacheKey(getName(), key) : key))
+                .collect(Collectors.toList());
+            List<Object> results = executePipelinedInChunks(rawKeys, (connection, chunk) -> {
+                byte[][] chunkKeys = chunk.toArray(new byte[0][]);
+                if (Objects.isNull(hashKey)) {
+                    connection.mGet(chunkKeys);
+                } else {
+                    connection.hMGet(hashKey, chunkKeys);
+                }
+            });
+            // each chunk of keys is fetched by one command, so its values are in one result
+            List<List<K>> keyChunks = split(keyList);
+            if (results.size() != keyChunks.size()) {
+                throw new Crane4jException(
+                    "the number of results [{}] is mismatched with the number of key chunks [{}] in cache [{}]",
+                    results.size(), keyChunks.size(), getName()
+                );
             }
             // merged keys and values
-            Map<K, Object> results = new LinkedHashMap<>(16);
-            int index = 0;
-            for (K key : keys) {
-                V value = values.get(index++);
-                if (Objects.nonNull(value)) {
-                    results.put(key, value);
+            Map<K, Object> values = new LinkedHashMap<>(16);
+            for (int i = 0; i < keyChunks.size(); i++) {
+                List<K> chunkKeys = keyChunks.get(i);
+                Object result = results.get(i);
+                if (Objects.isNull(result)) {
+                    log.warn("no result is returned for [{}] keys of cache [{}], they are regarded as missed", chunkKeys.size(), getName());
+                    continue;
+                }
+                List<Object> chunkValues = (List<Object>)result;
+                if (chunkValues.size() != chunkKeys.size()) {
+                    throw new Crane4jException(
+                        "the number of values [{}] is mismatched with the number of keys [{}] in cache [{}]",
+                        chunkValues.size(), chunkKeys.size(), getName()
+                    );
+                }
+                for (int j = 0; j < chunkKeys.size(); j++) {
+                    Object cacheValue = deserializeValue(chunkValues.get(j));
+                    if (Objects.nonNull(cacheValue)) {
+                        values.put(chunkKeys.get(j), cacheValue);
+                    }
                 }
             }
-            return results;
+            return recordGetAll(values, keyList.size());
         }
 
         /**
@@ -174,6 +368,16 @@ public abstract class AbstractRedisCacheManager<K, V> extends AbstractCacheManag
          */
         @Override
         public void removeAll(Iterable<K> keys) {
+            if (isHashStorage()) {
+                byte[] hashKey = serializeKey(resolveHashKey(getName()));
+                byte[][] fields = StreamSupport.stream(keys.spliterator(), false)
+                    .map(AbstractRedisCacheManager.this::serializeKey)
+                    .toArray(byte[][]::new);
+                if (fields.length > 0) {
+                    redisTemplate.execute((RedisCallback<Long>)connection -> connection.hDel(hashKey, fields));
+                }
+                return;
+            }
             Set<K> keySet = StreamSupport.stream(keys.spliterator(), false)
                 .map(key -> resolveCacheKey(getName(), key))
                 .collect(Collectors.toSet());
@@ -189,8 +393,16 @@ public abstract class AbstractRedisCacheManager<K, V> extends AbstractCacheManag
         @Nullable
         @Override
         public Object get(K key) {
-            K cacheKey = resolveCacheKey(getName(), key);
-            return redisTemplate.opsForValue().get(cacheKey);
+            byte[] value;
+            if (isHashStorage()) {
+                byte[] hashKey = serializeKey(resolveHashKey(getName()));
+                byte[] field = serializeKey(key);
+                value = redisTemplate.execute((RedisCallback<byte[]>)connection -> connection.hGet(hashKey, field));
+            } else {
+                byte[] cacheKey = serializeKey(resolveCacheKey(getName(), key));
+                value = redisTemplate.execute((RedisCallback<byte[]>)connection -> connection.get(cacheKey));
+            }
+            return recordGet(deserializeValue(value));
         }
 
         /**
@@ -201,9 +413,7 @@ public abstract class AbstractRedisCacheManager<K, V> extends AbstractCacheManag
          */
         @Override
         public void put(K key, Object value) {
-            K cacheKey = resolveCacheKey(getName(), key);
-            V cacheValue = resolveCacheValue(value);
-            redisTemplate.opsForValue().set(cacheKey, cacheValue, expireTime, timeUnit);
+            write(key, value, false);
         }
 
         /**
@@ -214,10 +424,7 @@ public abstract class AbstractRedisCacheManager<K, V> extends AbstractCacheManag
          */
         @Override
         public void putIfAbsent(K key, Object value) {
-            K cacheKey = resolveCacheKey(getName(), key);
-            V cacheValue = resolveCacheValue(value);
-            redisTemplate.opsForValue()
-                .setIfAbsent(cacheKey, cacheValue, expireTime, timeUnit);
+            write(key, value, true);
         }
 
         /**
@@ -227,8 +434,54 @@ public abstract class AbstractRedisCacheManager<K, V> extends AbstractCacheManag
          */
         @Override
         public void remove(K key) {
-            K cacheKey = resolveCacheKey(getName(), key);
-            redisTemplate.delete(cacheKey);
+            removeAll(Collections.singletonList(key));
+        }
+
+        private void write(K key, Object value, boolean onlyIfAbsent) {
+            byte[] rawValue = serializeValue(value);
+            if (!isHashStorage()) {
+                byte[] cacheKey = serializeKey(resolveCacheKey(getName(), key));
+                RedisStringCommands.SetOption option = onlyIfAbsent ?
+                    RedisStringCommands.SetOption.SET_IF_ABSENT : RedisStringCommands.SetOption.UPSERT;
+                redisTemplate.execute((RedisCallback<Boolean>)connection -> connection.set(cacheKey, rawValue, getExpiration(), option));
+                return;
+            }
+            byte[] hashKey = serializeKey(resolveHashKey(getName()));
+            byte[] field = serializeKey(key);
+            List<Object> results = executeRawPipelined(connection -> {
+                if (onlyIfAbsent) {
+                    connection.hSetNX(hashKey, field, rawValue);
+                } else {
+                    connection.hSet(hashKey, field, rawValue);
+                }
+                connection.pTtl(hashKey);
+            });
+            expireHashIfNecessary(hashKey, results);
+        }
+
+        /**
+         * Set expire time for hash if it has no expire time,
+         * the result of {@code PTTL} should be the last one of each chunk.
+         */
+        private void expireHashIfNecessary(byte[] hashKey, List<Object> results) {
+            if (expireTime <= 0L) {
+                return;
+            }
+            boolean persistent = results.stream()
+                .filter(Long.class::isInstance)
+                .anyMatch(ttl -> ((Long)ttl) == -1L);
+            if (persistent) {
+                long millis = timeUnit.toMillis(expireTime);
+                redisTemplate.execute((RedisCallback<Boolean>)connection -> connection.pExpire(hashKey, millis));
+            }
+        }
+
+        private boolean isHashStorage() {
+            return hashStorageCaches.contains(getName());
+        }
+
+        private Expiration getExpiration() {
+            return expireTime > 0L ? Expiration.from(expireTime, timeUnit) : Expiration.persistent();
         }
     }
 }
@@ -1,8 +1,12 @@
 package cn.crane4j.extension.redis;
 
+import cn.crane4j.core.exception.Crane4jException;
+import lombok.Setter;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.data.redis.core.RedisTemplate;
 
+import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -16,6 +20,16 @@ public class GeneralRedisCacheManager<K, V> extends AbstractRedisCacheManager<K,
     private final BiFunction<String, K, K> keyResolver;
     private final Function<Object, V> valueResolver;
 
+    /**
+     * Resolver of hash key, it's required if hash storage is enabled.
+     *
+     * @see #setHashStorageCaches
+     * @since 2.7.0
+     */
+    @Nullable
+    @Setter
+    private Function<String, K> hashKeyResolver;
+
     /**
      * Create a new {@link GeneralRedisCacheManager} instance.
      *
@@ -43,6 +57,21 @@ public class GeneralRedisCacheManager<K, V> extends AbstractRedisCacheManager<K,
         return keyResolver.apply(cacheName, key);
     }
 
+    /**
+     * Get the key of hash which is used to store all cache values of specified cache in redis.
+     *
+     * @param cacheName cache name
+     * @return hash key
+     * @since 2.7.0
+     */
+    @Override
+    protected K resolveHashKey(String cacheName) {
+        if (Objects.isNull(hashKeyResolver)) {
+            throw new Crane4jException("hash key resolver is not specified for cache [{}]", cacheName);
+        }
+        return hashKeyResolver.apply(cacheName);
+    }
+
     /**
      * Resolve cache value.
      *
@@ -0,0 +1,126 @@
+package cn.crane4j.extension.redis;
+
+import cn.crane4j.core.cache.CacheInvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * <p>An implementation of {@link CacheInvalidationBus} based on redis pub/sub.<br />
+ * The events are serialized by {@link #serializer} and published to the specified channel,
+ * all nodes which subscribe the channel by {@link RedisMessageListenerContainer} will receive the events.
+ *
+ * <p>Note that redis pub/sub is fire-and-forget,
+ * the events published when a node is disconnected will be lost by the node.
+ *
+ * @author huangchengxing
+ * @see cn.crane4j.core.cache.NearCacheManager
+ * @since 2.7.0
+ */
+@Slf4j
+public class RedisCacheInvalidationBus implements CacheInvalidationBus, MessageListener {
+
+    public static final String DEFAULT_CHANNEL = "crane4j:cache:invalidation";
+
+    private final RedisTemplate<?, ?> redisTemplate;
+    private final String channel;
+    private final RedisSerializer<Object> serializer;
+    private final List<Consumer<Event>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create a {@link RedisCacheInvalidationBus} instance
+     * which serializes events by {@link JdkSerializationRedisSerializer}.
+     *
+     * @param redisTemplate redis template
+     * @param listenerContainer listener container
+     * @param channel channel
+     */
+    public RedisCacheInvalidationBus(
+        RedisTemplate<?, ?> redisTemplate, RedisMessageListenerContainer listenerContainer, String channel) {
+        this(redisTemplate, listenerContainer, channel, new JdkSerializationRedisSerializer());
+    }
+
+    /**
+     * Create a {@link RedisCacheInvalidationBus} instance.
+     *
+     * @param redisTemplate redis template
+     * @param listenerContainer listener container
+     * @param channel channel
+     * @param serializer serializer of events
+     */
+    public RedisCacheInvalidationBus(
+        @NonNull RedisTemplate<?, ?> redisTemplate, @NonNull RedisMessageListenerContainer listenerContainer,
+        @NonNull String channel, @NonNull RedisSerializer<Object> serializer) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.serializer = serializer;
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    /**
+     * Publish an event to all subscribers.
+     *
+     * @param event event
+     */
+    @Override
+    public void publish(Event event) {
+        byte[] body = serializer.serialize(event);
+        if (Objects.isNull(body)) {
+            return;
+        }
+        redisTemplate.execute(connection -> connection.publish(
+            channel.getBytes(StandardCharsets.UTF_8), body
+        ), true);
+    }
+
+    /**
+     * Subscribe the events published by all nodes.
+     *
+     * @param listener listener
+     */
+    @Override
+    public void subscribe(Consumer<Event> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Callback for processing received messages.
+     *
+     * @param message message
+     * @param pattern pattern matching the channel, may be null
+     */
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        Object event;
+        try {
+            event = serializer.deserialize(message.getBody());
+        } catch (Exception ex) {
+            log.warn("failed to deserialize cache invalidation event from channel [{}]", channel, ex);
+            return;
+        }
+        if (!(event instanceof Event)) {
+            log.warn("ignore unknown message [{}] from channel [{}]", event, channel);
+            return;
+        }
+        for (Consumer<Event> listener : listeners) {
+            try {
+                listener.accept((Event)event);
+            } catch (Exception ex) {
+                log.warn("failed to handle cache invalidation event [{}]", event, ex);
+            }
+        }
+    }
+}
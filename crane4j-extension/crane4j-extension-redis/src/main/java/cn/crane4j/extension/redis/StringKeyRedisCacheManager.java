@@ -1,23 +1,58 @@
 package cn.crane4j.extension.redis;
 
 import cn.crane4j.core.cache.CacheObject;
-import cn.crane4j.core.util.CollectionUtils;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
-import java.util.Set;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
 
 /**
- * The cache manager based on spring {@link RedisTemplate},
+ * <p>The cache manager based on spring {@link RedisTemplate},
  * default cache key is {@code globalPrefix + ":" + cacheName + ":" + key}.
  *
+ * <p>If {@link #enableGenerationKey} is true,
+ * the cache key will be {@code globalPrefix + ":" + cacheName + ":" + generation + ":" + key},
+ * and the generation of each cache is stored in redis with key
+ * {@code globalPrefix + ":" + cacheName + ":generation"},
+ * when the cache is cleared, the generation will be increased,
+ * then all keys of the previous generations will be logically invalidated in O(1).
+ * The generation is cached in local and will be checked again
+ * after {@link #generationCheckInterval} milliseconds,
+ * so the clearing made by other nodes will be visible after the interval at most.<br />
+ * Note that the keys written in the format without generation are no longer read after it is enabled,
+ * so it should be enabled on all nodes which share the same redis at the same time,
+ * and the keys in previous format will be deleted only when they expire or the cache is actually cleared.
+ *
+ * <p>If {@link #enableClearCache} is true, the keys which are invalidated will be deleted
+ * actually through incremental {@code SCAN} and {@code UNLINK} commands,
+ * it is performed in background only when the keys have been invalidated by increasing the generation.
+ * Note that it requires the key serializer of {@link RedisTemplate} to be a string serializer.
+ *
  * @author huangchengxing
  */
 @Slf4j
 public class StringKeyRedisCacheManager extends AbstractRedisCacheManager<String, Object> {
 
+    private static final String GENERATION_KEY_SUFFIX = "generation";
+
     /**
      * Global prefix for all cache keys.
      */
@@ -28,27 +63,82 @@ public class StringKeyRedisCacheManager extends AbstractRedisCacheManager<String
     /**
      * <p>Whether enable actually clear cache from redis
      * when {@link #clearAll()}、{@link #removeCache(String)} or {@link CacheObject#clear()} is called.
-     * 
+     *
      * <p>It's a dangerous operation, please use it carefully.
      */
     @Setter
     private boolean enableClearCache = false;
 
+    /**
+     * Whether to embed the generation of cache in cache key,
+     * if true, the clearing of cache is O(1) by increasing the generation.
+     * Default is false, so the format of cache key is compatible with previous versions.
+     *
+     * @since 2.7.0
+     */
+    @Setter
+    private boolean enableGenerationKey = false;
+
+    /**
+     * The interval in milliseconds to check the generation of cache from redis.
+     *
+     * @since 2.7.0
+     */
+    @Setter
+    private long generationCheckInterval = 1000L;
+
+    /**
+     * The number of keys scanned and unlinked in each batch when actually clearing cache.
+     *
+     * @since 2.7.0
+     */
+    @Setter
+    private int scanBatchSize = 1000;
+
+    /**
+     * The executor used to actually clear cache in background.
+     *
+     * @since 2.7.0
+     */
+    @NonNull
+    @Setter
+    private Executor cleanupExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * cache name -> generation
+     */
+    private final ConcurrentMap<String, Generation> generations = new ConcurrentHashMap<>();
+
     public StringKeyRedisCacheManager(@NonNull RedisTemplate<String, Object> redisTemplate) {
         super(redisTemplate);
     }
 
+    /**
+     * <p>Clear all cache value for specified cache object.<br />
+     * If {@link #enableGenerationKey} is true, the generation of cache will be increased,
+     * and if {@link #enableClearCache} is true, the invalidated keys will be deleted in background.
+     * Otherwise, if {@link #enableClearCache} is true, the keys will be deleted in current thread,
+     * because they are still readable until they are deleted.
+     *
+     * @param cacheName cache name
+     */
     @Override
     protected void clearCache(String cacheName) {
-        if (enableClearCache) {
-            String command = globalPrefix + ":" + cacheName + ":*";
-            Set<String> keys = redisTemplate.keys(command);
-            if (CollectionUtils.isNotEmpty(keys)) {
-                log.warn("Clear [{}] keys from cache [{}] by command [{}]", keys.size(), cacheName, command);
-                redisTemplate.delete(keys);
+        if (enableGenerationKey) {
+            long generation = increaseGeneration(cacheName);
+            if (enableClearCache) {
+                String currentPrefix = resolveCachePrefix(cacheName) + generation + ":";
+                String generationKey = resolveGenerationKey(cacheName);
+                cleanupAsync(cacheName, key -> !key.startsWith(currentPrefix) && !key.equals(generationKey));
             }
             return;
         }
+        if (enableClearCache) {
+            // the keys are still valid before deleted, so they must be deleted before returning
+            long count = cleanup(cacheName, key -> true);
+            log.info("unlink [{}] keys from cache [{}]", count, cacheName);
+            return;
+        }
         super.clearCache(cacheName);
     }
 
@@ -61,7 +151,23 @@ public class StringKeyRedisCacheManager extends AbstractRedisCacheManager<String
      */
     @Override
     protected String resolveCacheKey(String cacheName, String key) {
-        return globalPrefix + ":" + cacheName + ":" + key;
+        if (enableGenerationKey) {
+            return resolveCachePrefix(cacheName) + currentGeneration(cacheName) + ":" + key;
+        }
+        return resolveCachePrefix(cacheName) + key;
+    }
+
+    /**
+     * Get the key of hash which is used to store all cache values of specified cache in redis,
+     * it is {@code globalPrefix + ":" + cacheName + ":" + generation + ":"}.
+     *
+     * @param cacheName cache name
+     * @return hash key
+     * @since 2.7.0
+     */
+    @Override
+    protected String resolveHashKey(String cacheName) {
+        return resolveCacheKey(cacheName, "");
     }
 
     /**
@@ -74,4 +180,113 @@ public class StringKeyRedisCacheManager extends AbstractRedisCacheManager<String
     protected Object resolveCacheValue(Object value) {
         return value;
     }
+
+    /**
+     * Get the current generation of cache.
+     *
+     * @param cacheName cache name
+     * @return generation
+     * @since 2.7.0
+     */
+    protected long currentGeneration(String cacheName) {
+        long now = System.currentTimeMillis();
+        Generation generation = generations.get(cacheName);
+        if (Objects.nonNull(generation) && now - generation.checkedAt < generationCheckInterval) {
+            return generation.value;
+        }
+        byte[] generationKey = serializeKey(resolveGenerationKey(cacheName));
+        byte[] value = redisTemplate.execute((RedisCallback<byte[]>)connection -> connection.get(generationKey));
+        long current = Objects.isNull(value) ? 0L : Long.parseLong(new String(value, StandardCharsets.UTF_8));
+        generations.put(cacheName, new Generation(current, now));
+        return current;
+    }
+
+    private long increaseGeneration(String cacheName) {
+        byte[] generationKey = serializeKey(resolveGenerationKey(cacheName));
+        Long generation = redisTemplate.execute((RedisCallback<Long>)connection -> connection.incr(generationKey));
+        long current = Objects.isNull(generation) ? 0L : generation;
+        generations.put(cacheName, new Generation(current, System.currentTimeMillis()));
+        log.info("increase generation of cache [{}] to [{}]", cacheName, current);
+        return current;
+    }
+
+    private void cleanupAsync(String cacheName, Predicate<String> filter) {
+        try {
+            cleanupExecutor.execute(() -> {
+                try {
+                    long count = cleanup(cacheName, filter);
+                    log.info("unlink [{}] keys from cache [{}]", count, cacheName);
+                } catch (Exception ex) {
+                    log.warn("failed to unlink keys from cache [{}]", cacheName, ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn("cleanup of cache [{}] is rejected by executor", cacheName, ex);
+        }
+    }
+
+    /**
+     * Scan the keys of cache incrementally, and unlink the matched keys in batches.
+     *
+     * @param cacheName cache name
+     * @param filter filter of keys to unlink
+     * @return number of keys unlinked
+     */
+    private long cleanup(String cacheName, Predicate<String> filter) {
+        ScanOptions options = ScanOptions.scanOptions()
+            .match(resolveCachePrefix(cacheName) + "*")
+            .count(scanBatchSize)
+            .build();
+        Long count = redisTemplate.execute((RedisCallback<Long>)connection -> {
+            long unlinked = 0L;
+            List<byte[]> batch = new ArrayList<>(scanBatchSize);
+            try (Cursor<byte[]> cursor = connection.scan(options)) {
+                while (cursor.hasNext()) {
+                    byte[] key = cursor.next();
+                    if (filter.test(new String(key, StandardCharsets.UTF_8))) {
+                        batch.add(key);
+                    }
+                    if (batch.size() >= scanBatchSize) {
+                        unlinked += unlink(connection, batch);
+                    }
+                }
+            } catch (IOException ex) {
+                log.warn("failed to close scan cursor of cache [{}]", cacheName, ex);
+            }
+            return unlinked + unlink(connection, batch);
+        });
+        return Objects.isNull(count) ? 0L : count;
+    }
+
+    private static long unlink(RedisConnection connection, List<byte[]> keys) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        Long count = connection.unlink(keys.toArray(new byte[0][]));
+        keys.clear();
+        return Objects.isNull(count) ? 0L : count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serializeKey(String key) {
+        RedisSerializer<String> serializer = (RedisSerializer<String>)redisTemplate.getKeySerializer();
+        return Objects.isNull(serializer) ? key.getBytes(StandardCharsets.UTF_8) : serializer.serialize(key);
+    }
+
+    private String resolveCachePrefix(String cacheName) {
+        return globalPrefix + ":" + cacheName + ":";
+    }
+
+    private String resolveGenerationKey(String cacheName) {
+        return resolveCachePrefix(cacheName) + GENERATION_KEY_SUFFIX;
+    }
+
+    /**
+     * Generation of cache which is cached in local.
+     */
+    @RequiredArgsConstructor
+    private static class Generation {
+        private final long value;
+        private final long checkedAt;
+    }
 }
@@ -0,0 +1,221 @@
+package cn.crane4j.extension.redis;
+
+import lombok.Getter;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * An in-process redis stand-in based on mocked {@link RedisTemplate} and {@link RedisConnection},
+ * keys are serialized by {@link StringRedisSerializer},
+ * and values are serialized by {@link JdkSerializationRedisSerializer}.
+ *
+ * @author huangchengxing
+ */
+@Getter
+class InMemoryRedis {
+
+    /**
+     * key -> byte[] or hash
+     */
+    private final Map<String, Object> data = new ConcurrentHashMap<>();
+    private final Map<String, Long> expireTimes = new ConcurrentHashMap<>();
+    private final ThreadLocal<List<Object>> pipeline = new ThreadLocal<>();
+    private final RedisSerializer<Object> valueSerializer = new JdkSerializationRedisSerializer();
+    private final RedisConnection connection;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @SuppressWarnings("unchecked")
+    InMemoryRedis() {
+        connection = Mockito.mock(RedisConnection.class);
+        Mockito.when(connection.get(Mockito.any(byte[].class)))
+            .thenAnswer(reply(invocation -> data.get(key(invocation.getArgument(0)))));
+        Mockito.when(connection.mGet(Mockito.<byte[]>any())).thenAnswer(reply(invocation -> Arrays.stream(invocation.getArguments())
+            .map(key -> data.get(key((byte[])key)))
+            .collect(Collectors.toList())
+        ));
+        Mockito.when(connection.set(
+            Mockito.any(byte[].class), Mockito.any(byte[].class), Mockito.any(Expiration.class), Mockito.any(RedisStringCommands.SetOption.class)
+        )).thenAnswer(reply(invocation -> {
+            String key = key(invocation.getArgument(0));
+            if (invocation.getArgument(3) == RedisStringCommands.SetOption.SET_IF_ABSENT && data.containsKey(key)) {
+                return false;
+            }
+            data.put(key, invocation.getArgument(1));
+            Expiration expiration = invocation.getArgument(2);
+            if (expiration.isPersistent()) {
+                expireTimes.remove(key);
+            } else {
+                expireTimes.put(key, expiration.getExpirationTimeInMilliseconds());
+            }
+            return true;
+        }));
+        Mockito.when(connection.incr(Mockito.any(byte[].class))).thenAnswer(reply(invocation -> {
+            String key = key(invocation.getArgument(0));
+            byte[] value = (byte[])data.merge(key, "1".getBytes(StandardCharsets.UTF_8), (o, n) -> String
+                .valueOf(Long.parseLong(new String((byte[])o, StandardCharsets.UTF_8)) + 1L)
+                .getBytes(StandardCharsets.UTF_8)
+            );
+            return Long.parseLong(new String(value, StandardCharsets.UTF_8));
+        }));
+        Mockito.when(connection.scan(Mockito.any(ScanOptions.class))).thenAnswer(invocation -> {
+            String pattern = invocation.<ScanOptions>getArgument(0).getPattern();
+            String prefix = Objects.requireNonNull(pattern).substring(0, pattern.length() - 1);
+            List<byte[]> keys = data.keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .map(key -> key.getBytes(StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+            return cursor(keys.iterator());
+        });
+        Mockito.when(connection.unlink(Mockito.<byte[]>any())).thenAnswer(reply(invocation -> Arrays.stream(invocation.getArguments())
+            .map(key -> data.remove(key((byte[])key)))
+            .filter(Objects::nonNull)
+            .count()
+        ));
+        Mockito.when(connection.pTtl(Mockito.any(byte[].class))).thenAnswer(reply(invocation -> {
+            String key = key(invocation.getArgument(0));
+            return data.containsKey(key) ? expireTimes.getOrDefault(key, -1L) : -2L;
+        }));
+        Mockito.when(connection.pExpire(Mockito.any(byte[].class), Mockito.anyLong())).thenAnswer(reply(invocation -> {
+            expireTimes.put(key(invocation.getArgument(0)), invocation.getArgument(1));
+            return true;
+        }));
+
+        // hash
+        Mockito.when(connection.hGet(Mockito.any(byte[].class), Mockito.any(byte[].class)))
+            .thenAnswer(reply(invocation -> readHash(invocation.getArgument(0)).get(key(invocation.getArgument(1)))));
+        Mockito.when(connection.hMGet(Mockito.any(byte[].class), Mockito.<byte[]>any())).thenAnswer(reply(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            Map<String, byte[]> hash = readHash((byte[])arguments[0]);
+            return Arrays.stream(arguments, 1, arguments.length)
+                .map(field -> hash.get(key((byte[])field)))
+                .collect(Collectors.toList());
+        }));
+        Mockito.when(connection.hSet(Mockito.any(byte[].class), Mockito.any(byte[].class), Mockito.any(byte[].class)))
+            .thenAnswer(reply(invocation -> hash(invocation.getArgument(0)).put(key(invocation.getArgument(1)), invocation.getArgument(2)) == null));
+        Mockito.when(connection.hSetNX(Mockito.any(byte[].class), Mockito.any(byte[].class), Mockito.any(byte[].class)))
+            .thenAnswer(reply(invocation -> hash(invocation.getArgument(0)).putIfAbsent(key(invocation.getArgument(1)), invocation.getArgument(2)) == null));
+        Mockito.doAnswer(invocation -> {
+            Map<String, byte[]> hash = hash(invocation.getArgument(0));
+            invocation.<Map<byte[], byte[]>>getArgument(1).forEach((field, value) -> hash.put(key(field), value));
+            return null;
+        }).when(connection).hMSet(Mockito.any(byte[].class), Mockito.anyMap());
+        Mockito.when(connection.hDel(Mockito.any(byte[].class), Mockito.<byte[]>any())).thenAnswer(reply(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            Map<String, byte[]> hash = readHash((byte[])arguments[0]);
+            return Arrays.stream(arguments, 1, arguments.length)
+                .map(field -> hash.remove(key((byte[])field)))
+                .filter(Objects::nonNull)
+                .count();
+        }));
+
+        redisTemplate = Mockito.mock(RedisTemplate.class);
+        Mockito.when(redisTemplate.getKeySerializer()).thenAnswer(invocation -> new StringRedisSerializer());
+        Mockito.when(redisTemplate.getValueSerializer()).thenAnswer(invocation -> valueSerializer);
+        Mockito.when(redisTemplate.execute(Mockito.any(RedisCallback.class)))
+            .thenAnswer(invocation -> ((RedisCallback<?>)invocation.getArgument(0)).doInRedis(connection));
+        Mockito.when(redisTemplate.executePipelined(Mockito.any(RedisCallback.class), Mockito.any())).thenAnswer(invocation -> {
+            List<Object> results = new ArrayList<>();
+            pipeline.set(results);
+            try {
+                ((RedisCallback<?>)invocation.getArgument(0)).doInRedis(connection);
+            } finally {
+                pipeline.remove();
+            }
+            return results;
+        });
+        Mockito.when(redisTemplate.delete(Mockito.anyCollection())).thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0).stream()
+            .map(data::remove)
+            .filter(Objects::nonNull)
+            .count()
+        );
+    }
+
+    /**
+     * Get the deserialized value of key.
+     */
+    Object getValue(String key) {
+        Object value = data.get(key);
+        return value instanceof byte[] ? valueSerializer.deserialize((byte[])value) : value;
+    }
+
+    /**
+     * Get the value of key as string.
+     */
+    String getString(String key) {
+        Object value = data.get(key);
+        return value instanceof byte[] ? new String((byte[])value, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Put a serialized value.
+     */
+    void putValue(String key, Object value) {
+        data.put(key, Objects.requireNonNull(valueSerializer.serialize(value)));
+    }
+
+    /**
+     * Put a string value.
+     */
+    void putString(String key, String value) {
+        data.put(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, byte[]> hash(byte[] key) {
+        return (Map<String, byte[]>)data.computeIfAbsent(key(key), k -> new ConcurrentHashMap<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, byte[]> readHash(byte[] key) {
+        Object hash = data.get(key(key));
+        return hash instanceof Map ? (Map<String, byte[]>)hash : new HashMap<>();
+    }
+
+    private Answer<Object> reply(Function<InvocationOnMock, Object> function) {
+        return invocation -> {
+            Object result = function.apply(invocation);
+            List<Object> results = pipeline.get();
+            if (Objects.isNull(results)) {
+                return result;
+            }
+            results.add(result);
+            return null;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<byte[]> cursor(Iterator<byte[]> iterator) {
+        Cursor<byte[]> cursor = Mockito.mock(Cursor.class);
+        Mockito.when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        Mockito.when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+
+    private static String key(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
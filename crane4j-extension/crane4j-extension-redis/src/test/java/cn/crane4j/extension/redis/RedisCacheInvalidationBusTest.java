@@ -0,0 +1,84 @@
+package cn.crane4j.extension.redis;
+
+import cn.crane4j.core.cache.CacheInvalidationBus;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * test for {@link RedisCacheInvalidationBus}
+ *
+ * @author huangchengxing
+ */
+public class RedisCacheInvalidationBusTest {
+
+    private static final String CHANNEL = RedisCacheInvalidationBus.DEFAULT_CHANNEL;
+
+    private RedisConnection connection;
+    private RedisMessageListenerContainer listenerContainer;
+    private RedisCacheInvalidationBus bus;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void init() {
+        connection = Mockito.mock(RedisConnection.class);
+        RedisTemplate<String, Object> redisTemplate = Mockito.mock(RedisTemplate.class);
+        Mockito.when(redisTemplate.execute(Mockito.any(RedisCallback.class), Mockito.eq(true)))
+            .thenAnswer(invocation -> ((RedisCallback<?>)invocation.getArgument(0)).doInRedis(connection));
+        listenerContainer = Mockito.mock(RedisMessageListenerContainer.class);
+        bus = new RedisCacheInvalidationBus(redisTemplate, listenerContainer, CHANNEL);
+    }
+
+    @Test
+    public void testSubscribeChannel() {
+        Mockito.verify(listenerContainer).addMessageListener(bus, new ChannelTopic(CHANNEL));
+    }
+
+    @Test
+    public void testPublish() {
+        CacheInvalidationBus.Event event = new CacheInvalidationBus.Event("node", "test", Collections.singletonList("a"));
+        bus.publish(event);
+
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        Mockito.verify(connection).publish(Mockito.eq(CHANNEL.getBytes(StandardCharsets.UTF_8)), body.capture());
+        Object published = new JdkSerializationRedisSerializer().deserialize(body.getValue());
+        Assert.assertTrue(published instanceof CacheInvalidationBus.Event);
+        Assert.assertEquals("node", ((CacheInvalidationBus.Event)published).getSource());
+        Assert.assertEquals("test", ((CacheInvalidationBus.Event)published).getCacheName());
+        Assert.assertEquals(Collections.singletonList("a"), ((CacheInvalidationBus.Event)published).getKeys());
+    }
+
+    @Test
+    public void testOnMessage() {
+        List<CacheInvalidationBus.Event> received = new ArrayList<>();
+        bus.subscribe(received::add);
+        bus.subscribe(event -> {
+            throw new IllegalStateException("failed");
+        });
+
+        byte[] body = new JdkSerializationRedisSerializer().serialize(new CacheInvalidationBus.Event("node", "test", null));
+        bus.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+        Assert.assertEquals(1, received.size());
+        Assert.assertTrue(received.get(0).isClear());
+
+        // unknown messages are ignored
+        bus.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), "unknown".getBytes(StandardCharsets.UTF_8)), null);
+        byte[] other = new JdkSerializationRedisSerializer().serialize("other");
+        bus.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), other), null);
+        Assert.assertEquals(1, received.size());
+    }
+}
@@ -0,0 +1,226 @@
+package cn.crane4j.extension.redis;
+
+import cn.crane4j.core.cache.CacheObject;
+import cn.crane4j.core.cache.CacheValueCodec;
+import cn.crane4j.core.exception.Crane4jException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * test for {@link AbstractRedisCacheManager.RedisCacheObject} with an in-process redis stand-in
+ *
+ * @author huangchengxing
+ */
+public class RedisCacheObjectTest {
+
+    private static final String PREFIX = "prefix";
+    private static final String CACHE_NAME = "test";
+
+    private InMemoryRedis redis;
+    private RedisConnection connection;
+    private RedisTemplate<String, Object> redisTemplate;
+    private StringKeyRedisCacheManager cacheManager;
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        redis = new InMemoryRedis();
+        connection = redis.getConnection();
+        redisTemplate = redis.getRedisTemplate();
+        cacheManager = new StringKeyRedisCacheManager(redisTemplate);
+        cacheManager.setGlobalPrefix(PREFIX);
+        cacheManager.setEnableGenerationKey(false);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBulkOperationsInChunks() {
+        cacheManager.setBatchSize(2);
+        CacheObject<String> cache = cacheManager.createCache(CACHE_NAME, 1L, TimeUnit.HOURS);
+        cache.putAll(values(5));
+        Assert.assertEquals("value0", redis.getValue(resolveCacheKey("key0")));
+        Assert.assertEquals(Long.valueOf(TimeUnit.HOURS.toMillis(1L)), redis.getExpireTimes().get(resolveCacheKey("key4")));
+
+        List<String> keys = Arrays.asList("key0", "key1", "none", "key2", "key0", "key3", "key4");
+        Map<String, Object> results = cache.getAll(keys);
+        Assert.assertEquals(values(5), results);
+        Assert.assertEquals(Arrays.asList("key0", "key1", "key2", "key3", "key4"), new ArrayList<>(results.keySet()));
+
+        // each chunk is sent by one command, and all chunks are sent in one pipeline
+        Mockito.verify(connection, Mockito.times(3)).mGet(Mockito.<byte[]>any());
+        Mockito.verify(redisTemplate, Mockito.times(2)).executePipelined(Mockito.any(RedisCallback.class), Mockito.any());
+        Assert.assertTrue(cache.getAll(Collections.emptyList()).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBulkOperationsInParallelPipelines() {
+        cacheManager.setBatchSize(10);
+        cacheManager.setBatchExecutor(executor);
+        CacheObject<String> cache = cacheManager.createCache(CACHE_NAME, -1L, TimeUnit.MILLISECONDS);
+        Map<String, Object> values = values(35);
+        cache.putAll(values);
+        Assert.assertFalse(redis.getExpireTimes().containsKey(resolveCacheKey("key0")));
+
+        List<String> keys = IntStream.range(0, 40).mapToObj(i -> "key" + i).collect(Collectors.toList());
+        Map<String, Object> results = cache.getAll(keys);
+        Assert.assertEquals(values, results);
+        Assert.assertEquals(keys.subList(0, 35), new ArrayList<>(results.keySet()));
+        Mockito.verify(redisTemplate, Mockito.times(8)).executePipelined(Mockito.any(RedisCallback.class), Mockito.any());
+    }
+
+    @Test
+    public void testBulkGetWithMissingChunkResult() {
+        cacheManager.setBatchSize(2);
+        CacheObject<String> cache = cacheManager.createCache(CACHE_NAME, -1L, TimeUnit.MILLISECONDS);
+        cache.putAll(values(5));
+        AtomicInteger calls = new AtomicInteger();
+        Mockito.doAnswer(invocation -> {
+            // no result is returned for the first chunk
+            List<Object> chunkValues = calls.getAndIncrement() == 0 ? null : Arrays.stream(invocation.getArguments())
+                .map(key -> redis.getData().get(new String((byte[])key, StandardCharsets.UTF_8)))
+                .collect(Collectors.toList());
+            redis.getPipeline().get().add(chunkValues);
+            return null;
+        }).when(connection).mGet(Mockito.<byte[]>any());
+
+        // the values of following chunks are still assigned to their own keys
+        Map<String, Object> results = cache.getAll(Arrays.asList("key0", "key1", "key2", "key3", "key4"));
+        Map<String, Object> expected = values(5);
+        expected.remove("key0");
+        expected.remove("key1");
+        Assert.assertEquals(expected, results);
+
+        // the mismatched result is not assigned to other keys
+        Mockito.doAnswer(invocation -> {
+            redis.getPipeline().get().add(Collections.emptyList());
+            return null;
+        }).when(connection).mGet(Mockito.<byte[]>any());
+        Assert.assertThrows(Crane4jException.class, () -> cache.getAll(Arrays.asList("key0", "key1")));
+    }
+
+    @Test
+    public void testBulkOperationsFailed() {
+        cacheManager.setBatchSize(1);
+        cacheManager.setBatchExecutor(executor);
+        CacheObject<String> cache = cacheManager.createCache(CACHE_NAME, -1L, TimeUnit.MILLISECONDS);
+        Mockito.doThrow(new IllegalStateException("failed")).when(connection).mGet(Mockito.<byte[]>any());
+        Assert.assertThrows(IllegalStateException.class, () -> cache.getAll(Arrays.asList("key0", "key1")));
+    }
+
+    @Test
+    public void testValueCodec() {
+        cacheManager.setValueCodec(new StringCodec());
+        CacheObject<String> cache = cacheManager.createCache(CACHE_NAME, -1L, TimeUnit.MILLISECONDS);
+        cache.put("key", "value");
+        cache.putAll(Collections.singletonMap("key1", "value1"));
+        Assert.assertEquals("value", redis.getString(resolveCacheKey("key")));
+        Assert.assertEquals("value1", redis.getString(resolveCacheKey("key1")));
+        Assert.assertEquals("value", cache.get("key"));
+        Assert.assertEquals("value1", cache.getAll(Collections.singletonList("key1")).get("key1"));
+    }
+
+    @Test
+    public void testHashStorage() {
+        cacheManager.setHashStorageCaches(Collections.singleton(CACHE_NAME));
+        cacheManager.setBatchSize(2);
+        CacheObject<String> cache = cacheManager.createCache(CACHE_NAME, 1L, TimeUnit.HOURS);
+        String hashKey = resolveCacheKey("");
+
+        cache.putAll(values(3));
+        Map<String, byte[]> hash = redis.hash(hashKey.getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(3, hash.size());
+        Assert.assertEquals(Long.valueOf(TimeUnit.HOURS.toMillis(1L)), redis.getExpireTimes().get(hashKey));
+        Assert.assertEquals(values(3), cache.getAll(Arrays.asList("key0", "key1", "key2", "none")));
+        Mockito.verify(connection, Mockito.times(2)).hMGet(Mockito.any(byte[].class), Mockito.<byte[]>any());
+
+        cache.put("key3", "value3");
+        Assert.assertEquals("value3", cache.get("key3"));
+        cache.putIfAbsent("key3", "other");
+        Assert.assertEquals("value3", cache.get("key3"));
+        cache.remove("key3");
+        Assert.assertNull(cache.get("key3"));
+        cache.removeAll(Arrays.asList("key0", "key1"));
+        Assert.assertEquals(1, hash.size());
+
+        // the expire time is only set when the hash is created
+        Mockito.verify(connection, Mockito.times(1)).pExpire(Mockito.any(byte[].class), Mockito.anyLong());
+        Mockito.verify(connection, Mockito.never()).mGet(Mockito.<byte[]>any());
+    }
+
+    @Test
+    public void testHashStorageWithGeneration() {
+        cacheManager.setEnableGenerationKey(true);
+        cacheManager.setHashStorageCaches(Collections.singleton(CACHE_NAME));
+        CacheObject<String> cache = cacheManager.createCache(CACHE_NAME, -1L, TimeUnit.MILLISECONDS);
+        cache.put("key", "value");
+        Assert.assertTrue(redis.getData().containsKey(PREFIX + ":" + CACHE_NAME + ":0:"));
+        cache.clear();
+        Assert.assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void testHashStorageNotSupported() {
+        GeneralRedisCacheManager<String, Object> manager = new GeneralRedisCacheManager<>(
+            redisTemplate, (cacheName, key) -> cacheName + ":" + key, Function.identity()
+        );
+        manager.setHashStorageCaches(Collections.singleton(CACHE_NAME));
+        CacheObject<String> cache = manager.createCache(CACHE_NAME, -1L, TimeUnit.MILLISECONDS);
+        Assert.assertThrows(Crane4jException.class, () -> cache.get("key"));
+
+        manager.setHashKeyResolver(cacheName -> "hash:" + cacheName);
+        cache.put("key", "value");
+        Assert.assertEquals("value", cache.get("key"));
+        Assert.assertTrue(redis.getData().containsKey("hash:" + CACHE_NAME));
+    }
+
+    private static Map<String, Object> values(int size) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            values.put("key" + i, "value" + i);
+        }
+        return values;
+    }
+
+    private static String resolveCacheKey(String key) {
+        return PREFIX + ":" + CACHE_NAME + ":" + key;
+    }
+
+    private static class StringCodec implements CacheValueCodec {
+        @Override
+        public byte[] encode(Object value) {
+            return value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        @Override
+        public Object decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
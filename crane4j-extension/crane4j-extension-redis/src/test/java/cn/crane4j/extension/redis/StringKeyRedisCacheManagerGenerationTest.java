@@ -0,0 +1,134 @@
+package cn.crane4j.extension.redis;
+
+import cn.crane4j.core.cache.CacheObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * test for {@link StringKeyRedisCacheManager} with an in-process redis stand-in
+ *
+ * @author huangchengxing
+ */
+public class StringKeyRedisCacheManagerGenerationTest {
+
+    private static final String PREFIX = "prefix";
+    private static final String CACHE_NAME = "test";
+
+    private InMemoryRedis redis;
+    private RedisConnection connection;
+    private StringKeyRedisCacheManager cacheManager;
+    private CacheObject<String> cache;
+
+    @Before
+    public void init() {
+        redis = new InMemoryRedis();
+        connection = redis.getConnection();
+        cacheManager = new StringKeyRedisCacheManager(redis.getRedisTemplate());
+        cacheManager.setGlobalPrefix(PREFIX);
+        cacheManager.setEnableGenerationKey(true);
+        cacheManager.setCleanupExecutor(Runnable::run);
+        cache = cacheManager.createCache(CACHE_NAME, -1L, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testClearByGeneration() {
+        cache.put("key", "value");
+        Assert.assertEquals("value", redis.getValue(resolveCacheKey(0L, "key")));
+        Assert.assertEquals("value", cache.get("key"));
+
+        // the keys of previous generation are invalidated logically
+        cache.clear();
+        Assert.assertEquals("1", redis.getString(resolveGenerationKey()));
+        Assert.assertNull(cache.get("key"));
+        Assert.assertEquals("value", redis.getValue(resolveCacheKey(0L, "key")));
+
+        cache.put("key", "new value");
+        Assert.assertEquals("new value", redis.getValue(resolveCacheKey(1L, "key")));
+        Assert.assertEquals("new value", cache.get("key"));
+        Mockito.verify(connection, Mockito.never()).scan(Mockito.any(ScanOptions.class));
+        Mockito.verify(connection, Mockito.never()).keys(Mockito.any(byte[].class));
+    }
+
+    @Test
+    public void testPutAllAfterClear() {
+        cacheManager.setGenerationCheckInterval(0L);
+        cache.clear();
+        cache.putAll(Collections.singletonMap("key", "value"));
+        Assert.assertEquals("value", redis.getValue(resolveCacheKey(1L, "key")));
+        Assert.assertNull(redis.getValue(resolveCacheKey(0L, "key")));
+        Assert.assertEquals("value", cache.get("key"));
+    }
+
+    @Test
+    public void testClearByGenerationAndUnlink() {
+        cacheManager.setEnableClearCache(true);
+        cacheManager.setScanBatchSize(2);
+        for (int i = 0; i < 5; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+        redis.putValue(PREFIX + ":other:0:key", "value");
+
+        cache.clear();
+        // the keys of previous generation are unlinked in batches
+        Assert.assertEquals(2, redis.getData().size());
+        Assert.assertEquals("1", redis.getString(resolveGenerationKey()));
+        Assert.assertEquals("value", redis.getValue(PREFIX + ":other:0:key"));
+        Mockito.verify(connection, Mockito.times(3)).unlink(Mockito.<byte[]>any());
+
+        // the keys of current generation are retained
+        cache.put("key", "value");
+        cache.clear();
+        Assert.assertEquals("2", redis.getString(resolveGenerationKey()));
+        Assert.assertNull(redis.getValue(resolveCacheKey(1L, "key")));
+        Mockito.verify(connection, Mockito.never()).keys(Mockito.any(byte[].class));
+    }
+
+    @Test
+    public void testGenerationChangedByOtherNode() {
+        cache.put("key", "value");
+        redis.putString(resolveGenerationKey(), "3");
+        // the generation is cached in local before the check interval
+        Assert.assertEquals("value", cache.get("key"));
+
+        cacheManager.setGenerationCheckInterval(0L);
+        Assert.assertNull(cache.get("key"));
+        cache.put("key", "value");
+        Assert.assertEquals("value", redis.getValue(resolveCacheKey(3L, "key")));
+    }
+
+    @Test
+    public void testClearWithoutGeneration() {
+        // generation is disabled by default
+        cacheManager = new StringKeyRedisCacheManager(redis.getRedisTemplate());
+        cacheManager.setGlobalPrefix(PREFIX);
+        // the keys are deleted in current thread
+        cacheManager.setCleanupExecutor(task -> Assert.fail("keys should not be deleted in background"));
+        cache = cacheManager.createCache(CACHE_NAME, -1L, TimeUnit.MILLISECONDS);
+        cache.put("key", "value");
+        Assert.assertEquals("value", redis.getValue(PREFIX + ":" + CACHE_NAME + ":key"));
+
+        // nothing happens if clearing is not enabled
+        cache.clear();
+        Assert.assertEquals("value", cache.get("key"));
+
+        cacheManager.setEnableClearCache(true);
+        cache.clear();
+        Assert.assertNull(cache.get("key"));
+        Assert.assertTrue(redis.getData().isEmpty());
+    }
+
+    private static String resolveCacheKey(long generation, String key) {
+        return PREFIX + ":" + CACHE_NAME + ":" + generation + ":" + key;
+    }
+
+    private static String resolveGenerationKey() {
+        return PREFIX + ":" + CACHE_NAME + ":generation";
+    }
+}
@@ -51,6 +51,8 @@ public class StringKeyRedisCacheManagerTest {
 
         cacheManager = new StringKeyRedisCacheManager(redisTemplate);
         cacheManager.setGlobalPrefix(PREFIX);
+        cacheManager.setEnableGenerationKey(false);
+        cacheManager.setCleanupExecutor(Runnable::run);
         cache = cacheManager.createCache("test", EXPIRE_TIME, TIME_UNIT);
     }
 
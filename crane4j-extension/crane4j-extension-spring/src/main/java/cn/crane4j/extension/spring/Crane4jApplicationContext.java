@@ -1,5 +1,6 @@
 package cn.crane4j.extension.spring;
 
+import cn.crane4j.core.cache.AbstractCacheManager;
 import cn.crane4j.core.cache.CacheManager;
 import cn.crane4j.core.container.Container;
 import cn.crane4j.core.container.ContainerDefinition;
@@ -26,6 +27,7 @@ import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.experimental.Delegate;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -40,7 +42,12 @@ import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.Order;
 
 import java.lang.reflect.AnnotatedElement;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * <p>The global configuration class implemented based on the Spring context,
@@ -104,6 +111,29 @@ public class Crane4jApplicationContext extends DefaultContainerManager
     @Delegate
     private final PropertyMappingStrategyManager propertyMappingStrategyManager = new SimplePropertyMappingStrategyManager();
 
+    /**
+     * <p>The directory of cache snapshot files.<br />
+     * if not null, the caches of {@link AbstractCacheManager} beans will be saved
+     * to {@code <directory>/<bean name>.snapshot} when the context is destroyed,
+     * and be reloaded when the context is initialized.
+     *
+     * @see AbstractCacheManager#saveSnapshot
+     * @see AbstractCacheManager#loadSnapshot
+     * @since 2.7.0
+     */
+    @Nullable
+    @Setter
+    private String cacheSnapshotDirectory;
+
+    /**
+     * The names of caches to save into snapshot, if empty, save all caches.
+     *
+     * @since 2.7.0
+     */
+    @NonNull
+    @Setter
+    private Set<String> snapshotCacheNames = Collections.emptySet();
+
     /**
      * Get {@link ConverterManager}
      *
@@ -286,6 +316,42 @@ public class Crane4jApplicationContext extends DefaultContainerManager
             log.info("install container lifecycle processor [{}]", name);
             registerContainerLifecycleProcessor(processor);
         });
+        loadCacheSnapshots();
+    }
+
+    private void loadCacheSnapshots() {
+        if (Objects.isNull(cacheSnapshotDirectory)) {
+            return;
+        }
+        applicationContext.getBeansOfType(AbstractCacheManager.class).forEach((name, cacheManager) -> {
+            Path file = getSnapshotFile(name);
+            if (!Files.exists(file)) {
+                return;
+            }
+            try {
+                cacheManager.loadSnapshot(file);
+            } catch (Exception ex) {
+                log.warn("failed to load cache snapshot [{}] for cache manager [{}]", file, name, ex);
+            }
+        });
+    }
+
+    private void saveCacheSnapshots() {
+        if (Objects.isNull(cacheSnapshotDirectory)) {
+            return;
+        }
+        applicationContext.getBeansOfType(AbstractCacheManager.class).forEach((name, cacheManager) -> {
+            Path file = getSnapshotFile(name);
+            try {
+                cacheManager.saveSnapshot(file, snapshotCacheNames);
+            } catch (Exception ex) {
+                log.warn("failed to save cache snapshot [{}] for cache manager [{}]", file, name, ex);
+            }
+        });
+    }
+
+    private Path getSnapshotFile(String cacheManagerName) {
+        return Paths.get(Objects.requireNonNull(cacheSnapshotDirectory), cacheManagerName + ".snapshot");
     }
 
     /**
@@ -327,6 +393,7 @@ public class Crane4jApplicationContext extends DefaultContainerManager
     @Override
     public void destroy() {
         log.info("global configuration has been destroyed.");
+        saveCacheSnapshots();
         clear();
         // TODO clear propertyMappingStrategyManager and keyResolverRegistry
     }
@@ -2,6 +2,7 @@ package cn.crane4j.extension.spring;
 
 import cn.crane4j.core.cache.CacheManager;
 import cn.crane4j.core.cache.GuavaCacheManager;
+import cn.crane4j.core.cache.OffHeapCacheManager;
 import cn.crane4j.core.cache.MapCacheManager;
 import cn.crane4j.core.condition.ConditionOnContainerParser;
 import cn.crane4j.core.condition.ConditionOnExpressionParser;
@@ -11,11 +12,13 @@ import cn.crane4j.core.condition.ConditionOnPropertyParser;
 import cn.crane4j.core.condition.ConditionOnTargetTypeParser;
 import cn.crane4j.core.condition.ConditionParser;
 import cn.crane4j.core.container.ContainerManager;
+import cn.crane4j.core.container.TimeoutContainerProcessor;
 import cn.crane4j.core.container.lifecycle.ContainerInstanceLifecycleProcessor;
 import cn.crane4j.core.container.lifecycle.ContainerRegisterLogger;
 import cn.crane4j.core.executor.BeanOperationExecutor;
 import cn.crane4j.core.executor.DisorderedBeanOperationExecutor;
 import cn.crane4j.core.executor.OrderedBeanOperationExecutor;
+import cn.crane4j.core.executor.handler.ArrayBasedOneToOneAssembleOperationHandler;
 import cn.crane4j.core.executor.handler.ManyToManyAssembleOperationHandler;
 import cn.crane4j.core.executor.handler.OneToManyAssembleOperationHandler;
 import cn.crane4j.core.executor.handler.OneToOneAssembleOperationHandler;
@@ -165,6 +168,11 @@ public class DefaultCrane4jSpringConfiguration implements SmartInitializingSingl
         return new GuavaCacheManager();
     }
 
+    @Bean({"offHeapCacheManager", CacheManager.DEFAULT_OFF_HEAP_CACHE_MANAGER_NAME})
+    public OffHeapCacheManager offHeapCacheManager() {
+        return new OffHeapCacheManager();
+    }
+
 
     @Order(0)
     @Bean
@@ -179,6 +187,12 @@ public class DefaultCrane4jSpringConfiguration implements SmartInitializingSingl
         return new ContainerRegisterLogger(logger::info);
     }
 
+    @Order(2)
+    @Bean
+    public TimeoutContainerProcessor timeoutContainerProcessor(Crane4jApplicationContext configuration) {
+        return new TimeoutContainerProcessor(configuration);
+    }
+
     @Order(3)
     @Bean
     public SpringCacheableContainerProcessor springCacheableContainerProcessor(Crane4jApplicationContext configuration) {
@@ -369,8 +383,11 @@ public class DefaultCrane4jSpringConfiguration implements SmartInitializingSingl
     @Order(Ordered.LOWEST_PRECEDENCE - 1)
     @Bean
     public CacheableMethodContainerFactory cacheableMethodContainerFactory(
-        Crane4jGlobalConfiguration configuration, MethodInvokerContainerCreator methodInvokerContainerCreator, AnnotationFinder annotationFinder) {
-        return new CacheableMethodContainerFactory(methodInvokerContainerCreator, annotationFinder, configuration);
+        Crane4jGlobalConfiguration configuration, MethodInvokerContainerCreator methodInvokerContainerCreator,
+        AnnotationFinder annotationFinder, TimeoutContainerProcessor timeoutContainerProcessor) {
+        CacheableMethodContainerFactory factory = new CacheableMethodContainerFactory(methodInvokerContainerCreator, annotationFinder, configuration);
+        factory.setTimeoutContainerProcessor(timeoutContainerProcessor);
+        return factory;
     }
 
     @Primary
@@ -380,6 +397,12 @@ public class DefaultCrane4jSpringConfiguration implements SmartInitializingSingl
         return new OneToOneAssembleOperationHandler(propertyOperator, converterManager);
     }
 
+    @Bean
+    public ArrayBasedOneToOneAssembleOperationHandler arrayBasedOneToOneAssembleOperationHandler(
+        PropertyOperator propertyOperator, ConverterManager converterManager) {
+        return new ArrayBasedOneToOneAssembleOperationHandler(propertyOperator, converterManager);
+    }
+
     @Bean
     public ManyToManyAssembleOperationHandler manyToManyAssembleOperationHandler(
         PropertyOperator propertyOperator, ConverterManager converterManager) {
@@ -36,10 +36,8 @@ public class SpringCacheableContainerProcessor extends CacheableContainerProcess
             return definition;
         }
         ContainerCache annotation = findAnnotation(container);
-        return Objects.isNull(annotation) ? null : new CacheDefinition.Impl(
-            container.getNamespace(), annotation.cacheManager(),
-            annotation.expirationTime(), annotation.timeUnit()
-        );
+        return Objects.isNull(annotation) ? null :
+            CacheDefinition.from(container.getNamespace(), annotation.cacheManager(), annotation);
     }
 
     @Nullable
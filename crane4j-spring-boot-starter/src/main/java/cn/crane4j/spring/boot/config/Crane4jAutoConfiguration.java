@@ -6,6 +6,7 @@ import cn.crane4j.annotation.ContainerMethod;
 import cn.crane4j.core.cache.CacheDefinition;
 import cn.crane4j.core.cache.CacheManager;
 import cn.crane4j.core.cache.GuavaCacheManager;
+import cn.crane4j.core.cache.OffHeapCacheManager;
 import cn.crane4j.core.cache.MapCacheManager;
 import cn.crane4j.core.condition.ConditionOnContainerParser;
 import cn.crane4j.core.condition.ConditionOnExpressionParser;
@@ -16,11 +17,13 @@ import cn.crane4j.core.condition.ConditionOnTargetTypeParser;
 import cn.crane4j.core.condition.ConditionParser;
 import cn.crane4j.core.container.ContainerManager;
 import cn.crane4j.core.container.Containers;
+import cn.crane4j.core.container.TimeoutContainerProcessor;
 import cn.crane4j.core.container.lifecycle.ContainerInstanceLifecycleProcessor;
 import cn.crane4j.core.container.lifecycle.ContainerRegisterLogger;
 import cn.crane4j.core.executor.BeanOperationExecutor;
 import cn.crane4j.core.executor.DisorderedBeanOperationExecutor;
 import cn.crane4j.core.executor.OrderedBeanOperationExecutor;
+import cn.crane4j.core.executor.handler.ArrayBasedOneToOneAssembleOperationHandler;
 import cn.crane4j.core.executor.handler.ManyToManyAssembleOperationHandler;
 import cn.crane4j.core.executor.handler.OneToManyAssembleOperationHandler;
 import cn.crane4j.core.executor.handler.OneToOneAssembleOperationHandler;
@@ -174,8 +177,11 @@ public class Crane4jAutoConfiguration {
     @Primary
     @ConditionalOnMissingBean
     @Bean
-    public Crane4jApplicationContext crane4jApplicationContext(ApplicationContext applicationContext) {
-        return new Crane4jApplicationContext(applicationContext);
+    public Crane4jApplicationContext crane4jApplicationContext(ApplicationContext applicationContext, Properties properties) {
+        Crane4jApplicationContext context = new Crane4jApplicationContext(applicationContext);
+        context.setCacheSnapshotDirectory(properties.getCacheSnapshotDirectory());
+        context.setSnapshotCacheNames(properties.getSnapshotCaches());
+        return context;
     }
 
     @ConditionalOnMissingBean
@@ -230,6 +236,12 @@ public class Crane4jAutoConfiguration {
         return new GuavaCacheManager();
     }
 
+    @ConditionalOnMissingBean(OffHeapCacheManager.class)
+    @Bean({"offHeapCacheManager", CacheManager.DEFAULT_OFF_HEAP_CACHE_MANAGER_NAME})
+    public OffHeapCacheManager offHeapCacheManager() {
+        return new OffHeapCacheManager();
+    }
+
     @Order(0)
     @Bean
     public ContainerInstanceLifecycleProcessor containerInstanceLifecycleProcessor() {
@@ -243,6 +255,13 @@ public class Crane4jAutoConfiguration {
         return new ContainerRegisterLogger(logger::debug);
     }
 
+    @Order(1)
+    @ConditionalOnMissingBean
+    @Bean
+    public TimeoutContainerProcessor timeoutContainerProcessor(Crane4jApplicationContext configuration) {
+        return new TimeoutContainerProcessor(configuration);
+    }
+
     @Order(2)
     @ConditionalOnMissingBean
     @Bean
@@ -492,16 +511,22 @@ public class Crane4jAutoConfiguration {
     @ConditionalOnMissingBean(CacheManager.class)
     @Bean
     public DefaultMethodContainerFactory defaultMethodContainerFactory(
-        MethodInvokerContainerCreator methodInvokerContainerCreator, AnnotationFinder annotationFinder) {
-        return new DefaultMethodContainerFactory(methodInvokerContainerCreator, annotationFinder);
+        MethodInvokerContainerCreator methodInvokerContainerCreator, AnnotationFinder annotationFinder,
+        TimeoutContainerProcessor timeoutContainerProcessor) {
+        DefaultMethodContainerFactory factory = new DefaultMethodContainerFactory(methodInvokerContainerCreator, annotationFinder);
+        factory.setTimeoutContainerProcessor(timeoutContainerProcessor);
+        return factory;
     }
 
     @Order(Ordered.LOWEST_PRECEDENCE - 1)
     @ConditionalOnBean(CacheManager.class)
     @Bean
     public CacheableMethodContainerFactory cacheableMethodContainerFactory(
-        Crane4jGlobalConfiguration configuration, MethodInvokerContainerCreator methodInvokerContainerCreator, AnnotationFinder annotationFinder) {
-        return new CacheableMethodContainerFactory(methodInvokerContainerCreator, annotationFinder, configuration);
+        Crane4jGlobalConfiguration configuration, MethodInvokerContainerCreator methodInvokerContainerCreator,
+        AnnotationFinder annotationFinder, TimeoutContainerProcessor timeoutContainerProcessor) {
+        CacheableMethodContainerFactory factory = new CacheableMethodContainerFactory(methodInvokerContainerCreator, annotationFinder, configuration);
+        factory.setTimeoutContainerProcessor(timeoutContainerProcessor);
+        return factory;
     }
 
     @Primary
@@ -513,6 +538,14 @@ public class Crane4jAutoConfiguration {
         return handler;
     }
 
+    @Bean
+    public ArrayBasedOneToOneAssembleOperationHandler arrayBasedOneToOneAssembleOperationHandler(
+        PropertyOperator propertyOperator, ConverterManager converterManager, Properties properties) {
+        ArrayBasedOneToOneAssembleOperationHandler handler = new ArrayBasedOneToOneAssembleOperationHandler(propertyOperator, converterManager);
+        handler.setIgnoreNullKey(properties.isIgnoreNullKeyWhenAssembling());
+        return handler;
+    }
+
     @Bean
     public ManyToManyAssembleOperationHandler manyToManyAssembleOperationHandler(
         PropertyOperator propertyOperator, ConverterManager converterManager) {
@@ -765,6 +798,22 @@ public class Crane4jAutoConfiguration {
          */
         private List<ContainerCacheProperties> caches = new ArrayList<>();
 
+        /**
+         * <p>The directory of cache snapshot files.<br />
+         * if configured, the caches will be saved to the directory on shutdown
+         * and be reloaded with their remaining expire time on startup.
+         *
+         * @since 2.7.0
+         */
+        private String cacheSnapshotDirectory;
+
+        /**
+         * The names of caches to save into snapshot, if empty, save all caches.
+         *
+         * @since 2.7.0
+         */
+        private Set<String> snapshotCaches = new LinkedHashSet<>();
+
         /**
          * Configuration of cache.
          *
@@ -795,6 +844,44 @@ public class Crane4jAutoConfiguration {
              */
             private TimeUnit timeUnit = TimeUnit.MILLISECONDS;
 
+            /**
+             * The expiry time of the keys which are not found in the container,
+             * default is 0, which means the missing keys will not be cached
+             *
+             * @since 2.7.0
+             */
+            private Long missingKeyExpireTime = 0L;
+
+            /**
+             * The max number of entries in cache, not positive means unbounded
+             *
+             * @since 2.7.0
+             */
+            private Long maximumSize = -1L;
+
+            /**
+             * The max total weight of entries in cache, not positive means unbounded
+             *
+             * @since 2.7.0
+             */
+            private Long maximumWeight = -1L;
+
+            /**
+             * The time after which an entry should be refreshed since it was written,
+             * not positive means the entries will not be refreshed
+             *
+             * @since 2.7.0
+             */
+            private Long refreshAfterWriteTime = -1L;
+
+            /**
+             * The soft expire time of the values cached by container,
+             * not positive means the soft expire is disabled
+             *
+             * @since 2.7.0
+             */
+            private Long softExpireTime = -1L;
+
             /**
              * Get the name of this cache.
              *